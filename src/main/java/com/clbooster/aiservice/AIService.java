@@ -1,73 +1,205 @@
 package com.clbooster.aiservice;
 
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.data.message.ChatMessage;
+import dev.langchain4j.data.message.UserMessage;
+import dev.langchain4j.model.StreamingResponseHandler;
 import dev.langchain4j.model.chat.ChatLanguageModel;
-import dev.langchain4j.model.googleai.GoogleAiGeminiChatModel;
-import org.springframework.beans.factory.annotation.Value;
+import dev.langchain4j.model.chat.StreamingChatLanguageModel;
+import dev.langchain4j.model.output.Response;
+import dev.langchain4j.model.output.TokenUsage;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Service;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
 @Service
 @Lazy
 public class AIService {
 
     private static final Logger log = LoggerFactory.getLogger(AIService.class);
 
+    // Bump a template's id (match-v1 -> match-v2) whenever its wording changes:
+    // the match id is part of the AnalysisCache key, so old analyses are not reused
+    static final PromptTemplate MATCH_PROMPT = PromptTemplate.compile("match-v1", """
+            You are a professional Job Recruiter and Strategic Talent Headhunter.
+            Extract structured insights from the RESUME based on JOBDETAILS.
+
+            Return ONLY JSON:
+            {
+              "key_requirements": ["..."],
+              "matching_skills": ["..."],
+              "relevant_achievements": [
+                "achievement with measurable impact",
+                "project or experience aligned with job"
+              ],
+              "value_summary": "why this candidate fits THIS job"
+            }
+
+            Rules:
+            - Use only information provided
+            - Prefer measurable results
+            - No generic phrases
+            - No hallucination, If information is missing, omit it
+            - Highlight top 3 technical skills/keywords from job details present in resume
+            - Identify one specific achievement that solves a job pain point
+
+            --- RESUME ---
+            {{RESUME}}
+
+            --- JOBDETAILS ---
+            {{JOBDETAILS}}
+            """);
+
+    static final PromptTemplate COVER_LETTER_PROMPT = PromptTemplate.compile("cover-letter-v1", """
+            You are an Expert Career Copywriter.
+            Take the ANALYSIS and JOBDETAILS below and write a cover letter following the rules:
+
+            {{TONE_INSTRUCTION}}
+
+            RULES:
+            1. Never use generic AI filler phrases like: "I am excited to apply",
+               "I believe I would be a great fit", "leverage my skills",
+               "passionate about", "dynamic team", "cutting-edge technologies",
+               "I am writing to apply", "To whom it may concern", "hardworking individual",
+               "think outside the box", "perfect fit".
+            2. Do not follow a generic cover letter template; every sentence must feel written for this job and this company only.
+            3. Output only the body of the cover letter; do not include addresses or dates.
+            4. Cover letter length: Minimum 250 words, Maximum 400 words.
+            5. Focus on the value the candidate brings to the company.
+            6. Connect candidate's experience or projects directly to key requirements in the analysis.
+            7. Cover letter should complement the matched analysis content, not duplicate it.
+            8. Start with a hook referencing a company goal/problem, using "value_summary".
+            9. In 1-2 paragraphs, provide evidence using "matching_skills" or "relevant_achievements" without repeating the resume.
+            10. Close by reiterating enthusiasm and confidently requesting an interview opportunity.
+
+            --- ANALYSIS ---
+            {{ANALYSIS}}
+
+            --- JOBDETAILS ---
+            {{JOB}}
+            """);
+
+    // Budgeted for every request until the provider reports the actual count
+    private static final long EXPECTED_COMPLETION_TOKENS = 800;
+
     private ChatLanguageModel languageModel;
-    private final String apiKey;
+    private StreamingChatLanguageModel streamingModel;
+    private final LlmProvider provider;
+    private final AnalysisCache analysisCache;
+    private final LlmResilience resilience;
+    private final LlmRateLimiter rateLimiter;
+
+    public AIService(String apiKey) {
+        this(new GeminiProvider(apiKey), new AnalysisCache(200, 60));
+    }
 
-    public AIService(@Value("${spring.ai.vertex.ai.gemini.api-key:}") String apiKey) {
-        this.apiKey = apiKey;
+    public AIService(LlmProvider provider, AnalysisCache analysisCache) {
+        this(provider, analysisCache, LlmResilience.withDefaults(), LlmRateLimiter.withDefaults());
+    }
+
+    @Autowired
+    public AIService(LlmProvider provider, AnalysisCache analysisCache, LlmResilience resilience,
+            LlmRateLimiter rateLimiter) {
+        this.provider = provider;
+        this.analysisCache = analysisCache;
+        this.resilience = resilience;
+        this.rateLimiter = rateLimiter;
         // Defer actual initialization to first use
     }
 
     private synchronized ChatLanguageModel getLanguageModel() {
         if (languageModel == null) {
-            if (apiKey == null || apiKey.isBlank()) {
-                throw new IllegalStateException("GEMINI_API_KEY environment variable is not set. "
-                        + "Set it and restart the application before generating cover letters.");
-            }
-            languageModel = GoogleAiGeminiChatModel.builder().apiKey(apiKey).modelName("gemini-2.5-flash-lite")
-                    .temperature(0.7).timeout(java.time.Duration.ofSeconds(30)).build();
+            languageModel = provider.chatModel();
         }
         return languageModel;
     }
 
+    private synchronized StreamingChatLanguageModel getStreamingModel() {
+        if (streamingModel == null) {
+            streamingModel = provider.streamingModel();
+        }
+        return streamingModel;
+    }
+
     private String matchQualification(String resume, String jobDetails) {
-        String matchPrompt = """
-                You are a professional Job Recruiter and Strategic Talent Headhunter.
-                Extract structured insights from the RESUME based on JOBDETAILS.
-
-                Return ONLY JSON:
-                {
-                  "key_requirements": ["..."],
-                  "matching_skills": ["..."],
-                  "relevant_achievements": [
-                    "achievement with measurable impact",
-                    "project or experience aligned with job"
-                  ],
-                  "value_summary": "why this candidate fits THIS job"
-                }
+        String finalPrompt = MATCH_PROMPT.render(Map.of("RESUME", resume, "JOBDETAILS", jobDetails));
+        return ask(LlmResilience.Stage.ANALYSIS, finalPrompt);
+    }
 
-                Rules:
-                - Use only information provided
-                - Prefer measurable results
-                - No generic phrases
-                - No hallucination, If information is missing, omit it
-                - Highlight top 3 technical skills/keywords from job details present in resume
-                - Identify one specific achievement that solves a job pain point
+    private String ask(LlmResilience.Stage stage, String prompt) {
+        return call(stage, prompt, () -> getLanguageModel().generate(List.<ChatMessage> of(UserMessage.from(prompt))),
+                () -> true);
+    }
 
-                --- RESUME ---
-                {{RESUME}}
+    /**
+     * One model request under the stage's resilience rules. Every attempt,
+     * retries included, is a request to the provider, so each one takes its
+     * own rate-limit permit and records the tokens it used. Permits are
+     * waited for before an attempt takes a bulkhead slot, so a quota wait
+     * neither spends the latency budget nor counts as a provider failure.
+     */
+    private String call(LlmResilience.Stage stage, String prompt, Supplier<Response<AiMessage>> request,
+            BooleanSupplier retrySafe) {
+        // Attempts run on the resilience executor, away from the user's thread
+        String user = LlmRateLimiter.currentUser();
+        long cost = estimateCost(prompt);
+        AtomicReference<LlmRateLimiter.Permit> pending = new AtomicReference<>();
+        try {
+            Response<AiMessage> response = resilience.call(stage, () -> {
+                settleUnused(pending.getAndSet(null), stage);
+                pending.set(rateLimiter.acquire(user, cost));
+            }, () -> {
+                LlmRateLimiter.Permit permit = pending.getAndSet(null);
+                Response<AiMessage> answer;
+                try {
+                    answer = request.get();
+                } catch (RuntimeException e) {
+                    // The prompt was sent; no completion came back
+                    permit.complete(stage.name(), LlmRateLimiter.estimateTokens(prompt), 0);
+                    throw e;
+                }
+                recordUsage(permit, stage, prompt, answer.content().text(), answer.tokenUsage());
+                return answer;
+            }, retrySafe);
+            return response.content().text();
+        } finally {
+            settleUnused(pending.getAndSet(null), stage);
+        }
+    }
+
+    // Short-circuited, no free slot or timed out before starting: nothing reached the provider
+    private static void settleUnused(LlmRateLimiter.Permit permit, LlmResilience.Stage stage) {
+        if (permit != null) {
+            permit.complete(stage.name(), 0, 0);
+        }
+    }
 
-                --- JOBDETAILS ---
-                {{JOBDETAILS}}
-                """;
+    private static long estimateCost(String prompt) {
+        return LlmRateLimiter.estimateTokens(prompt) + EXPECTED_COMPLETION_TOKENS;
+    }
 
-        String finalPrompt = matchPrompt.replace("{{RESUME}}", resume).replace("{{JOBDETAILS}}", jobDetails);
-        return getLanguageModel().generate(finalPrompt);
+    // Providers that do not report usage are accounted with the estimate
+    private static void recordUsage(LlmRateLimiter.Permit permit, LlmResilience.Stage stage, String prompt,
+            String answer, TokenUsage usage) {
+        long promptTokens = usage != null && usage.inputTokenCount() != null ? usage.inputTokenCount()
+                : LlmRateLimiter.estimateTokens(prompt);
+        long completionTokens = usage != null && usage.outputTokenCount() != null ? usage.outputTokenCount()
+                : LlmRateLimiter.estimateTokens(answer);
+        permit.complete(stage.name(), promptTokens, completionTokens);
     }
 
     private String toneInstruction(String tone) {
@@ -86,52 +218,98 @@ public class AIService {
         }
     }
 
-    private String writeCoverLetter(String matchAnalysis, String jobDetails, String tone) {
-        String coverLetterPrompt = """
-                You are an Expert Career Copywriter.
-                Take the ANALYSIS and JOBDETAILS below and write a cover letter following the rules:
+    private String coverLetterPrompt(String matchAnalysis, String jobDetails, String tone) {
+        return COVER_LETTER_PROMPT.render(
+                Map.of("TONE_INSTRUCTION", toneInstruction(tone), "ANALYSIS", matchAnalysis, "JOB", jobDetails));
+    }
 
-                {{TONE_INSTRUCTION}}
+    private String writeCoverLetter(String matchAnalysis, String jobDetails, String tone) {
+        return ask(LlmResilience.Stage.DRAFT, coverLetterPrompt(matchAnalysis, jobDetails, tone));
+    }
 
-                RULES:
-                1. Never use generic AI filler phrases like: "I am excited to apply",
-                   "I believe I would be a great fit", "leverage my skills",
-                   "passionate about", "dynamic team", "cutting-edge technologies",
-                   "I am writing to apply", "To whom it may concern", "hardworking individual",
-                   "think outside the box", "perfect fit".
-                2. Do not follow a generic cover letter template; every sentence must feel written for this job and this company only.
-                3. Output only the body of the cover letter; do not include addresses or dates.
-                4. Cover letter length: Minimum 250 words, Maximum 400 words.
-                5. Focus on the value the candidate brings to the company.
-                6. Connect candidate's experience or projects directly to key requirements in the analysis.
-                7. Cover letter should complement the matched analysis content, not duplicate it.
-                8. Start with a hook referencing a company goal/problem, using "value_summary".
-                9. In 1-2 paragraphs, provide evidence using "matching_skills" or "relevant_achievements" without repeating the resume.
-                10. Close by reiterating enthusiasm and confidently requesting an interview opportunity.
+    public String generateCoverLetter(String resume, String jobDetails) {
+        return generateCoverLetter(resume, jobDetails, "Professional");
+    }
 
-                --- ANALYSIS ---
-                {{ANALYSIS}}
+    public String generateCoverLetter(String resume, String jobDetails, String tone) {
+        String analysis = analyze(resume, jobDetails);
 
-                --- JOBDETAILS ---
-                {{JOB}}
-                """;
+        log.info("Drafting Cover Letter (tone: {})...", tone);
+        return writeCoverLetter(analysis, jobDetails, tone);
+    }
 
-        String finalPrompt = coverLetterPrompt.replace("{{TONE_INSTRUCTION}}", toneInstruction(tone))
-                .replace("{{ANALYSIS}}", matchAnalysis).replace("{{JOB}}", jobDetails);
+    /**
+     * Same as {@link #generateCoverLetter(String, String, String)}, but streams
+     * the drafting step: every token is handed to {@code onToken} as soon as the
+     * model produces it. Blocks until the letter is complete and returns the
+     * full text; interrupting the calling thread abandons the stream. A failed
+     * stream is only retried while no token has been delivered yet.
+     */
+    public String generateCoverLetterStreaming(String resume, String jobDetails, String tone,
+            Consumer<String> onToken) {
+        String analysis = analyze(resume, jobDetails);
 
-        return getLanguageModel().generate(finalPrompt);
+        log.info("Streaming Cover Letter (tone: {})...", tone);
+        String prompt = coverLetterPrompt(analysis, jobDetails, tone);
+        AtomicBoolean delivered = new AtomicBoolean();
+        return call(LlmResilience.Stage.DRAFT, prompt, () -> stream(prompt, token -> {
+            delivered.set(true);
+            onToken.accept(token);
+        }), () -> !delivered.get());
     }
 
-    public String generateCoverLetter(String resume, String jobDetails) {
-        return generateCoverLetter(resume, jobDetails, "Professional");
+    private Response<AiMessage> stream(String prompt, Consumer<String> onToken) {
+        CompletableFuture<Response<AiMessage>> done = new CompletableFuture<>();
+        StringBuilder text = new StringBuilder();
+        getStreamingModel().generate(prompt, new StreamingResponseHandler<AiMessage>() {
+            @Override
+            public void onNext(String token) {
+                if (done.isDone()) {
+                    return;
+                }
+                text.append(token);
+                onToken.accept(token);
+            }
+
+            @Override
+            public void onComplete(Response<AiMessage> response) {
+                AiMessage message = response != null ? response.content() : null;
+                done.complete(message != null && message.text() != null ? response
+                        : Response.from(AiMessage.from(text.toString()),
+                                response != null ? response.tokenUsage() : null));
+            }
+
+            @Override
+            public void onError(Throwable error) {
+                done.completeExceptionally(error);
+            }
+        });
+
+        try {
+            return done.get();
+        } catch (InterruptedException e) {
+            done.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Cover letter streaming interrupted");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            throw cause instanceof RuntimeException re ? re
+                    : new IllegalStateException("Cover letter streaming failed", cause);
+        }
     }
 
-    public String generateCoverLetter(String resume, String jobDetails, String tone) {
+    private String analyze(String resume, String jobDetails) {
+        String cacheKey = AnalysisCache.key(MATCH_PROMPT.id(), resume, jobDetails);
+        String cached = analysisCache.get(cacheKey);
+        if (cached != null) {
+            log.info("Reusing cached analysis for unchanged resume and job details");
+            return cached;
+        }
+
         log.info("Matching Resume and Job Details...");
         String rawAnalysis = matchQualification(resume, jobDetails);
         String analysis = rawAnalysis.replaceAll("(?s)```json\\s*", "").replaceAll("(?s)```\\s*", "").trim();
-
-        log.info("Drafting Cover Letter (tone: {})...", tone);
-        return writeCoverLetter(analysis, jobDetails, tone);
+        analysisCache.put(cacheKey, analysis);
+        return analysis;
     }
 }
\ No newline at end of file
@@ -0,0 +1,132 @@
+package com.clbooster.aiservice;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Content-addressed cache for the resume/job analysis step of
+ * {@link AIService}.
+ *
+ * Keys are built from SHA-256 hashes of the resume and job text plus the
+ * prompt version, so regenerating with another tone reuses the analysis while
+ * a prompt change never serves stale results. Entries expire after a TTL and
+ * the least recently used entry is evicted once {@code maxEntries} is reached.
+ * Hit/miss counters are exported as {@code ai.analysis.cache.*} metrics.
+ */
+@Component
+public class AnalysisCache implements MeterBinder {
+
+    private final int maxEntries;
+    private final Duration ttl;
+    private final Clock clock;
+
+    // Access-ordered so iteration starts at the least recently used entry; guarded by "this"
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    @Autowired
+    public AnalysisCache(@Value("${ai.analysis-cache.max-entries:200}") int maxEntries,
+            @Value("${ai.analysis-cache.ttl-minutes:60}") long ttlMinutes) {
+        this(maxEntries, Duration.ofMinutes(ttlMinutes), Clock.systemUTC());
+    }
+
+    AnalysisCache(int maxEntries, Duration ttl, Clock clock) {
+        if (maxEntries < 0 || ttl.isNegative()) {
+            throw new IllegalArgumentException("Invalid analysis cache limits");
+        }
+        this.maxEntries = maxEntries;
+        this.ttl = ttl;
+        this.clock = clock;
+    }
+
+    /**
+     * Builds the cache key for an analysis of {@code resume} against
+     * {@code jobDetails} produced by prompt {@code promptVersion}.
+     */
+    public static String key(String promptVersion, String resume, String jobDetails) {
+        return sha256(resume) + ":" + sha256(jobDetails) + ":" + promptVersion;
+    }
+
+    /**
+     * Returns the cached analysis, or {@code null} when absent or expired.
+     */
+    public synchronized String get(String key) {
+        Entry entry = entries.get(key);
+        if (entry != null && entry.expiresAt.isAfter(clock.instant())) {
+            hits.incrementAndGet();
+            return entry.value;
+        }
+        if (entry != null) {
+            entries.remove(key);
+        }
+        misses.incrementAndGet();
+        return null;
+    }
+
+    public synchronized void put(String key, String value) {
+        if (maxEntries == 0) {
+            return;
+        }
+        entries.put(key, new Entry(value, clock.instant().plus(ttl)));
+        while (entries.size() > maxEntries) {
+            String eldest = entries.keySet().iterator().next();
+            entries.remove(eldest);
+        }
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("ai.analysis.cache.hits", hits, AtomicLong::get)
+                .description("Analysis lookups served from cache").register(registry);
+        FunctionCounter.builder("ai.analysis.cache.misses", misses, AtomicLong::get)
+                .description("Analysis lookups that required a model call").register(registry);
+        Gauge.builder("ai.analysis.cache.size", this, AnalysisCache::size).description("Cached analyses")
+                .register(registry);
+    }
+
+    private static String sha256(String text) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] hash = digest.digest(text.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private record Entry(String value, Instant expiresAt) {
+    }
+}
@@ -0,0 +1,87 @@
+package com.clbooster.aiservice;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Progress log of a batch run, so a crashed or interrupted run can pick up
+ * where it stopped.
+ *
+ * Each finished job appends one {@code id<TAB>file} line and forces it to
+ * disk, after its document has been written. On restart, jobs listed here
+ * whose document still exists are skipped; anything else (failed jobs,
+ * documents deleted since, a line torn by the crash) is generated again. A
+ * torn last line is cut off before new lines are appended.
+ */
+public final class BatchCheckpoint implements AutoCloseable {
+
+    private final Path directory;
+    private final Map<String, String> completed = new HashMap<>();
+    private final FileChannel log;
+
+    public BatchCheckpoint(Path file) throws IOException {
+        this.directory = file.toAbsolutePath().getParent();
+        int complete = 0;
+        if (Files.exists(file)) {
+            byte[] content = Files.readAllBytes(file);
+            // Only newline-terminated lines were fully written
+            complete = content.length;
+            while (complete > 0 && content[complete - 1] != '\n') {
+                complete--;
+            }
+            load(new String(content, 0, complete, StandardCharsets.UTF_8).lines().toList());
+        }
+        this.log = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND);
+        if (log.size() > complete) {
+            // Otherwise the next line would be appended to the torn one
+            log.truncate(complete);
+        }
+    }
+
+    private void load(List<String> lines) {
+        for (String line : lines) {
+            int tab = line.indexOf('\t');
+            if (tab > 0 && tab < line.length() - 1) {
+                completed.put(line.substring(0, tab), line.substring(tab + 1));
+            }
+        }
+    }
+
+    /** Whether {@code jobId} finished in an earlier run and its document is still there. */
+    public synchronized boolean isDone(String jobId) {
+        String file = completed.get(jobId);
+        return file != null && Files.isRegularFile(directory.resolve(file));
+    }
+
+    /** The document recorded for {@code jobId}, or {@code null}; it may have been deleted since. */
+    public synchronized String fileOf(String jobId) {
+        return completed.get(jobId);
+    }
+
+    /** Records that {@code jobId} was written to {@code fileName} (relative to the checkpoint's directory). */
+    public synchronized void markDone(String jobId, String fileName) throws IOException {
+        if (jobId.indexOf('\t') >= 0 || jobId.indexOf('\n') >= 0) {
+            throw new IllegalArgumentException("Job id must not contain tabs or line breaks: " + jobId);
+        }
+        ByteBuffer line = ByteBuffer.wrap((jobId + "\t" + fileName + "\n").getBytes(StandardCharsets.UTF_8));
+        while (line.hasRemaining()) {
+            log.write(line);
+        }
+        log.force(false);
+        completed.put(jobId, fileName);
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        log.close();
+    }
+}
@@ -0,0 +1,311 @@
+package com.clbooster.aiservice;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Headless bulk generation: one resume, a JSONL/CSV file of job postings, one
+ * DOCX per posting.
+ *
+ * <pre>
+ * --resume &lt;file&gt;            resume (PDF/DOCX/TXT), parsed once
+ * --jobs &lt;file&gt;              postings, see {@link BatchJobsFile}
+ * --out &lt;dir&gt;               output directory (default batch-output)
+ * --parallelism &lt;n&gt;         letters generated at once (default 4)
+ * --tone &lt;tone&gt;             Professional, Creative or Storyteller
+ * --requests-per-minute &lt;n&gt; model request quota (default 60)
+ * --provider gemini|stub     stub answers offline (default gemini)
+ * --stub-latency-ms &lt;n&gt;     median stub latency (default 1500)
+ * </pre>
+ *
+ * Progress is checkpointed in {@code <out>/batch-progress.log}; running the
+ * same command again skips the postings already written. Throughput and
+ * latency percentiles are logged at the end. The exit code is 0 when every
+ * posting has a letter, 1 when some failed and 2 on bad usage.
+ */
+public final class BatchCli {
+
+    private static final Logger log = LoggerFactory.getLogger(BatchCli.class);
+
+    static final int EXIT_OK = 0;
+    static final int EXIT_FAILURES = 1;
+    static final int EXIT_USAGE = 2;
+    static final String CHECKPOINT_FILE = "batch-progress.log";
+
+    record Options(Path resume, Path jobs, Path out, int parallelism, String tone, int requestsPerMinute,
+            String provider, long stubLatencyMs) {
+    }
+
+    /** Latencies of the letters generated in this run, and how long it took. */
+    record Stats(int total, int skipped, int generated, int failed, Duration elapsed, List<Long> latenciesMs) {
+
+        double lettersPerMinute() {
+            return elapsed.isZero() ? 0 : generated * 60_000.0 / elapsed.toMillis();
+        }
+
+        /** Nearest-rank percentile of the latencies, 0 when there are none. */
+        long percentile(double p) {
+            if (latenciesMs.isEmpty()) {
+                return 0;
+            }
+            List<Long> sorted = new ArrayList<>(latenciesMs);
+            Collections.sort(sorted);
+            int rank = (int) Math.ceil(p / 100 * sorted.size());
+            return sorted.get(Math.max(0, rank - 1));
+        }
+    }
+
+    private BatchCli() {
+    }
+
+    public static void main(String[] args) {
+        System.exit(run(args));
+    }
+
+    public static int run(String[] args) {
+        Options options;
+        try {
+            options = parse(args);
+        } catch (IllegalArgumentException e) {
+            log.error("{}", e.getMessage());
+            log.info("Usage: --resume <file> --jobs <file.jsonl|file.csv> [--out <dir>] [--parallelism <n>] "
+                    + "[--tone <tone>] [--requests-per-minute <n>] [--provider gemini|stub] [--stub-latency-ms <n>]");
+            return EXIT_USAGE;
+        }
+        LlmRateLimiter rateLimiter = rateLimiter(options.requestsPerMinute());
+        AIService aiService;
+        try {
+            aiService = new AIService(provider(options), new AnalysisCache(200, 60), LlmResilience.withDefaults(),
+                    rateLimiter);
+        } catch (IllegalStateException e) {
+            log.error("{}", e.getMessage());
+            return EXIT_USAGE;
+        }
+        return run(options, aiService, rateLimiter, new Parser(), new Exporter());
+    }
+
+    static int run(Options options, AIService aiService, LlmRateLimiter rateLimiter, Parser parser,
+            Exporter exporter) {
+        List<BatchJob> jobs;
+        try {
+            jobs = BatchJobsFile.read(options.jobs());
+            Files.createDirectories(options.out());
+        } catch (IOException | IllegalArgumentException e) {
+            log.error("Cannot read jobs: {}", e.getMessage());
+            return EXIT_USAGE;
+        }
+
+        try (BatchCheckpoint checkpoint = new BatchCheckpoint(options.out().resolve(CHECKPOINT_FILE))) {
+            List<BatchJob> pending = jobs.stream().filter(job -> !checkpoint.isDone(job.id())).toList();
+            int skipped = jobs.size() - pending.size();
+            if (skipped > 0) {
+                log.info("Resuming: {} of {} postings already done", skipped, jobs.size());
+            }
+            if (pending.isEmpty()) {
+                log.info("Nothing to do; all {} postings have letters in {}", jobs.size(), options.out());
+                return EXIT_OK;
+            }
+
+            log.info("Reading {}...", options.resume());
+            String resumeText = parser.parseFileToJson(options.resume().toString());
+
+            Map<String, String> fileNames = fileNames(jobs, checkpoint);
+            Stats stats = generate(options, aiService, exporter, checkpoint, pending, fileNames, resumeText,
+                    skipped);
+            report(stats, rateLimiter);
+            return stats.failed() == 0 ? EXIT_OK : EXIT_FAILURES;
+        } catch (IOException | IllegalStateException e) {
+            log.error("Batch run failed: {}", e.getMessage());
+            return EXIT_FAILURES;
+        }
+    }
+
+    private static Stats generate(Options options, AIService aiService, Exporter exporter,
+            BatchCheckpoint checkpoint, List<BatchJob> pending, Map<String, String> fileNames, String resumeText,
+            int skipped) {
+        CoverLetterGenerationService generation = new CoverLetterGenerationService(aiService,
+                options.parallelism(), pending.size(), options.parallelism());
+        List<Long> latencies = Collections.synchronizedList(new ArrayList<>());
+        AtomicInteger failed = new AtomicInteger();
+        long started = System.nanoTime();
+        try {
+            log.info("Generating {} letters, {} at a time...", pending.size(), options.parallelism());
+            BatchGenerationService.Batch batch = new BatchGenerationService(aiService, generation).start(0,
+                    resumeText, options.tone(), pending, result -> {
+                        if (save(result, options.out().resolve(fileNames.get(result.job().id())), exporter,
+                                checkpoint)) {
+                            latencies.add(result.elapsedMillis());
+                        } else {
+                            failed.incrementAndGet();
+                        }
+                    });
+            batch.whenDone().join();
+        } finally {
+            generation.shutdown();
+        }
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - started);
+        return new Stats(pending.size() + skipped, skipped, latencies.size(), failed.get(), elapsed,
+                List.copyOf(latencies));
+    }
+
+    // Writes the letter and checkpoints it; false when the job produced no document
+    private static boolean save(BatchGenerationService.Result result, Path document, Exporter exporter,
+            BatchCheckpoint checkpoint) {
+        BatchJob job = result.job();
+        if (result.status() != BatchGenerationService.Status.DONE) {
+            log.warn("Posting {} failed: {}", job.id(), result.error());
+            return false;
+        }
+        try {
+            exporter.saveAsDoc(result.letter(), document.toString());
+            checkpoint.markDone(job.id(), document.getFileName().toString());
+            log.info("Posting {} done in {} ms", job.id(), result.elapsedMillis());
+            return true;
+        } catch (IOException | RuntimeException e) {
+            log.warn("Posting {} could not be saved: {}", job.id(), e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * One document name per job id. Sanitizing can map different ids to the
+     * same name (and file systems may ignore case), so later clashes get a
+     * numeric suffix. Names recorded by an earlier run are kept and reserved,
+     * so a resumed run never overwrites a finished letter.
+     */
+    static Map<String, String> fileNames(List<BatchJob> jobs, BatchCheckpoint checkpoint) {
+        Map<String, String> names = new HashMap<>();
+        Set<String> taken = new HashSet<>();
+        for (BatchJob job : jobs) {
+            String recorded = checkpoint.fileOf(job.id());
+            if (recorded != null) {
+                names.put(job.id(), recorded);
+                taken.add(recorded.toLowerCase(Locale.ROOT));
+            }
+        }
+        for (BatchJob job : jobs) {
+            if (names.containsKey(job.id())) {
+                continue;
+            }
+            String base = fileName(job);
+            base = base.substring(0, base.length() - ".docx".length());
+            String name = base + ".docx";
+            for (int n = 2; !taken.add(name.toLowerCase(Locale.ROOT)); n++) {
+                name = base + "-" + n + ".docx";
+            }
+            names.put(job.id(), name);
+        }
+        return names;
+    }
+
+    static String fileName(BatchJob job) {
+        StringBuilder name = new StringBuilder(sanitize(job.id()));
+        if (!job.company().isEmpty()) {
+            name.append('_').append(sanitize(job.company()));
+        }
+        if (!job.jobTitle().isEmpty()) {
+            name.append('_').append(sanitize(job.jobTitle()));
+        }
+        return name.append(".docx").toString();
+    }
+
+    private static String sanitize(String input) {
+        String cleaned = input.trim().replaceAll("\\s+", "_").replaceAll("[^a-zA-Z0-9_\\-]", "")
+                .replaceAll("_+", "_").replaceAll("(^_)|(_$)", "");
+        return cleaned.isEmpty() ? "job" : cleaned;
+    }
+
+    private static void report(Stats stats, LlmRateLimiter rateLimiter) {
+        log.info("Batch finished: {} postings, {} generated, {} failed, {} skipped (already done)", stats.total(),
+                stats.generated(), stats.failed(), stats.skipped());
+        log.info("Wall time {} s, throughput {} letters/min", String.format("%.1f", stats.elapsed().toMillis() / 1000.0),
+                String.format("%.1f", stats.lettersPerMinute()));
+        log.info("Latency ms: p50={} p90={} p95={} p99={} max={}", stats.percentile(50), stats.percentile(90),
+                stats.percentile(95), stats.percentile(99), stats.percentile(100));
+        Map<String, Long> tokens = rateLimiter.getTokenTotals();
+        log.info("Tokens: prompt={} completion={}", tokens.get("prompt"), tokens.get("completion"));
+    }
+
+    static Options parse(String[] args) {
+        Path resume = null;
+        Path jobs = null;
+        Path out = Paths.get("batch-output");
+        int parallelism = 4;
+        String tone = "Professional";
+        int requestsPerMinute = 60;
+        String provider = System.getenv().getOrDefault("AI_PROVIDER", "gemini");
+        long stubLatencyMs = 1500;
+        for (int i = 0; i < args.length; i++) {
+            String flag = args[i];
+            if (i + 1 >= args.length) {
+                throw new IllegalArgumentException("Missing value for " + flag);
+            }
+            String value = args[++i];
+            switch (flag) {
+            case "--resume" -> resume = Paths.get(value);
+            case "--jobs" -> jobs = Paths.get(value);
+            case "--out" -> out = Paths.get(value);
+            case "--parallelism" -> parallelism = positive(flag, value);
+            case "--tone" -> tone = value;
+            case "--requests-per-minute" -> requestsPerMinute = positive(flag, value);
+            case "--provider" -> provider = value;
+            case "--stub-latency-ms" -> stubLatencyMs = positive(flag, value);
+            default -> throw new IllegalArgumentException("Unknown option " + flag);
+            }
+        }
+        if (resume == null || jobs == null) {
+            throw new IllegalArgumentException("--resume and --jobs are required");
+        }
+        return new Options(resume, jobs, out, parallelism, tone, requestsPerMinute, provider, stubLatencyMs);
+    }
+
+    private static int positive(String flag, String value) {
+        try {
+            int parsed = Integer.parseInt(value);
+            if (parsed > 0) {
+                return parsed;
+            }
+        } catch (NumberFormatException e) {
+            // reported below
+        }
+        throw new IllegalArgumentException(flag + " must be a positive number: " + value);
+    }
+
+    private static LlmProvider provider(Options options) {
+        return switch (options.provider()) {
+        case "stub" -> new StubLlmProvider(new StubLlmProvider.Options(StubLlmProvider.Distribution.LOG_NORMAL,
+                options.stubLatencyMs(), options.stubLatencyMs() / 2, 0, 300, 42));
+        case "gemini" -> {
+            String apiKey = System.getenv().getOrDefault("GEMINI_API_KEY", System.getenv("API_KEY"));
+            // Fail before the run instead of once per posting
+            if (apiKey == null || apiKey.isBlank()) {
+                throw new IllegalStateException("GEMINI_API_KEY is not set (or use --provider stub)");
+            }
+            yield new GeminiProvider(apiKey);
+        }
+        default -> throw new IllegalStateException("Unknown AI provider: " + options.provider());
+        };
+    }
+
+    // The whole quota belongs to this one process, so the per-user limits match the global ones
+    private static LlmRateLimiter rateLimiter(int requestsPerMinute) {
+        LlmRateLimiter.Limits defaults = LlmRateLimiter.Limits.defaults();
+        return new LlmRateLimiter(new LlmRateLimiter.Limits(requestsPerMinute, defaults.tokensPerMinute(),
+                requestsPerMinute, defaults.tokensPerMinute(), defaults.maxWait()), System::nanoTime);
+    }
+}
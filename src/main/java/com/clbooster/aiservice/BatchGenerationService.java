@@ -0,0 +1,282 @@
+package com.clbooster.aiservice;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+
+/**
+ * Generates cover letters for many job postings against one resume.
+ *
+ * The resume text is taken once and shared by every job. Jobs are fed to
+ * {@link CoverLetterGenerationService} a window at a time, at most the
+ * user's pending quota, so a batch runs in parallel under the global
+ * concurrency cap and the fair queue still serves other users between its
+ * jobs. A job the generation service has no room for (the user has other
+ * generations pending, or the global queue is full) stays queued in the
+ * batch until a slot frees up. Each result is handed to the caller's
+ * listener as soon as its job finishes, in completion order, on a thread of
+ * its own; cancelling the batch drops the jobs not yet started and
+ * interrupts the running ones.
+ */
+@Service
+public class BatchGenerationService {
+
+    private static final Logger log = LoggerFactory.getLogger(BatchGenerationService.class);
+
+    // Listeners may block (saving documents), so they get virtual threads
+    private static final Executor DELIVERY = task -> Thread.ofVirtual().name("batch-result").start(task);
+
+    public enum Status {
+        DONE, FAILED, CANCELLED
+    }
+
+    /**
+     * Outcome of one job; {@code letter} is set when it is {@link Status#DONE},
+     * {@code error} otherwise.
+     */
+    public record Result(BatchJob job, Status status, String letter, String error, long elapsedMillis) {
+    }
+
+    private final AIService aiService;
+    private final CoverLetterGenerationService generationService;
+
+    public BatchGenerationService(AIService aiService, CoverLetterGenerationService generationService) {
+        this.aiService = aiService;
+        this.generationService = generationService;
+    }
+
+    /**
+     * Starts generating a letter for every job. {@code onResult} is called
+     * once per job, never on the calling thread.
+     */
+    public Batch start(int userPin, String resumeText, String tone, List<BatchJob> jobs, Consumer<Result> onResult) {
+        if (resumeText == null || resumeText.isBlank()) {
+            throw new IllegalArgumentException("Resume text is required");
+        }
+        Set<String> ids = new HashSet<>();
+        for (BatchJob job : jobs) {
+            if (!ids.add(job.id())) {
+                throw new IllegalArgumentException("Duplicate batch job id " + job.id());
+            }
+        }
+        Batch batch = new Batch(userPin, resumeText, tone, jobs, onResult);
+        log.info("Batch of {} jobs started for user {}", jobs.size(), userPin);
+        batch.pump();
+        return batch;
+    }
+
+    /** A running batch: progress counters, results so far and cancellation. */
+    public final class Batch {
+        private final int userPin;
+        private final String resumeText;
+        private final String tone;
+        private final int total;
+        private final Consumer<Result> onResult;
+        private final int window;
+        private final CompletableFuture<List<Result>> done = new CompletableFuture<>();
+
+        // Guarded by "this"
+        private final Deque<BatchJob> waiting;
+        private final Set<CompletableFuture<String>> running = new HashSet<>();
+        private final List<Result> results = new ArrayList<>();
+        private int succeeded;
+        private int failed;
+        private int delivered;
+        private int inFlight;
+        private boolean awaitingSlot;
+        private boolean cancelled;
+
+        private Batch(int userPin, String resumeText, String tone, List<BatchJob> jobs, Consumer<Result> onResult) {
+            this.userPin = userPin;
+            this.resumeText = resumeText;
+            this.tone = tone;
+            this.total = jobs.size();
+            this.onResult = onResult;
+            this.window = Math.max(1, generationService.getMaxPendingPerUser());
+            this.waiting = new ArrayDeque<>(jobs);
+            if (total == 0) {
+                done.complete(List.of());
+            }
+        }
+
+        public int total() {
+            return total;
+        }
+
+        public synchronized int finished() {
+            return results.size();
+        }
+
+        public synchronized int succeeded() {
+            return succeeded;
+        }
+
+        public synchronized int failed() {
+            return failed;
+        }
+
+        public synchronized boolean isCancelled() {
+            return cancelled;
+        }
+
+        public boolean isDone() {
+            return done.isDone();
+        }
+
+        /** Results so far, in completion order. */
+        public synchronized List<Result> results() {
+            return List.copyOf(results);
+        }
+
+        /** Completes with every job's result once the last one is in. */
+        public CompletableFuture<List<Result>> whenDone() {
+            return done;
+        }
+
+        /**
+         * Stops the batch: jobs not started yet are reported as cancelled and
+         * running ones are interrupted. Letters already delivered are kept.
+         */
+        public void cancel() {
+            List<BatchJob> dropped;
+            List<CompletableFuture<String>> interrupted;
+            synchronized (this) {
+                if (cancelled || done.isDone()) {
+                    return;
+                }
+                cancelled = true;
+                dropped = new ArrayList<>(waiting);
+                waiting.clear();
+                interrupted = new ArrayList<>(running);
+            }
+            log.info("Batch for user {} cancelled with {} jobs not started", userPin, dropped.size());
+            DELIVERY.execute(() -> {
+                for (BatchJob job : dropped) {
+                    record(new Result(job, Status.CANCELLED, null, "Cancelled", 0));
+                }
+            });
+            for (CompletableFuture<String> future : interrupted) {
+                future.cancel(true);
+            }
+        }
+
+        // Submits waiting jobs until the window is full or the service has no room
+        private void pump() {
+            while (true) {
+                BatchJob job;
+                synchronized (this) {
+                    if (cancelled || inFlight >= window || waiting.isEmpty()) {
+                        return;
+                    }
+                    job = waiting.pollFirst();
+                    inFlight++;
+                }
+                long started = System.nanoTime();
+                CompletableFuture<String> future = generationService.trySubmit(userPin,
+                        () -> aiService.generateCoverLetter(resumeText, job.details(), tone));
+                if (future == null) {
+                    synchronized (this) {
+                        inFlight--;
+                        waiting.addFirst(job);
+                    }
+                    awaitSlot();
+                    return;
+                }
+                synchronized (this) {
+                    running.add(future);
+                }
+                future.whenCompleteAsync((letter, error) -> {
+                    synchronized (this) {
+                        running.remove(future);
+                        inFlight--;
+                    }
+                    record(result(job, letter, error, (System.nanoTime() - started) / 1_000_000));
+                    pump();
+                }, DELIVERY);
+            }
+        }
+
+        private void awaitSlot() {
+            synchronized (this) {
+                if (awaitingSlot) {
+                    return;
+                }
+                awaitingSlot = true;
+            }
+            generationService.whenSlotFree(userPin).whenCompleteAsync((ignored, error) -> {
+                synchronized (this) {
+                    awaitingSlot = false;
+                }
+                if (error != null) {
+                    failWaiting(error);
+                } else {
+                    pump();
+                }
+            }, DELIVERY);
+        }
+
+        // The generation service stopped; nothing left in the batch can run
+        private void failWaiting(Throwable error) {
+            List<BatchJob> dropped;
+            synchronized (this) {
+                dropped = new ArrayList<>(waiting);
+                waiting.clear();
+            }
+            for (BatchJob job : dropped) {
+                record(new Result(job, Status.FAILED, null, error.getMessage(), 0));
+            }
+        }
+
+        private Result result(BatchJob job, String letter, Throwable error, long elapsedMillis) {
+            Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause()
+                    : error;
+            if (cause == null) {
+                return new Result(job, Status.DONE, letter, null, elapsedMillis);
+            }
+            if (cause instanceof CancellationException) {
+                return new Result(job, Status.CANCELLED, null, "Cancelled", elapsedMillis);
+            }
+            log.warn("Batch job {} for user {} failed: {}", job.id(), userPin, cause.getMessage());
+            return new Result(job, Status.FAILED, null, cause.getMessage(), elapsedMillis);
+        }
+
+        private void record(Result result) {
+            synchronized (this) {
+                results.add(result);
+                if (result.status() == Status.DONE) {
+                    succeeded++;
+                } else if (result.status() == Status.FAILED) {
+                    failed++;
+                }
+            }
+            try {
+                onResult.accept(result);
+            } catch (RuntimeException e) {
+                log.warn("Batch result listener failed for job {}", result.job().id(), e);
+            }
+            // Counted after the listener returns: listeners run on different
+            // threads, and whenDone() must not fire while one is still busy
+            boolean last;
+            synchronized (this) {
+                last = ++delivered == total;
+            }
+            if (last) {
+                log.info("Batch for user {} finished: {} done, {} failed, {} cancelled", userPin, succeeded(),
+                        failed(), total - succeeded() - failed());
+                done.complete(results());
+            }
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.clbooster.aiservice;
+
+/**
+ * One job posting of a batch generation.
+ *
+ * @param id          caller-chosen key, unique within the batch (used for
+ *                    file names and checkpoints)
+ * @param company     hiring company, may be empty
+ * @param jobTitle    advertised role, may be empty
+ * @param description the posting text
+ */
+public record BatchJob(String id, String company, String jobTitle, String description) {
+
+    public BatchJob {
+        if (id == null || id.isBlank()) {
+            throw new IllegalArgumentException("Batch job id is required");
+        }
+        if (description == null || description.isBlank()) {
+            throw new IllegalArgumentException("Job description is required for " + id);
+        }
+        company = company == null ? "" : company.trim();
+        jobTitle = jobTitle == null ? "" : jobTitle.trim();
+    }
+
+    /** The job details passed to the model, laid out like the wizard's. */
+    public String details() {
+        StringBuilder details = new StringBuilder(description.length() + 80);
+        if (!jobTitle.isEmpty()) {
+            details.append("Job Title: ").append(jobTitle).append('\n');
+        }
+        if (!company.isEmpty()) {
+            details.append("Company: ").append(company).append('\n');
+        }
+        return details.append("Job Description: ").append(description).append('\n').toString();
+    }
+}
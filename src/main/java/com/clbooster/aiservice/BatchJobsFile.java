@@ -0,0 +1,197 @@
+package com.clbooster.aiservice;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Reads the job postings of a batch run from a file.
+ *
+ * Two formats, chosen by extension:
+ * <ul>
+ * <li>{@code .jsonl} / {@code .ndjson}: one JSON object per line with
+ * {@code description} and optionally {@code id}, {@code company} and
+ * {@code title} (or {@code jobTitle}); blank lines are skipped.</li>
+ * <li>{@code .csv}: a header row naming the same columns, then one posting
+ * per record. Fields may be quoted, and quoted fields may contain commas,
+ * doubled quotes and line breaks.</li>
+ * </ul>
+ * Ids must be unique. A file may also leave every id out, in which case each
+ * posting gets its 1-based position, so ids stay stable between runs as long
+ * as the file only grows at the end. Mixing the two is rejected, since a
+ * position could clash with an explicit id.
+ */
+public final class BatchJobsFile {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    private BatchJobsFile() {
+    }
+
+    public static List<BatchJob> read(Path file) throws IOException {
+        String name = file.getFileName().toString().toLowerCase(Locale.ROOT);
+        Postings postings = new Postings();
+        if (name.endsWith(".jsonl") || name.endsWith(".ndjson")) {
+            readJsonLines(file, postings);
+        } else if (name.endsWith(".csv")) {
+            readCsv(file, postings);
+        } else {
+            throw new IllegalArgumentException("Unsupported jobs file (expected .jsonl or .csv): " + file);
+        }
+        return postings.jobs;
+    }
+
+    private static void readJsonLines(Path file, Postings postings) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                JsonNode node;
+                try {
+                    node = JSON.readTree(line);
+                } catch (IOException e) {
+                    throw new IllegalArgumentException("Invalid JSON on line " + lineNumber + " of " + file, e);
+                }
+                if (node == null || !node.isObject()) {
+                    throw new IllegalArgumentException("Line " + lineNumber + " of " + file + " is not a JSON object");
+                }
+                String title = text(node, "title");
+                postings.add(text(node, "id"), text(node, "company"), title != null ? title : text(node, "jobTitle"),
+                        text(node, "description"), "line " + lineNumber);
+            }
+        }
+    }
+
+    private static String text(JsonNode node, String field) {
+        JsonNode value = node.get(field);
+        return value == null || value.isNull() ? null : value.asText();
+    }
+
+    private static void readCsv(Path file, Postings postings) throws IOException {
+        List<Integer> lines = new ArrayList<>();
+        List<List<String>> records = parseCsv(Files.readString(file, StandardCharsets.UTF_8), lines);
+        if (records.isEmpty()) {
+            return;
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        List<String> header = records.get(0);
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        if (!columns.containsKey("description")) {
+            throw new IllegalArgumentException("CSV jobs file needs a description column: " + file);
+        }
+        Integer titleColumn = columns.containsKey("title") ? columns.get("title") : columns.get("jobtitle");
+
+        for (int r = 1; r < records.size(); r++) {
+            List<String> record = records.get(r);
+            if (record.size() == 1 && record.get(0).isBlank()) {
+                continue;
+            }
+            postings.add(field(record, columns.get("id")), field(record, columns.get("company")),
+                    field(record, titleColumn), field(record, columns.get("description")), "line " + lines.get(r));
+        }
+    }
+
+    private static String field(List<String> record, Integer column) {
+        return column == null || column >= record.size() ? null : record.get(column);
+    }
+
+    static List<List<String>> parseCsv(String text) {
+        return parseCsv(text, new ArrayList<>());
+    }
+
+    // RFC 4180: quoted fields may hold separators, "" for a quote and line breaks.
+    // startLines receives the line each record starts on.
+    private static List<List<String>> parseCsv(String text, List<Integer> startLines) {
+        List<List<String>> records = new ArrayList<>();
+        List<String> record = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        int line = 1;
+        int recordStart = 1;
+        int i = text.startsWith("\uFEFF") ? 1 : 0;
+        for (; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (quoted) {
+                if (c != '"') {
+                    field.append(c);
+                    if (c == '\n' || c == '\r' && (i + 1 == text.length() || text.charAt(i + 1) != '\n')) {
+                        line++;
+                    }
+                } else if (i + 1 < text.length() && text.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                record.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n' || c == '\r') {
+                if (c == '\r' && i + 1 < text.length() && text.charAt(i + 1) == '\n') {
+                    i++;
+                }
+                record.add(field.toString());
+                field.setLength(0);
+                records.add(record);
+                record = new ArrayList<>();
+                startLines.add(recordStart);
+                recordStart = ++line;
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted field in CSV");
+        }
+        if (field.length() > 0 || !record.isEmpty()) {
+            record.add(field.toString());
+            records.add(record);
+            startLines.add(recordStart);
+        }
+        return records;
+    }
+
+    /** Postings read so far, with the checks that span rows. */
+    private static final class Postings {
+        private final List<BatchJob> jobs = new ArrayList<>();
+        private final Map<String, String> seenAt = new HashMap<>();
+        private Boolean explicitIds;
+
+        void add(String id, String company, String title, String description, String where) {
+            if (description == null || description.isBlank()) {
+                throw new IllegalArgumentException("Job at " + where + " has no description");
+            }
+            boolean explicit = id != null && !id.isBlank();
+            if (explicitIds == null) {
+                explicitIds = explicit;
+            } else if (explicitIds != explicit) {
+                throw new IllegalArgumentException("Job at " + where + (explicit ? " has an id" : " has no id")
+                        + "; give every posting an id or none");
+            }
+            String jobId = explicit ? id.trim() : String.valueOf(jobs.size() + 1);
+            String first = seenAt.putIfAbsent(jobId, where);
+            if (first != null) {
+                throw new IllegalArgumentException("Job at " + where + " repeats id " + jobId + " from " + first);
+            }
+            jobs.add(new BatchJob(jobId, company, title, description));
+        }
+    }
+}
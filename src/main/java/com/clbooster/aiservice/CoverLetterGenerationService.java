@@ -0,0 +1,292 @@
+package com.clbooster.aiservice;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * Runs cover letter generations on a bounded executor instead of ad-hoc
+ * threads.
+ *
+ * At most {@code maxConcurrent} generations run at once; further requests wait
+ * in per-user queues that are drained round-robin, so one user submitting
+ * several regenerations cannot starve everybody else. The total number of
+ * waiting requests is capped by {@code maxQueueDepth}, and each user may have at
+ * most {@code maxPendingPerUser} requests queued or running. Cancelling a
+ * returned future removes it from the queue, or interrupts it when it is
+ * already running.
+ */
+@Service
+public class CoverLetterGenerationService {
+
+    private static final Logger log = LoggerFactory.getLogger(CoverLetterGenerationService.class);
+
+    private final AIService aiService;
+    private final int maxConcurrent;
+    private final int maxQueueDepth;
+    private final int maxPendingPerUser;
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    // All fields below are guarded by "lock"
+    private final Object lock = new Object();
+    private final Map<Integer, Deque<Job<?>>> queues = new HashMap<>();
+    private final Deque<Integer> readyUsers = new ArrayDeque<>();
+    private final Map<Integer, Integer> pendingPerUser = new HashMap<>();
+    private final List<CompletableFuture<Void>> slotWaiters = new ArrayList<>();
+    private int running;
+    private int queued;
+
+    public CoverLetterGenerationService(AIService aiService,
+            @Value("${generation.max-concurrent:4}") int maxConcurrent,
+            @Value("${generation.max-queue-depth:50}") int maxQueueDepth,
+            @Value("${generation.max-pending-per-user:3}") int maxPendingPerUser) {
+        if (maxConcurrent < 1 || maxQueueDepth < 0 || maxPendingPerUser < 1) {
+            throw new IllegalArgumentException("Invalid generation executor limits");
+        }
+        this.aiService = aiService;
+        this.maxConcurrent = maxConcurrent;
+        this.maxQueueDepth = maxQueueDepth;
+        this.maxPendingPerUser = maxPendingPerUser;
+    }
+
+    /**
+     * Queues a full resume + job generation for {@code userPin}.
+     */
+    public CompletableFuture<String> generate(int userPin, String resume, String jobDetails, String tone) {
+        return submit(userPin, () -> aiService.generateCoverLetter(resume, jobDetails, tone));
+    }
+
+    /**
+     * Queues arbitrary generation work (e.g. context building plus the AI call)
+     * under the same concurrency cap. The future fails with
+     * {@link RejectedExecutionException} when the queue or the user's quota is
+     * full.
+     */
+    public <T> CompletableFuture<T> submit(int userPin, Supplier<T> task) {
+        return submit(userPin, task, true);
+    }
+
+    /**
+     * Same as {@link #submit}, but returns {@code null} instead of a failed
+     * future when there is no room, so the caller can hold on to the task and
+     * retry after {@link #whenSlotFree}.
+     */
+    public <T> CompletableFuture<T> trySubmit(int userPin, Supplier<T> task) {
+        return submit(userPin, task, false);
+    }
+
+    /**
+     * Completes once {@code userPin} may submit again: right away when there
+     * is room now, otherwise the next time a generation finishes or leaves
+     * the queue. Another caller can still take the slot first, so a rejected
+     * {@link #trySubmit} should wait again. Fails with
+     * {@link RejectedExecutionException} once the service has stopped.
+     */
+    public CompletableFuture<Void> whenSlotFree(int userPin) {
+        synchronized (lock) {
+            if (executor.isShutdown()) {
+                return CompletableFuture.failedFuture(new RejectedExecutionException("Generation service stopped"));
+            }
+            if (rejection(userPin) == null) {
+                return CompletableFuture.completedFuture(null);
+            }
+            CompletableFuture<Void> waiter = new CompletableFuture<>();
+            slotWaiters.add(waiter);
+            return waiter;
+        }
+    }
+
+    private <T> CompletableFuture<T> submit(int userPin, Supplier<T> task, boolean failWhenFull) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        Job<T> job = new Job<>(userPin, task, future);
+
+        synchronized (lock) {
+            String rejection = rejection(userPin);
+            if (rejection != null) {
+                return failWhenFull ? CompletableFuture.failedFuture(new RejectedExecutionException(rejection))
+                        : null;
+            }
+            Deque<Job<?>> userQueue = queues.computeIfAbsent(userPin, k -> new ArrayDeque<>());
+            if (userQueue.isEmpty()) {
+                readyUsers.addLast(userPin);
+            }
+            userQueue.addLast(job);
+            pendingPerUser.merge(userPin, 1, Integer::sum);
+            queued++;
+            dispatch();
+        }
+
+        future.whenComplete((result, error) -> {
+            if (error instanceof CancellationException) {
+                cancel(job);
+            }
+        });
+        return future;
+    }
+
+    // Must be called while holding "lock"; null when userPin may submit now
+    private String rejection(int userPin) {
+        if (executor.isShutdown()) {
+            return "Generation service stopped";
+        }
+        if (pendingPerUser.getOrDefault(userPin, 0) >= maxPendingPerUser) {
+            return "Too many pending generations for user";
+        }
+        if (running >= maxConcurrent && queued >= maxQueueDepth) {
+            return "Generation queue is full";
+        }
+        return null;
+    }
+
+    public int getRunningCount() {
+        synchronized (lock) {
+            return running;
+        }
+    }
+
+    /** How many generations one user may have queued or running at once. */
+    public int getMaxPendingPerUser() {
+        return maxPendingPerUser;
+    }
+
+    public int getQueuedCount() {
+        synchronized (lock) {
+            return queued;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        synchronized (lock) {
+            for (Deque<Job<?>> userQueue : queues.values()) {
+                for (Job<?> job : userQueue) {
+                    job.future.cancel(false);
+                }
+            }
+            queues.clear();
+            readyUsers.clear();
+            queued = 0;
+            executor.shutdownNow();
+        }
+        wakeSlotWaiters();
+    }
+
+    // Must be called while holding "lock"
+    private void dispatch() {
+        while (running < maxConcurrent && !readyUsers.isEmpty()) {
+            Integer userPin = readyUsers.pollFirst();
+            Deque<Job<?>> userQueue = queues.get(userPin);
+            Job<?> job = userQueue.pollFirst();
+            if (userQueue.isEmpty()) {
+                queues.remove(userPin);
+            } else {
+                // Rotate so the next free slot goes to a different user
+                readyUsers.addLast(userPin);
+            }
+            queued--;
+            running++;
+            job.execution = executor.submit(() -> execute(job));
+        }
+    }
+
+    private <T> void execute(Job<T> job) {
+        T result = null;
+        Throwable failure = null;
+        try {
+            if (!job.future.isDone()) {
+                // Model requests made by the task count against this user's quota
+                result = LlmRateLimiter.runAs(String.valueOf(job.userPin), job.task);
+            }
+        } catch (Throwable t) {
+            if (Thread.currentThread().isInterrupted()) {
+                log.debug("Generation for user {} interrupted", job.userPin);
+            }
+            failure = t;
+        } finally {
+            synchronized (lock) {
+                running--;
+                release(job.userPin);
+                dispatch();
+            }
+            wakeSlotWaiters();
+        }
+        // Completed only after the slot is released, so a caller reacting to the
+        // result (e.g. a batch submitting its next job) is not rejected
+        if (failure != null) {
+            job.future.completeExceptionally(failure);
+        } else {
+            job.future.complete(result);
+        }
+    }
+
+    private void cancel(Job<?> job) {
+        synchronized (lock) {
+            Deque<Job<?>> userQueue = queues.get(job.userPin);
+            if (userQueue != null && userQueue.remove(job)) {
+                queued--;
+                release(job.userPin);
+                if (userQueue.isEmpty()) {
+                    queues.remove(job.userPin);
+                    readyUsers.remove(job.userPin);
+                }
+            } else {
+                Future<?> execution = job.execution;
+                if (execution != null) {
+                    execution.cancel(true);
+                }
+                return;
+            }
+        }
+        wakeSlotWaiters();
+    }
+
+    // Outside "lock": waiters may react by submitting right away
+    private void wakeSlotWaiters() {
+        List<CompletableFuture<Void>> woken;
+        synchronized (lock) {
+            if (slotWaiters.isEmpty()) {
+                return;
+            }
+            woken = new ArrayList<>(slotWaiters);
+            slotWaiters.clear();
+        }
+        for (CompletableFuture<Void> waiter : woken) {
+            waiter.complete(null);
+        }
+    }
+
+    // Must be called while holding "lock"
+    private void release(int userPin) {
+        pendingPerUser.computeIfPresent(userPin, (k, v) -> v > 1 ? v - 1 : null);
+    }
+
+    private static final class Job<T> {
+        final int userPin;
+        final Supplier<T> task;
+        final CompletableFuture<T> future;
+        Future<?> execution;
+
+        Job(int userPin, Supplier<T> task, CompletableFuture<T> future) {
+            this.userPin = userPin;
+            this.task = task;
+            this.future = future;
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.clbooster.aiservice;
 
+import org.apache.commons.io.output.CloseShieldOutputStream;
 import org.apache.poi.xwpf.usermodel.XWPFDocument;
 import org.apache.poi.xwpf.usermodel.XWPFParagraph;
 import org.apache.poi.xwpf.usermodel.XWPFRun;
@@ -7,6 +8,10 @@ import org.springframework.stereotype.Service;
 
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -17,6 +22,33 @@ public class Exporter {
     private static final Logger log = LoggerFactory.getLogger(Exporter.class);
 
     public void saveAsDoc(String content, String outputPath) {
+        try (FileOutputStream out = new FileOutputStream(outputPath)) {
+            writeDoc(content, out);
+            log.info("File saved on path: {}", outputPath);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to save document.", e);
+        }
+    }
+
+    /**
+     * Writes every letter as a .docx entry of one zip on {@code out}, keyed by
+     * entry name. Each document goes straight into its entry; nothing is
+     * staged on disk or buffered whole. The zip is finished but {@code out} is
+     * left open for the caller to close.
+     */
+    public void writeAllAsZip(Map<String, String> lettersByFileName, OutputStream out) throws IOException {
+        ZipOutputStream zos = new ZipOutputStream(out);
+        for (Map.Entry<String, String> letter : lettersByFileName.entrySet()) {
+            zos.putNextEntry(new ZipEntry(letter.getKey()));
+            // POI may close the stream it writes to; the zip must stay open
+            writeDoc(letter.getValue(), CloseShieldOutputStream.wrap(zos));
+            zos.closeEntry();
+        }
+        zos.finish();
+        log.info("Exported {} documents in one archive", lettersByFileName.size());
+    }
+
+    private static void writeDoc(String content, OutputStream out) throws IOException {
         try (XWPFDocument document = new XWPFDocument()) {
             String[] paragraphs = content.split("\n");
             for (String line : paragraphs) {
@@ -26,12 +58,7 @@ public class Exporter {
                     run.setText(line);
                 }
             }
-            try (FileOutputStream out = new FileOutputStream(outputPath)) {
-                document.write(out);
-            }
-            log.info("File saved on path: {}", outputPath);
-        } catch (IOException e) {
-            throw new IllegalStateException("Failed to save document.", e);
+            document.write(out);
         }
     }
 }
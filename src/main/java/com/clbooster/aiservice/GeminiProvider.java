@@ -0,0 +1,51 @@
+package com.clbooster.aiservice;
+
+import dev.langchain4j.model.chat.ChatLanguageModel;
+import dev.langchain4j.model.chat.StreamingChatLanguageModel;
+import dev.langchain4j.model.googleai.GoogleAiGeminiChatModel;
+import dev.langchain4j.model.googleai.GoogleAiGeminiStreamingChatModel;
+
+import java.time.Duration;
+
+/**
+ * Gemini models through the Google AI API. Building a model needs the API
+ * key; a missing key fails the first generation, not application startup.
+ */
+public class GeminiProvider implements LlmProvider {
+
+    static final String MODEL_NAME = "gemini-2.5-flash-lite";
+    private static final double TEMPERATURE = 0.7;
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    private final String apiKey;
+
+    public GeminiProvider(String apiKey) {
+        this.apiKey = apiKey;
+    }
+
+    @Override
+    public String name() {
+        return "gemini";
+    }
+
+    @Override
+    public ChatLanguageModel chatModel() {
+        requireApiKey();
+        return GoogleAiGeminiChatModel.builder().apiKey(apiKey).modelName(MODEL_NAME).temperature(TEMPERATURE)
+                .timeout(TIMEOUT).build();
+    }
+
+    @Override
+    public StreamingChatLanguageModel streamingModel() {
+        requireApiKey();
+        return GoogleAiGeminiStreamingChatModel.builder().apiKey(apiKey).modelName(MODEL_NAME)
+                .temperature(TEMPERATURE).timeout(TIMEOUT).build();
+    }
+
+    private void requireApiKey() {
+        if (apiKey == null || apiKey.isBlank()) {
+            throw new IllegalStateException("GEMINI_API_KEY environment variable is not set. "
+                    + "Set it and restart the application before generating cover letters.");
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.clbooster.aiservice;
+
+import dev.langchain4j.model.chat.ChatLanguageModel;
+import dev.langchain4j.model.chat.StreamingChatLanguageModel;
+
+/**
+ * Where {@link AIService} gets its language models from.
+ *
+ * {@link GeminiProvider} talks to Google's API; {@link StubLlmProvider}
+ * answers locally so the generation path can be load-tested offline. The
+ * implementation is picked with {@code ai.provider} (see
+ * {@link LlmProviderConfig}).
+ */
+public interface LlmProvider {
+
+    /** Short name used in logs and configuration, e.g. {@code gemini}. */
+    String name();
+
+    ChatLanguageModel chatModel();
+
+    StreamingChatLanguageModel streamingModel();
+}
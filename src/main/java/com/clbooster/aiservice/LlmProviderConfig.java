@@ -0,0 +1,39 @@
+package com.clbooster.aiservice;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Locale;
+
+/**
+ * Chooses the {@link LlmProvider} behind {@link AIService}:
+ * {@code ai.provider=gemini} (default) or {@code ai.provider=stub} for
+ * offline load tests, tuned with the {@code ai.stub.*} properties.
+ */
+@Configuration
+public class LlmProviderConfig {
+    private static final Logger log = LoggerFactory.getLogger(LlmProviderConfig.class);
+
+    @Bean
+    public LlmProvider llmProvider(@Value("${ai.provider:gemini}") String provider,
+            @Value("${spring.ai.vertex.ai.gemini.api-key:}") String apiKey,
+            @Value("${ai.stub.latency-distribution:LOG_NORMAL}") StubLlmProvider.Distribution distribution,
+            @Value("${ai.stub.latency-ms:1500}") long latencyMs, @Value("${ai.stub.spread-ms:750}") long spreadMs,
+            @Value("${ai.stub.error-rate:0.0}") double errorRate, @Value("${ai.stub.words:300}") int words,
+            @Value("${ai.stub.seed:42}") long seed) {
+        switch (provider.trim().toLowerCase(Locale.ROOT)) {
+        case "stub":
+            log.warn("Using the stub LLM provider ({} {}±{} ms, error rate {}); no real letters are generated",
+                    distribution, latencyMs, spreadMs, errorRate);
+            return new StubLlmProvider(
+                    new StubLlmProvider.Options(distribution, latencyMs, spreadMs, errorRate, words, seed));
+        case "gemini":
+            return new GeminiProvider(apiKey);
+        default:
+            throw new IllegalArgumentException("Unknown ai.provider '" + provider + "' (expected gemini or stub)");
+        }
+    }
+}
@@ -0,0 +1,316 @@
+package com.clbooster.aiservice;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Keeps {@link AIService} inside the provider's quota, for every generation
+ * path (wizard, editor, CLI).
+ *
+ * Four token buckets are checked before each model request: requests per
+ * minute and model tokens per minute, both globally and per user. A request
+ * that does not fit waits in line until the buckets refill (up to
+ * {@code maxWait}) instead of failing. Its token cost is estimated from the
+ * prompt up front and corrected with the provider's reported usage
+ * afterwards, so an underestimate is paid back by later requests.
+ *
+ * Every request's prompt and completion tokens are logged and added to the
+ * {@code ai.tokens.*} counters. The user is taken from
+ * {@link #runAs(String, Supplier)}; calls made outside it count as
+ * {@value #DEFAULT_USER}.
+ */
+@Component
+public class LlmRateLimiter implements MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(LlmRateLimiter.class);
+
+    static final String DEFAULT_USER = "system";
+    private static final ThreadLocal<String> CURRENT_USER = new ThreadLocal<>();
+    // Longest a waiting request sleeps before re-checking the buckets
+    private static final long MAX_POLL_NANOS = TimeUnit.MILLISECONDS.toNanos(250);
+    private static final int MAX_TRACKED_USERS = 10_000;
+
+    public record Limits(int requestsPerMinute, long tokensPerMinute, int userRequestsPerMinute,
+            long userTokensPerMinute, Duration maxWait) {
+
+        public Limits {
+            if (requestsPerMinute < 1 || tokensPerMinute < 1 || userRequestsPerMinute < 1 || userTokensPerMinute < 1
+                    || maxWait.isNegative()) {
+                throw new IllegalArgumentException("Invalid LLM rate limits");
+            }
+        }
+
+        public static Limits defaults() {
+            return new Limits(60, 250_000, 10, 50_000, Duration.ofMinutes(2));
+        }
+    }
+
+    /** A request admitted by {@link #acquire}; report its usage with {@link #complete}. */
+    public final class Permit {
+        private final String user;
+        private final long estimatedTokens;
+        private boolean completed;
+
+        private Permit(String user, long estimatedTokens) {
+            this.user = user;
+            this.estimatedTokens = estimatedTokens;
+        }
+
+        /**
+         * Records the provider-reported usage and settles the difference to
+         * the estimate. Calling it again has no effect.
+         */
+        public void complete(String stage, long promptTokens, long completionTokens) {
+            synchronized (LlmRateLimiter.this) {
+                if (completed) {
+                    return;
+                }
+                completed = true;
+                long correction = promptTokens + completionTokens - estimatedTokens;
+                globalTokens.adjust(correction);
+                buckets(user).tokens.adjust(correction);
+            }
+            promptTokenTotal.addAndGet(promptTokens);
+            completionTokenTotal.addAndGet(completionTokens);
+            log.info("LLM usage user={} stage={} promptTokens={} completionTokens={}", user, stage, promptTokens,
+                    completionTokens);
+        }
+    }
+
+    private final Limits limits;
+    private final LongSupplier nanoTime;
+
+    // Guarded by "this"
+    private final Bucket globalRequests;
+    private final Bucket globalTokens;
+    private final Map<String, UserBuckets> users = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, UserBuckets> eldest) {
+            return size() > MAX_TRACKED_USERS;
+        }
+    };
+
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final AtomicLong admitted = new AtomicLong();
+    private final AtomicLong delayed = new AtomicLong();
+    private final AtomicLong timedOut = new AtomicLong();
+    private final AtomicLong promptTokenTotal = new AtomicLong();
+    private final AtomicLong completionTokenTotal = new AtomicLong();
+
+    @Autowired
+    public LlmRateLimiter(@Value("${ai.rate-limit.requests-per-minute:60}") int requestsPerMinute,
+            @Value("${ai.rate-limit.tokens-per-minute:250000}") long tokensPerMinute,
+            @Value("${ai.rate-limit.user-requests-per-minute:10}") int userRequestsPerMinute,
+            @Value("${ai.rate-limit.user-tokens-per-minute:50000}") long userTokensPerMinute,
+            @Value("${ai.rate-limit.max-wait-seconds:120}") long maxWaitSeconds) {
+        this(new Limits(requestsPerMinute, tokensPerMinute, userRequestsPerMinute, userTokensPerMinute,
+                Duration.ofSeconds(maxWaitSeconds)), System::nanoTime);
+    }
+
+    LlmRateLimiter(Limits limits, LongSupplier nanoTime) {
+        this.limits = limits;
+        this.nanoTime = nanoTime;
+        long now = nanoTime.getAsLong();
+        this.globalRequests = new Bucket(limits.requestsPerMinute(), now);
+        this.globalTokens = new Bucket(limits.tokensPerMinute(), now);
+    }
+
+    /** Default limits, for callers outside Spring (CLI). */
+    public static LlmRateLimiter withDefaults() {
+        return new LlmRateLimiter(Limits.defaults(), System::nanoTime);
+    }
+
+    /**
+     * Runs {@code task} with its model requests counted against
+     * {@code user}'s budget.
+     */
+    public static <T> T runAs(String user, Supplier<T> task) {
+        String previous = CURRENT_USER.get();
+        CURRENT_USER.set(user);
+        try {
+            return task.get();
+        } finally {
+            if (previous != null) {
+                CURRENT_USER.set(previous);
+            } else {
+                CURRENT_USER.remove();
+            }
+        }
+    }
+
+    static String currentUser() {
+        String user = CURRENT_USER.get();
+        return user != null ? user : DEFAULT_USER;
+    }
+
+    /** Rough token count of {@code text}: about four characters per token. */
+    static long estimateTokens(String text) {
+        return text == null ? 0 : (text.length() + 3) / 4;
+    }
+
+    /**
+     * Waits until the current user may send a request costing about
+     * {@code estimatedTokens}.
+     *
+     * @throws LlmUnavailableException when it cannot be admitted within
+     *                                 {@code maxWait}
+     * @throws CancellationException   when the waiting thread is interrupted
+     */
+    public Permit acquire(long estimatedTokens) {
+        return acquire(currentUser(), estimatedTokens);
+    }
+
+    /**
+     * Same as {@link #acquire(long)} for an explicit {@code user}, for
+     * requests sent from a thread other than the one that runs as the user.
+     */
+    public Permit acquire(String user, long estimatedTokens) {
+        long deadline = nanoTime.getAsLong() + limits.maxWait().toNanos();
+        boolean counted = false;
+        try {
+            while (true) {
+                long wait = tryAdmit(user, estimatedTokens);
+                if (wait == 0) {
+                    admitted.incrementAndGet();
+                    return new Permit(user, estimatedTokens);
+                }
+                long remaining = deadline - nanoTime.getAsLong();
+                if (remaining <= 0) {
+                    timedOut.incrementAndGet();
+                    throw new LlmUnavailableException(
+                            "Rate limit: request for " + user + " not admitted within " + limits.maxWait(), null);
+                }
+                if (!counted) {
+                    counted = true;
+                    delayed.incrementAndGet();
+                    waiting.incrementAndGet();
+                }
+                TimeUnit.NANOSECONDS.sleep(Math.min(Math.min(wait, remaining), MAX_POLL_NANOS));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Interrupted while waiting for LLM quota");
+        } finally {
+            if (counted) {
+                waiting.decrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * Takes one request and {@code tokens} from all four buckets when they
+     * all have room; otherwise takes nothing and returns the nanoseconds
+     * until they might.
+     */
+    private synchronized long tryAdmit(String user, long tokens) {
+        long now = nanoTime.getAsLong();
+        UserBuckets own = buckets(user);
+        // A request larger than a whole minute's budget is admitted once the bucket is full
+        long wait = Math.max(Math.max(globalRequests.waitFor(1, now), own.requests.waitFor(1, now)),
+                Math.max(globalTokens.waitFor(tokens, now), own.tokens.waitFor(tokens, now)));
+        if (wait > 0) {
+            return wait;
+        }
+        globalRequests.adjust(1);
+        own.requests.adjust(1);
+        globalTokens.adjust(tokens);
+        own.tokens.adjust(tokens);
+        return 0;
+    }
+
+    // Must be called while holding "this"
+    private UserBuckets buckets(String user) {
+        return users.computeIfAbsent(user, u -> {
+            long now = nanoTime.getAsLong();
+            return new UserBuckets(new Bucket(limits.userRequestsPerMinute(), now),
+                    new Bucket(limits.userTokensPerMinute(), now));
+        });
+    }
+
+    /** Prompt and completion tokens recorded so far, by type. */
+    public Map<String, Long> getTokenTotals() {
+        Map<String, Long> totals = new HashMap<>();
+        totals.put("prompt", promptTokenTotal.get());
+        totals.put("completion", completionTokenTotal.get());
+        return totals;
+    }
+
+    int getWaitingCount() {
+        return waiting.get();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("ai.tokens", promptTokenTotal, AtomicLong::get).tag("type", "prompt")
+                .description("Prompt tokens sent to the language model").register(registry);
+        FunctionCounter.builder("ai.tokens", completionTokenTotal, AtomicLong::get).tag("type", "completion")
+                .description("Completion tokens returned by the language model").register(registry);
+        FunctionCounter.builder("ai.rate-limit.admitted", admitted, AtomicLong::get)
+                .description("Model requests admitted").register(registry);
+        FunctionCounter.builder("ai.rate-limit.delayed", delayed, AtomicLong::get)
+                .description("Model requests that had to wait for quota").register(registry);
+        FunctionCounter.builder("ai.rate-limit.timed-out", timedOut, AtomicLong::get)
+                .description("Model requests not admitted within the maximum wait").register(registry);
+        Gauge.builder("ai.rate-limit.waiting", this, LlmRateLimiter::getWaitingCount)
+                .description("Model requests currently waiting for quota").register(registry);
+    }
+
+    private record UserBuckets(Bucket requests, Bucket tokens) {
+    }
+
+    /**
+     * Holds up to one minute's allowance and refills continuously. The level
+     * may go negative when actual usage exceeds the estimate; later requests
+     * then wait for the debt to be paid off.
+     */
+    private static final class Bucket {
+        private final long perMinute;
+        private double level;
+        private long refilledAt;
+
+        Bucket(long perMinute, long now) {
+            this.perMinute = perMinute;
+            this.level = perMinute;
+            this.refilledAt = now;
+        }
+
+        long waitFor(long amount, long now) {
+            refill(now);
+            double needed = Math.min(amount, perMinute) - level;
+            if (needed <= 0) {
+                return 0;
+            }
+            return (long) Math.ceil(needed * TimeUnit.MINUTES.toNanos(1) / perMinute);
+        }
+
+        void adjust(long taken) {
+            level -= taken;
+            if (level > perMinute) {
+                level = perMinute;
+            }
+        }
+
+        private void refill(long now) {
+            level = Math.min(perMinute, level + (double) (now - refilledAt) * perMinute / TimeUnit.MINUTES.toNanos(1));
+            refilledAt = now;
+        }
+    }
+}
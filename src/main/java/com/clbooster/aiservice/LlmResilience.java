@@ -0,0 +1,418 @@
+package com.clbooster.aiservice;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+/**
+ * Guards every language model call made by {@link AIService}.
+ *
+ * <ul>
+ * <li><b>Latency budget</b>: each {@link Stage} must finish, retries
+ * included, within its budget (time spent waiting for rate-limit quota
+ * excluded); an attempt still running when the budget is spent is
+ * interrupted.</li>
+ * <li><b>Retries</b>: transient failures (I/O errors, 429 and 5xx responses)
+ * are retried up to {@code maxAttempts} times with exponential backoff and
+ * full jitter, as long as the budget allows. Other errors are rethrown as
+ * they are.</li>
+ * <li><b>Circuit breaker</b>: when at least {@code failureRateThreshold} of
+ * the last {@code windowSize} calls failed transiently, calls fail fast for
+ * {@code openDuration}; then {@code halfOpenCalls} trial calls decide whether
+ * it closes again.</li>
+ * <li><b>Bulkhead</b>: at most {@code maxConcurrent} calls reach the provider
+ * at once; others wait for a slot within their budget.</li>
+ * </ul>
+ *
+ * Calls that are not let through fail with {@link LlmUnavailableException}.
+ * Outcomes and breaker/bulkhead state are exported as
+ * {@code ai.resilience.*} metrics.
+ */
+@Component
+public class LlmResilience implements MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(LlmResilience.class);
+
+    public enum Stage {
+        ANALYSIS, DRAFT
+    }
+
+    public record Policy(Duration analysisBudget, Duration draftBudget, int maxAttempts, Duration baseBackoff,
+            Duration maxBackoff, int windowSize, int minCalls, double failureRateThreshold, Duration openDuration,
+            int halfOpenCalls, int maxConcurrent) {
+
+        public Policy {
+            if (maxAttempts < 1 || windowSize < 1 || minCalls < 1 || halfOpenCalls < 1 || maxConcurrent < 1
+                    || failureRateThreshold <= 0 || failureRateThreshold > 1) {
+                throw new IllegalArgumentException("Invalid LLM resilience policy");
+            }
+        }
+
+        public static Policy defaults() {
+            return new Policy(Duration.ofSeconds(20), Duration.ofSeconds(45), 3, Duration.ofMillis(500),
+                    Duration.ofSeconds(4), 20, 10, 0.5, Duration.ofSeconds(30), 2, 8);
+        }
+
+        Duration budget(Stage stage) {
+            return stage == Stage.ANALYSIS ? analysisBudget : draftBudget;
+        }
+    }
+
+    // HTTP status or gRPC status names the Gemini client puts into its error messages
+    private static final Pattern TRANSIENT_MESSAGE = Pattern.compile(
+            "\\b(429|500|502|503|504)\\b|UNAVAILABLE|RESOURCE_EXHAUSTED|DEADLINE_EXCEEDED|overloaded|timed? ?out",
+            Pattern.CASE_INSENSITIVE);
+
+    enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final Policy policy;
+    private final Clock clock;
+    private final Semaphore bulkhead;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    // Circuit breaker; guarded by "this"
+    private final boolean[] window;
+    private int windowNext;
+    private int windowCount;
+    private int windowFailures;
+    private State state = State.CLOSED;
+    private long openedAt;
+    private int halfOpenPermits;
+    private int halfOpenSuccesses;
+
+    private final AtomicLong successes = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private final AtomicLong retries = new AtomicLong();
+    private final AtomicLong timeouts = new AtomicLong();
+    private final AtomicLong shortCircuited = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+
+    @Autowired
+    public LlmResilience(@Value("${ai.resilience.analysis-budget-seconds:20}") long analysisBudgetSeconds,
+            @Value("${ai.resilience.draft-budget-seconds:45}") long draftBudgetSeconds,
+            @Value("${ai.resilience.max-attempts:3}") int maxAttempts,
+            @Value("${ai.resilience.base-backoff-ms:500}") long baseBackoffMs,
+            @Value("${ai.resilience.max-backoff-ms:4000}") long maxBackoffMs,
+            @Value("${ai.resilience.window-size:20}") int windowSize,
+            @Value("${ai.resilience.min-calls:10}") int minCalls,
+            @Value("${ai.resilience.failure-rate-threshold:0.5}") double failureRateThreshold,
+            @Value("${ai.resilience.open-seconds:30}") long openSeconds,
+            @Value("${ai.resilience.half-open-calls:2}") int halfOpenCalls,
+            @Value("${ai.resilience.max-concurrent:8}") int maxConcurrent) {
+        this(new Policy(Duration.ofSeconds(analysisBudgetSeconds), Duration.ofSeconds(draftBudgetSeconds),
+                maxAttempts, Duration.ofMillis(baseBackoffMs), Duration.ofMillis(maxBackoffMs), windowSize, minCalls,
+                failureRateThreshold, Duration.ofSeconds(openSeconds), halfOpenCalls, maxConcurrent),
+                Clock.systemUTC());
+    }
+
+    LlmResilience(Policy policy, Clock clock) {
+        this.policy = policy;
+        this.clock = clock;
+        this.bulkhead = new Semaphore(policy.maxConcurrent(), true);
+        this.window = new boolean[policy.windowSize()];
+    }
+
+    /** Default policy, for callers outside Spring (CLI). */
+    public static LlmResilience withDefaults() {
+        return new LlmResilience(Policy.defaults(), Clock.systemUTC());
+    }
+
+    public <T> T call(Stage stage, Supplier<T> action) {
+        return call(stage, action, () -> true);
+    }
+
+    /**
+     * Runs {@code action} under the stage's budget, retry, breaker and
+     * bulkhead rules.
+     *
+     * @param retrySafe asked before each retry; a streaming call answers
+     *                  {@code false} once tokens have reached the user
+     * @throws LlmUnavailableException when the call is short-circuited,
+     *                                 rejected or out of budget
+     * @throws CancellationException   when the calling thread is interrupted
+     */
+    public <T> T call(Stage stage, Supplier<T> action, BooleanSupplier retrySafe) {
+        return call(stage, () -> {
+        }, action, retrySafe);
+    }
+
+    /**
+     * Same as {@link #call(Stage, Supplier, BooleanSupplier)}, but runs
+     * {@code beforeAttempt} on the calling thread before every attempt, ahead
+     * of the breaker and the bulkhead. The time it takes (e.g. waiting for
+     * rate-limit quota) is not charged to the budget, and what it throws is
+     * rethrown without counting against the provider.
+     */
+    public <T> T call(Stage stage, Runnable beforeAttempt, Supplier<T> action, BooleanSupplier retrySafe) {
+        long deadline = clock.millis() + policy.budget(stage).toMillis();
+        RuntimeException lastFailure = null;
+
+        for (int attempt = 1;; attempt++) {
+            long waitStarted = clock.millis();
+            try {
+                beforeAttempt.run();
+            } catch (RuntimeException e) {
+                throw lastFailure != null ? withSuppressed(e, lastFailure) : e;
+            }
+            deadline += clock.millis() - waitStarted;
+
+            if (!tryEnter()) {
+                shortCircuited.incrementAndGet();
+                throw new LlmUnavailableException(stage + ": provider circuit is open", lastFailure);
+            }
+            boolean recorded = false;
+            try {
+                T result = runWithinBudget(stage, action, deadline);
+                onSuccess();
+                recorded = true;
+                return result;
+            } catch (LlmUnavailableException e) {
+                // A hung call counts against the provider; a missing bulkhead slot does not
+                if (e.getCause() instanceof TimeoutException) {
+                    onFailure();
+                } else {
+                    onIgnored();
+                }
+                recorded = true;
+                throw lastFailure != null ? withSuppressed(e, lastFailure) : e;
+            } catch (RuntimeException e) {
+                recorded = true;
+                if (!isTransient(e)) {
+                    onIgnored();
+                    throw e;
+                }
+                onFailure();
+                lastFailure = e;
+            } finally {
+                if (!recorded) {
+                    onIgnored();
+                }
+            }
+
+            long backoff = backoff(attempt);
+            if (attempt >= policy.maxAttempts() || !retrySafe.getAsBoolean()
+                    || clock.millis() + backoff >= deadline) {
+                throw lastFailure;
+            }
+            retries.incrementAndGet();
+            log.info("{} call failed ({}); retry {} in {} ms", stage, lastFailure.getMessage(), attempt, backoff);
+            sleep(backoff);
+        }
+    }
+
+    private <T> T runWithinBudget(Stage stage, Supplier<T> action, long deadline) {
+        long remaining = deadline - clock.millis();
+        boolean acquired;
+        try {
+            acquired = remaining > 0 && bulkhead.tryAcquire(remaining, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Interrupted while waiting for an LLM slot");
+        }
+        if (!acquired) {
+            rejected.incrementAndGet();
+            throw new LlmUnavailableException(stage + ": no free LLM slot within the latency budget", null);
+        }
+        Future<T> future = executor.submit(action::get);
+        try {
+            return future.get(Math.max(0, deadline - clock.millis()), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            timeouts.incrementAndGet();
+            throw new LlmUnavailableException(stage + ": exceeded its latency budget of "
+                    + policy.budget(stage).toSeconds() + " s", e);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Interrupted while waiting for the LLM");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException re) {
+                throw re;
+            }
+            throw new IllegalStateException(stage + " call failed", cause);
+        } finally {
+            bulkhead.release();
+        }
+    }
+
+    /**
+     * Transient provider trouble worth retrying: I/O failures, rate limiting
+     * and server-side errors.
+     */
+    static boolean isTransient(Throwable error) {
+        if (error instanceof CancellationException) {
+            return false;
+        }
+        for (Throwable t = error; t != null; t = t.getCause()) {
+            if (t instanceof IOException || t instanceof TimeoutException) {
+                return true;
+            }
+            if (t.getMessage() != null && TRANSIENT_MESSAGE.matcher(t.getMessage()).find()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Exponential backoff with full jitter: uniform in [0, min(max, base * 2^(attempt-1))]
+    long backoff(int attempt) {
+        long cap = Math.min(policy.maxBackoff().toMillis(),
+                policy.baseBackoff().toMillis() << Math.min(attempt - 1, 20));
+        return cap <= 0 ? 0 : ThreadLocalRandom.current().nextLong(cap + 1);
+    }
+
+    // ---------------- circuit breaker ----------------
+
+    private synchronized boolean tryEnter() {
+        if (state == State.OPEN) {
+            if (clock.millis() - openedAt < policy.openDuration().toMillis()) {
+                return false;
+            }
+            state = State.HALF_OPEN;
+            halfOpenPermits = policy.halfOpenCalls();
+            halfOpenSuccesses = 0;
+            log.info("LLM circuit half-open; letting {} trial calls through", halfOpenPermits);
+        }
+        if (state == State.HALF_OPEN) {
+            if (halfOpenPermits == 0) {
+                return false;
+            }
+            halfOpenPermits--;
+        }
+        return true;
+    }
+
+    private synchronized void onSuccess() {
+        successes.incrementAndGet();
+        if (state == State.HALF_OPEN) {
+            if (++halfOpenSuccesses >= policy.halfOpenCalls()) {
+                state = State.CLOSED;
+                resetWindow();
+                log.info("LLM circuit closed");
+            }
+            return;
+        }
+        record(false);
+    }
+
+    private synchronized void onFailure() {
+        failures.incrementAndGet();
+        if (state == State.HALF_OPEN) {
+            open();
+            return;
+        }
+        record(true);
+        if (windowCount >= policy.minCalls()
+                && (double) windowFailures / windowCount >= policy.failureRateThreshold()) {
+            open();
+        }
+    }
+
+    // A call that neither proved nor disproved the provider's health
+    private synchronized void onIgnored() {
+        if (state == State.HALF_OPEN) {
+            halfOpenPermits++;
+        }
+    }
+
+    private void record(boolean failed) {
+        if (windowCount == window.length) {
+            if (window[windowNext]) {
+                windowFailures--;
+            }
+        } else {
+            windowCount++;
+        }
+        window[windowNext] = failed;
+        if (failed) {
+            windowFailures++;
+        }
+        windowNext = (windowNext + 1) % window.length;
+    }
+
+    private void open() {
+        state = State.OPEN;
+        openedAt = clock.millis();
+        resetWindow();
+        log.warn("LLM circuit opened; failing fast for {} s", policy.openDuration().toSeconds());
+    }
+
+    private void resetWindow() {
+        windowNext = 0;
+        windowCount = 0;
+        windowFailures = 0;
+    }
+
+    synchronized State getState() {
+        return state;
+    }
+
+    int getActiveCalls() {
+        return policy.maxConcurrent() - bulkhead.availablePermits();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        counter(registry, "success", successes);
+        counter(registry, "failure", failures);
+        counter(registry, "retry", retries);
+        counter(registry, "timeout", timeouts);
+        counter(registry, "short_circuited", shortCircuited);
+        counter(registry, "rejected", rejected);
+        Gauge.builder("ai.resilience.circuit.state", this, r -> r.getState().ordinal())
+                .description("LLM circuit breaker state: 0 closed, 1 open, 2 half-open").register(registry);
+        Gauge.builder("ai.resilience.bulkhead.active", this, LlmResilience::getActiveCalls)
+                .description("LLM calls currently in flight").register(registry);
+    }
+
+    private static void counter(MeterRegistry registry, String outcome, AtomicLong value) {
+        FunctionCounter.builder("ai.resilience.calls", value, AtomicLong::get).tag("outcome", outcome)
+                .description("LLM call attempts by outcome").register(registry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private static RuntimeException withSuppressed(RuntimeException e, RuntimeException earlier) {
+        e.addSuppressed(earlier);
+        return e;
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Interrupted while backing off");
+        }
+    }
+}
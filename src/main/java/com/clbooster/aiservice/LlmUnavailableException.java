@@ -0,0 +1,14 @@
+package com.clbooster.aiservice;
+
+/**
+ * The language model could not be asked in time: its circuit is open, no
+ * call slot freed up, or the stage ran out of its latency budget.
+ */
+public class LlmUnavailableException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public LlmUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
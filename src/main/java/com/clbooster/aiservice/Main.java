@@ -10,6 +10,10 @@ public class Main {
     private static final Logger log = LoggerFactory.getLogger(Main.class);
 
     public static void main(String[] args) {
+        if (args.length > 0) {
+            // Non-interactive bulk mode, see BatchCli
+            System.exit(BatchCli.run(args));
+        }
         Scanner scanner = new Scanner(System.in);
 
         String apiKey = System.getenv("API_KEY");
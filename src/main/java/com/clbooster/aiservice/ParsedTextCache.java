@@ -0,0 +1,218 @@
+package com.clbooster.aiservice;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Remembers the text Tika extracted from a document, keyed by the SHA-256 of
+ * the file bytes.
+ *
+ * Recently used entries stay in memory (LRU, {@code maxEntries}); every entry
+ * is also written to {@code <sha256>.txt} in the cache directory so a restart
+ * does not re-parse known resumes. Because the key is the content hash, a
+ * re-uploaded file with identical bytes hits the cache and an edited file
+ * naturally misses it.
+ *
+ * The directory is bounded too: {@link #prune()} (run at startup and after
+ * each write) drops sidecars unused for {@code maxAge} and then the least
+ * recently used ones beyond {@code maxFiles}. Deleting a resume should call
+ * {@link #remove(String)} so its extracted text does not outlive it.
+ */
+public class ParsedTextCache {
+
+    private static final Logger log = LoggerFactory.getLogger(ParsedTextCache.class);
+
+    static final int DEFAULT_MAX_FILES = 1000;
+    static final Duration DEFAULT_MAX_AGE = Duration.ofDays(30);
+
+    private static final ParsedTextCache SHARED = startup(new ParsedTextCache(
+            Paths.get(System.getenv().getOrDefault("PARSED_TEXT_CACHE_DIR", "uploads/.parsed")), 64));
+
+    private final Path directory;
+    private final int maxFiles;
+    private final Duration maxAge;
+    private final Map<String, String> memory;
+
+    public ParsedTextCache(Path directory, int maxEntries) {
+        this(directory, maxEntries, DEFAULT_MAX_FILES, DEFAULT_MAX_AGE);
+    }
+
+    public ParsedTextCache(Path directory, int maxEntries, int maxFiles, Duration maxAge) {
+        this.directory = directory;
+        this.maxFiles = maxFiles;
+        this.maxAge = maxAge;
+        this.memory = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Process-wide cache used by {@link Parser}.
+     */
+    public static ParsedTextCache shared() {
+        return SHARED;
+    }
+
+    private static ParsedTextCache startup(ParsedTextCache cache) {
+        cache.prune();
+        return cache;
+    }
+
+    /**
+     * Streams {@code file} through SHA-256 and returns the hex digest.
+     */
+    public static String hash(Path file) throws IOException {
+        MessageDigest digest = sha256();
+        try (InputStream in = new DigestInputStream(Files.newInputStream(file), digest)) {
+            in.transferTo(OutputStream.nullOutputStream());
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    /**
+     * Returns the cached text for {@code contentHash}, or {@code null}.
+     */
+    public String get(String contentHash) {
+        synchronized (memory) {
+            String text = memory.get(contentHash);
+            if (text != null) {
+                return text;
+            }
+        }
+        Path sidecar = sidecar(contentHash);
+        if (!Files.isRegularFile(sidecar)) {
+            return null;
+        }
+        try {
+            String text = Files.readString(sidecar, StandardCharsets.UTF_8);
+            // The modification time doubles as "last used" for pruning
+            Files.setLastModifiedTime(sidecar, FileTime.fromMillis(System.currentTimeMillis()));
+            synchronized (memory) {
+                memory.put(contentHash, text);
+            }
+            return text;
+        } catch (IOException e) {
+            log.warn("Could not read parsed text cache {}: {}", sidecar, e.getMessage());
+            return null;
+        }
+    }
+
+    public void put(String contentHash, String text) {
+        synchronized (memory) {
+            memory.put(contentHash, text);
+        }
+        Path sidecar = sidecar(contentHash);
+        try {
+            Files.createDirectories(directory);
+            // Write to a temp file first so readers never see a half-written entry
+            Path tmp = Files.createTempFile(directory, contentHash, ".tmp");
+            Files.writeString(tmp, text, StandardCharsets.UTF_8);
+            Files.move(tmp, sidecar, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            // The in-memory entry still saves the re-parse for this process
+            log.warn("Could not write parsed text cache {}: {}", sidecar, e.getMessage());
+        }
+        prune();
+    }
+
+    /**
+     * Forgets the text for {@code contentHash}, in memory and on disk.
+     */
+    public void remove(String contentHash) {
+        synchronized (memory) {
+            memory.remove(contentHash);
+        }
+        Path sidecar = sidecar(contentHash);
+        try {
+            Files.deleteIfExists(sidecar);
+        } catch (IOException e) {
+            log.warn("Could not delete parsed text cache {}: {}", sidecar, e.getMessage());
+        }
+    }
+
+    /**
+     * Deletes sidecars unused for longer than {@code maxAge}, then the least
+     * recently used ones until at most {@code maxFiles} remain.
+     */
+    public void prune() {
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(directory)) {
+            files = new ArrayList<>(listing.filter(Files::isRegularFile).toList());
+        } catch (IOException e) {
+            log.warn("Could not list parsed text cache {}: {}", directory, e.getMessage());
+            return;
+        }
+        Map<Path, Long> modified = new LinkedHashMap<>();
+        for (Path file : files) {
+            modified.put(file, lastModified(file));
+        }
+        files.sort(Comparator.comparing(modified::get));
+
+        long cutoff = System.currentTimeMillis() - maxAge.toMillis();
+        int remaining = files.size();
+        int deleted = 0;
+        for (Path file : files) {
+            if (modified.get(file) >= cutoff && remaining <= maxFiles) {
+                break;
+            }
+            try {
+                Files.deleteIfExists(file);
+                deleted++;
+            } catch (IOException e) {
+                log.warn("Could not delete parsed text cache {}: {}", file, e.getMessage());
+            }
+            remaining--;
+        }
+        if (deleted > 0) {
+            log.info("Pruned {} parsed text cache files from {}", deleted, directory);
+        }
+    }
+
+    private static long lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file).toMillis();
+        } catch (IOException e) {
+            // Vanished or unreadable: prune it first
+            return 0;
+        }
+    }
+
+    private Path sidecar(String contentHash) {
+        return directory.resolve(contentHash + ".txt");
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -3,19 +3,54 @@ package com.clbooster.aiservice;
 import dev.langchain4j.data.document.Document;
 import dev.langchain4j.data.document.loader.FileSystemDocumentLoader;
 import dev.langchain4j.data.document.parser.apache.tika.ApacheTikaDocumentParser;
+import java.io.IOException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 
 public class Parser {
 
+    private final ParsedTextCache cache;
+
+    public Parser() {
+        this(ParsedTextCache.shared());
+    }
+
+    public Parser(ParsedTextCache cache) {
+        this.cache = cache;
+    }
+
+    /**
+     * Extracts the text of a PDF/DOCX/TXT file. Results are cached by content
+     * hash, so each version of a file goes through Tika only once.
+     */
     public String parseFileToJson(String filePath) {
+        Path path = Paths.get(filePath);
+        String contentHash = contentHash(path);
+        if (contentHash != null) {
+            String cached = cache.get(contentHash);
+            if (cached != null) {
+                return cached;
+            }
+        }
         try {
-            Path path = Paths.get(filePath);
             ApacheTikaDocumentParser documentToParse = new ApacheTikaDocumentParser();
             Document document = FileSystemDocumentLoader.loadDocument(path, documentToParse);
-            return document.text();
+            String text = document.text();
+            if (contentHash != null && text != null) {
+                cache.put(contentHash, text);
+            }
+            return text;
         } catch (Exception e) {
             throw new IllegalStateException("Unable to parse file " + filePath, e);
         }
     }
+
+    private static String contentHash(Path path) {
+        try {
+            return ParsedTextCache.hash(path);
+        } catch (IOException e) {
+            // Unreadable here means Tika will report the real problem below
+            return null;
+        }
+    }
 }
@@ -0,0 +1,91 @@
+package com.clbooster.aiservice;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A prompt with {@code {{NAME}}} placeholders, split into literal segments
+ * once when it is compiled.
+ *
+ * Rendering sizes the builder from the segments and the values, then writes
+ * each piece exactly once, instead of a chain of {@code String.replace} calls
+ * that each copy the whole (resume-sized) prompt. Values are inserted as-is,
+ * so text that happens to contain {@code {{...}}} is never substituted again.
+ *
+ * The {@link #id() id} carries the template's version (e.g.
+ * {@code match-v1}); change it whenever the wording changes so caches keyed
+ * on it, like {@link AnalysisCache}, stop serving results of the old prompt.
+ */
+public final class PromptTemplate {
+
+    private static final String OPEN = "{{";
+    private static final String CLOSE = "}}";
+
+    private final String id;
+    // literals[i] precedes slots[i]; the last literal follows the last slot
+    private final String[] literals;
+    private final String[] slots;
+    private final int literalLength;
+
+    private PromptTemplate(String id, String[] literals, String[] slots) {
+        this.id = id;
+        this.literals = literals;
+        this.slots = slots;
+        int length = 0;
+        for (String literal : literals) {
+            length += literal.length();
+        }
+        this.literalLength = length;
+    }
+
+    public static PromptTemplate compile(String id, String text) {
+        List<String> literals = new ArrayList<>();
+        List<String> slots = new ArrayList<>();
+        int from = 0;
+        int open;
+        while ((open = text.indexOf(OPEN, from)) >= 0) {
+            int close = text.indexOf(CLOSE, open + OPEN.length());
+            if (close < 0) {
+                throw new IllegalArgumentException("Unclosed placeholder in prompt " + id + " at " + open);
+            }
+            literals.add(text.substring(from, open));
+            slots.add(text.substring(open + OPEN.length(), close).trim());
+            from = close + CLOSE.length();
+        }
+        literals.add(text.substring(from));
+        return new PromptTemplate(id, literals.toArray(String[]::new), slots.toArray(String[]::new));
+    }
+
+    public String id() {
+        return id;
+    }
+
+    public List<String> placeholders() {
+        return List.of(slots);
+    }
+
+    /**
+     * Fills every placeholder from {@code values}.
+     *
+     * @throws IllegalArgumentException when a placeholder has no value
+     */
+    public String render(Map<String, String> values) {
+        String[] resolved = new String[slots.length];
+        int length = literalLength;
+        for (int i = 0; i < slots.length; i++) {
+            String value = values.get(slots[i]);
+            if (value == null) {
+                throw new IllegalArgumentException("No value for {{" + slots[i] + "}} in prompt " + id);
+            }
+            resolved[i] = value;
+            length += value.length();
+        }
+
+        StringBuilder prompt = new StringBuilder(length);
+        for (int i = 0; i < slots.length; i++) {
+            prompt.append(literals[i]).append(resolved[i]);
+        }
+        return prompt.append(literals[slots.length]).toString();
+    }
+}
@@ -0,0 +1,209 @@
+package com.clbooster.aiservice;
+
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.data.message.ChatMessage;
+import dev.langchain4j.data.message.UserMessage;
+import dev.langchain4j.model.StreamingResponseHandler;
+import dev.langchain4j.model.chat.ChatLanguageModel;
+import dev.langchain4j.model.chat.StreamingChatLanguageModel;
+import dev.langchain4j.model.output.Response;
+import dev.langchain4j.model.output.TokenUsage;
+
+import java.util.List;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.CancellationException;
+
+/**
+ * Local stand-in for a real model, for load tests and CI: no network, no API
+ * key, yet calls take realistic time and sometimes fail.
+ *
+ * Output is deterministic per prompt: the analysis prompt (the one asking for
+ * JSON) gets a fixed JSON document, any other prompt a letter of
+ * {@link Options#words()} words picked from the prompt's hash. Each call
+ * first waits a latency drawn from {@link Options#distribution()}, then fails
+ * with probability {@link Options#errorRate()}. Streaming calls spread the
+ * same latency over the words and deliver them from a background thread,
+ * like the Gemini streaming client.
+ */
+public class StubLlmProvider implements LlmProvider {
+
+    public enum Distribution {
+        /** Always {@code latencyMs}. */
+        CONSTANT,
+        /** Uniform in {@code latencyMs ± spreadMs}. */
+        UNIFORM,
+        /**
+         * Long-tailed: median {@code latencyMs}, one standard deviation
+         * above it at {@code latencyMs + spreadMs}.
+         */
+        LOG_NORMAL
+    }
+
+    public record Options(Distribution distribution, long latencyMs, long spreadMs, double errorRate, int words,
+            long seed) {
+
+        public Options {
+            if (latencyMs < 0 || spreadMs < 0 || errorRate < 0 || errorRate > 1 || words < 1) {
+                throw new IllegalArgumentException("Invalid stub provider options");
+            }
+        }
+
+        /** No delay, no failures: for tests. */
+        public static Options instant() {
+            return new Options(Distribution.CONSTANT, 0, 0, 0, 300, 42);
+        }
+    }
+
+    static final String ANALYSIS_MARKER = "Return ONLY JSON";
+
+    static final String ANALYSIS = """
+            {
+              "key_requirements": ["Java", "Spring Boot", "SQL"],
+              "matching_skills": ["Java", "Spring Boot"],
+              "relevant_achievements": ["Cut report generation time by 40%"],
+              "value_summary": "Stub analysis for load testing"
+            }""";
+
+    private static final String[] VOCABULARY = { "delivered", "team", "platform", "customers", "reliable",
+            "scaled", "designed", "improved", "services", "measurable", "results", "product", "built", "data",
+            "experience", "role", "company", "impact", "engineering", "quality", "growth", "projects", "users",
+            "performance" };
+
+    private final Options options;
+    // Shared by all calls; java.util.Random is thread-safe
+    private final Random random;
+    private final Model model = new Model();
+
+    public StubLlmProvider(Options options) {
+        this.options = options;
+        this.random = new Random(options.seed());
+    }
+
+    @Override
+    public String name() {
+        return "stub";
+    }
+
+    @Override
+    public ChatLanguageModel chatModel() {
+        return model;
+    }
+
+    @Override
+    public StreamingChatLanguageModel streamingModel() {
+        return model;
+    }
+
+    private class Model implements ChatLanguageModel, StreamingChatLanguageModel {
+
+        @Override
+        public Response<AiMessage> generate(List<ChatMessage> messages) {
+            String prompt = prompt(messages);
+            sleep(sampleLatency());
+            failMaybe();
+            return response(prompt, answer(prompt));
+        }
+
+        @Override
+        public void generate(List<ChatMessage> messages, StreamingResponseHandler<AiMessage> handler) {
+            String prompt = prompt(messages);
+            long latency = sampleLatency();
+            boolean fail = shouldFail();
+            Thread.ofVirtual().name("stub-llm-stream").start(() -> {
+                try {
+                    String answer = answer(prompt);
+                    String[] tokens = answer.split("(?<= )");
+                    long perToken = latency / tokens.length;
+                    if (fail) {
+                        sleep(latency);
+                        handler.onError(failure());
+                        return;
+                    }
+                    for (String token : tokens) {
+                        sleep(perToken);
+                        handler.onNext(token);
+                    }
+                    handler.onComplete(response(prompt, answer));
+                } catch (CancellationException e) {
+                    handler.onError(e);
+                }
+            });
+        }
+    }
+
+    String answer(String prompt) {
+        if (prompt.contains(ANALYSIS_MARKER)) {
+            return ANALYSIS;
+        }
+        SplittableRandom words = new SplittableRandom(prompt.hashCode() ^ options.seed());
+        StringBuilder letter = new StringBuilder(options.words() * 10 + 40).append("Dear Hiring Manager,\n\n");
+        for (int i = 0; i < options.words(); i++) {
+            String word = VOCABULARY[words.nextInt(VOCABULARY.length)];
+            letter.append(i == 0 ? Character.toUpperCase(word.charAt(0)) + word.substring(1) : word)
+                    .append(i % 15 == 14 ? ". " : " ");
+        }
+        letter.setLength(letter.length() - 1);
+        return letter.append("\n\nSincerely,").toString();
+    }
+
+    long sampleLatency() {
+        long latency = options.latencyMs();
+        long spread = options.spreadMs();
+        if (latency == 0 && spread == 0) {
+            return 0;
+        }
+        return switch (options.distribution()) {
+        case CONSTANT -> latency;
+        case UNIFORM -> Math.max(0, latency - spread + (long) (random.nextDouble() * 2 * spread));
+        case LOG_NORMAL -> {
+            if (latency == 0) {
+                yield 0;
+            }
+            double sigma = Math.log((double) (latency + spread) / latency);
+            yield Math.round(latency * Math.exp(sigma * random.nextGaussian()));
+        }
+        };
+    }
+
+    private boolean shouldFail() {
+        return options.errorRate() > 0 && random.nextDouble() < options.errorRate();
+    }
+
+    private void failMaybe() {
+        if (shouldFail()) {
+            throw failure();
+        }
+    }
+
+    private static RuntimeException failure() {
+        return new IllegalStateException("Simulated provider failure (503 Service Unavailable)");
+    }
+
+    private static String prompt(List<ChatMessage> messages) {
+        StringBuilder prompt = new StringBuilder();
+        for (ChatMessage message : messages) {
+            if (message instanceof UserMessage user && user.hasSingleText()) {
+                prompt.append(user.singleText());
+            }
+        }
+        return prompt.toString();
+    }
+
+    private static Response<AiMessage> response(String prompt, String answer) {
+        // Roughly four characters per token
+        return Response.from(AiMessage.from(answer), new TokenUsage(prompt.length() / 4, answer.length() / 4));
+    }
+
+    private static void sleep(long millis) {
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Stub generation interrupted");
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.clbooster.app;
 
 import com.vaadin.flow.component.page.AppShellConfigurator;
+import com.vaadin.flow.component.page.Push;
 import com.vaadin.flow.server.PWA;
 import com.vaadin.flow.theme.Theme;
 import org.springframework.boot.SpringApplication;
@@ -11,11 +12,13 @@ import org.springframework.context.annotation.ComponentScan;
  * The entry point of the Spring Boot application.
  *
  * Use the @PWA annotation make the application installable on phones, tablets
- * and some desktop browsers.
+ * and some desktop browsers. @Push lets background work (streamed cover letter
+ * generation) update the UI without waiting for the next client request.
  *
  */
 @SpringBootApplication
 @PWA(name = "CL Booster", shortName = "CLBooster")
+@Push
 @Theme("my-theme")
 @ComponentScan(basePackages = { "com.clbooster.app", "com.clbooster.aiservice" })
 public class Application implements AppShellConfigurator {
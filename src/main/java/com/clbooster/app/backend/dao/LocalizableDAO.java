@@ -1,7 +1,9 @@
 package com.clbooster.app.backend.dao;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 
 public interface LocalizableDAO<T> {
 
@@ -9,9 +11,31 @@ public interface LocalizableDAO<T> {
 
     T getByIdWithFallback(int id, Locale preferred, Locale fallback);
 
+    /**
+     * Loads the entity localized for the first locale in {@code chain} that
+     * has a translation, resolving the whole chain in a single query.
+     */
+    T getByIdWithFallbackChain(int id, List<Locale> chain);
+
     void saveTranslation(T entity, Locale locale);
 
     List<Locale> getAvailableLocales(int entityId);
 
+    /**
+     * Loads the stored translations of every id in {@code ids} for every locale
+     * in {@code locales} in one round-trip, keyed by id and then by requested
+     * locale. Missing translations are simply absent from the result.
+     */
+    Map<Integer, Map<Locale, T>> getTranslations(Collection<Integer> ids, Collection<Locale> locales);
+
+    /**
+     * Upserts the {@code locale} translation of every entity as one JDBC batch
+     * in a single transaction.
+     *
+     * @return the number of translations written, or 0 when the batch was
+     *         rolled back
+     */
+    int saveTranslations(Collection<T> entities, Locale locale);
+
     boolean hasTranslation(int id, Locale locale);
 }
@@ -0,0 +1,80 @@
+package com.clbooster.app.backend.dao;
+
+import com.clbooster.app.backend.service.database.DatabaseConnection;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Reads translator-maintained copy from {@code system_message_translation}.
+ */
+public class SystemMessageDAO {
+    private static final Logger log = LoggerFactory.getLogger(SystemMessageDAO.class);
+
+    /**
+     * Fingerprint of the table: changes whenever a row is inserted, updated
+     * or deleted. {@code updated_at} only has one-second precision, so the
+     * checksum over every row's content catches an edit made in the same
+     * second as the previous one.
+     */
+    public record Version(Timestamp lastUpdated, int rows, long checksum) {
+    }
+
+    /**
+     * @return the current version, or {@code null} when the table could not
+     *         be read
+     */
+    public Version currentVersion() {
+        // Reads every row, which is fine for a table of translator copy
+        String sql = "SELECT MAX(updated_at), COUNT(*), "
+                + "COALESCE(SUM(CRC32(CONCAT_WS(CHAR(0), message_key, locale_code, message_content))), 0) "
+                + "FROM system_message_translation";
+
+        try (Connection conn = DatabaseConnection.getConnection();
+                PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            ResultSet rs = pstmt.executeQuery();
+            if (rs.next()) {
+                return new Version(rs.getTimestamp(1), rs.getInt(2), rs.getLong(3));
+            }
+            return new Version(null, 0, 0);
+
+        } catch (SQLException e) {
+            log.warn("Failed to read system message version", e);
+            return null;
+        }
+    }
+
+    /**
+     * Loads every message, keyed by locale code ({@code fi_FI}) and then by
+     * message key.
+     *
+     * @return the messages, or {@code null} when the table could not be read
+     */
+    public Map<String, Map<String, String>> loadAll() {
+        String sql = "SELECT message_key, locale_code, message_content FROM system_message_translation";
+
+        try (Connection conn = DatabaseConnection.getConnection();
+                PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            ResultSet rs = pstmt.executeQuery();
+            Map<String, Map<String, String>> messages = new HashMap<>();
+            while (rs.next()) {
+                messages.computeIfAbsent(rs.getString("locale_code"), code -> new HashMap<>())
+                        .put(rs.getString("message_key"), rs.getString("message_content"));
+            }
+            return messages;
+
+        } catch (SQLException e) {
+            log.warn("Failed to load system messages", e);
+            return null;
+        }
+    }
+}
@@ -70,9 +70,17 @@ public class AuthenticationService {
 
     public void setCurrentUser(User user) {
         storeUserInSession(user);
+        openUserContext(user);
         authenticateSpringSecurity(user);
     }
 
+    // Start a new per-session cache of the user's settings and profile
+    private void openUserContext(User user) {
+        if (sessionStore == null) {
+            UserContext.open(user);
+        }
+    }
+
     private void authenticateSpringSecurity(User user) {
         if (sessionStore != null) {
             return;
@@ -175,6 +183,7 @@ public class AuthenticationService {
         if (user != null) {
             // Store user in session for persistence
             storeUserInSession(user);
+            openUserContext(user);
             authenticateSpringSecurity(user);
             log.info("Login successful");
             return true;
@@ -189,6 +198,9 @@ public class AuthenticationService {
         if (user != null) {
             log.info("Logout successful");
             removeUserFromSession();
+            if (sessionStore == null) {
+                UserContext.close();
+            }
             clearSpringSecurityAuthentication();
         }
     }
@@ -0,0 +1,98 @@
+package com.clbooster.app.backend.service.authentication;
+
+import com.clbooster.app.backend.service.profile.Profile;
+import com.clbooster.app.backend.service.profile.User;
+import com.clbooster.app.backend.service.settings.Settings;
+import com.vaadin.flow.server.VaadinSession;
+
+import java.util.Locale;
+
+/**
+ * What the current session knows about its logged-in user: the account, and
+ * the settings and profile once something has read them.
+ *
+ * One context is opened per login and kept as a {@link VaadinSession}
+ * attribute. {@code SettingsService} and {@code ProfileService} read through
+ * it, so navigating between views no longer re-queries user_settings or the
+ * profile tables, and drop the cached copy whenever they write.
+ *
+ * Outside a Vaadin request (CLI, background threads) there is no context and
+ * the services go to the database as before.
+ */
+public class UserContext {
+    static final String SESSION_ATTRIBUTE = "userContext";
+
+    private final User user;
+    private Settings settings;
+    private Profile profile;
+    private Locale profileLocale;
+
+    UserContext(User user) {
+        this.user = user;
+    }
+
+    /**
+     * The context of the user logged in to the current session, or
+     * {@code null}.
+     */
+    public static UserContext current() {
+        VaadinSession session = VaadinSession.getCurrent();
+        if (session == null) {
+            return null;
+        }
+        Object context = session.getAttribute(SESSION_ATTRIBUTE);
+        return context instanceof UserContext userContext ? userContext : null;
+    }
+
+    /**
+     * The current context when it belongs to {@code pin}, so a cached value is
+     * never served for another account.
+     */
+    public static UserContext forPin(int pin) {
+        UserContext context = current();
+        return context != null && context.user.getPin() == pin ? context : null;
+    }
+
+    /** Starts a fresh context for {@code user}, replacing any previous one. */
+    static void open(User user) {
+        VaadinSession session = VaadinSession.getCurrent();
+        if (session != null) {
+            session.setAttribute(SESSION_ATTRIBUTE, user != null ? new UserContext(user) : null);
+        }
+    }
+
+    static void close() {
+        open(null);
+    }
+
+    public User getUser() {
+        return user;
+    }
+
+    public synchronized Settings getSettings() {
+        return settings;
+    }
+
+    public synchronized void setSettings(Settings settings) {
+        this.settings = settings;
+    }
+
+    /** The cached profile when it was loaded for {@code locale}, else {@code null}. */
+    public synchronized Profile getProfile(Locale locale) {
+        return profile != null && profileLocale.equals(locale) ? profile : null;
+    }
+
+    public synchronized void setProfile(Profile profile, Locale locale) {
+        this.profile = profile;
+        this.profileLocale = locale;
+    }
+
+    public synchronized void invalidateSettings() {
+        settings = null;
+    }
+
+    public synchronized void invalidateProfile() {
+        profile = null;
+        profileLocale = null;
+    }
+}
@@ -0,0 +1,89 @@
+package com.clbooster.app.backend.service.database;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Hands the Spring-managed (HikariCP) DataSource configured through
+ * {@code spring.datasource.*} to {@link DatabaseConnection}, so every DAO
+ * borrows from the same pool and its metrics show up under actuator.
+ *
+ * Pending {@link DatabaseMigration schema migrations} are applied once, when
+ * the application has started and before it reports itself ready. The
+ * application also starts while the database is down, so a failed migration
+ * is retried every {@code db.migrate-retry-seconds} on a background thread
+ * until it succeeds.
+ */
+@Configuration
+public class DatabaseConfig {
+    private static final Logger log = LoggerFactory.getLogger(DatabaseConfig.class);
+
+    private final boolean migrateOnStartup;
+    private final Duration retryDelay;
+    private final BooleanSupplier migration;
+    private ScheduledExecutorService retries;
+
+    @Autowired
+    public DatabaseConfig(DataSource dataSource, @Value("${db.migrate-on-startup:true}") boolean migrateOnStartup,
+            @Value("${db.migrate-retry-seconds:30}") long retrySeconds) {
+        this(dataSource, migrateOnStartup, Duration.ofSeconds(retrySeconds), DatabaseMigration::runMigration);
+    }
+
+    DatabaseConfig(DataSource dataSource, boolean migrateOnStartup, Duration retryDelay, BooleanSupplier migration) {
+        DatabaseConnection.setDataSource(dataSource);
+        this.migrateOnStartup = migrateOnStartup;
+        this.retryDelay = retryDelay;
+        this.migration = migration;
+        log.info("Registered pooled DataSource {}", dataSource.getClass().getSimpleName());
+    }
+
+    @EventListener(ApplicationStartedEvent.class)
+    public synchronized void migrateSchema() {
+        if (!migrateOnStartup || retries != null || migration.getAsBoolean()) {
+            return;
+        }
+        log.warn("Schema migration failed; retrying every {} s until it succeeds", retryDelay.toSeconds());
+        retries = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().daemon().name("schema-migration-retry").factory());
+        retries.scheduleWithFixedDelay(this::retry, retryDelay.toMillis(), retryDelay.toMillis(),
+                TimeUnit.MILLISECONDS);
+    }
+
+    private void retry() {
+        boolean migrated;
+        try {
+            migrated = migration.getAsBoolean();
+        } catch (RuntimeException e) {
+            // An escaping exception would cancel the periodic task
+            log.warn("Schema migration retry failed", e);
+            return;
+        }
+        if (migrated) {
+            stop();
+        }
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        if (retries != null) {
+            retries.shutdown();
+        }
+    }
+
+    synchronized boolean isRetrying() {
+        return retries != null && !retries.isShutdown();
+    }
+}
@@ -1,24 +1,100 @@
 package com.clbooster.app.backend.service.database;
 
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+
+import javax.sql.DataSource;
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
 
+/**
+ * Shared entry point for JDBC connections used by all DAOs.
+ *
+ * Inside the Spring application the pooled, Spring-managed DataSource is
+ * registered by {@link DatabaseConfig}. Standalone entry points (CLI, migration
+ * main) lazily get a small private pool built from the same environment
+ * variables, so callers never fall back to one-connection-per-call
+ * DriverManager handshakes.
+ */
 public class DatabaseConnection {
     private static final String URL = System.getenv().getOrDefault("DB_URL",
             "jdbc:mariadb://" + System.getenv().getOrDefault("DB_HOST", "localhost") + ":"
                     + System.getenv().getOrDefault("DB_PORT", "3306") + "/"
                     + System.getenv().getOrDefault("DB_NAME", "CL_generator"))
-            + "?useGssApi=false&useUnicode=true&characterEncoding=utf8mb4&connectionCollation=utf8mb4_unicode_ci";
+            + "?useGssApi=false&useUnicode=true&characterEncoding=utf8mb4&connectionCollation=utf8mb4_unicode_ci"
+            + "&rewriteBatchedStatements=true";
     private static final String USER = System.getenv().getOrDefault("DB_USERNAME", "root");
     private static final String PASSWORD = System.getenv().getOrDefault("DB_PASSWORD", "password");
 
+    private static final int STANDALONE_POOL_SIZE = 4;
+    private static final long STANDALONE_CONNECTION_TIMEOUT_MS = Long
+            .parseLong(System.getenv().getOrDefault("DB_POOL_CONNECTION_TIMEOUT_MS", "1000"));
+    private static final long LEAK_DETECTION_THRESHOLD_MS = 20_000;
+    private static final long STANDALONE_RETRY_BACKOFF_MS = 5_000;
+
+    private static volatile DataSource dataSource;
+    private static volatile HikariDataSource standaloneDataSource;
+    private static volatile long standaloneUnavailableUntil;
+
+    private DatabaseConnection() {
+    }
+
     public static Connection getConnection() throws SQLException {
+        DataSource ds = getDataSource();
+        if (ds != standaloneDataSource) {
+            return ds.getConnection();
+        }
+        // Without Spring nobody reports an outage, so after a failed connect
+        // fail fast for a moment instead of waiting out the timeout on every call
+        if (System.currentTimeMillis() < standaloneUnavailableUntil) {
+            throw new SQLTransientConnectionException("Database unavailable, retrying shortly");
+        }
         try {
-            Class.forName("org.mariadb.jdbc.Driver");
-            return DriverManager.getConnection(URL, USER, PASSWORD);
-        } catch (ClassNotFoundException e) {
-            throw new SQLException("MySQL Driver not found", e);
+            return ds.getConnection();
+        } catch (SQLException e) {
+            standaloneUnavailableUntil = System.currentTimeMillis() + STANDALONE_RETRY_BACKOFF_MS;
+            throw e;
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Registers the application-wide DataSource. Passing {@code null} drops the
+     * registration so the next call builds a standalone pool again.
+     */
+    public static void setDataSource(DataSource ds) {
+        dataSource = ds;
+    }
+
+    public static DataSource getDataSource() {
+        DataSource ds = dataSource;
+        if (ds == null) {
+            synchronized (DatabaseConnection.class) {
+                ds = dataSource;
+                if (ds == null) {
+                    standaloneDataSource = createStandaloneDataSource();
+                    ds = standaloneDataSource;
+                    dataSource = ds;
+                }
+            }
+        }
+        return ds;
+    }
+
+    private static HikariDataSource createStandaloneDataSource() {
+        HikariConfig config = new HikariConfig();
+        config.setPoolName("clbooster-standalone");
+        config.setDriverClassName("org.mariadb.jdbc.Driver");
+        config.setJdbcUrl(URL);
+        config.setUsername(USER);
+        config.setPassword(PASSWORD);
+        config.setMaximumPoolSize(STANDALONE_POOL_SIZE);
+        config.setMinimumIdle(0);
+        // Fail fast when the database is unreachable instead of Hikari's 30s default
+        config.setConnectionTimeout(STANDALONE_CONNECTION_TIMEOUT_MS);
+        config.setLeakDetectionThreshold(LEAK_DETECTION_THRESHOLD_MS);
+        // Do not fail construction when the database is down; getConnection reports it
+        config.setInitializationFailTimeout(-1);
+        return new HikariDataSource(config);
+    }
+}
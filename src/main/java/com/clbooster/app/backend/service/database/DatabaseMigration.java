@@ -1,100 +1,286 @@
 package com.clbooster.app.backend.service.database;
 
+import com.clbooster.app.backend.service.profile.CoverLetterService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
 
+/**
+ * Versioned schema migrations, applied once at application startup (see
+ * {@link DatabaseConfig}) or by running this class directly.
+ *
+ * Every applied version is recorded in {@code schema_version} together with a
+ * checksum of its statements, so a restart only checks that table and runs
+ * nothing else. Editing a migration that has already been applied is reported
+ * as a checksum mismatch; add a new version instead.
+ *
+ * All statements are idempotent ({@code IF NOT EXISTS}, {@code INSERT IGNORE})
+ * so a database created before {@code schema_version} existed is brought up to
+ * date without errors on first run. Instances starting together serialize on
+ * a named database lock, and each re-reads {@code schema_version} once it holds
+ * it, so a version is applied and recorded only once.
+ */
 public class DatabaseMigration {
     private static final String ENGINE_CHARSET = ") ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci";
 
     private static final Logger log = LoggerFactory.getLogger(DatabaseMigration.class);
 
-    public static void runMigration() {
-        log.info("Running database migration for localization...");
-
-        String[] createLocaleTable = { "CREATE TABLE IF NOT EXISTS locale (",
-                "    locale_code CHAR(5) PRIMARY KEY COMMENT 'ISO 639-1 + country code',",
-                "    language_name VARCHAR(64) NOT NULL,", "    native_name VARCHAR(64) NOT NULL,",
-                "    rtl_direction BOOLEAN DEFAULT FALSE,", "    is_active BOOLEAN DEFAULT TRUE,",
-                "    sort_order INT DEFAULT 0", ENGINE_CHARSET };
-
-        String[] createProfileTranslationTable = { "CREATE TABLE IF NOT EXISTS profile_translation (",
-                "    profile_pin INT NOT NULL,", "    locale_code CHAR(5) NOT NULL,", "    experience_level TEXT,",
-                "    tools TEXT,", "    skills TEXT,", "    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,",
-                "    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,",
-                "    PRIMARY KEY (profile_pin, locale_code),",
-                "    FOREIGN KEY (profile_pin) REFERENCES profile(Pin) ON DELETE CASCADE,",
-                "    FOREIGN KEY (locale_code) REFERENCES locale(locale_code) ON DELETE RESTRICT,",
-                "    INDEX idx_profile_locale (profile_pin, locale_code)", ENGINE_CHARSET };
-
-        String[] createSystemMessageTranslationTable = { "CREATE TABLE IF NOT EXISTS system_message_translation (",
-                "    message_key VARCHAR(128) NOT NULL,", "    locale_code CHAR(5) NOT NULL,",
-                "    message_content TEXT NOT NULL,",
-                "    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,",
-                "    PRIMARY KEY (message_key, locale_code),",
-                "    FOREIGN KEY (locale_code) REFERENCES locale(locale_code) ON DELETE RESTRICT", ENGINE_CHARSET };
-
-        String[] insertLocales = {
-                "INSERT IGNORE INTO locale (locale_code, language_name, native_name, rtl_direction, sort_order) VALUES",
-                "('en_US', 'English', 'English', FALSE, 10),", "('fi_FI', 'Finnish', 'Suomi', FALSE, 20),",
-                "('pt_BR', 'Portuguese', 'Português', FALSE, 30),", "('fa_IR', 'Persian', 'فارسی', TRUE, 40),",
-                "('zh_CN', 'Chinese', '中文', FALSE, 50),", "('ur_PK', 'Urdu', 'اردو', TRUE, 60)" };
-
-        String migrateProfileData = "INSERT IGNORE INTO profile_translation (profile_pin, locale_code, experience_level, tools, skills) "
-                + "SELECT Pin, 'en_US', Experience_Level, Tools, Skills FROM profile";
+    private static final String LOCK_NAME = "clbooster_schema_migration";
+    private static final int LOCK_TIMEOUT_SECONDS = 60;
 
-        try (Connection conn = DatabaseConnection.getConnection()) {
-            // Disable foreign key checks
-            try (Statement stmt = conn.createStatement()) {
-                stmt.execute("SET FOREIGN_KEY_CHECKS = 0");
-            }
+    private static final String CREATE_SCHEMA_VERSION = String.join("\n",
+            "CREATE TABLE IF NOT EXISTS schema_version (", "    version INT PRIMARY KEY,",
+            "    description VARCHAR(200) NOT NULL,", "    checksum CHAR(64) NOT NULL,",
+            "    installed_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP", ENGINE_CHARSET);
+
+    /** Data work a migration does in Java after its statements. */
+    @FunctionalInterface
+    interface Step {
+        void run(Connection conn) throws SQLException;
+    }
+
+    /**
+     * One schema change: its statements run in order, then its {@code step}
+     * if any, and it is then recorded under {@code version}. The checksum
+     * covers the statements only.
+     */
+    record Migration(int version, String description, List<String> statements, Step step) {
 
-            // Create locale table
-            try (Statement stmt = conn.createStatement()) {
-                stmt.execute(String.join("\n", createLocaleTable));
-                log.info("Locale table created/verified");
+        Migration(int version, String description, List<String> statements) {
+            this(version, description, statements, null);
+        }
+
+        String checksum() {
+            try {
+                MessageDigest md = MessageDigest.getInstance("SHA-256");
+                for (String statement : statements) {
+                    md.update(statement.getBytes(StandardCharsets.UTF_8));
+                    md.update((byte) 0);
+                }
+                return HexFormat.of().formatHex(md.digest());
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("SHA-256 algorithm not available", e);
             }
+        }
+    }
+
+    static final List<Migration> MIGRATIONS = List.of(
+            new Migration(1, "Localization tables",
+                    List.of(String.join("\n", "CREATE TABLE IF NOT EXISTS locale (",
+                            "    locale_code CHAR(5) PRIMARY KEY COMMENT 'ISO 639-1 + country code',",
+                            "    language_name VARCHAR(64) NOT NULL,", "    native_name VARCHAR(64) NOT NULL,",
+                            "    rtl_direction BOOLEAN DEFAULT FALSE,", "    is_active BOOLEAN DEFAULT TRUE,",
+                            "    sort_order INT DEFAULT 0", ENGINE_CHARSET),
+                            String.join("\n",
+                                    "INSERT IGNORE INTO locale (locale_code, language_name, native_name, rtl_direction, sort_order) VALUES",
+                                    "('en_US', 'English', 'English', FALSE, 10),",
+                                    "('fi_FI', 'Finnish', 'Suomi', FALSE, 20),",
+                                    "('pt_BR', 'Portuguese', 'Português', FALSE, 30),",
+                                    "('fa_IR', 'Persian', 'فارسی', TRUE, 40),",
+                                    "('zh_CN', 'Chinese', '中文', FALSE, 50),",
+                                    "('ur_PK', 'Urdu', 'اردو', TRUE, 60)"),
+                            String.join("\n", "CREATE TABLE IF NOT EXISTS profile_translation (",
+                                    "    profile_pin INT NOT NULL,", "    locale_code CHAR(5) NOT NULL,",
+                                    "    experience_level TEXT,", "    tools TEXT,", "    skills TEXT,",
+                                    "    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,",
+                                    "    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,",
+                                    "    PRIMARY KEY (profile_pin, locale_code),",
+                                    "    FOREIGN KEY (profile_pin) REFERENCES profile(Pin) ON DELETE CASCADE,",
+                                    "    FOREIGN KEY (locale_code) REFERENCES locale(locale_code) ON DELETE RESTRICT,",
+                                    "    INDEX idx_profile_locale (profile_pin, locale_code)", ENGINE_CHARSET),
+                            String.join("\n", "CREATE TABLE IF NOT EXISTS system_message_translation (",
+                                    "    message_key VARCHAR(128) NOT NULL,", "    locale_code CHAR(5) NOT NULL,",
+                                    "    message_content TEXT NOT NULL,",
+                                    "    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,",
+                                    "    PRIMARY KEY (message_key, locale_code),",
+                                    "    FOREIGN KEY (locale_code) REFERENCES locale(locale_code) ON DELETE RESTRICT",
+                                    ENGINE_CHARSET),
+                            "INSERT IGNORE INTO profile_translation (profile_pin, locale_code, experience_level, tools, skills) "
+                                    + "SELECT Pin, 'en_US', Experience_Level, Tools, Skills FROM profile")),
+            // Letter metadata served to history/dashboard instead of directory scans
+            new Migration(2, "Cover letter metadata columns and (Pin, Timestamp_edited) index", List.of(
+                    String.join("\n", "ALTER TABLE coverletter", "    ADD COLUMN IF NOT EXISTS Company VARCHAR(200),",
+                            "    ADD COLUMN IF NOT EXISTS Job_Title VARCHAR(200),",
+                            "    ADD COLUMN IF NOT EXISTS Tone VARCHAR(32),",
+                            "    ADD COLUMN IF NOT EXISTS Created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,",
+                            "    ADD COLUMN IF NOT EXISTS File_Size BIGINT DEFAULT 0"),
+                    "CREATE INDEX IF NOT EXISTS idx_coverletter_pin_edited ON coverletter (Pin, Timestamp_edited)")),
+            // Full-text index over generated letters and uploaded resumes
+            new Migration(3, "Document text full-text index",
+                    List.of(String.join("\n", "CREATE TABLE IF NOT EXISTS document_text (",
+                            "    Doc_Path VARCHAR(300) PRIMARY KEY,", "    Owner_Pin INT NOT NULL,",
+                            "    Doc_Type VARCHAR(16) NOT NULL,", "    Content MEDIUMTEXT,",
+                            "    Indexed_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,",
+                            "    INDEX idx_document_text_owner (Owner_Pin, Doc_Type),",
+                            "    FULLTEXT INDEX ft_document_text_content (Content),",
+                            "    FOREIGN KEY (Owner_Pin) REFERENCES identification(Pin) ON DELETE CASCADE",
+                            ENGINE_CHARSET))),
+            // Previously created by every new SettingsDAO
+            new Migration(4, "User settings table",
+                    List.of(String.join("\n", "CREATE TABLE IF NOT EXISTS user_settings (",
+                            "    user_pin INT PRIMARY KEY,", "    theme VARCHAR(20) DEFAULT 'system',",
+                            "    language VARCHAR(50) DEFAULT 'English',",
+                            "    email_notifications BOOLEAN DEFAULT TRUE,",
+                            "    push_notifications BOOLEAN DEFAULT FALSE,",
+                            "    product_updates BOOLEAN DEFAULT TRUE,", "    marketing BOOLEAN DEFAULT FALSE,",
+                            "    store_in_cloud BOOLEAN DEFAULT TRUE,", "    allow_ai_training BOOLEAN DEFAULT FALSE,",
+                            "    share_usage_data BOOLEAN DEFAULT TRUE,",
+                            "    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,",
+                            "    FOREIGN KEY (user_pin) REFERENCES identification(Pin) ON DELETE CASCADE",
+                            ENGINE_CHARSET))),
+            new Migration(5, "Flag for cover letter metadata recovered from file names",
+                    List.of("ALTER TABLE coverletter ADD COLUMN IF NOT EXISTS Metadata_Approximate BOOLEAN DEFAULT FALSE")),
+            // Letters generated before version 2 exist only as files; history and dashboard read the table
+            new Migration(6, "Import cover letter files generated before metadata was stored", List.of(),
+                    DatabaseMigration::importLegacyLetters));
 
-            // Insert locale data
-            try (Statement stmt = conn.createStatement()) {
-                stmt.execute(String.join("\n", insertLocales));
-                log.info("Locale data inserted");
+    static final Path LEGACY_LETTER_DIR = Paths.get("uploads", "coverletters");
+
+    /**
+     * @return {@code true} when the schema is up to date, {@code false} when
+     *         the migration failed (e.g. the database is not reachable yet)
+     */
+    public static boolean runMigration() {
+        log.info("Checking database schema version...");
+
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            int applied = migrate(conn, MIGRATIONS);
+            if (applied == 0) {
+                log.info("Database schema is up to date");
+            } else {
+                log.info("Database migration completed successfully! Applied {} version(s)", applied);
             }
+            return true;
+        } catch (SQLException e) {
+            log.error("Error during database migration", e);
+            return false;
+        }
+    }
 
-            // Create profile_translation table
-            try (Statement stmt = conn.createStatement()) {
-                stmt.execute(String.join("\n", createProfileTranslationTable));
-                log.info("Profile translation table created/verified");
+    /**
+     * Applies every migration not yet recorded in {@code schema_version},
+     * holding the migration lock.
+     *
+     * @return the number of versions applied
+     */
+    static int migrate(Connection conn, List<Migration> migrations) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute(CREATE_SCHEMA_VERSION);
+        }
+        lock(conn);
+        try {
+            return applyPending(conn, migrations);
+        } finally {
+            unlock(conn);
+        }
+    }
+
+    // DDL commits implicitly, so a row lock would not cover it; GET_LOCK is held by the connection
+    private static void lock(Connection conn) throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement("SELECT GET_LOCK(?, ?)")) {
+            pstmt.setString(1, LOCK_NAME);
+            pstmt.setInt(2, LOCK_TIMEOUT_SECONDS);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (!rs.next() || rs.getInt(1) != 1) {
+                    throw new SQLException("Timed out waiting for another instance to finish migrating");
+                }
             }
+        }
+    }
+
+    // The connection goes back to the pool still holding the lock unless it is released
+    private static void unlock(Connection conn) {
+        try (PreparedStatement pstmt = conn.prepareStatement("SELECT RELEASE_LOCK(?)")) {
+            pstmt.setString(1, LOCK_NAME);
+            pstmt.executeQuery().close();
+        } catch (SQLException e) {
+            log.warn("Failed to release the schema migration lock", e);
+        }
+    }
+
+    private static int applyPending(Connection conn, List<Migration> migrations) throws SQLException {
+        // Read under the lock: another instance may have just applied some versions
+        Map<Integer, String> installed = installedVersions(conn);
 
-            // Create system_message_translation table
-            try (Statement stmt = conn.createStatement()) {
-                stmt.execute(String.join("\n", createSystemMessageTranslationTable));
-                log.info("System message translation table created/verified");
+        int applied = 0;
+        for (Migration migration : migrations) {
+            String checksum = migration.checksum();
+            String recorded = installed.get(migration.version());
+            if (recorded != null) {
+                if (!recorded.equals(checksum)) {
+                    log.error("Checksum mismatch for applied schema version {} ({}); "
+                            + "add a new migration instead of editing it", migration.version(),
+                            migration.description());
+                }
+                continue;
             }
+            apply(conn, migration, checksum);
+            applied++;
+        }
+        return applied;
+    }
 
-            // Migrate existing profile data
-            try (Statement stmt = conn.createStatement()) {
-                stmt.execute(migrateProfileData);
-                log.info("Profile data migrated to translation table");
+    private static Map<Integer, String> installedVersions(Connection conn) throws SQLException {
+        Map<Integer, String> installed = new HashMap<>();
+        try (Statement stmt = conn.createStatement();
+                ResultSet rs = stmt.executeQuery("SELECT version, checksum FROM schema_version")) {
+            while (rs.next()) {
+                installed.put(rs.getInt("version"), rs.getString("checksum"));
             }
+        }
+        return installed;
+    }
 
-            // Re-enable foreign key checks
-            try (Statement stmt = conn.createStatement()) {
+    private static void apply(Connection conn, Migration migration, String checksum) throws SQLException {
+        log.info("Applying schema version {}: {}", migration.version(), migration.description());
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("SET FOREIGN_KEY_CHECKS = 0");
+            try {
+                for (String statement : migration.statements()) {
+                    stmt.execute(statement);
+                }
+            } finally {
                 stmt.execute("SET FOREIGN_KEY_CHECKS = 1");
             }
+        }
+        if (migration.step() != null) {
+            migration.step().run(conn);
+        }
+        try (PreparedStatement pstmt = conn
+                .prepareStatement("INSERT INTO schema_version (version, description, checksum) VALUES (?, ?, ?)")) {
+            pstmt.setInt(1, migration.version());
+            pstmt.setString(2, migration.description());
+            pstmt.setString(3, checksum);
+            pstmt.executeUpdate();
+        }
+    }
 
-            log.info("Database migration completed successfully!");
-
-        } catch (SQLException e) {
-            log.error("Error during database migration", e);
+    // Unreadable directory: fail the version so it is retried instead of recorded
+    private static void importLegacyLetters(Connection conn) throws SQLException {
+        try {
+            int imported = new CoverLetterService().importLegacyFiles(LEGACY_LETTER_DIR);
+            log.info("Imported {} existing cover letter files into coverletter", imported);
+        } catch (IOException e) {
+            throw new SQLException("Failed to import existing cover letters from " + LEGACY_LETTER_DIR, e);
         }
     }
 
     public static void main(String[] args) {
         runMigration();
     }
-}
\ No newline at end of file
+}
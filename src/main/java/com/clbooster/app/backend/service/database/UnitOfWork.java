@@ -0,0 +1,49 @@
+package com.clbooster.app.backend.service.database;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Runs a group of writes on one pooled connection inside a single
+ * transaction.
+ *
+ * DAOs that take part expose overloads accepting the {@link Connection}; the
+ * work either commits as a whole or, on any exception, is rolled back and the
+ * exception rethrown.
+ */
+public final class UnitOfWork {
+
+    @FunctionalInterface
+    public interface Work<T> {
+        T execute(Connection conn) throws SQLException;
+    }
+
+    private UnitOfWork() {
+    }
+
+    public static <T> T run(Work<T> work) throws SQLException {
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            boolean autoCommit = conn.getAutoCommit();
+            conn.setAutoCommit(false);
+            try {
+                T result = work.execute(conn);
+                conn.commit();
+                return result;
+            } catch (SQLException | RuntimeException e) {
+                rollback(conn, e);
+                throw e;
+            } finally {
+                // Pooled connections go back with the mode they came out with
+                conn.setAutoCommit(autoCommit);
+            }
+        }
+    }
+
+    private static void rollback(Connection conn, Exception cause) {
+        try {
+            conn.rollback();
+        } catch (SQLException e) {
+            cause.addSuppressed(e);
+        }
+    }
+}
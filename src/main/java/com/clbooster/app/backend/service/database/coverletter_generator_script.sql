@@ -26,5 +26,23 @@ CREATE TABLE IF NOT EXISTS coverletter (
     Pin INT NOT NULL,
     Timestamp_edited TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
     FilePath VARCHAR(300),
+    Company VARCHAR(200),
+    Job_Title VARCHAR(200),
+    Tone VARCHAR(32),
+    Created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    File_Size BIGINT DEFAULT 0,
+    Metadata_Approximate BOOLEAN DEFAULT FALSE,
+    INDEX idx_coverletter_pin_edited (Pin, Timestamp_edited),
     FOREIGN KEY (Pin) REFERENCES identification(Pin) ON DELETE CASCADE
+    );
+
+CREATE TABLE IF NOT EXISTS document_text (
+    Doc_Path VARCHAR(300) PRIMARY KEY,
+    Owner_Pin INT NOT NULL,
+    Doc_Type VARCHAR(16) NOT NULL,
+    Content MEDIUMTEXT,
+    Indexed_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    INDEX idx_document_text_owner (Owner_Pin, Doc_Type),
+    FULLTEXT INDEX ft_document_text_content (Content),
+    FOREIGN KEY (Owner_Pin) REFERENCES identification(Pin) ON DELETE CASCADE
     );
\ No newline at end of file
@@ -1,7 +1,11 @@
 package com.clbooster.app.backend.service.document;
 
 import com.clbooster.app.backend.service.ResumeData;
+import com.clbooster.app.backend.service.search.DocumentIndexService;
+import com.clbooster.app.backend.service.search.DocumentType;
+import com.clbooster.app.backend.service.search.SearchHit;
 import com.clbooster.aiservice.Exporter;
+import com.clbooster.aiservice.ParsedTextCache;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
@@ -12,6 +16,7 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
+import java.util.List;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -27,10 +32,18 @@ public class DocumentService {
     private static final String DOCUMENT_STORAGE_DIR = "uploads/resumes/";
 
     private final Exporter exporter;
+    private final DocumentIndexService documentIndexService;
+    private final ParsedTextCache parsedTextCache;
 
     @Autowired
     public DocumentService(Exporter exporter) {
+        this(exporter, ParsedTextCache.shared());
+    }
+
+    DocumentService(Exporter exporter, ParsedTextCache parsedTextCache) {
         this.exporter = exporter;
+        this.parsedTextCache = parsedTextCache;
+        this.documentIndexService = new DocumentIndexService();
         // Ensure storage directory exists
         try {
             Files.createDirectories(Paths.get(DOCUMENT_STORAGE_DIR));
@@ -64,6 +77,10 @@ public class DocumentService {
             Files.copy(inputStream, targetPath, StandardCopyOption.REPLACE_EXISTING);
 
             logger.log(Level.INFO, "File stored successfully: {0}", targetPath);
+            Integer pin = parsePin(userId);
+            if (pin != null) {
+                documentIndexService.indexFile(pin, DocumentType.RESUME, targetPath);
+            }
             return targetPath.toString();
 
         } catch (IOException e) {
@@ -113,6 +130,10 @@ public class DocumentService {
             Files.write(targetPath, resumeText.getBytes());
 
             logger.log(Level.INFO, "Resume text stored: {0}", targetPath);
+            Integer pin = parsePin(userId);
+            if (pin != null) {
+                documentIndexService.indexText(pin, DocumentType.RESUME, targetPath, resumeText);
+            }
             return targetPath.toString();
 
         } catch (IOException e) {
@@ -174,11 +195,7 @@ public class DocumentService {
      */
     public byte[] retrieveResumeFile(String storagePath) throws IOException {
         try {
-            Path path = resolveStoragePath(storagePath);
-            if (!Files.exists(path)) {
-                throw new IOException("File not found: " + storagePath);
-            }
-
+            Path path = resolveResumeFile(storagePath);
             byte[] content = Files.readAllBytes(path);
             logger.log(Level.INFO, "Retrieved resume file: {0} ({1} bytes)",
                     new Object[] { storagePath, content.length });
@@ -190,7 +207,25 @@ public class DocumentService {
     }
 
     /**
-     * Deletes a stored resume file.
+     * Resolves a stored resume to its file on disk without reading it, so the
+     * caller can stream it.
+     * 
+     * @param storagePath
+     *            The path of the stored file
+     * @return The file inside the storage directory
+     * @throws IOException
+     *             if the path is outside storage or the file does not exist
+     */
+    public Path resolveResumeFile(String storagePath) throws IOException {
+        Path path = resolveStoragePath(storagePath);
+        if (!Files.isRegularFile(path)) {
+            throw new IOException("File not found: " + storagePath);
+        }
+        return path;
+    }
+
+    /**
+     * Deletes a stored resume file, together with the text extracted from it.
      * 
      * @param storagePath
      *            The path of the file to delete
@@ -200,7 +235,10 @@ public class DocumentService {
         try {
             Path path = resolveStoragePath(storagePath);
             if (Files.exists(path)) {
+                String contentHash = ParsedTextCache.hash(path);
                 Files.delete(path);
+                documentIndexService.remove(path);
+                parsedTextCache.remove(contentHash);
                 logger.log(Level.INFO, "Deleted resume file: {0}", storagePath);
                 return true;
             } else {
@@ -214,6 +252,32 @@ public class DocumentService {
         }
     }
 
+    /**
+     * Full-text search over a user's resumes, best match first.
+     *
+     * @param pin
+     *            Owner of the resumes
+     * @param query
+     *            Words to look for in the resume text
+     * @param offset
+     *            Number of ranked hits to skip
+     * @param limit
+     *            Maximum number of hits to return
+     * @return Ranked hits; each carries the stored file path
+     */
+    public List<SearchHit> searchResumes(int pin, String query, int offset, int limit) {
+        return documentIndexService.search(pin, DocumentType.RESUME, query, offset, limit);
+    }
+
+    // Resumes are stored per user PIN; other ids (tests, demo data) are not indexed
+    private static Integer parsePin(String userId) {
+        try {
+            return Integer.valueOf(userId);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
     private Path resolveStoragePath(String storagePath) throws IOException {
         if (storagePath == null || storagePath.isBlank()) {
             throw new IOException("Invalid storage path");
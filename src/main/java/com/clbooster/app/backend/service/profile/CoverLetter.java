@@ -7,6 +7,12 @@ public class CoverLetter {
     private int pin;
     private Timestamp timestampEdited;
     private String filePath;
+    private String company;
+    private String jobTitle;
+    private String tone;
+    private Timestamp createdAt;
+    private long fileSize;
+    private boolean metadataApproximate;
 
     public CoverLetter(int id, int pin, Timestamp timestampEdited, String filePath) {
         this.id = id;
@@ -55,9 +61,61 @@ public class CoverLetter {
         this.filePath = filePath;
     }
 
+    public String getCompany() {
+        return company;
+    }
+
+    public void setCompany(String company) {
+        this.company = company;
+    }
+
+    public String getJobTitle() {
+        return jobTitle;
+    }
+
+    public void setJobTitle(String jobTitle) {
+        this.jobTitle = jobTitle;
+    }
+
+    public String getTone() {
+        return tone;
+    }
+
+    public void setTone(String tone) {
+        this.tone = tone;
+    }
+
+    public Timestamp getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Timestamp createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public long getFileSize() {
+        return fileSize;
+    }
+
+    public void setFileSize(long fileSize) {
+        this.fileSize = fileSize;
+    }
+
+    /**
+     * Whether company and title were recovered from a legacy file name rather
+     * than entered by the user.
+     */
+    public boolean isMetadataApproximate() {
+        return metadataApproximate;
+    }
+
+    public void setMetadataApproximate(boolean metadataApproximate) {
+        this.metadataApproximate = metadataApproximate;
+    }
+
     @Override
     public String toString() {
         return "CoverLetter{id=" + id + ", pin=" + pin + ", timestampEdited=" + timestampEdited + ", filePath='"
-                + filePath + "'}";
+                + filePath + "', company='" + company + "', jobTitle='" + jobTitle + "'}";
     }
 }
\ No newline at end of file
@@ -0,0 +1,67 @@
+package com.clbooster.app.backend.service.profile;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Builds the "export all" zip of a user's cover letters.
+ *
+ * Each file is copied from disk into its zip entry through a small fixed
+ * buffer, so memory use does not grow with the number or size of letters.
+ */
+public final class CoverLetterArchive {
+
+    private CoverLetterArchive() {
+    }
+
+    /**
+     * Returns the letter files that still exist on disk, skipping later files
+     * whose name would clash with an earlier zip entry.
+     */
+    public static List<Path> exportableFiles(List<CoverLetter> letters) {
+        List<Path> files = new ArrayList<>();
+        Set<String> names = new HashSet<>();
+        for (CoverLetter letter : letters) {
+            if (letter.getFilePath() == null)
+                continue;
+            Path file = Paths.get(letter.getFilePath());
+            if (Files.isRegularFile(file) && names.add(file.getFileName().toString())) {
+                files.add(file);
+            }
+        }
+        return files;
+    }
+
+    /**
+     * Streams {@code files} into a zip written to {@code out}. The zip is
+     * finished but {@code out} is left open for the caller to close.
+     */
+    public static void writeZip(List<Path> files, OutputStream out) throws IOException {
+        ZipOutputStream zos = new ZipOutputStream(out);
+        for (Path file : files) {
+            zos.putNextEntry(new ZipEntry(file.getFileName().toString()));
+            Files.copy(file, zos);
+            zos.closeEntry();
+        }
+        zos.finish();
+    }
+
+    /**
+     * Writes the zip to {@code target}, replacing any existing file.
+     */
+    public static void writeZip(List<Path> files, Path target) throws IOException {
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(target))) {
+            writeZip(files, out);
+        }
+    }
+}
@@ -5,12 +5,16 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.sql.*;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
 public class CoverLetterDAO {
     private static final Logger log = LoggerFactory.getLogger(CoverLetterDAO.class);
 
+    private static final String SELECT_COLUMNS = "SELECT id, Pin, Timestamp_edited, FilePath, Company, Job_Title, Tone, "
+            + "Created_at, File_Size, Metadata_Approximate FROM coverletter";
+
     // Returns generated id, or -1 on failure
     public int addCoverLetter(int pin, String filePath) {
         String sql = "INSERT INTO coverletter (Pin, FilePath) VALUES (?, ?)";
@@ -33,8 +37,41 @@ public class CoverLetterDAO {
         }
     }
 
+    /**
+     * Stores a generated letter together with the metadata the history and
+     * dashboard views list, so they never have to scan the upload directory.
+     * Returns the generated id, or -1 on failure.
+     */
+    public int addCoverLetter(CoverLetter coverLetter) {
+        String sql = "INSERT INTO coverletter (Pin, FilePath, Company, Job_Title, Tone, File_Size, Timestamp_edited, "
+                + "Metadata_Approximate) VALUES (?, ?, ?, ?, ?, ?, COALESCE(?, CURRENT_TIMESTAMP), ?)";
+
+        try (Connection conn = DatabaseConnection.getConnection();
+                PreparedStatement pstmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+
+            pstmt.setInt(1, coverLetter.getPin());
+            pstmt.setString(2, coverLetter.getFilePath());
+            pstmt.setString(3, coverLetter.getCompany());
+            pstmt.setString(4, coverLetter.getJobTitle());
+            pstmt.setString(5, coverLetter.getTone());
+            pstmt.setLong(6, coverLetter.getFileSize());
+            pstmt.setTimestamp(7, coverLetter.getTimestampEdited());
+            pstmt.setBoolean(8, coverLetter.isMetadataApproximate());
+            pstmt.executeUpdate();
+
+            ResultSet rs = pstmt.getGeneratedKeys();
+            if (rs.next())
+                return rs.getInt(1);
+            return -1;
+
+        } catch (SQLException e) {
+            log.error("Failed to add cover letter metadata", e);
+            return -1;
+        }
+    }
+
     public CoverLetter getCoverLetterById(int id) {
-        String sql = "SELECT id, Pin, Timestamp_edited, FilePath FROM coverletter WHERE id = ?";
+        String sql = SELECT_COLUMNS + " WHERE id = ?";
 
         try (Connection conn = DatabaseConnection.getConnection();
                 PreparedStatement pstmt = conn.prepareStatement(sql)) {
@@ -52,7 +89,7 @@ public class CoverLetterDAO {
     }
 
     public List<CoverLetter> getCoverLettersByPin(int pin) {
-        String sql = "SELECT id, Pin, Timestamp_edited, FilePath FROM coverletter WHERE Pin = ? ORDER BY Timestamp_edited DESC";
+        String sql = SELECT_COLUMNS + " WHERE Pin = ? ORDER BY Timestamp_edited DESC, id DESC";
         List<CoverLetter> list = new ArrayList<>();
 
         try (Connection conn = DatabaseConnection.getConnection();
@@ -69,6 +106,202 @@ public class CoverLetterDAO {
         return list;
     }
 
+    // Served by idx_coverletter_pin_edited (Pin, Timestamp_edited)
+    public List<CoverLetter> getRecentCoverLettersByPin(int pin, int limit) {
+        String sql = SELECT_COLUMNS + " WHERE Pin = ? ORDER BY Timestamp_edited DESC, id DESC LIMIT ?";
+        List<CoverLetter> list = new ArrayList<>();
+
+        try (Connection conn = DatabaseConnection.getConnection();
+                PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            pstmt.setInt(1, pin);
+            pstmt.setInt(2, limit);
+            ResultSet rs = pstmt.executeQuery();
+            while (rs.next())
+                list.add(mapRow(rs));
+
+        } catch (SQLException e) {
+            log.error("Failed to fetch recent cover letters by pin", e);
+        }
+        return list;
+    }
+
+    public boolean existsByFilePath(String filePath) {
+        String sql = "SELECT 1 FROM coverletter WHERE FilePath = ? LIMIT 1";
+
+        try (Connection conn = DatabaseConnection.getConnection();
+                PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            pstmt.setString(1, filePath);
+            return pstmt.executeQuery().next();
+
+        } catch (SQLException e) {
+            log.error("Failed to look up cover letter by file path", e);
+            return false;
+        }
+    }
+
+    public int countByPin(int pin) {
+        return count("SELECT COUNT(*) FROM coverletter WHERE Pin = ?", pin, null);
+    }
+
+    public int countByPinSince(int pin, Timestamp since) {
+        return count("SELECT COUNT(*) FROM coverletter WHERE Pin = ? AND Timestamp_edited >= ?", pin, since);
+    }
+
+    private int count(String sql, int pin, Timestamp since) {
+        try (Connection conn = DatabaseConnection.getConnection();
+                PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            pstmt.setInt(1, pin);
+            if (since != null)
+                pstmt.setTimestamp(2, since);
+            ResultSet rs = pstmt.executeQuery();
+            return rs.next() ? rs.getInt(1) : 0;
+
+        } catch (SQLException e) {
+            log.error("Failed to count cover letters for pin", e);
+            return 0;
+        }
+    }
+
+    /**
+     * Returns up to {@code limit} letters matching {@code filter}, newest first,
+     * that come strictly after {@code after} (the last row of the previous
+     * page, or {@code null} for the first page).
+     *
+     * Seeks on (Timestamp_edited, id) instead of using OFFSET, so every page
+     * is a range scan on idx_coverletter_pin_edited (InnoDB appends the
+     * primary key to secondary indexes) no matter how deep the user pages.
+     */
+    public List<CoverLetter> getCoverLetterPage(CoverLetterFilter filter, CoverLetter after, int limit) {
+        StringBuilder sql = new StringBuilder(SELECT_COLUMNS);
+        List<Object> params = new ArrayList<>();
+        appendWhere(sql, params, filter);
+        if (after != null) {
+            sql.append(" AND (Timestamp_edited < ? OR (Timestamp_edited = ? AND id < ?))");
+            params.add(after.getTimestampEdited());
+            params.add(after.getTimestampEdited());
+            params.add(after.getId());
+        }
+        sql.append(" ORDER BY Timestamp_edited DESC, id DESC LIMIT ?");
+        params.add(limit);
+
+        List<CoverLetter> list = new ArrayList<>();
+        try (Connection conn = DatabaseConnection.getConnection();
+                PreparedStatement pstmt = conn.prepareStatement(sql.toString())) {
+
+            bind(pstmt, params);
+            ResultSet rs = pstmt.executeQuery();
+            while (rs.next())
+                list.add(mapRow(rs));
+
+        } catch (SQLException e) {
+            log.error("Failed to fetch cover letter page", e);
+        }
+        return list;
+    }
+
+    public int countByFilter(CoverLetterFilter filter) {
+        StringBuilder sql = new StringBuilder("SELECT COUNT(*) FROM coverletter");
+        List<Object> params = new ArrayList<>();
+        appendWhere(sql, params, filter);
+
+        try (Connection conn = DatabaseConnection.getConnection();
+                PreparedStatement pstmt = conn.prepareStatement(sql.toString())) {
+
+            bind(pstmt, params);
+            ResultSet rs = pstmt.executeQuery();
+            return rs.next() ? rs.getInt(1) : 0;
+
+        } catch (SQLException e) {
+            log.error("Failed to count filtered cover letters", e);
+            return 0;
+        }
+    }
+
+    /**
+     * Letters whose text matches {@code query} in the full-text index, best
+     * match first. Ranked results cannot be seeked on, so this pages with
+     * OFFSET; search result lists are short and rarely paged deeply.
+     */
+    public List<CoverLetter> searchByContent(CoverLetterFilter filter, String query, int offset, int limit) {
+        String match = "MATCH(Content) AGAINST (? IN NATURAL LANGUAGE MODE)";
+        StringBuilder sql = new StringBuilder(SELECT_COLUMNS).append(" JOIN document_text ON Doc_Path = FilePath");
+        List<Object> params = new ArrayList<>();
+        appendWhere(sql, params, filter);
+        sql.append(" AND Doc_Type = 'COVER_LETTER' AND ").append(match);
+        params.add(query);
+        sql.append(" ORDER BY ").append(match).append(" DESC, id DESC LIMIT ? OFFSET ?");
+        params.add(query);
+        params.add(limit);
+        params.add(offset);
+
+        List<CoverLetter> list = new ArrayList<>();
+        try (Connection conn = DatabaseConnection.getConnection();
+                PreparedStatement pstmt = conn.prepareStatement(sql.toString())) {
+
+            bind(pstmt, params);
+            ResultSet rs = pstmt.executeQuery();
+            while (rs.next())
+                list.add(mapRow(rs));
+
+        } catch (SQLException e) {
+            log.error("Failed to search cover letters by content", e);
+        }
+        return list;
+    }
+
+    private static void appendWhere(StringBuilder sql, List<Object> params, CoverLetterFilter filter) {
+        sql.append(" WHERE Pin = ?");
+        params.add(filter.getPin());
+
+        if (filter.getSearch() != null) {
+            String prefix = escapeLike(filter.getSearch()) + "%";
+            sql.append(" AND (Company LIKE ? OR Job_Title LIKE ?)");
+            params.add(prefix);
+            params.add(prefix);
+        }
+        if (filter.getFrom() != null) {
+            sql.append(" AND Timestamp_edited >= ?");
+            params.add(Timestamp.valueOf(filter.getFrom().atStartOfDay()));
+        }
+        if (filter.getTo() != null) {
+            sql.append(" AND Timestamp_edited < ?");
+            params.add(Timestamp.valueOf(filter.getTo().plusDays(1).atStartOfDay()));
+        }
+
+        // Status is derived from age, so it becomes a bound on Timestamp_edited
+        Timestamp archiveCutoff = Timestamp
+                .valueOf(LocalDateTime.now().minusDays(CoverLetterFilter.ARCHIVE_AFTER_DAYS));
+        switch (filter.getStatus()) {
+        case CoverLetterFilter.STATUS_FINALIZED:
+            sql.append(" AND Timestamp_edited > ?");
+            params.add(archiveCutoff);
+            break;
+        case CoverLetterFilter.STATUS_ARCHIVED:
+            sql.append(" AND Timestamp_edited <= ?");
+            params.add(archiveCutoff);
+            break;
+        case CoverLetterFilter.STATUS_SENT:
+            // Sending is not tracked yet, so nothing is ever in this state
+            sql.append(" AND 1 = 0");
+            break;
+        default:
+            break;
+        }
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    private static void bind(PreparedStatement pstmt, List<Object> params) throws SQLException {
+        for (int i = 0; i < params.size(); i++) {
+            pstmt.setObject(i + 1, params.get(i));
+        }
+    }
+
     // Timestamp_edited auto-updates via ON UPDATE CURRENT_TIMESTAMP
     public boolean updateFilePath(int id, String newFilePath) {
         String sql = "UPDATE coverletter SET FilePath = ? WHERE id = ?";
@@ -122,6 +355,12 @@ public class CoverLetterDAO {
         cl.setPin(rs.getInt("Pin"));
         cl.setTimestampEdited(rs.getTimestamp("Timestamp_edited"));
         cl.setFilePath(rs.getString("FilePath"));
+        cl.setCompany(rs.getString("Company"));
+        cl.setJobTitle(rs.getString("Job_Title"));
+        cl.setTone(rs.getString("Tone"));
+        cl.setCreatedAt(rs.getTimestamp("Created_at"));
+        cl.setFileSize(rs.getLong("File_Size"));
+        cl.setMetadataApproximate(rs.getBoolean("Metadata_Approximate"));
         return cl;
     }
 }
\ No newline at end of file
@@ -0,0 +1,85 @@
+package com.clbooster.app.backend.service.profile;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * Criteria for paging through one user's cover letter history. Everything is
+ * evaluated in SQL by {@link CoverLetterDAO#getCoverLetterPage}.
+ *
+ * {@code search} matches the start of the company or job title, {@code from}
+ * and {@code to} are inclusive days, and {@code status} is one of the status
+ * constants below ({@code null} means {@link #STATUS_ALL}).
+ */
+public class CoverLetterFilter implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    public static final String STATUS_ALL = "ALL";
+    public static final String STATUS_FINALIZED = "FINALIZED";
+    public static final String STATUS_ARCHIVED = "ARCHIVED";
+    public static final String STATUS_SENT = "SENT";
+
+    // Letters not edited for this many days are shown as archived
+    public static final int ARCHIVE_AFTER_DAYS = 30;
+
+    private final int pin;
+    private final String search;
+    private final LocalDate from;
+    private final LocalDate to;
+    private final String status;
+
+    public CoverLetterFilter(int pin) {
+        this(pin, null, null, null, STATUS_ALL);
+    }
+
+    public CoverLetterFilter(int pin, String search, LocalDate from, LocalDate to, String status) {
+        this.pin = pin;
+        this.search = search != null && !search.isBlank() ? search.trim() : null;
+        this.from = from;
+        this.to = to;
+        this.status = status != null ? status : STATUS_ALL;
+    }
+
+    public int getPin() {
+        return pin;
+    }
+
+    public String getSearch() {
+        return search;
+    }
+
+    public LocalDate getFrom() {
+        return from;
+    }
+
+    public LocalDate getTo() {
+        return to;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o)
+            return true;
+        if (!(o instanceof CoverLetterFilter))
+            return false;
+        CoverLetterFilter that = (CoverLetterFilter) o;
+        return pin == that.pin && Objects.equals(search, that.search) && Objects.equals(from, that.from)
+                && Objects.equals(to, that.to) && status.equals(that.status);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(pin, search, from, to, status);
+    }
+
+    @Override
+    public String toString() {
+        return "CoverLetterFilter{pin=" + pin + ", search='" + search + "', from=" + from + ", to=" + to
+                + ", status=" + status + "}";
+    }
+}
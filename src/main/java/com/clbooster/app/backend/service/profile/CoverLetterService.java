@@ -1,25 +1,38 @@
 package com.clbooster.app.backend.service.profile;
 
+import com.clbooster.app.backend.service.search.DocumentIndexService;
+import com.clbooster.app.backend.service.search.DocumentType;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.*;
 import java.nio.file.*;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
 import java.util.List;
 import java.util.Locale;
+import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import java.util.stream.Stream;
 
 public class CoverLetterService {
     private static final Logger log = LoggerFactory.getLogger(CoverLetterService.class);
     private static final Pattern EXTENSION_PATTERN = Pattern.compile("[a-zA-Z0-9]{1,10}");
+    // {pin}_{yyyyMMdd}_{HHmmss}_{company}_{jobtitle}.docx as written by the generator views
+    private static final Pattern LEGACY_FILE_NAME = Pattern
+            .compile("(\\d+)_(\\d{8}_\\d{6})_(.+)\\.(docx|pdf|txt)", Pattern.CASE_INSENSITIVE);
 
     private static String BASE_PATH = System.getenv("STORAGE_PATH") != null ? System.getenv("STORAGE_PATH")
             : "storage/coverletters/";
 
     private CoverLetterDAO coverLetterDAO;
+    private DocumentIndexService documentIndexService;
 
     public CoverLetterService() {
         this.coverLetterDAO = new CoverLetterDAO();
+        this.documentIndexService = new DocumentIndexService();
         createStorageDirectoryIfNeeded();
     }
 
@@ -84,6 +97,7 @@ public class CoverLetterService {
         try {
             Path filePath = resolveStoredFilePath(cl.getFilePath());
             Files.deleteIfExists(filePath);
+            documentIndexService.remove(filePath);
             return coverLetterDAO.deleteCoverLetter(id);
         } catch (IOException e) {
             log.error("Failed to delete cover letter", e);
@@ -95,6 +109,129 @@ public class CoverLetterService {
         return coverLetterDAO.getCoverLettersByPin(pin);
     }
 
+    /**
+     * Indexes a letter the generator views already wrote to {@code file}: its
+     * metadata goes to the coverletter table and {@code text} to the full-text
+     * index. Returns the generated id, or -1 on failure.
+     */
+    public int recordGeneratedLetter(int pin, Path file, String company, String jobTitle, String tone,
+            String text) {
+        CoverLetter cl = new CoverLetter(pin, file.toAbsolutePath().toString());
+        cl.setCompany(company);
+        cl.setJobTitle(jobTitle);
+        cl.setTone(tone);
+        try {
+            cl.setFileSize(Files.size(file));
+        } catch (IOException e) {
+            log.warn("Could not read size of {}", file, e);
+        }
+        int id = coverLetterDAO.addCoverLetter(cl);
+        if (id != -1) {
+            documentIndexService.indexText(pin, DocumentType.COVER_LETTER, file, text);
+        }
+        return id;
+    }
+
+    /**
+     * One-off import of letters generated before their metadata was stored in
+     * the database, run as a schema migration step: recovers pin and time from
+     * the file name. Files that are already indexed are skipped, so a rerun
+     * after a failure imports only what is missing. Returns the number
+     * imported.
+     *
+     * @throws IOException when {@code dir} cannot be listed
+     */
+    public int importLegacyFiles(Path dir) throws IOException {
+        if (!Files.isDirectory(dir)) {
+            return 0;
+        }
+        int imported = 0;
+        try (Stream<Path> files = Files.list(dir)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                CoverLetter cl = parseLegacyFileName(file);
+                if (cl == null || coverLetterDAO.existsByFilePath(cl.getFilePath())) {
+                    continue;
+                }
+                if (coverLetterDAO.addCoverLetter(cl) == -1) {
+                    log.warn("Could not import legacy cover letter {}", file);
+                    continue;
+                }
+                documentIndexService.indexFile(cl.getPin(), DocumentType.COVER_LETTER, file);
+                imported++;
+            }
+        }
+        return imported;
+    }
+
+    /**
+     * The generator joined company and title with the same "_" that replaced
+     * their spaces, so where one ends cannot be told. The recovered words are
+     * kept together as the title and the letter is marked
+     * {@link CoverLetter#isMetadataApproximate() approximate}.
+     */
+    static CoverLetter parseLegacyFileName(Path file) {
+        Matcher m = LEGACY_FILE_NAME.matcher(file.getFileName().toString());
+        if (!m.matches()) {
+            return null;
+        }
+        CoverLetter cl = new CoverLetter(Integer.parseInt(m.group(1)), file.toAbsolutePath().toString());
+        cl.setJobTitle(m.group(3).replace('_', ' ').trim());
+        cl.setMetadataApproximate(true);
+        cl.setTimestampEdited(Timestamp.valueOf(
+                LocalDateTime.parse(m.group(2), DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"))));
+        try {
+            cl.setFileSize(Files.size(file));
+        } catch (IOException e) {
+            return null;
+        }
+        return cl;
+    }
+
+    public List<CoverLetter> getRecentCoverLetters(int pin, int limit) {
+        return coverLetterDAO.getRecentCoverLettersByPin(pin, limit);
+    }
+
+    public int countCoverLetters(int pin) {
+        return coverLetterDAO.countByPin(pin);
+    }
+
+    public int countCoverLettersSince(int pin, Instant since) {
+        return coverLetterDAO.countByPinSince(pin, Timestamp.from(since));
+    }
+
+    /**
+     * One page of history; pass the last letter of the previous page as
+     * {@code after} (or {@code null} for the first page).
+     */
+    public List<CoverLetter> getCoverLetterPage(CoverLetterFilter filter, CoverLetter after, int limit) {
+        return coverLetterDAO.getCoverLetterPage(filter, after, limit);
+    }
+
+    public int countCoverLetters(CoverLetterFilter filter) {
+        return coverLetterDAO.countByFilter(filter);
+    }
+
+    /**
+     * Letters whose content matches {@code query}, best match first, narrowed
+     * by the date and status criteria of {@code filter}.
+     */
+    public List<CoverLetter> searchCoverLetters(CoverLetterFilter filter, String query, int offset, int limit) {
+        if (query == null || query.isBlank()) {
+            return List.of();
+        }
+        return coverLetterDAO.searchByContent(filter, query.trim(), offset, limit);
+    }
+
+    /**
+     * Drops the database row and search entry of a letter whose file the
+     * caller has already removed (generated letters live outside this
+     * service's storage dir).
+     */
+    public boolean deleteRecord(int id, String filePath) {
+        documentIndexService.remove(Paths.get(filePath));
+        return coverLetterDAO.deleteCoverLetter(id);
+    }
+
     private void createStorageDirectoryIfNeeded() {
         try {
             Files.createDirectories(getBasePathPath());
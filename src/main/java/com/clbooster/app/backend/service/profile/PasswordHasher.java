@@ -0,0 +1,178 @@
+package com.clbooster.app.backend.service.profile;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.regex.Pattern;
+
+/**
+ * Hashes and verifies account passwords with bcrypt.
+ *
+ * bcrypt is slow on purpose, so the work runs on a small dedicated pool (one
+ * thread per core by default) with a bounded queue: a burst of logins waits
+ * its turn there instead of burning CPU on every request thread, and is
+ * rejected once the queue is full. Successful verifications are remembered in
+ * a bounded in-memory cache, keyed by an HMAC under a per-process secret, so
+ * re-entering the same password (e.g. re-authenticating in settings) does not
+ * pay the cost again.
+ *
+ * Accounts created before bcrypt still hold unsalted SHA-256 hex digests.
+ * Those verify as before, and {@link #needsRehash} tells the caller to replace
+ * them after a successful login.
+ */
+public class PasswordHasher {
+
+    private static final PasswordHasher SHARED = new PasswordHasher(
+            Integer.parseInt(System.getenv().getOrDefault("PASSWORD_BCRYPT_COST", "10")),
+            Integer.parseInt(System.getenv().getOrDefault("PASSWORD_HASH_THREADS",
+                    String.valueOf(Runtime.getRuntime().availableProcessors()))),
+            64, 1024);
+
+    private static final Pattern LEGACY_SHA256 = Pattern.compile("[0-9a-f]{64}");
+    private static final long TIMEOUT_SECONDS = 10;
+
+    private final BCryptPasswordEncoder encoder;
+    private final ThreadPoolExecutor executor;
+    private final Map<String, Boolean> verified;
+    private final SecretKeySpec cacheKey;
+
+    public PasswordHasher(int cost, int threads, int queueCapacity, int cacheEntries) {
+        this.encoder = new BCryptPasswordEncoder(cost);
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                Thread.ofPlatform().daemon().name("password-hash-", 0).factory());
+        this.verified = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+                return size() > cacheEntries;
+            }
+        };
+        byte[] secret = new byte[32];
+        new SecureRandom().nextBytes(secret);
+        this.cacheKey = new SecretKeySpec(secret, "HmacSHA256");
+    }
+
+    /**
+     * Process-wide hasher used by {@link UserDAO}.
+     */
+    public static PasswordHasher shared() {
+        return SHARED;
+    }
+
+    /**
+     * Returns a salted bcrypt hash of {@code password}.
+     *
+     * @throws java.util.concurrent.RejectedExecutionException
+     *             when too many hashes are already waiting
+     */
+    public String hash(String password) {
+        return run(() -> encoder.encode(password));
+    }
+
+    /**
+     * Checks {@code password} against a stored bcrypt or legacy SHA-256 hash.
+     */
+    public boolean verify(String password, String storedHash) {
+        if (password == null || storedHash == null) {
+            return false;
+        }
+        if (isLegacy(storedHash)) {
+            return MessageDigest.isEqual(legacyHash(password).getBytes(StandardCharsets.US_ASCII),
+                    storedHash.getBytes(StandardCharsets.US_ASCII));
+        }
+        if (!isBcrypt(storedHash)) {
+            return false;
+        }
+        String key = cacheKey(password, storedHash);
+        synchronized (verified) {
+            if (verified.containsKey(key)) {
+                return true;
+            }
+        }
+        boolean matches = run(() -> encoder.matches(password, storedHash));
+        if (matches) {
+            synchronized (verified) {
+                verified.put(key, Boolean.TRUE);
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * {@code true} when the stored hash is a legacy digest or uses a lower
+     * bcrypt cost than the one configured now.
+     */
+    public boolean needsRehash(String storedHash) {
+        if (storedHash == null) {
+            return false;
+        }
+        return isLegacy(storedHash) || isBcrypt(storedHash) && encoder.upgradeEncoding(storedHash);
+    }
+
+    int cachedVerifications() {
+        synchronized (verified) {
+            return verified.size();
+        }
+    }
+
+    private <T> T run(Callable<T> task) {
+        Future<T> future = executor.submit(task);
+        try {
+            return future.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while hashing password", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw new IllegalStateException("Password hashing timed out", e);
+        }
+    }
+
+    private static boolean isLegacy(String storedHash) {
+        return LEGACY_SHA256.matcher(storedHash).matches();
+    }
+
+    private static boolean isBcrypt(String storedHash) {
+        return storedHash.startsWith("$2");
+    }
+
+    private static String legacyHash(String password) {
+        try {
+            MessageDigest md = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(md.digest(password.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 algorithm not available", e);
+        }
+    }
+
+    private String cacheKey(String password, String storedHash) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(cacheKey);
+            mac.update(storedHash.getBytes(StandardCharsets.UTF_8));
+            mac.update((byte) 0);
+            return HexFormat.of().formatHex(mac.doFinal(password.getBytes(StandardCharsets.UTF_8)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 not available", e);
+        }
+    }
+}
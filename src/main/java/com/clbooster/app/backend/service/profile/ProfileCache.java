@@ -0,0 +1,85 @@
+package com.clbooster.app.backend.service.profile;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Remembers resolved localized profiles, keyed by PIN and the locale chain
+ * they were resolved against, so the profile page and cover letter
+ * generation read a profile from the database once until it changes.
+ *
+ * Recently used entries stay in memory (LRU, {@code maxEntries}).
+ * {@link ProfileDAO} evicts every entry for a PIN whenever it writes that
+ * profile. Entries are copied in and out, so callers may modify what they
+ * get back.
+ */
+public class ProfileCache {
+
+    private static final ProfileCache SHARED = new ProfileCache(
+            Integer.parseInt(System.getenv().getOrDefault("PROFILE_CACHE_ENTRIES", "512")));
+
+    private record Key(int pin, String localeChain) {
+    }
+
+    private final Map<Key, Profile> entries;
+
+    public ProfileCache(int maxEntries) {
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Profile> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Process-wide cache used by {@link ProfileDAO}.
+     */
+    public static ProfileCache shared() {
+        return SHARED;
+    }
+
+    /**
+     * Returns a copy of the cached profile, or {@code null}.
+     */
+    public Profile get(int pin, String localeChain) {
+        synchronized (entries) {
+            Profile profile = entries.get(new Key(pin, localeChain));
+            return profile != null ? copy(profile) : null;
+        }
+    }
+
+    public void put(int pin, String localeChain, Profile profile) {
+        synchronized (entries) {
+            entries.put(new Key(pin, localeChain), copy(profile));
+        }
+    }
+
+    /**
+     * Drops every cached locale of {@code pin}.
+     */
+    public void evict(int pin) {
+        synchronized (entries) {
+            entries.keySet().removeIf(key -> key.pin() == pin);
+        }
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private static Profile copy(Profile profile) {
+        Profile copy = new Profile(profile.getPin(), profile.getExperienceLevel(), profile.getTools(),
+                profile.getSkills(), profile.getLink(), profile.getProfileEmail());
+        copy.setCvLastUpdated(profile.getCvLastUpdated());
+        return copy;
+    }
+}
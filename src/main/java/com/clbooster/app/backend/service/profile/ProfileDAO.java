@@ -2,6 +2,7 @@ package com.clbooster.app.backend.service.profile;
 
 import com.clbooster.app.backend.dao.LocalizableDAO;
 import com.clbooster.app.backend.service.database.DatabaseConnection;
+import com.clbooster.app.backend.service.database.UnitOfWork;
 import com.clbooster.app.backend.util.LocaleFallbackResolver;
 import com.clbooster.app.backend.util.LocaleMapper;
 import com.clbooster.app.backend.util.Utf8Validator;
@@ -10,13 +11,36 @@ import org.slf4j.LoggerFactory;
 
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 
 public class ProfileDAO implements LocalizableDAO<Profile> {
 
     private static final Logger log = LoggerFactory.getLogger(ProfileDAO.class);
 
+    // Rows per IN list / executeBatch call for the bulk translation methods
+    static final int BATCH_SIZE = 500;
+
+    private static final String UPSERT_TRANSLATION = "INSERT INTO profile_translation "
+            + "(profile_pin, locale_code, experience_level, tools, skills) VALUES (?, ?, ?, ?, ?) "
+            + "ON DUPLICATE KEY UPDATE experience_level = VALUES(experience_level), "
+            + "tools = VALUES(tools), skills = VALUES(skills)";
+
+    private final ProfileCache cache;
+
+    public ProfileDAO() {
+        this(ProfileCache.shared());
+    }
+
+    public ProfileDAO(ProfileCache cache) {
+        this.cache = cache;
+    }
+
     public Profile getProfileByPin(int pin) {
         String sql = "SELECT Pin, Experience_Level, Tools, Skills, Link, Profile_Email, CV_Last_Updated FROM profile WHERE Pin = ?";
 
@@ -46,11 +70,18 @@ public class ProfileDAO implements LocalizableDAO<Profile> {
     }
 
     public boolean updateProfile(Profile profile) {
-        String sql = "UPDATE profile SET Experience_Level = ?, Tools = ?, Skills = ?, Link = ?, Profile_Email = ? WHERE Pin = ?";
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            return updateProfile(conn, profile);
+        } catch (SQLException e) {
+            log.error("Failed to update profile for PIN {}", profile.getPin(), e);
+            return false;
+        }
+    }
 
-        try (Connection conn = DatabaseConnection.getConnection();
-                PreparedStatement pstmt = conn.prepareStatement(sql)) {
+    private boolean updateProfile(Connection conn, Profile profile) throws SQLException {
+        String sql = "UPDATE profile SET Experience_Level = ?, Tools = ?, Skills = ?, Link = ?, Profile_Email = ? WHERE Pin = ?";
 
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
             pstmt.setString(1, profile.getExperienceLevel());
             pstmt.setString(2, profile.getTools());
             pstmt.setString(3, profile.getSkills());
@@ -59,10 +90,8 @@ public class ProfileDAO implements LocalizableDAO<Profile> {
             pstmt.setInt(6, profile.getPin());
 
             return pstmt.executeUpdate() > 0;
-
-        } catch (SQLException e) {
-            log.error("Failed to update profile for PIN {}", profile.getPin(), e);
-            return false;
+        } finally {
+            cache.evict(profile.getPin());
         }
     }
 
@@ -79,6 +108,8 @@ public class ProfileDAO implements LocalizableDAO<Profile> {
         } catch (SQLException e) {
             log.error("Failed to update CV timestamp for PIN {}", pin, e);
             return false;
+        } finally {
+            cache.evict(pin);
         }
     }
 
@@ -100,72 +131,224 @@ public class ProfileDAO implements LocalizableDAO<Profile> {
 
     @Override
     public Profile getById(int pin, Locale locale) {
-        Profile base = getProfileByPin(pin);
-        if (base == null || locale == null)
-            return base;
+        if (locale == null)
+            return getProfileByPin(pin);
+        return getByIdWithFallbackChain(pin, List.of(locale));
+    }
 
-        String sql = "SELECT experience_level, tools, skills FROM profile_translation WHERE profile_pin = ? AND locale_code = ?";
+    @Override
+    public Profile getByIdWithFallback(int pin, Locale preferred, Locale fallback) {
+        List<Locale> chain = LocaleFallbackResolver.getFallbackChain(preferred);
+        if (fallback != null && !chain.contains(fallback)) {
+            chain.add(fallback);
+        }
+        return getByIdWithFallbackChain(pin, chain);
+    }
+
+    /**
+     * Loads the base profile joined with its translations for every locale in
+     * {@code chain} and keeps the one that comes first in the chain, all in one
+     * query. Without any matching translation the base profile is returned.
+     * Results are served from {@link ProfileCache} until the profile is next
+     * written.
+     */
+    @Override
+    public Profile getByIdWithFallbackChain(int pin, List<Locale> chain) {
+        List<String> codes = new ArrayList<>(new LinkedHashSet<>(chain.stream().map(LocaleMapper::getDbCode).toList()));
+        String cacheKey = String.join(",", codes);
+        Profile cached = cache.get(pin, cacheKey);
+        if (cached != null) {
+            return cached;
+        }
+
+        String placeholders = String.join(", ", Collections.nCopies(codes.size(), "?"));
+        String sql = "SELECT p.Pin, p.Experience_Level, p.Tools, p.Skills, p.Link, p.Profile_Email, p.CV_Last_Updated, "
+                + "t.locale_code, t.experience_level, t.tools, t.skills FROM profile p "
+                + "LEFT JOIN profile_translation t ON t.profile_pin = p.Pin AND t.locale_code IN (" + placeholders
+                + ") WHERE p.Pin = ? ORDER BY FIELD(t.locale_code, " + placeholders + ") LIMIT 1";
 
         try (Connection conn = DatabaseConnection.getConnection();
                 PreparedStatement pstmt = conn.prepareStatement(sql)) {
 
-            pstmt.setInt(1, pin);
-            pstmt.setString(2, LocaleMapper.getDbCode(locale));
+            int index = 1;
+            for (String code : codes) {
+                pstmt.setString(index++, code);
+            }
+            pstmt.setInt(index++, pin);
+            for (String code : codes) {
+                pstmt.setString(index++, code);
+            }
             ResultSet rs = pstmt.executeQuery();
 
-            if (rs.next()) {
-                base.setExperienceLevel(rs.getString("experience_level"));
-                base.setTools(rs.getString("tools"));
-                base.setSkills(rs.getString("skills"));
+            if (!rs.next()) {
+                return null;
+            }
+            Profile profile = new Profile();
+            profile.setPin(rs.getInt("Pin"));
+            profile.setLink(rs.getString("Link"));
+            profile.setProfileEmail(rs.getString("Profile_Email"));
+            profile.setCvLastUpdated(rs.getTimestamp("CV_Last_Updated"));
+            if (rs.getString("locale_code") != null) {
+                profile.setExperienceLevel(rs.getString("experience_level"));
+                profile.setTools(rs.getString("tools"));
+                profile.setSkills(rs.getString("skills"));
+            } else {
+                profile.setExperienceLevel(rs.getString("Experience_Level"));
+                profile.setTools(rs.getString("Tools"));
+                profile.setSkills(rs.getString("Skills"));
             }
-            return base;
+            cache.put(pin, cacheKey, profile);
+            return profile;
 
         } catch (SQLException e) {
-            log.error("Failed to load translated profile for PIN {} and locale {}", pin, locale, e);
-            return base;
+            log.error("Failed to load localized profile for PIN {} and locales {}", pin, codes, e);
+            return null;
         }
     }
 
-    @Override
-    public Profile getByIdWithFallback(int pin, Locale preferred, Locale fallback) {
-        for (Locale locale : LocaleFallbackResolver.getFallbackChain(preferred)) {
-            if (hasTranslation(pin, locale)) {
-                return getById(pin, locale);
-            }
-        }
-        return getProfileByPin(pin);
+    /**
+     * Drops cached reads of {@code pin}; for callers that wrote the profile
+     * through a {@link UnitOfWork} and have just committed.
+     */
+    public void evictCached(int pin) {
+        cache.evict(pin);
     }
 
     @Override
     public void saveTranslation(Profile profile, Locale locale) {
-        if (!Utf8Validator.isValidUtf8(profile.getSkills()) || !Utf8Validator.isValidUtf8(profile.getTools())
-                || !Utf8Validator.isValidUtf8(profile.getExperienceLevel())) {
-            throw new IllegalArgumentException("Invalid UTF-8 sequence detected");
+        validateUtf8(profile);
+        try {
+            UnitOfWork.run(conn -> {
+                saveTranslation(conn, profile, locale);
+                return null;
+            });
+        } catch (SQLException e) {
+            log.error("Failed to save profile translation for PIN {} and locale {}", profile.getPin(), locale, e);
         }
+    }
 
-        String sql = "INSERT INTO profile_translation (profile_pin, locale_code, experience_level, tools, skills) "
-                + "VALUES (?, ?, ?, ?, ?) ON DUPLICATE KEY UPDATE experience_level = ?, tools = ?, skills = ?";
+    /**
+     * Upserts the translation for {@code locale} and updates the base profile
+     * row (Link, Email and the default-language fields) on {@code conn}, so
+     * both land in the caller's {@link UnitOfWork}.
+     */
+    public void saveTranslation(Connection conn, Profile profile, Locale locale) throws SQLException {
+        validateUtf8(profile);
 
-        try (Connection conn = DatabaseConnection.getConnection();
-                PreparedStatement pstmt = conn.prepareStatement(sql)) {
+        try (PreparedStatement pstmt = conn.prepareStatement(UPSERT_TRANSLATION)) {
+            bindTranslation(pstmt, profile, LocaleMapper.getDbCode(locale));
+            pstmt.executeUpdate();
+        }
 
-            String code = LocaleMapper.getDbCode(locale);
-            pstmt.setInt(1, profile.getPin());
-            pstmt.setString(2, code);
-            pstmt.setString(3, Utf8Validator.sanitize(profile.getExperienceLevel()));
-            pstmt.setString(4, Utf8Validator.sanitize(profile.getTools()));
-            pstmt.setString(5, Utf8Validator.sanitize(profile.getSkills()));
-            pstmt.setString(6, Utf8Validator.sanitize(profile.getExperienceLevel()));
-            pstmt.setString(7, Utf8Validator.sanitize(profile.getTools()));
-            pstmt.setString(8, Utf8Validator.sanitize(profile.getSkills()));
+        updateProfile(conn, profile);
+    }
 
-            pstmt.executeUpdate();
+    /**
+     * Writes only {@code profile_translation}; unlike
+     * {@link #saveTranslation(Profile, Locale)} the base profile row is left
+     * as it is, so a bulk job in one language does not overwrite it.
+     */
+    @Override
+    public int saveTranslations(Collection<Profile> profiles, Locale locale) {
+        if (profiles.isEmpty()) {
+            return 0;
+        }
+        profiles.forEach(ProfileDAO::validateUtf8);
+        String code = LocaleMapper.getDbCode(locale);
+
+        try {
+            UnitOfWork.run(conn -> {
+                try (PreparedStatement pstmt = conn.prepareStatement(UPSERT_TRANSLATION)) {
+                    int pending = 0;
+                    for (Profile profile : profiles) {
+                        bindTranslation(pstmt, profile, code);
+                        pstmt.addBatch();
+                        if (++pending == BATCH_SIZE) {
+                            pstmt.executeBatch();
+                            pending = 0;
+                        }
+                    }
+                    if (pending > 0) {
+                        pstmt.executeBatch();
+                    }
+                }
+                return null;
+            });
+        } catch (SQLException e) {
+            log.error("Failed to save {} profile translations for locale {}", profiles.size(), locale, e);
+            return 0;
+        } finally {
+            profiles.forEach(profile -> cache.evict(profile.getPin()));
+        }
+        return profiles.size();
+    }
 
-            // Also update the base profile for core non-localizable fields (Link, Email)
-            updateProfile(profile);
+    @Override
+    public Map<Integer, Map<Locale, Profile>> getTranslations(Collection<Integer> pins, Collection<Locale> locales) {
+        Map<Integer, Map<Locale, Profile>> result = new HashMap<>();
+        if (pins.isEmpty() || locales.isEmpty()) {
+            return result;
+        }
+        // Several requested locales can share one stored code (fi and fi_FI)
+        Map<String, List<Locale>> localesByCode = new HashMap<>();
+        for (Locale locale : locales) {
+            localesByCode.computeIfAbsent(LocaleMapper.getDbCode(locale), c -> new ArrayList<>()).add(locale);
+        }
+        List<Integer> pinList = new ArrayList<>(new LinkedHashSet<>(pins));
 
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            for (int from = 0; from < pinList.size(); from += BATCH_SIZE) {
+                List<Integer> chunk = pinList.subList(from, Math.min(from + BATCH_SIZE, pinList.size()));
+                loadTranslations(conn, chunk, localesByCode, result);
+            }
         } catch (SQLException e) {
-            log.error("Failed to save profile translation for PIN {} and locale {}", profile.getPin(), locale, e);
+            log.error("Failed to load profile translations for {} PINs", pinList.size(), e);
+        }
+        return result;
+    }
+
+    private static void loadTranslations(Connection conn, List<Integer> pins, Map<String, List<Locale>> localesByCode,
+            Map<Integer, Map<Locale, Profile>> result) throws SQLException {
+        String sql = "SELECT p.Pin, p.Link, p.Profile_Email, p.CV_Last_Updated, "
+                + "t.locale_code, t.experience_level, t.tools, t.skills FROM profile p "
+                + "JOIN profile_translation t ON t.profile_pin = p.Pin WHERE p.Pin IN ("
+                + String.join(", ", Collections.nCopies(pins.size(), "?")) + ") AND t.locale_code IN ("
+                + String.join(", ", Collections.nCopies(localesByCode.size(), "?")) + ")";
+
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            int index = 1;
+            for (int pin : pins) {
+                pstmt.setInt(index++, pin);
+            }
+            for (String code : localesByCode.keySet()) {
+                pstmt.setString(index++, code);
+            }
+            ResultSet rs = pstmt.executeQuery();
+
+            while (rs.next()) {
+                int pin = rs.getInt("Pin");
+                for (Locale locale : localesByCode.getOrDefault(rs.getString("locale_code"), List.of())) {
+                    Profile profile = new Profile(pin, rs.getString("experience_level"), rs.getString("tools"),
+                            rs.getString("skills"), rs.getString("Link"), rs.getString("Profile_Email"));
+                    profile.setCvLastUpdated(rs.getTimestamp("CV_Last_Updated"));
+                    result.computeIfAbsent(pin, p -> new HashMap<>()).put(locale, profile);
+                }
+            }
+        }
+    }
+
+    private static void bindTranslation(PreparedStatement pstmt, Profile profile, String code) throws SQLException {
+        pstmt.setInt(1, profile.getPin());
+        pstmt.setString(2, code);
+        pstmt.setString(3, Utf8Validator.sanitize(profile.getExperienceLevel()));
+        pstmt.setString(4, Utf8Validator.sanitize(profile.getTools()));
+        pstmt.setString(5, Utf8Validator.sanitize(profile.getSkills()));
+    }
+
+    private static void validateUtf8(Profile profile) {
+        if (!Utf8Validator.isValidUtf8(profile.getSkills()) || !Utf8Validator.isValidUtf8(profile.getTools())
+                || !Utf8Validator.isValidUtf8(profile.getExperienceLevel())) {
+            throw new IllegalArgumentException("Invalid UTF-8 sequence detected");
         }
     }
 
@@ -1,5 +1,7 @@
 package com.clbooster.app.backend.service.profile;
 
+import com.clbooster.app.backend.service.authentication.UserContext;
+import com.clbooster.app.backend.service.database.UnitOfWork;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -26,15 +28,18 @@ public class ProfileService {
             return false;
         }
 
-        // Update identity info (First Name, Last Name, Identity Email)
-        userDAO.updateUser(pin, firstName, lastName, profileEmail);
+        invalidate(pin);
 
-        // Create profile object
         Profile profile = new Profile(pin, experienceLevel, tools, skills, link, profileEmail);
 
-        // Save translation and base profile in one go via ProfileDAO
+        // Identity, translation and base profile commit together on one connection
         try {
-            profileDAO.saveTranslation(profile, locale);
+            UnitOfWork.run(conn -> {
+                userDAO.updateUser(conn, pin, firstName, lastName, profileEmail);
+                profileDAO.saveTranslation(conn, profile, locale);
+                return null;
+            });
+            profileDAO.evictCached(pin);
             log.info("Profile updated successfully!");
             return true;
         } catch (Exception e) {
@@ -47,10 +52,23 @@ public class ProfileService {
         return userDAO.getUserByPin(pin);
     }
 
+    /**
+     * Returns the profile localized for {@code locale}, from the session's
+     * {@link UserContext} when it was already loaded for this user and locale.
+     */
     public Profile getProfile(int pin, Locale locale) {
+        UserContext context = UserContext.forPin(pin);
+        if (context != null) {
+            Profile cached = context.getProfile(locale);
+            if (cached != null) {
+                return cached;
+            }
+        }
         Profile profile = profileDAO.getByIdWithFallback(pin, locale, Locale.US);
         if (profile == null) {
             log.error("Profile not found for PIN: {}", pin);
+        } else if (context != null) {
+            context.setProfile(profile, locale);
         }
         return profile;
     }
@@ -106,6 +124,7 @@ public class ProfileService {
     }
 
     public boolean updateCVTimestamp(int pin) {
+        invalidate(pin);
         if (profileDAO.updateCVTimestamp(pin)) {
             log.info("CV timestamp updated");
             return true;
@@ -119,6 +138,13 @@ public class ProfileService {
         return profileDAO.profileExists(pin);
     }
 
+    private static void invalidate(int pin) {
+        UserContext context = UserContext.forPin(pin);
+        if (context != null) {
+            context.invalidateProfile();
+        }
+    }
+
     private boolean isValidEmail(String email) {
         return email.matches("^[A-Za-z0-9+_.-]+@[A-Za-z0-9.-]+\\.[A-Za-z]{2,}$");
     }
@@ -5,39 +5,37 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.sql.*;
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
 
 public class UserDAO {
     private static final Logger log = LoggerFactory.getLogger(UserDAO.class);
 
-    // Hash password (SHA-256)
-    private String hashPassword(String password) {
-        try {
-            MessageDigest md = MessageDigest.getInstance("SHA-256");
-            byte[] hash = md.digest(password.getBytes());
-            StringBuilder hexString = new StringBuilder();
-            for (byte b : hash) {
-                String hex = Integer.toHexString(0xff & b);
-                if (hex.length() == 1)
-                    hexString.append('0');
-                hexString.append(hex);
-            }
-            return hexString.toString();
-        } catch (NoSuchAlgorithmException e) {
-            throw new IllegalStateException("SHA-256 algorithm not available", e);
-        }
+    private final PasswordHasher passwordHasher;
+
+    public UserDAO() {
+        this(PasswordHasher.shared());
+    }
+
+    public UserDAO(PasswordHasher passwordHasher) {
+        this.passwordHasher = passwordHasher;
     }
 
     public boolean registerUser(User user) {
         String sql = "INSERT INTO identification (Identity_email, Username, Password, First_Name, Last_Name) VALUES (?, ?, ?, ?, ?)";
+        String passwordHash;
+        try {
+            // Hash before borrowing a connection; bcrypt takes a while
+            passwordHash = passwordHasher.hash(user.getPassword());
+        } catch (RuntimeException e) {
+            log.error("Failed to hash password for {}", user.getIdentityEmail(), e);
+            return false;
+        }
 
         try (Connection conn = DatabaseConnection.getConnection();
                 PreparedStatement pstmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
 
             pstmt.setString(1, user.getIdentityEmail());
             pstmt.setString(2, user.getUsername());
-            pstmt.setString(3, hashPassword(user.getPassword()));
+            pstmt.setString(3, passwordHash);
             pstmt.setString(4, user.getFirstName());
             pstmt.setString(5, user.getLastName());
 
@@ -83,31 +81,72 @@ public class UserDAO {
     public User loginUser(String username, String password) {
         String sql = "SELECT Pin, Identity_email, Username, Password, First_Name, Last_Name FROM identification WHERE Username = ?";
 
+        User user;
+        String storedHash;
         try (Connection conn = DatabaseConnection.getConnection();
                 PreparedStatement pstmt = conn.prepareStatement(sql)) {
 
             pstmt.setString(1, username);
             ResultSet rs = pstmt.executeQuery();
-
-            if (rs.next()) {
-                String storedHash = rs.getString("Password");
-                if (storedHash.equals(hashPassword(password))) {
-                    User user = new User(username, password);
-                    user.setPin(rs.getInt("Pin"));
-                    user.setIdentityEmail(rs.getString("Identity_email"));
-                    user.setUsername(rs.getString("Username"));
-                    user.setPassword(password);
-                    user.setFirstName(rs.getString("First_Name"));
-                    user.setLastName(rs.getString("Last_Name"));
-                    return user;
-                }
+            if (!rs.next()) {
+                return null;
             }
-            return null;
+            storedHash = rs.getString("Password");
+            user = new User(username, password);
+            user.setPin(rs.getInt("Pin"));
+            user.setIdentityEmail(rs.getString("Identity_email"));
+            user.setUsername(rs.getString("Username"));
+            user.setPassword(password);
+            user.setFirstName(rs.getString("First_Name"));
+            user.setLastName(rs.getString("Last_Name"));
 
         } catch (SQLException e) {
             log.error("Failed to login user {}", username, e);
             return null;
         }
+
+        // Verify after the connection is back in the pool
+        try {
+            if (!passwordHasher.verify(password, storedHash)) {
+                return null;
+            }
+        } catch (RuntimeException e) {
+            log.error("Failed to verify password for user {}", username, e);
+            return null;
+        }
+        if (passwordHasher.needsRehash(storedHash)) {
+            rehashPassword(user.getPin(), storedHash, password);
+        }
+        return user;
+    }
+
+    // Upgrades a legacy or weaker hash once the plain password is known.
+    // Only replaces the hash it verified against, so a concurrent password change wins.
+    // Best effort: the login already succeeded, so a busy or slow hasher just
+    // leaves the old hash for the next login.
+    private void rehashPassword(int pin, String oldHash, String password) {
+        String sql = "UPDATE identification SET Password = ? WHERE Pin = ? AND Password = ?";
+        String newHash;
+        try {
+            newHash = passwordHasher.hash(password);
+        } catch (RuntimeException e) {
+            log.warn("Skipped password hash upgrade for user id {}: {}", pin, e.getMessage());
+            return;
+        }
+
+        try (Connection conn = DatabaseConnection.getConnection();
+                PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            pstmt.setString(1, newHash);
+            pstmt.setInt(2, pin);
+            pstmt.setString(3, oldHash);
+            if (pstmt.executeUpdate() > 0) {
+                log.info("Upgraded password hash for user id {}", pin);
+            }
+
+        } catch (SQLException e) {
+            log.warn("Failed to upgrade password hash for user id {}", pin, e);
+        }
     }
 
     public boolean usernameExists(String username) {
@@ -185,11 +224,18 @@ public class UserDAO {
 
     public boolean updatePassword(int pin, String newPassword) {
         String sql = "UPDATE identification SET Password = ? WHERE Pin = ?";
+        String passwordHash;
+        try {
+            passwordHash = passwordHasher.hash(newPassword);
+        } catch (RuntimeException e) {
+            log.error("Failed to hash new password for user id {}", pin, e);
+            return false;
+        }
 
         try (Connection conn = DatabaseConnection.getConnection();
                 PreparedStatement pstmt = conn.prepareStatement(sql)) {
 
-            pstmt.setString(1, hashPassword(newPassword));
+            pstmt.setString(1, passwordHash);
             pstmt.setInt(2, pin);
 
             return pstmt.executeUpdate() > 0;
@@ -201,21 +247,29 @@ public class UserDAO {
     }
 
     public boolean updateUser(int pin, String firstName, String lastName, String email) {
-        String sql = "UPDATE identification SET First_Name = ?, Last_Name = ?, Identity_email = ? WHERE Pin = ?";
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            return updateUser(conn, pin, firstName, lastName, email);
+        } catch (SQLException e) {
+            log.error("Failed to update user id {}", pin, e);
+            return false;
+        }
+    }
 
-        try (Connection conn = DatabaseConnection.getConnection();
-                PreparedStatement pstmt = conn.prepareStatement(sql)) {
+    /**
+     * Updates the identity fields on {@code conn}, e.g. as part of a
+     * {@link com.clbooster.app.backend.service.database.UnitOfWork}.
+     */
+    public boolean updateUser(Connection conn, int pin, String firstName, String lastName, String email)
+            throws SQLException {
+        String sql = "UPDATE identification SET First_Name = ?, Last_Name = ?, Identity_email = ? WHERE Pin = ?";
 
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
             pstmt.setString(1, firstName);
             pstmt.setString(2, lastName);
             pstmt.setString(3, email);
             pstmt.setInt(4, pin);
 
             return pstmt.executeUpdate() > 0;
-
-        } catch (SQLException e) {
-            log.error("Failed to update user id {}", pin, e);
-            return false;
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,84 @@
+package com.clbooster.app.backend.service.search;
+
+import com.clbooster.app.backend.service.database.DatabaseConnection;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Access to {@code document_text}, the FULLTEXT-indexed copy of the text of
+ * every generated letter and uploaded resume. Rows are keyed by file path so
+ * re-indexing a file replaces its previous text.
+ */
+public class DocumentIndexDAO {
+    private static final Logger log = LoggerFactory.getLogger(DocumentIndexDAO.class);
+
+    static final String MATCH_CONTENT = "MATCH(Content) AGAINST (? IN NATURAL LANGUAGE MODE)";
+
+    public boolean upsert(int pin, DocumentType type, String filePath, String content) {
+        String sql = "INSERT INTO document_text (Doc_Path, Owner_Pin, Doc_Type, Content) VALUES (?, ?, ?, ?) "
+                + "ON DUPLICATE KEY UPDATE Owner_Pin = VALUES(Owner_Pin), Doc_Type = VALUES(Doc_Type), "
+                + "Content = VALUES(Content)";
+
+        try (Connection conn = DatabaseConnection.getConnection();
+                PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            pstmt.setString(1, filePath);
+            pstmt.setInt(2, pin);
+            pstmt.setString(3, type.name());
+            pstmt.setString(4, content);
+            return pstmt.executeUpdate() > 0;
+
+        } catch (SQLException e) {
+            log.error("Failed to index document {}", filePath, e);
+            return false;
+        }
+    }
+
+    public boolean delete(String filePath) {
+        String sql = "DELETE FROM document_text WHERE Doc_Path = ?";
+
+        try (Connection conn = DatabaseConnection.getConnection();
+                PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            pstmt.setString(1, filePath);
+            return pstmt.executeUpdate() > 0;
+
+        } catch (SQLException e) {
+            log.error("Failed to remove document {} from index", filePath, e);
+            return false;
+        }
+    }
+
+    /**
+     * Ranked matches for {@code query} among one user's documents of one type,
+     * best first.
+     */
+    public List<SearchHit> search(int pin, DocumentType type, String query, int offset, int limit) {
+        String sql = "SELECT Doc_Path, " + MATCH_CONTENT + " AS Score FROM document_text "
+                + "WHERE Owner_Pin = ? AND Doc_Type = ? AND " + MATCH_CONTENT
+                + " ORDER BY Score DESC, Doc_Path LIMIT ? OFFSET ?";
+        List<SearchHit> hits = new ArrayList<>();
+
+        try (Connection conn = DatabaseConnection.getConnection();
+                PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            pstmt.setString(1, query);
+            pstmt.setInt(2, pin);
+            pstmt.setString(3, type.name());
+            pstmt.setString(4, query);
+            pstmt.setInt(5, limit);
+            pstmt.setInt(6, offset);
+            ResultSet rs = pstmt.executeQuery();
+            while (rs.next())
+                hits.add(new SearchHit(rs.getString("Doc_Path"), type, rs.getDouble("Score")));
+
+        } catch (SQLException e) {
+            log.error("Failed to search documents", e);
+        }
+        return hits;
+    }
+}
@@ -0,0 +1,68 @@
+package com.clbooster.app.backend.service.search;
+
+import com.clbooster.aiservice.Parser;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Keeps the full-text index in step with the files the app writes and answers
+ * content searches ("the letter where I mentioned Kubernetes").
+ *
+ * Indexing is incremental: each write re-indexes just that file. Failures are
+ * logged and swallowed so a missing index never blocks saving a document.
+ */
+public class DocumentIndexService {
+    private static final Logger log = LoggerFactory.getLogger(DocumentIndexService.class);
+
+    private final DocumentIndexDAO documentIndexDAO;
+
+    public DocumentIndexService() {
+        this(new DocumentIndexDAO());
+    }
+
+    public DocumentIndexService(DocumentIndexDAO documentIndexDAO) {
+        this.documentIndexDAO = documentIndexDAO;
+    }
+
+    /**
+     * Indexes text the caller already has in memory, e.g. a freshly generated
+     * letter.
+     */
+    public boolean indexText(int pin, DocumentType type, Path file, String text) {
+        if (text == null || text.isBlank()) {
+            return false;
+        }
+        return documentIndexDAO.upsert(pin, type, key(file), text);
+    }
+
+    /**
+     * Extracts the text of {@code file} with {@link Parser} and indexes it.
+     */
+    public boolean indexFile(int pin, DocumentType type, Path file) {
+        try {
+            return indexText(pin, type, file, new Parser().parseFileToJson(file.toString()));
+        } catch (Exception e) {
+            log.warn("Could not extract text from {} for indexing", file, e);
+            return false;
+        }
+    }
+
+    public boolean remove(Path file) {
+        return documentIndexDAO.delete(key(file));
+    }
+
+    public List<SearchHit> search(int pin, DocumentType type, String query, int offset, int limit) {
+        if (query == null || query.isBlank()) {
+            return List.of();
+        }
+        return documentIndexDAO.search(pin, type, query.trim(), offset, limit);
+    }
+
+    // Paths are stored absolute so they match coverletter.FilePath
+    static String key(Path file) {
+        return file.toAbsolutePath().normalize().toString();
+    }
+}
@@ -0,0 +1,8 @@
+package com.clbooster.app.backend.service.search;
+
+/**
+ * Kind of document held in the full-text index ({@code document_text.Doc_Type}).
+ */
+public enum DocumentType {
+    COVER_LETTER, RESUME
+}
@@ -0,0 +1,37 @@
+package com.clbooster.app.backend.service.search;
+
+import java.io.Serializable;
+
+/**
+ * One ranked full-text match: the indexed file and its relevance score.
+ */
+public class SearchHit implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private final String filePath;
+    private final DocumentType type;
+    private final double score;
+
+    public SearchHit(String filePath, DocumentType type, double score) {
+        this.filePath = filePath;
+        this.type = type;
+        this.score = score;
+    }
+
+    public String getFilePath() {
+        return filePath;
+    }
+
+    public DocumentType getType() {
+        return type;
+    }
+
+    public double getScore() {
+        return score;
+    }
+
+    @Override
+    public String toString() {
+        return "SearchHit{filePath='" + filePath + "', type=" + type + ", score=" + score + "}";
+    }
+}
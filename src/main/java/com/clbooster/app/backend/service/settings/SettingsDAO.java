@@ -8,35 +8,15 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.sql.Statement;
 
+/**
+ * Reads and writes {@code user_settings}. The table itself is created by
+ * {@link com.clbooster.app.backend.service.database.DatabaseMigration} at
+ * startup; this class issues no DDL.
+ */
 public class SettingsDAO {
     private static final Logger log = LoggerFactory.getLogger(SettingsDAO.class);
 
-    public SettingsDAO() {
-        // Ensure table exists when DAO is created
-        createTableIfNotExists();
-    }
-
-    private void createTableIfNotExists() {
-        String sql = "CREATE TABLE IF NOT EXISTS user_settings (" + "user_pin INT PRIMARY KEY,"
-                + "theme VARCHAR(20) DEFAULT 'system'," + "language VARCHAR(50) DEFAULT 'English',"
-                + "email_notifications BOOLEAN DEFAULT TRUE," + "push_notifications BOOLEAN DEFAULT FALSE,"
-                + "product_updates BOOLEAN DEFAULT TRUE," + "marketing BOOLEAN DEFAULT FALSE,"
-                + "store_in_cloud BOOLEAN DEFAULT TRUE," + "allow_ai_training BOOLEAN DEFAULT FALSE,"
-                + "share_usage_data BOOLEAN DEFAULT TRUE,"
-                + "updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,"
-                + "FOREIGN KEY (user_pin) REFERENCES identification(Pin) ON DELETE CASCADE"
-                + ") ENGINE=InnoDB DEFAULT CHARSET=utf8mb4";
-
-        try (Connection conn = DatabaseConnection.getConnection(); Statement stmt = conn.createStatement()) {
-            stmt.execute(sql);
-            log.info("user_settings table checked/created successfully");
-        } catch (SQLException e) {
-            log.error("Failed to create user_settings table", e);
-        }
-    }
-
     public Settings getSettings(int userPin) {
         String sql = "SELECT * FROM user_settings WHERE user_pin = ?";
 
@@ -68,40 +48,18 @@ public class SettingsDAO {
         return new Settings(userPin);
     }
 
+    /**
+     * Inserts or updates the user's row in a single statement.
+     */
     public boolean saveSettings(Settings settings) {
-        log.debug("Saving user settings");
-
-        // Check if settings exist
-        boolean exists = settingsExist(settings.getUserPin());
-        log.debug("Settings row exists: {}", exists);
-
-        if (exists) {
-            return updateSettings(settings);
-        } else {
-            return insertSettings(settings);
-        }
-    }
-
-    private boolean settingsExist(int userPin) {
-        String sql = "SELECT 1 FROM user_settings WHERE user_pin = ?";
-
-        try (Connection conn = DatabaseConnection.getConnection();
-                PreparedStatement pstmt = conn.prepareStatement(sql)) {
-
-            pstmt.setInt(1, userPin);
-            ResultSet rs = pstmt.executeQuery();
-            return rs.next();
-
-        } catch (SQLException e) {
-            log.error("Failed to check whether settings row exists", e);
-            return false;
-        }
-    }
-
-    private boolean insertSettings(Settings settings) {
         String sql = "INSERT INTO user_settings (user_pin, theme, language, email_notifications, "
                 + "push_notifications, product_updates, marketing, store_in_cloud, "
-                + "allow_ai_training, share_usage_data) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+                + "allow_ai_training, share_usage_data) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?) "
+                + "ON DUPLICATE KEY UPDATE theme = VALUES(theme), language = VALUES(language), "
+                + "email_notifications = VALUES(email_notifications), push_notifications = VALUES(push_notifications), "
+                + "product_updates = VALUES(product_updates), marketing = VALUES(marketing), "
+                + "store_in_cloud = VALUES(store_in_cloud), allow_ai_training = VALUES(allow_ai_training), "
+                + "share_usage_data = VALUES(share_usage_data)";
 
         try (Connection conn = DatabaseConnection.getConnection();
                 PreparedStatement pstmt = conn.prepareStatement(sql)) {
@@ -117,41 +75,13 @@ public class SettingsDAO {
             pstmt.setBoolean(9, settings.isAllowAiTraining());
             pstmt.setBoolean(10, settings.isShareUsageData());
 
+            // 1 = inserted, 2 = updated; an unchanged row is also a successful save
             int result = pstmt.executeUpdate();
-            log.debug("Insert settings result: {}", result);
-            return result > 0;
-
-        } catch (SQLException e) {
-            log.error("Failed to insert user settings", e);
-            return false;
-        }
-    }
-
-    private boolean updateSettings(Settings settings) {
-        String sql = "UPDATE user_settings SET theme = ?, language = ?, email_notifications = ?, "
-                + "push_notifications = ?, product_updates = ?, marketing = ?, store_in_cloud = ?, "
-                + "allow_ai_training = ?, share_usage_data = ? WHERE user_pin = ?";
-
-        try (Connection conn = DatabaseConnection.getConnection();
-                PreparedStatement pstmt = conn.prepareStatement(sql)) {
-
-            pstmt.setString(1, settings.getTheme());
-            pstmt.setString(2, settings.getLanguage());
-            pstmt.setBoolean(3, settings.isEmailNotifications());
-            pstmt.setBoolean(4, settings.isPushNotifications());
-            pstmt.setBoolean(5, settings.isProductUpdates());
-            pstmt.setBoolean(6, settings.isMarketing());
-            pstmt.setBoolean(7, settings.isStoreInCloud());
-            pstmt.setBoolean(8, settings.isAllowAiTraining());
-            pstmt.setBoolean(9, settings.isShareUsageData());
-            pstmt.setInt(10, settings.getUserPin());
-
-            int result = pstmt.executeUpdate();
-            log.debug("Update settings result: {}", result);
-            return result > 0;
+            log.debug("Save settings result: {}", result);
+            return true;
 
         } catch (SQLException e) {
-            log.error("Failed to update user settings", e);
+            log.error("Failed to save user settings", e);
             return false;
         }
     }
@@ -1,5 +1,7 @@
 package com.clbooster.app.backend.service.settings;
 
+import com.clbooster.app.backend.service.authentication.UserContext;
+
 public class SettingsService {
     private SettingsDAO settingsDAO;
 
@@ -7,15 +9,45 @@ public class SettingsService {
         this.settingsDAO = new SettingsDAO();
     }
 
+    /**
+     * Returns the user's settings, from the session's {@link UserContext} when
+     * they were already loaded for this user.
+     */
     public Settings getSettings(int userPin) {
-        return settingsDAO.getSettings(userPin);
+        UserContext context = UserContext.forPin(userPin);
+        if (context != null) {
+            Settings cached = context.getSettings();
+            if (cached != null) {
+                return cached;
+            }
+        }
+        Settings settings = settingsDAO.getSettings(userPin);
+        if (context != null) {
+            context.setSettings(settings);
+        }
+        return settings;
     }
 
     public boolean saveSettings(Settings settings) {
-        return settingsDAO.saveSettings(settings);
+        try {
+            return settingsDAO.saveSettings(settings);
+        } finally {
+            invalidate(settings.getUserPin());
+        }
     }
 
     public boolean deleteSettings(int userPin) {
-        return settingsDAO.deleteSettings(userPin);
+        try {
+            return settingsDAO.deleteSettings(userPin);
+        } finally {
+            invalidate(userPin);
+        }
+    }
+
+    private static void invalidate(int userPin) {
+        UserContext context = UserContext.forPin(userPin);
+        if (context != null) {
+            context.invalidateSettings();
+        }
     }
 }
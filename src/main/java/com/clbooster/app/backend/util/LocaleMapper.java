@@ -10,16 +10,31 @@ public class LocaleMapper {
     }
 
     private static final String EN_US = "en_US";
+    private static final Locale ENGLISH = new Locale("en");
 
     private static final Map<String, String> APP_TO_DB = new HashMap<>();
 
+    // Every spelling a stored or selected language may take, lower-cased:
+    // "Finnish (Suomi)" from the settings select, "suomi", "fi", "fi_FI"
+    private static final Map<String, Locale> BY_NAME = new HashMap<>();
+
     static {
-        APP_TO_DB.put("en", EN_US);
-        APP_TO_DB.put("fi", "fi_FI");
-        APP_TO_DB.put("pt", "pt_BR");
-        APP_TO_DB.put("fa", "fa_IR");
-        APP_TO_DB.put("zh", "zh_CN");
-        APP_TO_DB.put("ur", "ur_PK");
+        register("en", EN_US, "english");
+        register("fi", "fi_FI", "finnish", "suomi");
+        register("pt", "pt_BR", "portuguese", "português");
+        register("fa", "fa_IR", "persian", "فارسی", "farsi");
+        register("zh", "zh_CN", "chinese", "中文");
+        register("ur", "ur_PK", "urdu", "اردو");
+    }
+
+    private static void register(String language, String dbCode, String... names) {
+        Locale locale = new Locale(language);
+        APP_TO_DB.put(language, dbCode);
+        BY_NAME.put(language, locale);
+        BY_NAME.put(dbCode.toLowerCase(Locale.ROOT), locale);
+        for (String name : names) {
+            BY_NAME.put(name, locale);
+        }
     }
 
     public static String getDbCode(Locale locale) {
@@ -28,4 +43,23 @@ public class LocaleMapper {
         String lang = locale.getLanguage();
         return APP_TO_DB.getOrDefault(lang, EN_US);
     }
+
+    /**
+     * Maps a language as stored in user settings ("Finnish (Suomi)",
+     * "Suomi", "fi") to its app locale; English when it is unknown.
+     */
+    public static Locale fromLanguageName(String languageName) {
+        if (languageName == null)
+            return ENGLISH;
+        String name = languageName.toLowerCase(Locale.ROOT).trim();
+        Locale locale = BY_NAME.get(name);
+        if (locale == null) {
+            // "Finnish (Suomi)": try the name before the native one
+            int paren = name.indexOf('(');
+            if (paren > 0) {
+                locale = BY_NAME.get(name.substring(0, paren).trim());
+            }
+        }
+        return locale != null ? locale : ENGLISH;
+    }
 }
@@ -0,0 +1,122 @@
+package com.clbooster.app.i18n;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.text.MessageFormat;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.MissingResourceException;
+import java.util.ResourceBundle;
+
+/**
+ * The {@code messages*.properties} bundles, loaded once into immutable
+ * per-language maps.
+ *
+ * Each language map already contains the base (English) bundle's entries
+ * for keys it does not translate, so a lookup is a single hash probe.
+ * Messages with {@code {n}} placeholders are parsed into a
+ * {@link MessageFormat} up front instead of on every call; because a
+ * MessageFormat is not thread-safe, formatting locks that one message.
+ */
+final class MessageCatalog {
+
+    private static final Logger log = LoggerFactory.getLogger(MessageCatalog.class);
+
+    static final MessageCatalog EMPTY = new MessageCatalog(Map.of(), Map.of());
+
+    private static final ResourceBundle.Control NO_FALLBACK = ResourceBundle.Control
+            .getNoFallbackControl(ResourceBundle.Control.FORMAT_PROPERTIES);
+
+    private final Map<String, Message> base;
+    private final Map<String, Map<String, Message>> byLanguage;
+
+    /** A translated text, with its parsed template when it takes arguments. */
+    private record Message(String text, MessageFormat template) {
+
+        String format(Object... params) {
+            if (params == null || params.length == 0 || template == null) {
+                return text;
+            }
+            synchronized (template) {
+                return template.format(params);
+            }
+        }
+    }
+
+    private MessageCatalog(Map<String, Message> base, Map<String, Map<String, Message>> byLanguage) {
+        this.base = base;
+        this.byLanguage = byLanguage;
+    }
+
+    /**
+     * Loads {@code bundleName} and its translations for {@code locales}.
+     */
+    static MessageCatalog load(String bundleName, List<Locale> locales) {
+        Map<String, Message> base = compile(bundleName, Locale.ROOT);
+        Map<String, Map<String, Message>> byLanguage = new HashMap<>();
+        for (Locale locale : locales) {
+            byLanguage.put(locale.getLanguage(), compile(bundleName, locale));
+        }
+        log.info("Loaded {} messages for {} languages", base.size(), byLanguage.size());
+        return new MessageCatalog(base, Map.copyOf(byLanguage));
+    }
+
+    /**
+     * Builds a catalog from texts keyed by language and then by message key.
+     * It has no base bundle: keys are only found in the language that defines
+     * them.
+     */
+    static MessageCatalog of(Map<String, Map<String, String>> textsByLanguage) {
+        Map<String, Map<String, Message>> byLanguage = new HashMap<>();
+        textsByLanguage.forEach((language, texts) -> {
+            Map<String, Message> messages = new HashMap<>();
+            texts.forEach((key, text) -> messages.put(key, new Message(text, template(key, text))));
+            byLanguage.put(language, Map.copyOf(messages));
+        });
+        return new MessageCatalog(Map.of(), Map.copyOf(byLanguage));
+    }
+
+    /**
+     * The message for {@code key} in {@code locale}'s language, falling back to
+     * the base bundle, formatted with {@code params}; {@code null} when the key
+     * is unknown.
+     */
+    String get(String key, Locale locale, Object... params) {
+        Map<String, Message> messages = locale != null ? byLanguage.getOrDefault(locale.getLanguage(), base) : base;
+        Message message = messages.get(key);
+        return message != null ? message.format(params) : null;
+    }
+
+    private static Map<String, Message> compile(String bundleName, Locale locale) {
+        ResourceBundle bundle;
+        try {
+            // Without the JVM-default-locale fallback; keys missing from the
+            // language still resolve through the parent (base) bundle
+            bundle = ResourceBundle.getBundle(bundleName, locale, NO_FALLBACK);
+        } catch (MissingResourceException e) {
+            log.warn("No message bundle {} for {}", bundleName, locale);
+            return Map.of();
+        }
+        Map<String, Message> messages = new HashMap<>();
+        for (String key : bundle.keySet()) {
+            String text = bundle.getString(key);
+            messages.put(key, new Message(text, template(key, text)));
+        }
+        return Map.copyOf(messages);
+    }
+
+    private static MessageFormat template(String key, String text) {
+        if (text.indexOf('{') < 0) {
+            return null;
+        }
+        try {
+            return new MessageFormat(text);
+        } catch (IllegalArgumentException e) {
+            log.warn("Message {} is not a valid pattern; it is returned unformatted", key);
+            return null;
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.clbooster.app.i18n;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps {@link SystemMessages} in step with the database: loads it once the
+ * application is ready (after migrations), then polls the table's version
+ * every {@code i18n.system-messages.refresh-seconds} on a single background
+ * thread. Only a changed version triggers a full reload.
+ */
+@Component
+public class SystemMessageRefresher {
+    private static final Logger log = LoggerFactory.getLogger(SystemMessageRefresher.class);
+
+    private final SystemMessages messages;
+    private final long refreshSeconds;
+    private ScheduledExecutorService scheduler;
+
+    @Autowired
+    public SystemMessageRefresher(@Value("${i18n.system-messages.refresh-seconds:60}") long refreshSeconds) {
+        this(SystemMessages.shared(), refreshSeconds);
+    }
+
+    SystemMessageRefresher(SystemMessages messages, long refreshSeconds) {
+        this.messages = messages;
+        this.refreshSeconds = refreshSeconds;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (scheduler != null) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().daemon().name("system-messages-refresh").factory());
+        if (refreshSeconds > 0) {
+            scheduler.scheduleWithFixedDelay(this::refresh, 0, refreshSeconds, TimeUnit.SECONDS);
+        } else {
+            scheduler.execute(this::refresh);
+        }
+    }
+
+    /**
+     * Change signal: checks the table now instead of waiting for the next
+     * poll, e.g. right after translators saved their edits.
+     */
+    public boolean refreshNow() {
+        return messages.refresh();
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    private void refresh() {
+        try {
+            messages.refresh();
+        } catch (RuntimeException e) {
+            // An escaping exception would cancel the periodic task
+            log.warn("System message refresh failed", e);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.clbooster.app.i18n;
+
+import com.clbooster.app.backend.dao.SystemMessageDAO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * In-memory snapshot of {@code system_message_translation}, layered by
+ * {@link TranslationService} over the properties bundles so translators can
+ * change copy without a redeploy.
+ *
+ * Lookups only read the current immutable {@link MessageCatalog}; the
+ * database is touched solely by {@link #refresh()}, which compares the
+ * table's version and swaps in a new snapshot when it changed. A failed
+ * refresh keeps serving the previous snapshot.
+ */
+final class SystemMessages {
+    private static final Logger log = LoggerFactory.getLogger(SystemMessages.class);
+
+    private static final SystemMessages SHARED = new SystemMessages(new SystemMessageDAO());
+
+    private final SystemMessageDAO dao;
+    private volatile MessageCatalog catalog = MessageCatalog.EMPTY;
+    private SystemMessageDAO.Version version;
+
+    SystemMessages(SystemMessageDAO dao) {
+        this.dao = dao;
+    }
+
+    static SystemMessages shared() {
+        return SHARED;
+    }
+
+    MessageCatalog catalog() {
+        return catalog;
+    }
+
+    /**
+     * Reloads the snapshot if the table changed since the last load.
+     *
+     * @return {@code true} when a new snapshot was installed
+     */
+    synchronized boolean refresh() {
+        SystemMessageDAO.Version current = dao.currentVersion();
+        if (current == null || Objects.equals(current, version)) {
+            return false;
+        }
+        // Read the version first: an edit racing this load only causes one
+        // more reload on the next refresh, never a missed one
+        Map<String, Map<String, String>> byLocaleCode = dao.loadAll();
+        if (byLocaleCode == null) {
+            return false;
+        }
+        Map<String, Map<String, String>> byLanguage = new HashMap<>();
+        byLocaleCode.forEach((code, texts) -> byLanguage.computeIfAbsent(language(code), l -> new HashMap<>())
+                .putAll(texts));
+        catalog = MessageCatalog.of(byLanguage);
+        version = current;
+        log.info("Loaded {} system message locales (version {})", byLanguage.size(), current);
+        return true;
+    }
+
+    // locale_code is stored as fi_FI; lookups go by language
+    private static String language(String localeCode) {
+        int separator = localeCode.indexOf('_');
+        return separator < 0 ? localeCode : localeCode.substring(0, separator);
+    }
+}
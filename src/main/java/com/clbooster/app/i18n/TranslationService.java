@@ -1,15 +1,15 @@
 package com.clbooster.app.i18n;
 
-import com.clbooster.app.backend.service.authentication.AuthenticationService;
+import com.clbooster.app.backend.service.authentication.UserContext;
 import com.clbooster.app.backend.service.settings.Settings;
-import com.clbooster.app.backend.service.settings.SettingsService;
+import com.clbooster.app.backend.util.LocaleMapper;
 import com.vaadin.flow.component.UI;
 import com.vaadin.flow.i18n.I18NProvider;
 import com.vaadin.flow.server.VaadinSession;
 import org.springframework.stereotype.Component;
 
-import java.text.MessageFormat;
-import java.util.*;
+import java.util.List;
+import java.util.Locale;
 
 @Component
 public class TranslationService implements I18NProvider {
@@ -18,23 +18,20 @@ public class TranslationService implements I18NProvider {
     private static final String BUNDLE_PREFIX = "messages";
     private static final Locale DEFAULT_LOCALE = new Locale("en");
 
-    private final transient SettingsService settingsService;
-    private final transient AuthenticationService authService;
+    private static final List<Locale> PROVIDED_LOCALES = List.of(new Locale("en"), // English
+            new Locale("fi"), // Finnish
+            new Locale("pt"), // Portuguese
+            new Locale("fa"), // Persian
+            new Locale("zh"), // Chinese
+            new Locale("ur") // Urdu
+    );
 
-    public TranslationService() {
-        this.settingsService = new SettingsService();
-        this.authService = new AuthenticationService();
-    }
+    // Parsed once per JVM; every view's translate() calls end up here
+    private static final MessageCatalog CATALOG = MessageCatalog.load(BUNDLE_PREFIX, PROVIDED_LOCALES);
 
     @Override
     public List<Locale> getProvidedLocales() {
-        return Arrays.asList(new Locale("en"), // English
-                new Locale("fi"), // Finnish
-                new Locale("pt"), // Portuguese
-                new Locale("fa"), // Persian
-                new Locale("zh"), // Chinese
-                new Locale("ur") // Urdu
-        );
+        return PROVIDED_LOCALES;
     }
 
     @Override
@@ -42,57 +39,42 @@ public class TranslationService implements I18NProvider {
         // Use provided locale or get from user settings
         Locale effectiveLocale = locale != null ? locale : getCurrentLocale();
 
-        ResourceBundle bundle = getBundle(effectiveLocale);
-        if (bundle == null) {
-            // Fallback to default locale
-            bundle = getBundle(DEFAULT_LOCALE);
-        }
-
-        if (bundle != null && bundle.containsKey(key)) {
-            String value = bundle.getString(key);
-            if (params != null && params.length > 0) {
-                return MessageFormat.format(value, params);
-            }
-            return value;
+        // Translator-maintained copy from the database wins over the bundles
+        String message = SystemMessages.shared().catalog().get(key, effectiveLocale, params);
+        if (message == null) {
+            message = CATALOG.get(key, effectiveLocale, params);
         }
 
         // Return key if not found
-        return key;
-    }
-
-    private ResourceBundle getBundle(Locale locale) {
-        try {
-            return ResourceBundle.getBundle(BUNDLE_PREFIX, locale);
-        } catch (MissingResourceException e) {
-            return null;
-        }
+        return message != null ? message : key;
     }
 
+    /**
+     * The session's locale. Never does I/O: it is resolved once per session,
+     * from the language chosen in the UI or from the user's settings once
+     * something (MainLayout, on login) has loaded them into the
+     * {@link UserContext}; until then English.
+     */
     public Locale getCurrentLocale() {
-        // First check session
-        Locale sessionLocale = VaadinSession.getCurrent() != null
-                ? (Locale) VaadinSession.getCurrent().getAttribute(LOCALE_KEY)
-                : null;
+        VaadinSession session = VaadinSession.getCurrent();
+        if (session == null) {
+            return DEFAULT_LOCALE;
+        }
 
+        Locale sessionLocale = (Locale) session.getAttribute(LOCALE_KEY);
         if (sessionLocale != null) {
             return sessionLocale;
         }
 
-        // Then check user settings
-        if (authService.getCurrentUser() != null) {
-            int userPin = authService.getCurrentUserPin();
-            Settings settings = settingsService.getSettings(userPin);
-            if (settings.getLanguage() != null) {
-                Locale userLocale = parseLanguage(settings.getLanguage());
-                if (userLocale != null) {
-                    // Store in session for next time
-                    VaadinSession.getCurrent().setAttribute(LOCALE_KEY, userLocale);
-                    return userLocale;
-                }
-            }
+        UserContext context = UserContext.current();
+        Settings settings = context != null ? context.getSettings() : null;
+        if (settings != null && settings.getLanguage() != null) {
+            Locale userLocale = LocaleMapper.fromLanguageName(settings.getLanguage());
+            // Store in session for next time
+            session.setAttribute(LOCALE_KEY, userLocale);
+            return userLocale;
         }
 
-        // Default to English
         return DEFAULT_LOCALE;
     }
 
@@ -117,31 +99,7 @@ public class TranslationService implements I18NProvider {
     }
 
     public void setLanguage(String languageName) {
-        Locale locale = parseLanguage(languageName);
-        if (locale != null) {
-            setCurrentLocale(locale);
-        }
-    }
-
-    private Locale parseLanguage(String languageName) {
-        if (languageName == null)
-            return DEFAULT_LOCALE;
-
-        String lower = languageName.toLowerCase();
-
-        if (lower.contains("finnish") || lower.equals("suomi") || lower.equals("fi")) {
-            return new Locale("fi");
-        } else if (lower.contains("portuguese") || lower.equals("português") || lower.equals("pt")) {
-            return new Locale("pt");
-        } else if (lower.contains("persian") || lower.equals("فارسی") || lower.equals("fa") || lower.equals("farsi")) {
-            return new Locale("fa");
-        } else if (lower.contains("chinese") || lower.equals("中文") || lower.equals("zh")) {
-            return new Locale("zh");
-        } else if (lower.contains("urdu") || lower.equals("اردو") || lower.equals("ur")) {
-            return new Locale("ur");
-        } else {
-            return new Locale("en");
-        }
+        setCurrentLocale(LocaleMapper.fromLanguageName(languageName));
     }
 
     public String translate(String key, Object... params) {
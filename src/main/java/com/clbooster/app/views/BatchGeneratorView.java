@@ -0,0 +1,440 @@
+package com.clbooster.app.views;
+
+import com.clbooster.aiservice.BatchGenerationService;
+import com.clbooster.aiservice.BatchJob;
+import com.clbooster.aiservice.Exporter;
+import com.clbooster.aiservice.Parser;
+import com.clbooster.app.backend.service.authentication.AuthenticationService;
+import com.clbooster.app.backend.service.profile.CoverLetterService;
+import com.clbooster.app.backend.service.profile.User;
+import com.clbooster.app.i18n.TranslationService;
+import com.clbooster.app.views.util.StyleConstants;
+import com.clbooster.app.views.util.ViewComponents;
+
+import jakarta.annotation.security.PermitAll;
+import com.vaadin.flow.component.DetachEvent;
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.component.UIDetachedException;
+import com.vaadin.flow.component.button.Button;
+import com.vaadin.flow.component.html.Div;
+import com.vaadin.flow.component.html.Span;
+import com.vaadin.flow.component.icon.VaadinIcon;
+import com.vaadin.flow.component.notification.Notification;
+import com.vaadin.flow.component.orderedlayout.FlexComponent;
+import com.vaadin.flow.component.orderedlayout.HorizontalLayout;
+import com.vaadin.flow.component.orderedlayout.VerticalLayout;
+import com.vaadin.flow.component.progressbar.ProgressBar;
+import com.vaadin.flow.component.select.Select;
+import com.vaadin.flow.component.textfield.TextArea;
+import com.vaadin.flow.component.textfield.TextField;
+import com.vaadin.flow.router.PageTitle;
+import com.vaadin.flow.router.Route;
+
+import java.io.File;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Batch generation: one resume, many job postings. Letters are generated in
+ * parallel, saved to the history as each one finishes and can be downloaded
+ * together as a zip.
+ */
+@Route(value = "batch-generator", layout = MainLayout.class)
+@PageTitle("Batch Generation | CL Booster")
+@PermitAll
+public class BatchGeneratorView extends VerticalLayout {
+
+    private static final String TEXT_PRIMARY = "#1d1d1f";
+    private static final String TEXT_SECONDARY = "#86868b";
+    private static final String BG_WHITE = "#ffffff";
+    private static final String BG_GRAY = "#f5f5f7";
+    private static final String SUCCESS = "#34C759";
+    private static final String ERROR = "#FF3B30";
+    private static final String UPLOADS_DIR = "uploads";
+    private static final String RESUMES_DIR = "resumes";
+    private static final String DOCX_EXTENSION = ".docx";
+    private static final String ZIP_MIME_TYPE = "application/zip";
+    private static final String[] TONES = { "Professional", "Creative", "Storyteller" };
+
+    private static final Logger LOGGER = Logger.getLogger(BatchGeneratorView.class.getName());
+
+    private final transient BatchGenerationService batchService;
+    private final transient CoverLetterService coverLetterService;
+    private final TranslationService translationService;
+
+    private int userPin = -1;
+    private final transient List<BatchJob> jobs = new ArrayList<>();
+    private final transient Map<String, Span> statusLabels = new LinkedHashMap<>();
+    // Finished letters by zip entry name, for "download all"
+    private final transient Map<String, String> letters = new LinkedHashMap<>();
+    private transient BatchGenerationService.Batch batch;
+    // Set while the resume is being read, before the batch starts
+    private transient CompletableFuture<String> resumeParse;
+    private int nextJobId = 1;
+
+    private Select<File> resumeSelect;
+    private Select<String> toneSelect;
+    private TextField jobTitleField;
+    private TextField companyField;
+    private TextArea descriptionField;
+    private VerticalLayout jobList;
+    private ProgressBar progressBar;
+    private Span progressLabel;
+    private Button startButton;
+    private Button cancelButton;
+    private Button downloadButton;
+
+    public BatchGeneratorView(BatchGenerationService batchService) {
+        this.batchService = batchService;
+        this.coverLetterService = new CoverLetterService();
+        this.translationService = new TranslationService();
+        setWidthFull();
+        setPadding(false);
+        setSpacing(false);
+        getStyle().set(StyleConstants.CSS_BACKGROUND, BG_WHITE).set(StyleConstants.CSS_PADDING, "32px")
+                .set("gap", "24px");
+
+        User currentUser = new AuthenticationService().getCurrentUser();
+        this.userPin = currentUser != null ? currentUser.getPin() : -1;
+
+        add(ViewComponents.createPageHeader("batch.title", "batch.subtitle", translationService), createSetupCard(),
+                createJobCard(), createProgressCard());
+    }
+
+    private Div createSetupCard() {
+        Div card = ViewComponents.createSectionCard("batch.setup.title", "batch.setup.subtitle", translationService);
+
+        resumeSelect = new Select<>();
+        resumeSelect.setLabel(translationService.translate("batch.resume"));
+        resumeSelect.setItemLabelGenerator(File::getName);
+        List<File> resumes = userResumes();
+        resumeSelect.setItems(resumes);
+        if (!resumes.isEmpty()) {
+            resumeSelect.setValue(resumes.get(0));
+        }
+        resumeSelect.setWidthFull();
+
+        toneSelect = new Select<>();
+        toneSelect.setLabel(translationService.translate("batch.tone"));
+        toneSelect.setItems(TONES);
+        toneSelect.setValue(TONES[0]);
+
+        HorizontalLayout row = new HorizontalLayout(resumeSelect, toneSelect);
+        row.setWidthFull();
+        row.expand(resumeSelect);
+        card.add(row);
+        return card;
+    }
+
+    private Div createJobCard() {
+        Div card = ViewComponents.createSectionCard("batch.jobs.title", "batch.jobs.subtitle", translationService);
+
+        jobTitleField = new TextField(translationService.translate("batch.jobTitle"));
+        companyField = new TextField(translationService.translate("batch.company"));
+        HorizontalLayout names = new HorizontalLayout(jobTitleField, companyField);
+        names.setWidthFull();
+        names.expand(jobTitleField, companyField);
+
+        descriptionField = new TextArea(translationService.translate("batch.description"));
+        descriptionField.setWidthFull();
+        descriptionField.setMinHeight("120px");
+
+        Button addButton = new Button(translationService.translate("batch.addJob"), VaadinIcon.PLUS.create());
+        addButton.getStyle().set(StyleConstants.CSS_BACKGROUND, BG_GRAY).set(StyleConstants.CSS_COLOR, TEXT_PRIMARY)
+                .set(StyleConstants.CSS_BORDER_RADIUS, StyleConstants.VAL_9999PX)
+                .set(StyleConstants.CSS_BORDER, "none");
+        addButton.addClickListener(e -> addJob());
+
+        jobList = new VerticalLayout();
+        jobList.setPadding(false);
+        jobList.setSpacing(false);
+        jobList.getStyle().set("gap", "8px").set(StyleConstants.CSS_MARGIN_TOP, "16px");
+
+        card.add(names, descriptionField, addButton, jobList);
+        return card;
+    }
+
+    private Div createProgressCard() {
+        Div card = ViewComponents.createSectionCard("batch.progress.title", "batch.progress.subtitle",
+                translationService);
+
+        progressBar = new ProgressBar();
+        progressBar.setWidthFull();
+        progressLabel = new Span(translationService.translate("batch.progress.ready", 0));
+        progressLabel.getStyle().set(StyleConstants.CSS_FONT_SIZE, "14px").set(StyleConstants.CSS_COLOR,
+                TEXT_SECONDARY);
+
+        startButton = ViewComponents.createPrimaryButton(translationService.translate("batch.start"),
+                VaadinIcon.MAGIC);
+        startButton.addClickListener(e -> startBatch());
+        cancelButton = new Button(translationService.translate("batch.cancel"), VaadinIcon.CLOSE.create());
+        cancelButton.addClickListener(e -> cancelBatch());
+        cancelButton.setEnabled(false);
+        downloadButton = new Button(translationService.translate("batch.downloadAll"), VaadinIcon.DOWNLOAD.create());
+        downloadButton.addClickListener(e -> downloadAll());
+        downloadButton.setEnabled(false);
+
+        HorizontalLayout actions = new HorizontalLayout(startButton, cancelButton, downloadButton);
+        actions.setAlignItems(FlexComponent.Alignment.CENTER);
+        card.add(progressBar, progressLabel, actions);
+        return card;
+    }
+
+    private void addJob() {
+        String description = descriptionField.getValue();
+        if (description == null || description.isBlank()) {
+            descriptionField.setInvalid(true);
+            descriptionField.setErrorMessage(translationService.translate("batch.descriptionRequired"));
+            return;
+        }
+        descriptionField.setInvalid(false);
+        BatchJob job = new BatchJob(String.valueOf(nextJobId++), companyField.getValue(), jobTitleField.getValue(),
+                description);
+        jobs.add(job);
+        jobList.add(createJobRow(job));
+        jobTitleField.clear();
+        companyField.clear();
+        descriptionField.clear();
+        updateProgress();
+    }
+
+    private HorizontalLayout createJobRow(BatchJob job) {
+        Span name = new Span(jobLabel(job));
+        name.getStyle().set(StyleConstants.CSS_FONT_WEIGHT, "600").set(StyleConstants.CSS_COLOR, TEXT_PRIMARY);
+        Span status = new Span(translationService.translate("batch.status.queued"));
+        status.getStyle().set(StyleConstants.CSS_FONT_SIZE, "13px").set(StyleConstants.CSS_COLOR, TEXT_SECONDARY);
+        statusLabels.put(job.id(), status);
+
+        Button remove = new Button(VaadinIcon.TRASH.create());
+        HorizontalLayout row = new HorizontalLayout(name, status, remove);
+        remove.addClickListener(e -> {
+            if (!isRunning()) {
+                jobs.remove(job);
+                statusLabels.remove(job.id());
+                jobList.remove(row);
+                updateProgress();
+            }
+        });
+        row.setWidthFull();
+        row.setAlignItems(FlexComponent.Alignment.CENTER);
+        row.expand(name);
+        row.getStyle().set(StyleConstants.CSS_BACKGROUND, BG_GRAY).set(StyleConstants.CSS_BORDER_RADIUS, "12px")
+                .set(StyleConstants.CSS_PADDING, "8px 16px");
+        return row;
+    }
+
+    private String jobLabel(BatchJob job) {
+        if (job.jobTitle().isEmpty() && job.company().isEmpty()) {
+            return translationService.translate("batch.untitledJob", job.id());
+        }
+        return job.company().isEmpty() ? job.jobTitle() : job.jobTitle() + " @ " + job.company();
+    }
+
+    private void startBatch() {
+        if (jobs.isEmpty()) {
+            Notification.show(translationService.translate("batch.noJobs"), 3000, Notification.Position.TOP_CENTER);
+            return;
+        }
+        File resume = resumeSelect.getValue();
+        if (resume == null) {
+            Notification.show(translationService.translate("batch.noResume"), 3000,
+                    Notification.Position.TOP_CENTER);
+            return;
+        }
+        if (resumeParse != null) {
+            return;
+        }
+        UI ui = UI.getCurrent();
+        String tone = toneSelect.getValue();
+        Parser parser = new Parser();
+        startButton.setEnabled(false);
+        progressLabel.setText(translationService.translate("batch.progress.readingResume"));
+        // Parsed once, off the UI thread (Tika can take seconds); every job shares the text
+        CompletableFuture<String> parse = CompletableFuture.supplyAsync(
+                () -> parser.parseFileToJson(resume.getAbsolutePath()),
+                task -> Thread.ofVirtual().name("batch-resume").start(task));
+        resumeParse = parse;
+        parse.whenComplete((resumeText, error) -> {
+            if (error instanceof CancellationException) {
+                return;
+            }
+            try {
+                ui.access(() -> resumeParsed(parse, ui, tone, resumeText, error));
+            } catch (UIDetachedException e) {
+                // The view is gone; there is nobody to start the batch for
+            }
+        });
+    }
+
+    private void resumeParsed(CompletableFuture<String> parse, UI ui, String tone, String resumeText,
+            Throwable error) {
+        if (parse != resumeParse) {
+            return;
+        }
+        resumeParse = null;
+        if (error != null) {
+            Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause()
+                    : error;
+            LOGGER.log(Level.WARNING, "Batch resume could not be parsed: " + cause.getMessage(), cause);
+            Notification.show(translationService.translate("generator.notif.couldNotReadResume", cause.getMessage()),
+                    3000, Notification.Position.TOP_CENTER);
+            startButton.setEnabled(true);
+            updateProgress();
+            return;
+        }
+
+        letters.clear();
+        statusLabels.values().forEach(s -> s.setText(translationService.translate("batch.status.running")));
+        batch = batchService.start(userPin, resumeText, tone, List.copyOf(jobs),
+                result -> onResult(ui, tone, result));
+        // Completes after the last result was handed over, so this runs after its update
+        batch.whenDone().thenRun(() -> ui.access(this::finishBatch));
+        startButton.setEnabled(false);
+        cancelButton.setEnabled(true);
+        downloadButton.setEnabled(false);
+        updateProgress();
+    }
+
+    /** Runs on a generation thread: saves the letter, then updates the UI. */
+    private void onResult(UI ui, String tone, BatchGenerationService.Result result) {
+        String fileName = result.status() == BatchGenerationService.Status.DONE ? saveToHistory(result.job(), tone,
+                result.letter()) : null;
+        ui.access(() -> {
+            Span status = statusLabels.get(result.job().id());
+            if (status != null) {
+                showStatus(status, result, fileName);
+            }
+            if (fileName != null) {
+                letters.put(fileName, result.letter());
+            }
+            updateProgress();
+        });
+    }
+
+    private void showStatus(Span status, BatchGenerationService.Result result, String fileName) {
+        switch (result.status()) {
+        case DONE -> {
+            status.setText(translationService.translate(fileName != null ? "batch.status.done" : "batch.status.notSaved",
+                    result.elapsedMillis() / 1000.0));
+            status.getStyle().set(StyleConstants.CSS_COLOR, SUCCESS);
+        }
+        case FAILED -> {
+            status.setText(translationService.translate("batch.status.failed", result.error()));
+            status.getStyle().set(StyleConstants.CSS_COLOR, ERROR);
+        }
+        default -> status.setText(translationService.translate("batch.status.cancelled"));
+        }
+    }
+
+    /**
+     * Writes the letter where the wizard writes its letters and records it in
+     * the history. Returns the file name, or {@code null} when it could not be
+     * saved.
+     */
+    private String saveToHistory(BatchJob job, String tone, String content) {
+        try {
+            Path dir = Paths.get(UPLOADS_DIR, "coverletters");
+            Files.createDirectories(dir);
+            String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"));
+            // The job id keeps letters finished within the same second apart
+            String fileName = userPin + "_" + timestamp + "_" + sanitizeFilename(job.company()) + "_"
+                    + sanitizeFilename(job.jobTitle()) + "_" + job.id() + DOCX_EXTENSION;
+            Path filePath = dir.resolve(fileName);
+            new Exporter().saveAsDoc(content, filePath.toString());
+            coverLetterService.recordGeneratedLetter(userPin, filePath, job.company(), job.jobTitle(), tone, content);
+            return fileName;
+        } catch (Exception e) {
+            LOGGER.log(Level.SEVERE, "Failed to save batch letter: " + e.getMessage(), e);
+            return null;
+        }
+    }
+
+    private void updateProgress() {
+        int total = batch != null ? batch.total() : jobs.size();
+        int finished = batch != null ? batch.finished() : 0;
+        progressBar.setValue(total == 0 ? 0 : (double) finished / total);
+        progressLabel.setText(batch == null ? translationService.translate("batch.progress.ready", total)
+                : translationService.translate("batch.progress.count", finished, total, batch.failed()));
+    }
+
+    private void finishBatch() {
+        startButton.setEnabled(true);
+        cancelButton.setEnabled(false);
+        downloadButton.setEnabled(!letters.isEmpty());
+        Notification.show(translationService.translate("batch.finished", batch.succeeded(), batch.total()), 3000,
+                Notification.Position.TOP_CENTER);
+    }
+
+    private boolean isRunning() {
+        return batch != null && !batch.isDone();
+    }
+
+    private void cancelBatch() {
+        if (isRunning()) {
+            batch.cancel();
+            cancelButton.setEnabled(false);
+        }
+    }
+
+    private void downloadAll() {
+        if (letters.isEmpty()) {
+            Notification.show(translationService.translate("generator.notif.nothingToDownload"), 2000,
+                    Notification.Position.TOP_CENTER);
+            return;
+        }
+        Map<String, String> snapshot = new LinkedHashMap<>(letters);
+        String zipName = "cover_letters_batch_" + System.currentTimeMillis() + ".zip";
+        // All documents are written straight into the response in one pass
+        BrowserDownload.save(this, event -> {
+            event.setFileName(zipName);
+            event.setContentType(ZIP_MIME_TYPE);
+            try (OutputStream out = event.getOutputStream()) {
+                new Exporter().writeAllAsZip(snapshot, out);
+            }
+        }, zipName);
+    }
+
+    @Override
+    protected void onDetach(DetachEvent detachEvent) {
+        // Nobody is left to follow the batch; free the generation slots
+        if (resumeParse != null) {
+            resumeParse.cancel(false);
+            resumeParse = null;
+        }
+        cancelBatch();
+        super.onDetach(detachEvent);
+    }
+
+    /** The user's uploaded resumes, newest first. */
+    private List<File> userResumes() {
+        File[] files = Paths.get(UPLOADS_DIR, RESUMES_DIR).toFile()
+                .listFiles((d, name) -> name.startsWith(userPin + "_"));
+        if (files == null) {
+            return List.of();
+        }
+        return Arrays.stream(files).filter(File::isFile)
+                .sorted(Comparator.comparingLong(File::lastModified).reversed()).toList();
+    }
+
+    private static String sanitizeFilename(String input) {
+        if (input == null || input.isBlank())
+            return "Unknown";
+        return input.trim().replaceAll("\\s+", "_").replaceAll("[^a-zA-Z0-9_\\-]", "").replaceAll("_+", "_")
+                .replaceAll("(^_)|(_$)", "");
+    }
+}
@@ -0,0 +1,38 @@
+package com.clbooster.app.views;
+
+import com.vaadin.flow.component.HasComponents;
+import com.vaadin.flow.component.html.Anchor;
+import com.vaadin.flow.server.streams.DownloadHandler;
+
+/**
+ * Starts a download from server code by adding a hidden anchor for the handler
+ * to {@code host} and clicking it from JavaScript. The anchor removes itself
+ * shortly afterwards, which also releases the handler.
+ */
+final class BrowserDownload {
+
+    private BrowserDownload() {
+    }
+
+    /** Saves the handler's content under {@code fileName}. */
+    static void save(HasComponents host, DownloadHandler handler, String fileName) {
+        Anchor anchor = new Anchor(handler, "");
+        anchor.getElement().setAttribute("download", fileName);
+        click(host, anchor);
+    }
+
+    /** Opens the handler's content in a new browser tab. */
+    static void open(HasComponents host, DownloadHandler handler) {
+        Anchor anchor = new Anchor(handler, "");
+        anchor.getElement().setAttribute("target", "_blank");
+        click(host, anchor);
+    }
+
+    private static void click(HasComponents host, Anchor anchor) {
+        anchor.getElement().setAttribute("style", "display:none");
+        host.add(anchor);
+        anchor.getElement().executeJs(
+                "var a=$0;setTimeout(function(){a.click();setTimeout(function(){a.remove();},1000);},100);",
+                anchor.getElement());
+    }
+}
@@ -0,0 +1,70 @@
+package com.clbooster.app.views;
+
+import com.clbooster.app.backend.service.profile.CoverLetter;
+import com.clbooster.app.backend.service.profile.CoverLetterFilter;
+import com.clbooster.app.backend.service.profile.CoverLetterService;
+import com.vaadin.flow.data.provider.AbstractBackEndDataProvider;
+import com.vaadin.flow.data.provider.Query;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+/**
+ * Lazy history data provider backed by keyset queries.
+ *
+ * Vaadin asks for rows by offset; the provider remembers the last row it
+ * served at each offset and turns the next request into a seek from that
+ * row, so paging forward never makes the database skip rows. An unknown
+ * offset seeks from the nearest earlier row it has seen.
+ */
+class CoverLetterHistoryDataProvider extends AbstractBackEndDataProvider<CoverLetter, CoverLetterFilter> {
+    private static final long serialVersionUID = 1L;
+
+    private final transient CoverLetterService coverLetterService;
+
+    // Row index -> row, for the filter the cursors were collected under
+    private final TreeMap<Integer, CoverLetter> cursors = new TreeMap<>();
+    private CoverLetterFilter cursorFilter;
+
+    CoverLetterHistoryDataProvider(CoverLetterService coverLetterService) {
+        this.coverLetterService = coverLetterService;
+    }
+
+    @Override
+    protected Stream<CoverLetter> fetchFromBackEnd(Query<CoverLetter, CoverLetterFilter> query) {
+        CoverLetterFilter filter = query.getFilter().orElse(null);
+        if (filter == null) {
+            return Stream.empty();
+        }
+        if (!filter.equals(cursorFilter)) {
+            cursors.clear();
+            cursorFilter = filter;
+        }
+
+        int offset = query.getOffset();
+        Map.Entry<Integer, CoverLetter> anchor = cursors.floorEntry(offset - 1);
+        int skip = anchor != null ? offset - anchor.getKey() - 1 : offset;
+        int limit = (int) Math.min((long) skip + query.getLimit(), Integer.MAX_VALUE);
+
+        List<CoverLetter> rows = coverLetterService.getCoverLetterPage(filter,
+                anchor != null ? anchor.getValue() : null, limit);
+        List<CoverLetter> page = rows.subList(Math.min(skip, rows.size()), rows.size());
+        if (!page.isEmpty()) {
+            cursors.put(offset + page.size() - 1, page.get(page.size() - 1));
+        }
+        return page.stream();
+    }
+
+    @Override
+    protected int sizeInBackEnd(Query<CoverLetter, CoverLetterFilter> query) {
+        return query.getFilter().map(coverLetterService::countCoverLetters).orElse(0);
+    }
+
+    @Override
+    public void refreshAll() {
+        cursors.clear();
+        super.refreshAll();
+    }
+}
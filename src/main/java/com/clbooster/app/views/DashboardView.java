@@ -4,6 +4,8 @@ import com.clbooster.app.views.util.StyleConstants;
 
 import jakarta.annotation.security.PermitAll;
 import com.clbooster.app.backend.service.authentication.AuthenticationService;
+import com.clbooster.app.backend.service.profile.CoverLetter;
+import com.clbooster.app.backend.service.profile.CoverLetterService;
 import com.clbooster.app.backend.service.profile.User;
 import com.clbooster.app.i18n.TranslationService;
 import com.vaadin.flow.component.button.Button;
@@ -26,6 +28,7 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.sql.Timestamp;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
@@ -46,7 +49,6 @@ class DashboardView extends VerticalLayout {
     private static final String GREEN = "#34C759";
     private static final String ORANGE = "#FF9500";
 
-    private static final String COVER_LETTERS_DIR = "uploads/coverletters/";
     private static final String RESUMES_DIR = "uploads/resumes/";
 
     // Class-level field — must be assigned, not shadowed by a local variable
@@ -54,11 +56,13 @@ class DashboardView extends VerticalLayout {
     private transient List<LetterCardData> allLetters;
 
     private final transient AuthenticationService authService;
+    private final transient CoverLetterService coverLetterService;
     private final TranslationService translationService;
     private final transient User currentUser;
 
     public DashboardView() {
         this.authService = new AuthenticationService();
+        this.coverLetterService = new CoverLetterService();
         this.translationService = new TranslationService();
         this.currentUser = authService.getCurrentUser();
 
@@ -118,7 +122,7 @@ class DashboardView extends VerticalLayout {
     // Stats row — 4 real-data tiles
     // ─────────────────────────────────────────────────────────────────────────
     private HorizontalLayout createStatsRow() {
-        int totalLetters = countFiles(COVER_LETTERS_DIR);
+        int totalLetters = currentUser != null ? coverLetterService.countCoverLetters(currentUser.getPin()) : 0;
         int totalResumes = countFiles(RESUMES_DIR);
         int thisWeek = countLettersThisWeek();
 
@@ -431,42 +435,12 @@ class DashboardView extends VerticalLayout {
         if (userPin == -1) {
             return 0;
         }
-        try {
-            Path p = Paths.get(COVER_LETTERS_DIR);
-            if (!Files.exists(p))
-                return 0;
-            Instant weekAgo = Instant.now().minus(7, ChronoUnit.DAYS);
-            try (Stream<Path> s = Files.list(p)) {
-                return (int) s.filter(Files::isRegularFile).filter(f -> {
-                    // Filter by user PIN
-                    String name = f.getFileName().toString();
-                    String[] parts = name.split("_");
-                    if (parts.length < 1)
-                        return false;
-                    try {
-                        int filePin = Integer.parseInt(parts[0].replaceAll(FILE_EXTENSION_REGEX, ""));
-                        if (filePin != userPin)
-                            return false;
-                    } catch (NumberFormatException e) {
-                        return false;
-                    }
-                    // Filter by date (last 7 days)
-                    try {
-                        return Files.getLastModifiedTime(f).toInstant().isAfter(weekAgo);
-                    } catch (IOException ex) {
-                        return false;
-                    }
-                }).count();
-            }
-        } catch (IOException e) {
-            return 0;
-        }
+        return coverLetterService.countCoverLettersSince(userPin, Instant.now().minus(7, ChronoUnit.DAYS));
     }
 
     /**
-     * Load up to 6 most recent cover letters from uploads/coverletters/. Filename
-     * format: {pin}_{yyyyMMdd}_{HHmmss}_{company}_{jobtitle}.docx NOW FIXED: Only
-     * loads files belonging to the current user.
+     * Load up to 6 most recent cover letters of the current user from the
+     * coverletter table (indexed on Pin, Timestamp_edited).
      */
     private List<LetterCardData> loadLetterData() {
         List<LetterCardData> letters = new ArrayList<>();
@@ -474,14 +448,13 @@ class DashboardView extends VerticalLayout {
         if (userPin == -1)
             return letters;
 
-        Path dir = Paths.get(COVER_LETTERS_DIR);
-        if (Files.exists(dir)) {
-            try (Stream<Path> stream = Files.list(dir)) {
-                stream.filter(Files::isRegularFile).sorted(this::compareByLastModifiedDesc).limit(20)
-                        .forEach(file -> processLetterFile(file, userPin, letters));
-            } catch (IOException e) {
-                // Document access failed silently
-            }
+        for (CoverLetter letter : coverLetterService.getRecentCoverLetters(userPin, 6)) {
+            String company = letter.getCompany() != null ? letter.getCompany()
+                    : letter.isMetadataApproximate() ? translationService.translate("dashboard.recoveredFromFileName")
+                            : "Company";
+            String jobTitle = letter.getJobTitle() != null ? letter.getJobTitle() : "Cover Letter";
+            letters.add(new LetterCardData(toTitleCase(jobTitle), toTitleCase(company),
+                    getRelativeDate(letter.getTimestampEdited()), StyleConstants.VAL_FINALIZED));
         }
 
         if (letters.isEmpty()) {
@@ -491,40 +464,7 @@ class DashboardView extends VerticalLayout {
             letters.add(new LetterCardData("UX Engineer", "Airbnb", "3 days ago", "ARCHIVED"));
         }
 
-        return letters.stream().limit(6).toList();
-    }
-
-    private int compareByLastModifiedDesc(Path a, Path b) {
-        try {
-            return Files.getLastModifiedTime(b).compareTo(Files.getLastModifiedTime(a));
-        } catch (IOException e) {
-            return 0;
-        }
-    }
-
-    private void processLetterFile(Path file, int userPin, List<LetterCardData> letters) {
-        String name = file.getFileName().toString().replaceAll(FILE_EXTENSION_REGEX, "");
-        String[] parts = name.split("_");
-        if (parts.length < 1 || !isUserFile(parts[0], userPin))
-            return;
-
-        String company = parts.length > 3 ? parts[3].replace("-", " ") : "Company";
-        String jobTitle = "Cover Letter";
-        if (parts.length > 4) {
-            String[] titleParts = java.util.Arrays.copyOfRange(parts, 4, parts.length);
-            jobTitle = String.join(" ", titleParts).replace("-", " ");
-        }
-
-        letters.add(new LetterCardData(toTitleCase(jobTitle), toTitleCase(company), getRelativeDate(file),
-                StyleConstants.VAL_FINALIZED));
-    }
-
-    private boolean isUserFile(String pinPart, int userPin) {
-        try {
-            return Integer.parseInt(pinPart) == userPin;
-        } catch (NumberFormatException e) {
-            return false;
-        }
+        return letters;
     }
 
     private String toTitleCase(String s) {
@@ -542,25 +482,23 @@ class DashboardView extends VerticalLayout {
         return sb.toString().trim();
     }
 
-    private String getRelativeDate(Path file) {
-        try {
-            long diff = System.currentTimeMillis() - Files.getLastModifiedTime(file).toMillis();
-            long hours = diff / 3_600_000L;
-            if (hours < 1)
-                return translationService.translate("dashboard.justNow");
-            if (hours < 24)
-                return hours + translationService.translate("dashboard.hoursAgo");
-            long days = hours / 24;
-            if (days == 1)
-                return translationService.translate("dashboard.yesterday");
-            if (days < 7)
-                return days + translationService.translate("dashboard.daysAgo");
-            if (days < 30)
-                return (days / 7) + translationService.translate("dashboard.weeksAgo");
-            return (days / 30) + translationService.translate("dashboard.monthsAgo");
-        } catch (IOException e) {
+    private String getRelativeDate(Timestamp edited) {
+        if (edited == null)
             return translationService.translate("dashboard.recently");
-        }
+        long diff = System.currentTimeMillis() - edited.getTime();
+        long hours = diff / 3_600_000L;
+        if (hours < 1)
+            return translationService.translate("dashboard.justNow");
+        if (hours < 24)
+            return hours + translationService.translate("dashboard.hoursAgo");
+        long days = hours / 24;
+        if (days == 1)
+            return translationService.translate("dashboard.yesterday");
+        if (days < 7)
+            return days + translationService.translate("dashboard.daysAgo");
+        if (days < 30)
+            return (days / 7) + translationService.translate("dashboard.weeksAgo");
+        return (days / 30) + translationService.translate("dashboard.monthsAgo");
     }
 
     private void filterLetters(String query) {
@@ -5,12 +5,15 @@ import com.clbooster.app.views.util.ViewComponents;
 
 import jakarta.annotation.security.PermitAll;
 import com.clbooster.aiservice.AIService;
+import com.clbooster.aiservice.CoverLetterGenerationService;
 import com.clbooster.aiservice.Exporter;
 import com.clbooster.app.backend.service.authentication.AuthenticationService;
 import com.clbooster.app.backend.service.document.DocumentService;
+import com.clbooster.app.backend.service.profile.CoverLetterService;
 import com.vaadin.flow.theme.lumo.LumoUtility;
 
 import com.vaadin.flow.component.AttachEvent;
+import com.vaadin.flow.component.DetachEvent;
 import com.vaadin.flow.component.UI;
 import com.vaadin.flow.component.button.Button;
 import com.vaadin.flow.component.html.Anchor;
@@ -39,6 +42,9 @@ import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -63,6 +69,9 @@ public class EditorView extends HorizontalLayout {
 
     private final transient DocumentService documentService;
     private final transient AIService aiService;
+    private final transient CoverLetterGenerationService generationService;
+    private final transient CoverLetterService coverLetterService;
+    private transient CompletableFuture<String> pendingGeneration;
 
     private TextArea editorArea;
     private String jobTitle;
@@ -71,11 +80,15 @@ public class EditorView extends HorizontalLayout {
     private Set<String> selectedSkills;
     private String jobDescription;
     private String userName;
+    private int userPin = -1;
     private String existingContent; // non-null when opened from history (skip generation)
 
-    public EditorView(DocumentService documentService, AIService aiService) {
+    public EditorView(DocumentService documentService, AIService aiService,
+            CoverLetterGenerationService generationService) {
         this.documentService = documentService;
         this.aiService = aiService;
+        this.generationService = generationService;
+        this.coverLetterService = new CoverLetterService();
         setSizeFull();
         setPadding(true);
         getStyle().set("gap", "24px");
@@ -112,6 +125,7 @@ public class EditorView extends HorizontalLayout {
         AuthenticationService authService = new AuthenticationService();
         com.clbooster.app.backend.service.profile.User currentUser = authService.getCurrentUser();
         this.userName = currentUser != null ? currentUser.getFirstName() + " " + currentUser.getLastName() : "User";
+        this.userPin = currentUser != null ? currentUser.getPin() : -1;
 
         // Editor takes full width
         VerticalLayout editorPanel = createEditorPanel();
@@ -136,20 +150,45 @@ public class EditorView extends HorizontalLayout {
         editorArea.setValue("⏳ Generating your cover letter with AI, please wait...");
         editorArea.setEnabled(false);
 
-        UI ui = attachEvent.getUI();
+        // Run AI generation on the shared, bounded generation executor
+        startGeneration(attachEvent.getUI());
+    }
+
+    @Override
+    protected void onDetach(DetachEvent detachEvent) {
+        // Nobody is left to see the result, so free the generation slot
+        cancelPendingGeneration();
+        super.onDetach(detachEvent);
+    }
 
-        // Run AI generation in background thread
-        Thread generationThread = new Thread(() -> {
-            String result = generateCoverLetter();
+    private void startGeneration(UI ui) {
+        cancelPendingGeneration();
+        // Show the letter as it is being written instead of a static placeholder
+        StreamingTextPublisher publisher = new StreamingTextPublisher(ui, editorArea::setValue);
+        CompletableFuture<String> future = generationService.submit(userPin, () -> generateCoverLetter(publisher));
+        pendingGeneration = future;
+        future.whenComplete((result, error) -> {
+            if (error instanceof CancellationException) {
+                return;
+            }
+            String content = error == null ? result : getFallbackCoverLetter();
+            if (error != null) {
+                LOGGER.log(Level.WARNING, "Generation was not accepted: " + error.getMessage());
+            }
             ui.access(() -> {
-                editorArea.setValue(result);
+                editorArea.setValue(content);
                 editorArea.setEnabled(true);
                 // Save after generation completes
-                saveGeneratedCoverLetter(result);
+                saveGeneratedCoverLetter(content);
             });
         });
-        generationThread.setDaemon(true);
-        generationThread.start();
+    }
+
+    private void cancelPendingGeneration() {
+        if (pendingGeneration != null) {
+            pendingGeneration.cancel(true);
+            pendingGeneration = null;
+        }
     }
 
     private String getSessionAttribute(VaadinSession session, String key, String defaultValue) {
@@ -504,24 +543,13 @@ public class EditorView extends HorizontalLayout {
             return;
         editorArea.setValue("⏳ Regenerating...");
         editorArea.setEnabled(false);
-        UI ui = UI.getCurrent();
-        Thread t = new Thread(() -> {
-            String result = generateCoverLetter();
-            ui.access(() -> {
-                editorArea.setValue(result);
-                editorArea.setEnabled(true);
-                saveGeneratedCoverLetter(result);
-            });
-        });
-        t.setDaemon(true);
-        t.start();
+        startGeneration(UI.getCurrent());
     }
 
-    private String generateCoverLetter() {
+    private String generateCoverLetter(Consumer<String> onToken) {
         StringBuilder jobDetails = new StringBuilder();
         jobDetails.append("Job Title: ").append(jobTitle).append("\n");
         jobDetails.append("Company: ").append(companyName).append("\n");
-        jobDetails.append("Tone: ").append(selectedTone).append("\n");
         jobDetails.append("Selected Skills: ").append(String.join(", ", selectedSkills)).append("\n");
         jobDetails.append("Job Description: ").append(jobDescription).append("\n");
 
@@ -530,7 +558,8 @@ public class EditorView extends HorizontalLayout {
                 String.join(", ", selectedSkills), jobTitle, companyName);
 
         try {
-            String generated = aiService.generateCoverLetter(resumeContent, jobDetails.toString(), selectedTone);
+            String generated = aiService.generateCoverLetterStreaming(resumeContent, jobDetails.toString(),
+                    selectedTone, onToken);
             return (generated != null && !generated.isBlank()) ? generated : getFallbackCoverLetter();
         } catch (Exception e) {
             LOGGER.log(Level.WARNING, "AI generation failed, using fallback: " + e.getMessage(), e);
@@ -573,6 +602,8 @@ public class EditorView extends HorizontalLayout {
 
             new Exporter().saveAsDoc(content, filePath.toString());
             LOGGER.info("Cover letter saved: " + filePath.toAbsolutePath());
+            coverLetterService.recordGeneratedLetter(userPin, filePath, companyName, jobTitle, selectedTone,
+                    content);
             return filePath.toAbsolutePath().toString();
         } catch (Exception e) {
             LOGGER.log(Level.SEVERE, "Failed to save cover letter: " + e.getMessage(), e);
@@ -2,14 +2,17 @@ package com.clbooster.app.views;
 
 import jakarta.annotation.security.PermitAll;
 import com.clbooster.aiservice.AIService;
+import com.clbooster.aiservice.CoverLetterGenerationService;
 import com.clbooster.aiservice.Exporter;
 import com.clbooster.aiservice.Parser;
 import com.clbooster.app.backend.service.authentication.AuthenticationService;
+import com.clbooster.app.backend.service.profile.CoverLetterService;
 import com.clbooster.app.i18n.TranslationService;
 import com.clbooster.app.views.util.StyleConstants;
+import com.vaadin.flow.component.DetachEvent;
 import com.vaadin.flow.component.UI;
-import com.vaadin.flow.component.html.Anchor;
-import com.vaadin.flow.server.StreamResource;
+import com.vaadin.flow.server.streams.DownloadHandler;
+import com.vaadin.flow.server.streams.DownloadResponse;
 import com.vaadin.flow.component.button.Button;
 import com.vaadin.flow.component.html.Div;
 import com.vaadin.flow.component.html.H1;
@@ -41,6 +44,9 @@ import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -110,6 +116,7 @@ public class GeneratorWizardView extends VerticalLayout {
     // Captured on UI thread before background AI generation starts
     private String capturedUserName = "User";
     private int capturedUserPin = -1;
+    private java.util.Locale capturedLocale = java.util.Locale.getDefault();
 
     // Step 2 skills grid for dynamic updates
     private Div skillsGrid;
@@ -118,9 +125,14 @@ public class GeneratorWizardView extends VerticalLayout {
             "Agile", "Leadership" };
 
     private final transient AIService aiService;
+    private final transient CoverLetterGenerationService generationService;
+    private final transient CoverLetterService coverLetterService;
+    private transient CompletableFuture<String> pendingGeneration;
 
-    public GeneratorWizardView(AIService aiService) {
+    public GeneratorWizardView(AIService aiService, CoverLetterGenerationService generationService) {
         this.aiService = aiService;
+        this.generationService = generationService;
+        this.coverLetterService = new CoverLetterService();
         this.translationService = new TranslationService();
         setSizeFull();
         setPadding(false);
@@ -1272,16 +1284,7 @@ public class GeneratorWizardView extends VerticalLayout {
                 return;
             editorTextArea.setValue("⏳ " + translationService.translate("generator.notif.regenerating"));
             editorTextArea.setEnabled(false);
-            UI ui = UI.getCurrent();
-            Thread t = new Thread(() -> {
-                String result = generateCoverLetterText();
-                ui.access(() -> {
-                    editorTextArea.setValue(result);
-                    editorTextArea.setEnabled(true);
-                });
-            });
-            t.setDaemon(true);
-            t.start();
+            startGeneration(UI.getCurrent());
         });
 
         toolbar.add(boldBtn, italicBtn, underlineBtn, copyBtn, clearBtn, divider, regenBtn);
@@ -1309,23 +1312,54 @@ public class GeneratorWizardView extends VerticalLayout {
                 capturedUserName = _u.getFirstName() + " " + _u.getLastName();
                 capturedUserPin = _u.getPin();
             }
+            capturedLocale = translationService.getCurrentLocale();
         } catch (Exception ignored) {
             LOGGER.warning("Could not capture user from session before generation");
         }
 
         // ── Trigger AI generation ──────────────────────────────────────────────
-        UI ui = UI.getCurrent();
-        Thread genThread = new Thread(() -> {
-            String result = generateCoverLetterText();
+        startGeneration(UI.getCurrent());
+
+        return layout;
+    }
+
+    /**
+     * Queues generation on the shared bounded executor, streams partial text into
+     * the editor while the model writes, and sets the final result. Any previous,
+     * still pending generation is cancelled.
+     */
+    private void startGeneration(UI ui) {
+        cancelPendingGeneration();
+        StreamingTextPublisher publisher = new StreamingTextPublisher(ui, editorTextArea::setValue);
+        CompletableFuture<String> future = generationService.submit(capturedUserPin,
+                () -> generateCoverLetterText(publisher));
+        pendingGeneration = future;
+        future.whenComplete((result, error) -> {
+            if (error instanceof CancellationException) {
+                return;
+            }
+            if (error != null) {
+                LOGGER.log(Level.WARNING, "Generation was not accepted: " + error.getMessage());
+            }
+            String content = error == null ? result : getFallbackCoverLetter();
             ui.access(() -> {
-                editorTextArea.setValue(result);
+                editorTextArea.setValue(content);
                 editorTextArea.setEnabled(true);
             });
         });
-        genThread.setDaemon(true);
-        genThread.start();
+    }
 
-        return layout;
+    private void cancelPendingGeneration() {
+        if (pendingGeneration != null) {
+            pendingGeneration.cancel(true);
+            pendingGeneration = null;
+        }
+    }
+
+    @Override
+    protected void onDetach(DetachEvent detachEvent) {
+        cancelPendingGeneration();
+        super.onDetach(detachEvent);
     }
 
     private Button createEditorToolbarButton(VaadinIcon icon, String tooltip) {
@@ -1354,11 +1388,10 @@ public class GeneratorWizardView extends VerticalLayout {
         }
     }
 
-    private String generateCoverLetterText() {
+    private String generateCoverLetterText(Consumer<String> onToken) {
         StringBuilder jobDetails = new StringBuilder();
         jobDetails.append("Job Title: ").append(jobTitle).append("\n");
         jobDetails.append("Company: ").append(companyName).append("\n");
-        jobDetails.append("Tone: ").append(selectedTone).append("\n");
         jobDetails.append("Selected Skills: ").append(String.join(", ", selectedSkills)).append("\n");
         jobDetails.append("Job Description: ").append(jobDescription).append("\n");
 
@@ -1366,7 +1399,8 @@ public class GeneratorWizardView extends VerticalLayout {
         String resumeContent = buildCandidateContext();
 
         try {
-            String generated = aiService.generateCoverLetter(resumeContent, jobDetails.toString(), selectedTone);
+            String generated = aiService.generateCoverLetterStreaming(resumeContent, jobDetails.toString(),
+                    selectedTone, onToken);
             return (generated != null && !generated.isBlank()) ? generated : getFallbackCoverLetter();
         } catch (Exception e) {
             LOGGER.log(Level.WARNING, "AI generation failed, using fallback: " + e.getMessage(), e);
@@ -1417,7 +1451,8 @@ public class GeneratorWizardView extends VerticalLayout {
 
     private void appendProfileContext(StringBuilder ctx, int pin) {
         com.clbooster.app.backend.service.profile.ProfileDAO profileDAO = new com.clbooster.app.backend.service.profile.ProfileDAO();
-        com.clbooster.app.backend.service.profile.Profile profile = profileDAO.getProfileByPin(pin);
+        com.clbooster.app.backend.service.profile.Profile profile = profileDAO.getByIdWithFallback(pin,
+                capturedLocale, com.clbooster.app.backend.util.LocaleFallbackResolver.getDefault());
         if (profile == null) {
             LOGGER.info("buildCandidateContext: no profile row for PIN " + pin);
             return;
@@ -1532,6 +1567,8 @@ public class GeneratorWizardView extends VerticalLayout {
             Path filePath = dir.resolve(fileName);
             new Exporter().saveAsDoc(content, filePath.toString());
             LOGGER.info("Cover letter saved: " + filePath.toAbsolutePath());
+            coverLetterService.recordGeneratedLetter(userPin, filePath, companyName, jobTitle, selectedTone,
+                    content);
             return filePath.toAbsolutePath().toString();
         } catch (Exception e) {
             LOGGER.log(Level.SEVERE, "Failed to save cover letter: " + e.getMessage(), e);
@@ -1557,8 +1594,7 @@ public class GeneratorWizardView extends VerticalLayout {
                     + timestamp + DOCX_EXTENSION;
             Path outPath = dir.resolve(fileName);
             new Exporter().saveAsDoc(content, outPath.toString());
-            byte[] bytes = Files.readAllBytes(outPath);
-            serveEditorDownload(bytes, MIME_DOCX, fileName);
+            serveEditorDownload(new RangeFileDownloadHandler(outPath, fileName, MIME_DOCX), fileName);
         } catch (Exception ex) {
             LOGGER.log(Level.SEVERE, "DOCX export failed: " + ex.getMessage(), ex);
             Notification.show(translationService.translate("generator.notif.exportFailed", ex.getMessage()), 3000,
@@ -1578,23 +1614,17 @@ public class GeneratorWizardView extends VerticalLayout {
         try {
             String fileName = sanitizeEditorFilename(companyName) + "_" + sanitizeEditorFilename(jobTitle) + ".pdf";
             byte[] bytes = generateSimplePdf(content);
-            serveEditorDownload(bytes, "application/pdf", fileName);
+            // Built in memory anyway, so there is no file to stream from
+            serveEditorDownload(DownloadHandler.fromInputStream(e -> new DownloadResponse(
+                    new ByteArrayInputStream(bytes), fileName, "application/pdf", bytes.length)), fileName);
         } catch (Exception ex) {
             LOGGER.log(Level.SEVERE, "PDF export failed: " + ex.getMessage(), ex);
             Notification.show("Export failed: " + ex.getMessage(), 3000, Notification.Position.TOP_CENTER);
         }
     }
 
-    private void serveEditorDownload(byte[] bytes, String mimeType, String fileName) {
-        StreamResource resource = new StreamResource(fileName, () -> new ByteArrayInputStream(bytes));
-        resource.setContentType(mimeType);
-        Anchor anchor = new Anchor(resource, "");
-        anchor.getElement().setAttribute("download", fileName);
-        anchor.getElement().setAttribute("style", "display:none");
-        add(anchor);
-        anchor.getElement().executeJs(
-                "var a=$0;setTimeout(function(){a.click();setTimeout(function(){a.remove();},1000);},100);",
-                anchor.getElement());
+    private void serveEditorDownload(DownloadHandler handler, String fileName) {
+        BrowserDownload.save(this, handler, fileName);
         Notification.show(translationService.translate("generator.notif.downloading", fileName) + "\u2026", 2000,
                 Notification.Position.TOP_CENTER);
     }
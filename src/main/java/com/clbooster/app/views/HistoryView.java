@@ -4,13 +4,20 @@ import com.clbooster.app.views.util.StyleConstants;
 
 import jakarta.annotation.security.PermitAll;
 import com.clbooster.app.backend.service.authentication.AuthenticationService;
+import com.clbooster.app.backend.service.profile.CoverLetter;
+import com.clbooster.app.backend.service.profile.CoverLetterArchive;
+import com.clbooster.app.backend.service.profile.CoverLetterFilter;
+import com.clbooster.app.backend.service.profile.CoverLetterService;
 import com.clbooster.app.i18n.TranslationService;
 import com.clbooster.aiservice.Parser;
 import com.vaadin.flow.server.VaadinSession;
+import com.vaadin.flow.component.DetachEvent;
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.component.UIDetachedException;
 import com.vaadin.flow.component.button.Button;
+import com.vaadin.flow.component.checkbox.Checkbox;
 import com.vaadin.flow.component.datepicker.DatePicker;
 import com.vaadin.flow.component.dialog.Dialog;
-import com.vaadin.flow.component.html.Anchor;
 import com.vaadin.flow.component.html.Div;
 import com.vaadin.flow.component.html.H2;
 import com.vaadin.flow.component.html.H3;
@@ -25,31 +32,29 @@ import com.vaadin.flow.component.orderedlayout.HorizontalLayout;
 import com.vaadin.flow.component.orderedlayout.VerticalLayout;
 import com.vaadin.flow.component.select.Select;
 import com.vaadin.flow.component.textfield.TextField;
+import com.vaadin.flow.data.provider.Query;
+import com.vaadin.flow.data.value.ValueChangeMode;
 import com.vaadin.flow.router.PageTitle;
 import com.vaadin.flow.router.Route;
-import com.vaadin.flow.server.StreamResource;
 
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.io.Serializable;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
-import java.util.HashSet;
+import java.util.Collections;
 import java.util.List;
-import java.util.Set;
+import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
 import java.util.logging.Level;
 import java.util.logging.Logger;
-import java.util.zip.ZipEntry;
-import java.util.zip.ZipOutputStream;
 
 @Route(value = "history", layout = MainLayout.class)
 @PageTitle("History | CL Booster")
@@ -68,16 +73,36 @@ public class HistoryView extends VerticalLayout {
 
     private static final Logger LOGGER = Logger.getLogger(HistoryView.class.getName());
 
-    private List<HistoryItem> allItems = new ArrayList<>();
+    private static final int PAGE_SIZE = 12;
+
+    // Exports with more letters than this are built in the background first
+    private static final int BACKGROUND_EXPORT_THRESHOLD = 100;
+    private static final String ZIP_MIME_TYPE = "application/zip";
+
+    private final List<HistoryItem> loadedItems = new ArrayList<>();
     private Div cardsGrid;
+    private Button loadMoreButton;
     private TextField searchField;
+    private Checkbox contentSearchToggle;
     private String currentStatusFilter = "ALL";
     private LocalDate dateFrom = null;
     private LocalDate dateTo = null;
     private final TranslationService translationService;
+    private final transient CoverLetterService coverLetterService;
+    private final CoverLetterHistoryDataProvider historyProvider;
+    private final int userPin;
+    private CoverLetterFilter currentFilter;
+    // Non-null while searching letter text instead of company/title prefixes
+    private String contentQuery;
+    private transient Path exportArchive;
+    // The background export in progress, and the thread building it
+    private transient CompletableFuture<Path> exportTask;
+    private transient Thread exportWorker;
 
     public HistoryView() {
         this.translationService = new TranslationService();
+        this.coverLetterService = new CoverLetterService();
+        this.historyProvider = new CoverLetterHistoryDataProvider(coverLetterService);
         setPadding(true);
         setSpacing(true);
         getStyle().set("gap", "32px").set(StyleConstants.CSS_PADDING, "32px")
@@ -85,7 +110,7 @@ public class HistoryView extends VerticalLayout {
                 .set("font-family", "-apple-system, BlinkMacSystemFont, 'SF Pro Text', system-ui, sans-serif");
         setSizeFull();
 
-        allItems = loadCoverLetterHistory();
+        userPin = resolveUserPin();
 
         add(createHeader(), createFilters());
 
@@ -93,9 +118,11 @@ public class HistoryView extends VerticalLayout {
         cardsGrid.getStyle().set(StyleConstants.CSS_DISPLAY, "flex").set(StyleConstants.CSS_FLEX_WRAP, "wrap")
                 .set("gap", "24px").set(StyleConstants.CSS_WIDTH, "100%");
 
-        refreshCardsGrid(allItems);
-        add(cardsGrid);
-        add(createLoadMoreButton());
+        loadMoreButton = createLoadMoreButton();
+        loadMoreButton.addClickListener(e -> loadNextPage());
+        add(cardsGrid, loadMoreButton);
+
+        applyFilters();
     }
 
     // ── Header ─────────────────────────────────────────────────────────────────
@@ -141,15 +168,19 @@ public class HistoryView extends VerticalLayout {
         searchField.setWidth("320px");
         searchField.getStyle().set("--vaadin-input-field-background", BG_GRAY).set("--vaadin-input-field-border-radius",
                 "12px");
+        searchField.setValueChangeMode(ValueChangeMode.LAZY);
         searchField.addValueChangeListener(e -> applyFilters());
 
+        contentSearchToggle = new Checkbox(translationService.translate("history.searchContent"));
+        contentSearchToggle.addValueChangeListener(e -> applyFilters());
+
         Button dateFilter = createFilterButton(translationService.translate("history.dateRange"), VaadinIcon.CALENDAR);
         dateFilter.addClickListener(e -> showDateFilterDialog());
 
         Button statusFilter = createFilterButton(translationService.translate("history.status"), VaadinIcon.FILTER);
         statusFilter.addClickListener(e -> showStatusFilterDialog());
 
-        filters.add(searchField, dateFilter, statusFilter);
+        filters.add(searchField, contentSearchToggle, dateFilter, statusFilter);
         return filters;
     }
 
@@ -239,43 +270,49 @@ public class HistoryView extends VerticalLayout {
         dialog.open();
     }
 
+    /**
+     * Restarts the history from the first page under the current search,
+     * date and status criteria. Filtering happens in the database.
+     */
     private void applyFilters() {
-        String searchText = searchField.getValue() != null ? searchField.getValue().toLowerCase().trim() : "";
-
-        List<HistoryItem> filtered = allItems.stream().filter(item -> matchesSearch(item, searchText))
-                .filter(this::matchesStatus).filter(this::matchesDateRange).toList();
-
-        refreshCardsGrid(filtered);
-    }
-
-    private boolean matchesSearch(HistoryItem item, String searchText) {
-        return searchText.isEmpty() || item.title.toLowerCase().contains(searchText)
-                || item.company.toLowerCase().contains(searchText);
+        String searchText = searchField.getValue();
+        boolean searchContent = Boolean.TRUE.equals(contentSearchToggle.getValue()) && searchText != null
+                && !searchText.isBlank();
+        contentQuery = searchContent ? searchText.trim() : null;
+        currentFilter = new CoverLetterFilter(userPin, searchContent ? null : searchText, dateFrom, dateTo,
+                currentStatusFilter);
+        loadedItems.clear();
+        cardsGrid.removeAll();
+        loadNextPage();
     }
 
-    private boolean matchesStatus(HistoryItem item) {
-        return "ALL".equals(currentStatusFilter) || item.status.equals(currentStatusFilter);
-    }
+    // ── Cards grid ─────────────────────────────────────────────────────────────
 
-    private boolean matchesDateRange(HistoryItem item) {
-        LocalDate itemDate = item.timestamp.toLocalDate();
-        if (dateFrom != null && itemDate.isBefore(dateFrom)) {
-            return false;
+    private void loadNextPage() {
+        List<HistoryItem> page = new ArrayList<>();
+        if (userPin != -1) {
+            try {
+                // Content matches come back ranked by relevance; everything else newest first
+                List<CoverLetter> letters = contentQuery != null
+                        ? coverLetterService.searchCoverLetters(currentFilter, contentQuery, loadedItems.size(),
+                                PAGE_SIZE)
+                        : historyProvider.fetch(new Query<>(loadedItems.size(), PAGE_SIZE, Collections.emptyList(),
+                                null, currentFilter)).toList();
+                letters.stream().map(this::toHistoryItem).forEach(page::add);
+            } catch (Exception e) {
+                LOGGER.log(Level.SEVERE, "Error loading history: " + e.getMessage(), e);
+            }
         }
-        return dateTo == null || !itemDate.isAfter(dateTo);
-    }
-
-    // ── Cards grid ─────────────────────────────────────────────────────────────
 
-    private void refreshCardsGrid(List<HistoryItem> items) {
-        cardsGrid.removeAll();
-        if (items.isEmpty()) {
+        if (loadedItems.isEmpty() && page.isEmpty()) {
             cardsGrid.add(createEmptyState());
-        } else {
-            for (HistoryItem item : items) {
-                cardsGrid.add(createHistoryCard(item));
-            }
         }
+        for (HistoryItem item : page) {
+            cardsGrid.add(createHistoryCard(item));
+        }
+        loadedItems.addAll(page);
+        // A short page means the end of the history was reached
+        loadMoreButton.setVisible(page.size() == PAGE_SIZE);
     }
 
     private VerticalLayout createEmptyState() {
@@ -432,8 +469,14 @@ public class HistoryView extends VerticalLayout {
         Button deleteBtn = new Button(translationService.translate("history.delete"), e -> {
             File file = new File(item.filePath);
             if (file.exists() && file.delete()) {
-                allItems.remove(item);
-                applyFilters();
+                coverLetterService.deleteRecord(item.id, item.filePath);
+                // Row positions shifted, so the provider's seek cursors are stale
+                historyProvider.refreshAll();
+                loadedItems.remove(item);
+                cardsGrid.remove(card);
+                if (loadedItems.isEmpty()) {
+                    cardsGrid.add(createEmptyState());
+                }
                 Notification.show(translationService.translate("history.deleted"), 2000,
                         Notification.Position.TOP_CENTER);
             } else {
@@ -549,167 +592,169 @@ public class HistoryView extends VerticalLayout {
     }
 
     private void downloadCoverLetter(HistoryItem item) {
-        File file = new File(item.filePath);
-        if (!file.exists()) {
+        Path file = Paths.get(item.filePath);
+        if (!Files.isRegularFile(file)) {
             Notification.show(translationService.translate(HISTORY_FILE_NOT_FOUND_KEY, item.filePath), 3000,
                     Notification.Position.TOP_CENTER);
             return;
         }
-        try {
-            byte[] bytes = Files.readAllBytes(file.toPath());
-            String mimeType = file.getName().endsWith(".pdf") ? "application/pdf"
-                    : "application/vnd.openxmlformats-officedocument.wordprocessingml.document";
-            serveDownload(bytes, mimeType, file.getName());
-        } catch (IOException ex) {
-            Notification.show(translationService.translate(HISTORY_FILE_NOT_FOUND_KEY, ex.getMessage()), 3000,
-                    Notification.Position.TOP_CENTER);
-            LOGGER.log(Level.SEVERE, "Download error", ex);
-        }
+        String fileName = file.getFileName().toString();
+        String mimeType = fileName.endsWith(".pdf") ? "application/pdf"
+                : "application/vnd.openxmlformats-officedocument.wordprocessingml.document";
+        BrowserDownload.save(this, new RangeFileDownloadHandler(file, fileName, mimeType), fileName);
     }
 
     private void exportAllFiles() {
-        if (allItems.isEmpty()) {
+        List<CoverLetter> letters = userPin != -1 ? coverLetterService.getCoverLetters(userPin)
+                : Collections.emptyList();
+        List<Path> files = CoverLetterArchive.exportableFiles(letters);
+        if (files.isEmpty()) {
             Notification.show(translationService.translate("history.noFilesToExport"), 3000,
                     Notification.Position.TOP_CENTER);
             return;
         }
-        try {
-            ByteArrayOutputStream baos = new ByteArrayOutputStream();
-            Set<String> added = new HashSet<>();
-            try (ZipOutputStream zos = new ZipOutputStream(baos)) {
-                for (HistoryItem item : allItems) {
-                    File file = new File(item.filePath);
-                    if (!file.exists() || added.contains(file.getName()))
-                        continue;
-                    added.add(file.getName());
-                    zos.putNextEntry(new ZipEntry(file.getName()));
-                    zos.write(Files.readAllBytes(file.toPath()));
-                    zos.closeEntry();
+        String zipName = "cover_letters_export_" + System.currentTimeMillis() + ".zip";
+        Optional<UI> ui = getUI();
+        if (files.size() > BACKGROUND_EXPORT_THRESHOLD && ui.isPresent()) {
+            exportInBackground(ui.get(), files, zipName);
+            return;
+        }
+        // Entries are written straight into the response as the browser reads it
+        BrowserDownload.save(this, event -> {
+            event.setFileName(zipName);
+            event.setContentType(ZIP_MIME_TYPE);
+            try (OutputStream out = event.getOutputStream()) {
+                CoverLetterArchive.writeZip(files, out);
+            }
+        }, zipName);
+        Notification.show(translationService.translate("history.exporting", files.size()), 3000,
+                Notification.Position.TOP_CENTER);
+    }
+
+    /**
+     * Builds a large export into a temporary file off the UI thread and offers
+     * it once ready. The file is served with range support, so a download that
+     * drops halfway can be resumed, and is removed when the view is detached.
+     * A zip that finishes after the view is gone is deleted instead of offered.
+     */
+    private void exportInBackground(UI ui, List<Path> files, String zipName) {
+        cancelExport();
+        Notification.show(translationService.translate("history.exportPreparing", files.size()), 3000,
+                Notification.Position.TOP_CENTER);
+        CompletableFuture<Path> task = new CompletableFuture<>();
+        exportTask = task;
+        exportWorker = Thread.ofVirtual().name("history-export").start(() -> {
+            Path zip = null;
+            try {
+                zip = Files.createTempFile("cover_letters_export_", ".zip");
+                CoverLetterArchive.writeZip(files, zip);
+                if (!task.complete(zip)) {
+                    // Cancelled while writing
+                    deleteArchive(zip);
                 }
+            } catch (IOException | RuntimeException e) {
+                deleteArchive(zip);
+                task.completeExceptionally(e);
             }
-            String zipName = "cover_letters_export_" + System.currentTimeMillis() + ".zip";
-            serveDownload(baos.toByteArray(), "application/zip", zipName);
-            Notification.show(translationService.translate("history.exporting", added.size()), 3000,
-                    Notification.Position.TOP_CENTER);
-        } catch (Exception ex) {
-            Notification.show(translationService.translate("history.exportError", ex.getMessage()), 3000,
+        });
+        task.whenComplete((zip, error) -> {
+            if (error instanceof CancellationException) {
+                return;
+            }
+            try {
+                ui.access(() -> exportFinished(task, zip, error, zipName, files.size()));
+            } catch (UIDetachedException e) {
+                deleteArchive(zip);
+            }
+        });
+    }
+
+    private void exportFinished(CompletableFuture<Path> task, Path zip, Throwable error, String zipName,
+            int fileCount) {
+        if (task != exportTask || !isAttached()) {
+            deleteArchive(zip);
+            return;
+        }
+        exportTask = null;
+        exportWorker = null;
+        if (error != null) {
+            LOGGER.log(Level.SEVERE, "Export all error", error);
+            Notification.show(translationService.translate("history.exportError", error.getMessage()), 3000,
                     Notification.Position.TOP_CENTER);
-            LOGGER.log(Level.SEVERE, "Export all error", ex);
+            return;
         }
+        discardExportArchive();
+        exportArchive = zip;
+        BrowserDownload.save(this, new RangeFileDownloadHandler(zip, zipName, ZIP_MIME_TYPE), zipName);
+        Notification.show(translationService.translate("history.exporting", fileCount), 3000,
+                Notification.Position.TOP_CENTER);
     }
 
-    /** Serves bytes as a browser download using a hidden anchor + JS click. */
-    private void serveDownload(byte[] bytes, String mimeType, String fileName) {
-        StreamResource resource = new StreamResource(fileName, () -> new ByteArrayInputStream(bytes));
-        resource.setContentType(mimeType);
-
-        Anchor anchor = new Anchor(resource, "");
-        anchor.getElement().setAttribute("download", fileName);
-        anchor.getElement().setAttribute("style", "display:none");
-        add(anchor);
-        anchor.getElement().executeJs(
-                "var a=$0;setTimeout(function(){a.click();setTimeout(function(){a.remove();},1000);},100);",
-                anchor.getElement());
+    private void cancelExport() {
+        if (exportTask != null) {
+            exportTask.cancel(false);
+            // Interrupting closes the zip's channel, so the worker stops and cleans up
+            exportWorker.interrupt();
+        }
+        exportTask = null;
+        exportWorker = null;
     }
 
-    // ── History loading ────────────────────────────────────────────────────────
+    private void discardExportArchive() {
+        deleteArchive(exportArchive);
+        exportArchive = null;
+    }
 
-    private List<HistoryItem> loadCoverLetterHistory() {
-        List<HistoryItem> items = new ArrayList<>();
+    private static void deleteArchive(Path zip) {
+        if (zip == null)
+            return;
         try {
-            AuthenticationService authService = new AuthenticationService();
-            com.clbooster.app.backend.service.profile.User currentUser = authService.getCurrentUser();
-            if (currentUser == null) {
-                LOGGER.warning("No user logged in");
-                return items;
-            }
-            int userPin = currentUser.getPin();
-
-            // Only load from coverletters directory
-            Path dir = Paths.get("uploads", "coverletters");
-            if (!Files.exists(dir) || !Files.isDirectory(dir))
-                return items;
-
-            File[] files = dir.toFile().listFiles((d, name) -> {
-                String lower = name.toLowerCase();
-                return lower.endsWith(".txt") || lower.endsWith(".docx") || lower.endsWith(".pdf");
-            });
-            if (files == null)
-                return items;
-            for (File file : files) {
-                HistoryItem item = parseFilename(file.getName(), file.getAbsolutePath(), file.lastModified());
-                if (item != null && item.pin == userPin)
-                    items.add(item);
-            }
-            items.sort((a, b) -> b.timestamp.compareTo(a.timestamp));
-            LOGGER.info("Loaded " + items.size() + " cover letters for PIN: " + userPin);
-        } catch (Exception e) {
-            LOGGER.log(Level.SEVERE, "Error loading history: " + e.getMessage(), e);
+            Files.deleteIfExists(zip);
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Could not delete export archive " + zip, e);
         }
-        return items;
     }
 
-    private HistoryItem parseFilename(String filename, String filePath, long lastModified) {
-        try {
-            String baseName = filename;
-            int dotIndex = baseName.lastIndexOf('.');
-            if (dotIndex > 0)
-                baseName = baseName.substring(0, dotIndex);
-
-            String[] parts = baseName.split("_");
-            if (parts.length < 2)
-                return null;
-
-            int pin;
-            try {
-                pin = Integer.parseInt(parts[0]);
-            } catch (NumberFormatException e) {
-                return null;
-            }
-
-            // Parse timestamp
-            LocalDateTime timestamp = parseTimestamp(parts, lastModified);
-
-            String formattedDate = timestamp.format(DateTimeFormatter.ofPattern("MMM d, yyyy"));
+    @Override
+    protected void onDetach(DetachEvent detachEvent) {
+        cancelExport();
+        discardExportArchive();
+        super.onDetach(detachEvent);
+    }
 
-            // Extract company and job title (parts after timestamp portion)
-            int dataStart = (parts.length >= 3 && parts[1].length() == 8 && parts[2].length() == 6) ? 3 : 2;
-            String company = "Unknown Company";
-            String jobTitle = "Cover Letter";
+    // ── History loading ────────────────────────────────────────────────────────
 
-            if (parts.length > dataStart) {
-                int remaining = parts.length - dataStart;
-                if (remaining >= 2) {
-                    int split = dataStart + (remaining / 2);
-                    company = String.join(" ", java.util.Arrays.copyOfRange(parts, dataStart, split));
-                    jobTitle = String.join(" ", java.util.Arrays.copyOfRange(parts, split, parts.length));
-                } else {
-                    jobTitle = parts[dataStart];
-                }
+    private int resolveUserPin() {
+        try {
+            AuthenticationService authService = new AuthenticationService();
+            com.clbooster.app.backend.service.profile.User currentUser = authService.getCurrentUser();
+            if (currentUser != null) {
+                return currentUser.getPin();
             }
-
-            // Status based on age
-            LocalDateTime now = LocalDateTime.now();
-            String status = timestamp.plusDays(30).isAfter(now) ? StyleConstants.VAL_FINALIZED : "ARCHIVED";
-
-            return new HistoryItem(jobTitle, company, formattedDate, status, pin, timestamp, filePath);
+            LOGGER.warning("No user logged in");
         } catch (Exception e) {
-            LOGGER.log(Level.WARNING, "Parse error for: " + filename, e);
-            return null;
+            LOGGER.log(Level.SEVERE, "Error resolving current user: " + e.getMessage(), e);
         }
+        return -1;
     }
 
-    private LocalDateTime parseTimestamp(String[] parts, long lastModified) {
-        try {
-            if (parts.length >= 3 && parts[1].length() == 8 && parts[2].length() == 6) {
-                return LocalDateTime.parse(parts[1] + "_" + parts[2], DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"));
-            } else if (parts[1].length() == 13) {
-                return LocalDateTime.ofInstant(Instant.ofEpochMilli(Long.parseLong(parts[1])), ZoneId.systemDefault());
-            }
-        } catch (Exception ignored) {
-            // Ignored, fallback to lastModified time
-        }
-        return LocalDateTime.ofInstant(Instant.ofEpochMilli(lastModified), ZoneId.systemDefault());
+    private HistoryItem toHistoryItem(CoverLetter letter) {
+        LocalDateTime timestamp = letter.getTimestampEdited() != null ? letter.getTimestampEdited().toLocalDateTime()
+                : LocalDateTime.now();
+        String formattedDate = timestamp.format(DateTimeFormatter.ofPattern("MMM d, yyyy"));
+        String company = letter.getCompany() != null && !letter.getCompany().isBlank() ? letter.getCompany()
+                : letter.isMetadataApproximate() ? translationService.translate("history.recoveredFromFileName")
+                        : "Unknown Company";
+        String jobTitle = letter.getJobTitle() != null && !letter.getJobTitle().isBlank() ? letter.getJobTitle()
+                : "Cover Letter";
+
+        // Status based on age
+        String status = timestamp.plusDays(CoverLetterFilter.ARCHIVE_AFTER_DAYS).isAfter(LocalDateTime.now())
+                ? StyleConstants.VAL_FINALIZED
+                : "ARCHIVED";
+
+        return new HistoryItem(letter.getId(), jobTitle, company, formattedDate, status, letter.getPin(), timestamp,
+                letter.getFilePath());
     }
 
     // ── UI helpers ─────────────────────────────────────────────────────────────
@@ -763,6 +808,7 @@ public class HistoryView extends VerticalLayout {
     private static class HistoryItem implements Serializable {
         private static final long serialVersionUID = 1L;
 
+        final int id;
         final String title;
         final String company;
         final String date;
@@ -771,8 +817,9 @@ public class HistoryView extends VerticalLayout {
         final LocalDateTime timestamp;
         final String filePath;
 
-        HistoryItem(String title, String company, String date, String status, int pin, LocalDateTime timestamp,
-                String filePath) {
+        HistoryItem(int id, String title, String company, String date, String status, int pin,
+                LocalDateTime timestamp, String filePath) {
+            this.id = id;
             this.title = title;
             this.company = company;
             this.date = date;
@@ -219,6 +219,8 @@ public class MainLayout extends AppLayout {
                 VaadinIcon.DASHBOARD);
         SideNavItem generate = createNavItem(translationService.translate("nav.generator"), "generator-wizard",
                 VaadinIcon.MAGIC);
+        SideNavItem batch = createNavItem(translationService.translate("nav.batch"), "batch-generator",
+                VaadinIcon.COPY);
         SideNavItem history = createNavItem(translationService.translate("nav.history"), "history", VaadinIcon.CLOCK);
 
         // Add Resume section
@@ -241,7 +243,7 @@ public class MainLayout extends AppLayout {
 
         SideNavItem help = createNavItem(translationService.translate("nav.help"), "help", VaadinIcon.QUESTION_CIRCLE);
 
-        nav.addItem(dashboard, generate, history);
+        nav.addItem(dashboard, generate, batch, history);
 
         // Add items with custom styling
         drawer.add(logoSection, mainLabel, nav, toolsLabel);
@@ -0,0 +1,205 @@
+package com.clbooster.app.views;
+
+import com.vaadin.flow.server.VaadinRequest;
+import com.vaadin.flow.server.VaadinResponse;
+import com.vaadin.flow.server.streams.DownloadEvent;
+import com.vaadin.flow.server.streams.DownloadHandler;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Serves a stored file from disk as a download, without reading it into
+ * memory.
+ *
+ * Responses carry Content-Length, Last-Modified and an ETag derived from the
+ * file size and modification time, so a browser revalidating an unchanged
+ * file gets a 304. A single {@code Range: bytes=...} request is honoured with
+ * a 206 response so an interrupted download can be resumed; malformed or
+ * multi-range headers fall back to the whole file.
+ *
+ * When the servlet container offers sendfile (Tomcat's NIO connector does)
+ * the body is handed to the kernel; otherwise it is copied with
+ * {@link FileChannel#transferTo}.
+ */
+class RangeFileDownloadHandler implements DownloadHandler {
+    private static final long serialVersionUID = 1L;
+
+    // Tomcat's sendfile request attributes (org.apache.catalina.Globals)
+    static final String SENDFILE_SUPPORTED = "org.apache.tomcat.sendfile.support";
+    static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private final transient Path file;
+    private final String fileName;
+    private final String contentType;
+    private final boolean inline;
+
+    RangeFileDownloadHandler(Path file, String fileName, String contentType) {
+        this(file, fileName, contentType, false);
+    }
+
+    /**
+     * @param inline {@code true} to let the browser display the file (e.g. in a
+     *               new tab) instead of saving it
+     */
+    RangeFileDownloadHandler(Path file, String fileName, String contentType, boolean inline) {
+        this.file = file;
+        this.fileName = fileName;
+        this.contentType = contentType;
+        this.inline = inline;
+    }
+
+    @Override
+    public void handleDownloadRequest(DownloadEvent event) throws IOException {
+        VaadinRequest request = event.getRequest();
+        VaadinResponse response = event.getResponse();
+        long size = Files.size(file);
+        long lastModified = Files.getLastModifiedTime(file).toMillis();
+        String etag = etag(size, lastModified);
+
+        response.setHeader("Accept-Ranges", "bytes");
+        response.setHeader("ETag", etag);
+        response.setDateHeader("Last-Modified", lastModified);
+        // Letters and resumes are personal; never let a shared cache keep them
+        response.setHeader("Cache-Control", "private, no-cache");
+
+        if (notModified(request, etag, lastModified)) {
+            response.setStatus(304);
+            return;
+        }
+
+        long start = 0;
+        long end = size - 1;
+        long[] range = rangeStillValid(request, etag, lastModified)
+                ? parseRange(request.getHeader("Range"), size)
+                : null;
+        if (range != null) {
+            if (range[0] >= size) {
+                response.setStatus(416);
+                response.setHeader("Content-Range", "bytes */" + size);
+                return;
+            }
+            start = range[0];
+            end = range[1];
+            response.setStatus(206);
+            response.setHeader("Content-Range", "bytes " + start + "-" + end + "/" + size);
+        }
+
+        if (inline) {
+            response.setHeader("Content-Disposition", "inline");
+        } else {
+            event.setFileName(fileName);
+        }
+        event.setContentType(contentType);
+        event.setContentLength(end - start + 1);
+
+        if (size > 0 && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED))) {
+            request.setAttribute(SENDFILE_FILENAME, file.toAbsolutePath().normalize().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end + 1);
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+                OutputStream out = event.getOutputStream()) {
+            WritableByteChannel target = Channels.newChannel(out);
+            long position = start;
+            while (position <= end) {
+                long sent = channel.transferTo(position, end - position + 1, target);
+                if (sent <= 0)
+                    break;
+                position += sent;
+            }
+        }
+    }
+
+    static String etag(long size, long lastModified) {
+        return "\"" + Long.toHexString(size) + "-" + Long.toHexString(lastModified) + "\"";
+    }
+
+    private static boolean notModified(VaadinRequest request, String etag, long lastModified) {
+        String ifNoneMatch = request.getHeader("If-None-Match");
+        if (ifNoneMatch != null) {
+            // If-None-Match wins over If-Modified-Since when both are sent
+            for (String candidate : ifNoneMatch.split(",")) {
+                String tag = candidate.trim();
+                if (tag.equals("*") || tag.equals(etag) || tag.equals("W/" + etag)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        long ifModifiedSince = dateHeader(request, "If-Modified-Since");
+        // HTTP dates have one-second precision
+        return ifModifiedSince != -1 && lastModified / 1000 <= ifModifiedSince / 1000;
+    }
+
+    /**
+     * A Range request guarded by If-Range only applies while the file is still
+     * the version the client started downloading.
+     */
+    private static boolean rangeStillValid(VaadinRequest request, String etag, long lastModified) {
+        String ifRange = request.getHeader("If-Range");
+        if (ifRange == null) {
+            return true;
+        }
+        if (ifRange.trim().startsWith("\"")) {
+            return ifRange.trim().equals(etag);
+        }
+        long date = dateHeader(request, "If-Range");
+        return date != -1 && lastModified / 1000 == date / 1000;
+    }
+
+    private static long dateHeader(VaadinRequest request, String name) {
+        try {
+            return request.getDateHeader(name);
+        } catch (IllegalArgumentException e) {
+            // Unparseable dates are treated as absent
+            return -1;
+        }
+    }
+
+    /**
+     * Parses a single byte range against a file of {@code size} bytes.
+     *
+     * @return {@code {start, end}} with {@code end} clamped to the file, a
+     *         start of {@code size} or more when the range is unsatisfiable,
+     *         or {@code null} when the header should be ignored
+     */
+    static long[] parseRange(String header, long size) {
+        if (header == null || !header.startsWith("bytes=") || header.indexOf(',') >= 0) {
+            return null;
+        }
+        String spec = header.substring("bytes=".length()).trim();
+        int dash = spec.indexOf('-');
+        if (dash < 0) {
+            return null;
+        }
+        try {
+            if (dash == 0) {
+                // Suffix range: the last n bytes
+                long n = Long.parseLong(spec.substring(1));
+                if (n < 0) {
+                    return null;
+                }
+                return new long[] { n == 0 ? size : Math.max(0, size - n), size - 1 };
+            }
+            long start = Long.parseLong(spec.substring(0, dash));
+            String last = spec.substring(dash + 1);
+            long end = last.isEmpty() ? Long.MAX_VALUE : Long.parseLong(last);
+            if (start < 0 || end < start) {
+                return null;
+            }
+            return new long[] { start, Math.min(end, size - 1) };
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -6,6 +6,7 @@ import jakarta.annotation.security.PermitAll;
 import com.clbooster.app.backend.service.authentication.AuthenticationService;
 import com.clbooster.app.backend.service.document.DocumentService;
 import com.clbooster.app.backend.service.profile.ProfileService;
+import com.clbooster.app.backend.service.search.SearchHit;
 import com.clbooster.app.i18n.TranslationService;
 import com.vaadin.flow.component.button.Button;
 import com.vaadin.flow.component.contextmenu.ContextMenu;
@@ -25,11 +26,10 @@ import com.vaadin.flow.component.upload.Upload;
 import com.vaadin.flow.component.upload.receivers.FileBuffer;
 import com.vaadin.flow.component.textfield.TextArea;
 import com.vaadin.flow.component.textfield.TextField;
+import com.vaadin.flow.data.value.ValueChangeMode;
 import com.vaadin.flow.router.PageTitle;
 import com.vaadin.flow.router.Route;
-import com.vaadin.flow.server.StreamResource;
 
-import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.Serializable;
@@ -52,6 +52,7 @@ import java.util.logging.Logger;
 public class ResumeManagerView extends VerticalLayout {
     private static final String BG_GRADIENT = "linear-gradient(135deg, rgba(0,122,255,0.05) 0%, rgba(90,200,250,0.05) 100%)";
     private static final String RESUME_SORT_BY_RECENT_KEY = "resume.sortByRecent";
+    private static final int SEARCH_PAGE_SIZE = 10;
     private static final String MIME_APPLICATION_PDF = "application/pdf";
     private static final String MIME_APPLICATION_DOCX = "application/vnd.openxmlformats-officedocument.wordprocessingml.document";
 
@@ -73,6 +74,13 @@ public class ResumeManagerView extends VerticalLayout {
     private VerticalLayout resumeListContainer;
     private Span countBadge;
 
+    // Full-text search state; resumeQuery is null when the plain list is shown
+    private String resumeQuery;
+    private final List<ResumeData> searchResults = new ArrayList<>();
+    private int searchOffset;
+    private boolean moreSearchResults;
+    private Button moreResultsButton;
+
     public ResumeManagerView(DocumentService documentService) {
         this.documentService = documentService;
         this.translationService = new TranslationService();
@@ -270,9 +278,16 @@ public class ResumeManagerView extends VerticalLayout {
         resumeListContainer.setSpacing(false);
         resumeListContainer.getStyle().set("gap", "16px");
 
+        moreResultsButton = new Button(translationService.translate("resume.moreResults"), e -> loadSearchResults());
+        moreResultsButton.getStyle().set(StyleConstants.CSS_BACKGROUND, StyleConstants.VAL_TRANSPARENT)
+                .set(StyleConstants.CSS_COLOR, TEXT_SECONDARY).set(StyleConstants.CSS_FONT_WEIGHT, "500")
+                .set(StyleConstants.CSS_BORDER, "1px dashed rgba(0,0,0,0.15)")
+                .set(StyleConstants.CSS_BORDER_RADIUS, "12px").set(StyleConstants.CSS_WIDTH, "95%");
+
         refreshResumeList();
 
-        panel.add(tabToggle, uploadZone, pastePanel, listHeader, resumeListContainer);
+        panel.add(tabToggle, uploadZone, pastePanel, listHeader, createResumeSearchField(), resumeListContainer,
+                moreResultsButton);
 
         return panel;
     }
@@ -485,17 +500,61 @@ public class ResumeManagerView extends VerticalLayout {
 
     private void refreshResumeList() {
         resumeListContainer.removeAll();
+        List<ResumeData> shown = resumeQuery != null ? searchResults : resumes;
 
-        if (resumes.isEmpty()) {
+        if (shown.isEmpty() && resumeQuery != null) {
+            Paragraph noMatches = new Paragraph(translationService.translate("resume.noMatches"));
+            noMatches.getStyle().set(StyleConstants.CSS_COLOR, TEXT_SECONDARY);
+            resumeListContainer.add(noMatches);
+        } else if (shown.isEmpty()) {
             resumeListContainer.add(createEmptyState());
         } else {
-            for (ResumeData resume : resumes) {
+            for (ResumeData resume : shown) {
                 resumeListContainer.add(createResumeCard(resume));
             }
         }
 
         // Update count badge
-        countBadge.setText(String.valueOf(resumes.size()));
+        countBadge.setText(String.valueOf(shown.size()));
+        moreResultsButton.setVisible(resumeQuery != null && moreSearchResults);
+    }
+
+    private TextField createResumeSearchField() {
+        TextField field = new TextField();
+        field.setPlaceholder(translationService.translate("resume.searchContent"));
+        field.setPrefixComponent(VaadinIcon.SEARCH.create());
+        field.setClearButtonVisible(true);
+        field.setWidth("95%");
+        field.getStyle().set("--vaadin-input-field-background", BG_GRAY).set("--vaadin-input-field-border-radius",
+                "12px");
+        field.setValueChangeMode(ValueChangeMode.LAZY);
+        field.addValueChangeListener(e -> searchResumes(e.getValue()));
+        return field;
+    }
+
+    private void searchResumes(String query) {
+        resumeQuery = query != null && !query.isBlank() ? query.trim() : null;
+        searchResults.clear();
+        searchOffset = 0;
+        moreSearchResults = false;
+        if (resumeQuery != null) {
+            loadSearchResults();
+        } else {
+            refreshResumeList();
+        }
+    }
+
+    /** Appends the next page of ranked hits, matched to the resumes on disk. */
+    private void loadSearchResults() {
+        List<SearchHit> hits = documentService.searchResumes(getCurrentUserPin(), resumeQuery, searchOffset,
+                SEARCH_PAGE_SIZE);
+        searchOffset += hits.size();
+        moreSearchResults = hits.size() == SEARCH_PAGE_SIZE;
+        for (SearchHit hit : hits) {
+            resumes.stream().filter(r -> r.filePath.equals(hit.getFilePath())).findFirst()
+                    .ifPresent(searchResults::add);
+        }
+        refreshResumeList();
     }
 
     private VerticalLayout createEmptyState() {
@@ -647,9 +706,9 @@ public class ResumeManagerView extends VerticalLayout {
 
     private void downloadResume(ResumeData resume) {
         try {
-            byte[] bytes = documentService.retrieveResumeFile(resume.filePath);
+            Path file = documentService.resolveResumeFile(resume.filePath);
             String mimeType = resume.format.equalsIgnoreCase("PDF") ? MIME_APPLICATION_PDF : MIME_APPLICATION_DOCX;
-            serveDownload(bytes, mimeType, resume.name);
+            BrowserDownload.save(this, new RangeFileDownloadHandler(file, resume.name, mimeType), resume.name);
             Notification.show(translationService.translate("resume.downloading", resume.name), 2000,
                     Notification.Position.TOP_CENTER);
         } catch (IOException ex) {
@@ -661,24 +720,14 @@ public class ResumeManagerView extends VerticalLayout {
 
     private void viewResume(ResumeData resume) {
         try {
-            byte[] bytes = documentService.retrieveResumeFile(resume.filePath);
+            Path file = documentService.resolveResumeFile(resume.filePath);
             String mimeType = switch (resume.format.toUpperCase()) {
             case "PDF" -> MIME_APPLICATION_PDF;
             case "TXT" -> "text/plain";
             default -> MIME_APPLICATION_DOCX;
             };
 
-            StreamResource resource = new StreamResource(resume.name, () -> new ByteArrayInputStream(bytes));
-            resource.setContentType(mimeType);
-
-            com.vaadin.flow.component.html.Anchor anchor = new com.vaadin.flow.component.html.Anchor(resource, "");
-            anchor.getElement().setAttribute("target", "_blank");
-            anchor.getElement().setAttribute("style", "display:none");
-            add(anchor);
-            anchor.getElement().executeJs(
-                    "var a=$0;setTimeout(function(){a.click();setTimeout(function(){a.remove();},1000);},100);",
-                    anchor.getElement());
-
+            BrowserDownload.open(this, new RangeFileDownloadHandler(file, resume.name, mimeType, true));
         } catch (IOException ex) {
             LOGGER.log(Level.SEVERE, "View error", ex);
             Notification.show(translationService.translate("resume.openError", ex.getMessage()), 3000,
@@ -699,6 +748,7 @@ public class ResumeManagerView extends VerticalLayout {
     private void deleteResume(ResumeData resume) {
         if (documentService.deleteResumeFile(resume.filePath)) {
             resumes.remove(resume);
+            searchResults.remove(resume);
             refreshResumeList();
             Notification.show(translationService.translate("resume.resumeDeleted"), 2000,
                     Notification.Position.TOP_CENTER);
@@ -858,20 +908,6 @@ public class ResumeManagerView extends VerticalLayout {
         }
     }
 
-    /** Serves bytes as a browser download using a hidden anchor + JS click. */
-    private void serveDownload(byte[] bytes, String mimeType, String fileName) {
-        StreamResource resource = new StreamResource(fileName, () -> new ByteArrayInputStream(bytes));
-        resource.setContentType(mimeType);
-
-        com.vaadin.flow.component.html.Anchor anchor = new com.vaadin.flow.component.html.Anchor(resource, "");
-        anchor.getElement().setAttribute("download", fileName);
-        anchor.getElement().setAttribute("style", "display:none");
-        add(anchor);
-        anchor.getElement().executeJs(
-                "var a=$0;setTimeout(function(){a.click();setTimeout(function(){a.remove();},1000);},100);",
-                anchor.getElement());
-    }
-
     private enum ResumeSort {
         RECENT, NAME_ASC, NAME_DESC, SIZE
     }
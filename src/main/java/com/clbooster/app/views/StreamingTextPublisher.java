@@ -0,0 +1,50 @@
+package com.clbooster.app.views;
+
+import com.vaadin.flow.component.UI;
+
+import java.util.function.Consumer;
+
+/**
+ * Accumulates streamed tokens and pushes the text so far to the UI in batches.
+ *
+ * The first token is shown right away; after that at most one
+ * {@link UI#access} round-trip is made per interval, so a fast token stream
+ * does not flood the push connection. The caller sets the final text itself
+ * once the stream completes.
+ */
+class StreamingTextPublisher implements Consumer<String> {
+
+    static final long DEFAULT_INTERVAL_MS = 150;
+
+    private final UI ui;
+    private final Consumer<String> target;
+    private final long intervalNanos;
+
+    // Guarded by "this"; tokens arrive on the model client's thread
+    private final StringBuilder text = new StringBuilder();
+    private long lastPushNanos;
+    private boolean pushed;
+
+    StreamingTextPublisher(UI ui, Consumer<String> target) {
+        this(ui, target, DEFAULT_INTERVAL_MS);
+    }
+
+    StreamingTextPublisher(UI ui, Consumer<String> target, long intervalMs) {
+        this.ui = ui;
+        this.target = target;
+        this.intervalNanos = intervalMs * 1_000_000;
+    }
+
+    @Override
+    public synchronized void accept(String token) {
+        text.append(token);
+        long now = System.nanoTime();
+        if (pushed && now - lastPushNanos < intervalNanos) {
+            return;
+        }
+        pushed = true;
+        lastPushNanos = now;
+        String snapshot = text.toString();
+        ui.access(() -> target.accept(snapshot));
+    }
+}
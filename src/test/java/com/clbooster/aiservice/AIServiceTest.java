@@ -1,6 +1,10 @@
 package com.clbooster.aiservice;
 
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.model.StreamingResponseHandler;
 import dev.langchain4j.model.chat.ChatLanguageModel;
+import dev.langchain4j.model.chat.StreamingChatLanguageModel;
+import dev.langchain4j.model.output.Response;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
@@ -8,10 +12,16 @@ import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
@@ -35,6 +45,10 @@ class AIServiceTest {
         field.set(aiService, mockModel);
     }
 
+    private static Response<AiMessage> reply(String text) {
+        return Response.from(AiMessage.from(text));
+    }
+
     @Test
     void testGenerateCoverLetter_Success() {
         // Arrange
@@ -44,8 +58,8 @@ class AIServiceTest {
         String mockFinalCL = "Dear Hiring Manager, I love Java...";
 
         // Define behavior for the two internal calls to languageModel.generate()
-        when(mockModel.generate(anyString())).thenReturn(mockAnalysis) // First call (matchQualification)
-                .thenReturn(mockFinalCL); // Second call (writeCoverLetter)
+        when(mockModel.generate(anyList())).thenReturn(reply(mockAnalysis)) // First call (matchQualification)
+                .thenReturn(reply(mockFinalCL)); // Second call (writeCoverLetter)
 
         // Act
         String result = aiService.generateCoverLetter(resume, jobDetails);
@@ -54,30 +68,158 @@ class AIServiceTest {
         assertEquals(mockFinalCL, result);
 
         // Verify the model was called exactly twice
-        verify(mockModel, times(2)).generate(anyString());
+        verify(mockModel, times(2)).generate(anyList());
     }
 
     @Test
     void testGenerateCoverLetter_WithEmptyInputs() {
         // Testing empty strings to ensure the replace() logic doesn't crash
         // and covers the logic branches for string manipulation.
-        when(mockModel.generate(anyString())).thenReturn("Result");
+        when(mockModel.generate(anyList())).thenReturn(reply("Result"));
 
         String result = aiService.generateCoverLetter("", "");
 
         assertEquals("Result", result);
-        verify(mockModel, times(2)).generate(anyString());
+        verify(mockModel, times(2)).generate(anyList());
     }
 
     @Test
     void testGenerateCoverLetter_StripsMarkdownJsonFence() {
-        when(mockModel.generate(anyString())).thenReturn("```json\n{\"key\":\"value\"}\n```")
-                .thenReturn("Final cover letter");
+        when(mockModel.generate(anyList())).thenReturn(reply("```json\n{\"key\":\"value\"}\n```"))
+                .thenReturn(reply("Final cover letter"));
 
         String result = aiService.generateCoverLetter("resume", "job", "Creative");
 
         assertEquals("Final cover letter", result);
-        verify(mockModel, times(2)).generate(anyString());
+        verify(mockModel, times(2)).generate(anyList());
+    }
+
+    @Test
+    void testGenerateCoverLetter_reusesCachedAnalysisForNewTone() {
+        when(mockModel.generate(anyList())).thenReturn(reply("analysis")).thenReturn(reply("Creative letter"))
+                .thenReturn(reply("Storyteller letter"));
+
+        assertEquals("Creative letter", aiService.generateCoverLetter("resume", "job", "Creative"));
+        assertEquals("Storyteller letter", aiService.generateCoverLetter("resume", "job", "Storyteller"));
+
+        // One analysis call plus one drafting call per tone
+        verify(mockModel, times(3)).generate(anyList());
+    }
+
+    @Test
+    void testGenerateCoverLetterStreaming_forwardsTokensAndReturnsFullText() throws Exception {
+        StreamingChatLanguageModel streamingModel = mockStreamingModel();
+        when(mockModel.generate(anyList())).thenReturn(reply("analysis"));
+        doAnswer(invocation -> {
+            StreamingResponseHandler<AiMessage> handler = invocation.getArgument(1);
+            handler.onNext("Dear ");
+            handler.onNext("Hiring Manager");
+            handler.onComplete(Response.from(AiMessage.from("Dear Hiring Manager")));
+            return null;
+        }).when(streamingModel).generate(anyString(), Mockito.<StreamingResponseHandler<AiMessage>> any());
+
+        List<String> tokens = new ArrayList<>();
+        String result = aiService.generateCoverLetterStreaming("resume", "job", "Creative", tokens::add);
+
+        assertEquals("Dear Hiring Manager", result);
+        assertEquals(List.of("Dear ", "Hiring Manager"), tokens);
+        verify(mockModel, times(1)).generate(anyList());
+    }
+
+    @Test
+    void testGenerateCoverLetterStreaming_propagatesStreamError() throws Exception {
+        StreamingChatLanguageModel streamingModel = mockStreamingModel();
+        when(mockModel.generate(anyList())).thenReturn(reply("analysis"));
+        doAnswer(invocation -> {
+            StreamingResponseHandler<AiMessage> handler = invocation.getArgument(1);
+            handler.onError(new IllegalStateException("quota exceeded"));
+            return null;
+        }).when(streamingModel).generate(anyString(), Mockito.<StreamingResponseHandler<AiMessage>> any());
+
+        IllegalStateException ex = assertThrows(IllegalStateException.class,
+                () -> aiService.generateCoverLetterStreaming("resume", "job", "Creative", token -> {
+                }));
+        assertEquals("quota exceeded", ex.getMessage());
+    }
+
+    @Test
+    void testGenerateCoverLetterStreaming_retriesTransientErrorBeforeFirstToken() throws Exception {
+        StreamingChatLanguageModel streamingModel = mockStreamingModel();
+        when(mockModel.generate(anyList())).thenReturn(reply("analysis"));
+        doAnswer(invocation -> {
+            StreamingResponseHandler<AiMessage> handler = invocation.getArgument(1);
+            handler.onError(new IllegalStateException("503 Service Unavailable"));
+            return null;
+        }).doAnswer(invocation -> {
+            StreamingResponseHandler<AiMessage> handler = invocation.getArgument(1);
+            handler.onNext("Hello");
+            handler.onComplete(Response.from(AiMessage.from("Hello")));
+            return null;
+        }).when(streamingModel).generate(anyString(), Mockito.<StreamingResponseHandler<AiMessage>> any());
+
+        assertEquals("Hello", aiService.generateCoverLetterStreaming("resume", "job", "Creative", token -> {
+        }));
+        verify(streamingModel, times(2)).generate(anyString(), Mockito.<StreamingResponseHandler<AiMessage>> any());
+    }
+
+    @Test
+    void testGenerateCoverLetterStreaming_doesNotRetryAfterTokensWereShown() throws Exception {
+        StreamingChatLanguageModel streamingModel = mockStreamingModel();
+        when(mockModel.generate(anyList())).thenReturn(reply("analysis"));
+        doAnswer(invocation -> {
+            StreamingResponseHandler<AiMessage> handler = invocation.getArgument(1);
+            handler.onNext("Dear ");
+            handler.onError(new IllegalStateException("503 Service Unavailable"));
+            return null;
+        }).when(streamingModel).generate(anyString(), Mockito.<StreamingResponseHandler<AiMessage>> any());
+
+        assertThrows(IllegalStateException.class,
+                () -> aiService.generateCoverLetterStreaming("resume", "job", "Creative", token -> {
+                }));
+        verify(streamingModel, times(1)).generate(anyString(), Mockito.<StreamingResponseHandler<AiMessage>> any());
+    }
+
+    @Test
+    void testRetries_eachTakeARateLimitPermit() {
+        LlmRateLimiter rateLimiter = spy(LlmRateLimiter.withDefaults());
+        LlmProvider provider = mock(LlmProvider.class);
+        when(provider.chatModel()).thenReturn(mockModel);
+        AIService service = new AIService(provider, new AnalysisCache(10, 60), LlmResilience.withDefaults(),
+                rateLimiter);
+        when(mockModel.generate(anyList())).thenThrow(new IllegalStateException("429 RESOURCE_EXHAUSTED"))
+                .thenReturn(reply("analysis")).thenReturn(reply("letter"));
+
+        assertEquals("letter", service.generateCoverLetter("resume", "job", "Creative"));
+
+        // Two analysis attempts and one draft: three provider requests, three permits
+        verify(mockModel, times(3)).generate(anyList());
+        verify(rateLimiter, times(3)).acquire(anyString(), anyLong());
+    }
+
+    @Test
+    void testThrottledRetry_doesNotTripTheCircuitBreaker() throws Exception {
+        // Budgets far shorter than the quota wait; two failures in a row would open the circuit
+        LlmResilience resilience = new LlmResilience(new LlmResilience.Policy(Duration.ofMillis(300),
+                Duration.ofMillis(300), 2, Duration.ZERO, Duration.ZERO, 10, 2, 1.0, Duration.ofMinutes(1), 1, 8),
+                Clock.systemUTC());
+        LlmRateLimiter rateLimiter = spy(LlmRateLimiter.withDefaults());
+        AtomicInteger acquired = new AtomicInteger();
+        doAnswer(inv -> {
+            if (acquired.incrementAndGet() == 2) {
+                Thread.sleep(600);
+            }
+            return inv.callRealMethod();
+        }).when(rateLimiter).acquire(anyString(), anyLong());
+        LlmProvider provider = mock(LlmProvider.class);
+        when(provider.chatModel()).thenReturn(mockModel);
+        AIService service = new AIService(provider, new AnalysisCache(10, 60), resilience, rateLimiter);
+        when(mockModel.generate(anyList())).thenThrow(new IllegalStateException("429 RESOURCE_EXHAUSTED"))
+                .thenReturn(reply("analysis")).thenReturn(reply("letter"));
+
+        assertEquals("letter", service.generateCoverLetter("resume", "job", "Creative"));
+
+        assertEquals(LlmResilience.State.CLOSED, resilience.getState());
+        verify(mockModel, times(3)).generate(anyList());
     }
 
     @Test
@@ -96,6 +238,14 @@ class AIServiceTest {
         assertEquals("", blank);
     }
 
+    private StreamingChatLanguageModel mockStreamingModel() throws Exception {
+        StreamingChatLanguageModel streamingModel = Mockito.mock(StreamingChatLanguageModel.class);
+        Field field = AIService.class.getDeclaredField("streamingModel");
+        field.setAccessible(true);
+        field.set(aiService, streamingModel);
+        return streamingModel;
+    }
+
     @Test
     void testGetLanguageModel_throwsWhenApiKeyMissing() throws Exception {
         AIService noKeyService = new AIService(" ");
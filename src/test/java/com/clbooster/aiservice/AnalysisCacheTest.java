@@ -0,0 +1,95 @@
+package com.clbooster.aiservice;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class AnalysisCacheTest {
+
+    @Test
+    void key_dependsOnResumeJobAndPromptVersion() {
+        String key = AnalysisCache.key("v1", "resume", "job");
+
+        assertEquals(key, AnalysisCache.key("v1", "resume", "job"));
+        assertNotEquals(key, AnalysisCache.key("v2", "resume", "job"));
+        assertNotEquals(key, AnalysisCache.key("v1", "resume2", "job"));
+        assertNotEquals(key, AnalysisCache.key("v1", "resume", "job2"));
+    }
+
+    @Test
+    void get_countsHitsAndMisses() {
+        AnalysisCache cache = new AnalysisCache(10, 60);
+
+        assertNull(cache.get("k"));
+        cache.put("k", "analysis");
+
+        assertEquals("analysis", cache.get("k"));
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+    }
+
+    @Test
+    void get_expiresEntriesAfterTtl() {
+        MutableClock clock = new MutableClock(Instant.parse("2026-01-01T00:00:00Z"));
+        AnalysisCache cache = new AnalysisCache(10, Duration.ofMinutes(5), clock);
+        cache.put("k", "analysis");
+
+        clock.now = clock.now.plus(Duration.ofMinutes(4));
+        assertEquals("analysis", cache.get("k"));
+
+        clock.now = clock.now.plus(Duration.ofMinutes(2));
+        assertNull(cache.get("k"));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void put_evictsLeastRecentlyUsedWhenFull() {
+        AnalysisCache cache = new AnalysisCache(2, 60);
+        cache.put("a", "1");
+        cache.put("b", "2");
+        cache.get("a");
+
+        cache.put("c", "3");
+
+        assertEquals("1", cache.get("a"));
+        assertNull(cache.get("b"));
+        assertEquals("3", cache.get("c"));
+    }
+
+    @Test
+    void constructor_rejectsInvalidLimits() {
+        assertThrows(IllegalArgumentException.class, () -> new AnalysisCache(-1, 60));
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
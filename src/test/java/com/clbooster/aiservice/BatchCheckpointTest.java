@@ -0,0 +1,92 @@
+package com.clbooster.aiservice;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BatchCheckpointTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void markDone_survivesARestart() throws Exception {
+        Path log = tempDir.resolve("progress.log");
+        Files.writeString(tempDir.resolve("1.docx"), "letter");
+        try (BatchCheckpoint checkpoint = new BatchCheckpoint(log)) {
+            assertFalse(checkpoint.isDone("1"));
+            checkpoint.markDone("1", "1.docx");
+            assertTrue(checkpoint.isDone("1"));
+        }
+
+        try (BatchCheckpoint reopened = new BatchCheckpoint(log)) {
+            assertTrue(reopened.isDone("1"));
+            assertFalse(reopened.isDone("2"));
+        }
+    }
+
+    @Test
+    void isDone_requiresTheDocumentToStillExist() throws Exception {
+        Path log = tempDir.resolve("progress.log");
+        Path letter = Files.writeString(tempDir.resolve("1.docx"), "letter");
+        try (BatchCheckpoint checkpoint = new BatchCheckpoint(log)) {
+            checkpoint.markDone("1", "1.docx");
+        }
+        Files.delete(letter);
+
+        try (BatchCheckpoint reopened = new BatchCheckpoint(log)) {
+            assertFalse(reopened.isDone("1"));
+        }
+    }
+
+    @Test
+    void tornLastLine_isIgnored() throws Exception {
+        Path log = tempDir.resolve("progress.log");
+        Files.writeString(tempDir.resolve("1.docx"), "letter");
+        Files.writeString(log, "1\t1.docx\n2\t", StandardOpenOption.CREATE);
+
+        try (BatchCheckpoint checkpoint = new BatchCheckpoint(log)) {
+            assertTrue(checkpoint.isDone("1"));
+            assertFalse(checkpoint.isDone("2"));
+        }
+    }
+
+    @Test
+    void tornLastLine_isCutOffBeforeNewLinesAreAppended() throws Exception {
+        Path log = tempDir.resolve("progress.log");
+        Files.writeString(log, "6\t6_Acme.docx\n7\tjob7_Acme.do", StandardOpenOption.CREATE);
+        for (String id : new String[] { "6", "7", "8" }) {
+            Files.writeString(tempDir.resolve(id + "_Acme.docx"), "letter");
+        }
+
+        try (BatchCheckpoint checkpoint = new BatchCheckpoint(log)) {
+            assertNull(checkpoint.fileOf("7"));
+            checkpoint.markDone("7", "7_Acme.docx");
+            checkpoint.markDone("8", "8_Acme.docx");
+        }
+
+        assertEquals(List.of("6\t6_Acme.docx", "7\t7_Acme.docx", "8\t8_Acme.docx"), Files.readAllLines(log));
+        try (BatchCheckpoint reopened = new BatchCheckpoint(log)) {
+            assertEquals("7_Acme.docx", reopened.fileOf("7"));
+            assertTrue(reopened.isDone("7"));
+            assertTrue(reopened.isDone("8"));
+        }
+    }
+
+    @Test
+    void markDone_rejectsIdsThatWouldBreakTheLog() throws Exception {
+        try (BatchCheckpoint checkpoint = new BatchCheckpoint(tempDir.resolve("progress.log"))) {
+            assertThrows(IllegalArgumentException.class, () -> checkpoint.markDone("a\tb", "x.docx"));
+        }
+    }
+}
@@ -0,0 +1,210 @@
+package com.clbooster.aiservice;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class BatchCliTest {
+
+    @TempDir
+    Path tempDir;
+
+    private BatchCli.Options options(Path jobs) {
+        return new BatchCli.Options(tempDir.resolve("resume.pdf"), jobs, tempDir.resolve("out"), 2, "Professional",
+                60, "stub", 0);
+    }
+
+    private Path jobsFile(int count) throws Exception {
+        StringBuilder lines = new StringBuilder();
+        for (int i = 1; i <= count; i++) {
+            lines.append("{\"company\": \"Company ").append(i).append("\", \"title\": \"Engineer\", ")
+                    .append("\"description\": \"Posting ").append(i).append("\"}\n");
+        }
+        return Files.writeString(tempDir.resolve("jobs.jsonl"), lines);
+    }
+
+    private static Parser parser() {
+        Parser parser = mock(Parser.class);
+        when(parser.parseFileToJson(anyString())).thenReturn("parsed resume");
+        return parser;
+    }
+
+    @Test
+    void run_writesOneDocumentPerPostingWithTheStubProvider() throws Exception {
+        LlmRateLimiter rateLimiter = LlmRateLimiter.withDefaults();
+        AIService aiService = new AIService(new StubLlmProvider(StubLlmProvider.Options.instant()),
+                new AnalysisCache(10, 60), LlmResilience.withDefaults(), rateLimiter);
+        Parser parser = parser();
+
+        int exit = BatchCli.run(options(jobsFile(3)), aiService, rateLimiter, parser, new Exporter());
+
+        assertEquals(BatchCli.EXIT_OK, exit);
+        Path out = tempDir.resolve("out");
+        for (int i = 1; i <= 3; i++) {
+            assertTrue(Files.size(out.resolve(i + "_Company_" + i + "_Engineer.docx")) > 0);
+        }
+        assertEquals(3, Files.readAllLines(out.resolve(BatchCli.CHECKPOINT_FILE)).size());
+        verify(parser, times(1)).parseFileToJson(anyString());
+        assertTrue(rateLimiter.getTokenTotals().get("completion") > 0);
+    }
+
+    @Test
+    void run_resumesFromTheCheckpointAfterFailures() throws Exception {
+        Path jobs = jobsFile(3);
+        AIService flaky = mock(AIService.class);
+        when(flaky.generateCoverLetter(anyString(), anyString(), anyString())).thenReturn("letter");
+        when(flaky.generateCoverLetter(anyString(), contains("Posting 2"), anyString()))
+                .thenThrow(new LlmUnavailableException("Model unavailable", null));
+
+        int firstExit = BatchCli.run(options(jobs), flaky, LlmRateLimiter.withDefaults(), parser(), new Exporter());
+
+        assertEquals(BatchCli.EXIT_FAILURES, firstExit);
+        assertFalse(Files.exists(tempDir.resolve("out/2_Company_2_Engineer.docx")));
+
+        AIService healthy = mock(AIService.class);
+        when(healthy.generateCoverLetter(anyString(), anyString(), anyString())).thenReturn("letter");
+
+        int secondExit = BatchCli.run(options(jobs), healthy, LlmRateLimiter.withDefaults(), parser(),
+                new Exporter());
+
+        assertEquals(BatchCli.EXIT_OK, secondExit);
+        assertTrue(Files.exists(tempDir.resolve("out/2_Company_2_Engineer.docx")));
+        verify(healthy, times(1)).generateCoverLetter(anyString(), anyString(), anyString());
+    }
+
+    @Test
+    void run_withEverythingDone_doesNotParseTheResume() throws Exception {
+        Path jobs = jobsFile(1);
+        AIService aiService = mock(AIService.class);
+        when(aiService.generateCoverLetter(anyString(), anyString(), anyString())).thenReturn("letter");
+        BatchCli.run(options(jobs), aiService, LlmRateLimiter.withDefaults(), parser(), new Exporter());
+        Parser parser = parser();
+
+        assertEquals(BatchCli.EXIT_OK,
+                BatchCli.run(options(jobs), aiService, LlmRateLimiter.withDefaults(), parser, new Exporter()));
+
+        verify(parser, never()).parseFileToJson(anyString());
+    }
+
+    @Test
+    void run_badUsage_returnsUsageExitCode() throws Exception {
+        assertEquals(BatchCli.EXIT_USAGE, BatchCli.run(new String[] { "--jobs", "jobs.jsonl" }));
+        assertEquals(BatchCli.EXIT_USAGE, BatchCli.run(new String[] { "--resume" }));
+        assertEquals(BatchCli.EXIT_USAGE, BatchCli.run(options(tempDir.resolve("missing.jsonl")),
+                mock(AIService.class), LlmRateLimiter.withDefaults(), parser(), new Exporter()));
+    }
+
+    @Test
+    void run_duplicateIds_returnsUsageExitCodeBeforeParsingTheResume() throws Exception {
+        Path jobs = Files.writeString(tempDir.resolve("jobs.jsonl"), """
+                {"id": "a", "description": "One"}
+                {"id": "a", "description": "Two"}
+                """);
+        AIService aiService = mock(AIService.class);
+        Parser parser = parser();
+
+        assertEquals(BatchCli.EXIT_USAGE,
+                BatchCli.run(options(jobs), aiService, LlmRateLimiter.withDefaults(), parser, new Exporter()));
+
+        verify(parser, never()).parseFileToJson(anyString());
+        verify(aiService, never()).generateCoverLetter(anyString(), anyString(), anyString());
+    }
+
+    @Test
+    void run_idsWithTheSameFileName_writeSeparateDocuments() throws Exception {
+        Path jobs = Files.writeString(tempDir.resolve("jobs.jsonl"), """
+                {"id": "a b", "description": "One"}
+                {"id": "a_b", "description": "Two"}
+                {"id": "A_B", "description": "Three"}
+                """);
+        AIService aiService = mock(AIService.class);
+        when(aiService.generateCoverLetter(anyString(), anyString(), anyString())).thenReturn("letter");
+
+        assertEquals(BatchCli.EXIT_OK,
+                BatchCli.run(options(jobs), aiService, LlmRateLimiter.withDefaults(), parser(), new Exporter()));
+
+        Path out = tempDir.resolve("out");
+        assertTrue(Files.exists(out.resolve("a_b.docx")));
+        assertTrue(Files.exists(out.resolve("a_b-2.docx")));
+        assertTrue(Files.exists(out.resolve("A_B-3.docx")));
+    }
+
+    @Test
+    void run_exporterFailure_countsAsFailedPosting() throws Exception {
+        AIService aiService = mock(AIService.class);
+        when(aiService.generateCoverLetter(anyString(), anyString(), anyString())).thenReturn("letter");
+        Exporter exporter = mock(Exporter.class);
+        doThrow(new IllegalArgumentException("Bad path")).when(exporter).saveAsDoc(anyString(), anyString());
+
+        assertEquals(BatchCli.EXIT_FAILURES,
+                BatchCli.run(options(jobsFile(1)), aiService, LlmRateLimiter.withDefaults(), parser(), exporter));
+    }
+
+    @Test
+    void fileNames_keepCheckpointedNamesAndAvoidThem() throws Exception {
+        List<BatchJob> jobs = List.of(new BatchJob("a b", "", "", "One"), new BatchJob("x", "", "", "Two"));
+        Map<String, String> names;
+        try (BatchCheckpoint checkpoint = new BatchCheckpoint(tempDir.resolve("checkpoint.tsv"))) {
+            checkpoint.markDone("x", "a_b.docx");
+            names = BatchCli.fileNames(jobs, checkpoint);
+        }
+
+        assertEquals("a_b-2.docx", names.get("a b"));
+        assertEquals("a_b.docx", names.get("x"));
+    }
+
+    @Test
+    void parse_readsAllOptions() {
+        BatchCli.Options options = BatchCli.parse(new String[] { "--resume", "cv.pdf", "--jobs", "jobs.csv", "--out",
+                "letters", "--parallelism", "8", "--tone", "Creative", "--requests-per-minute", "120", "--provider",
+                "stub", "--stub-latency-ms", "200" });
+
+        assertEquals(Path.of("cv.pdf"), options.resume());
+        assertEquals(Path.of("letters"), options.out());
+        assertEquals(8, options.parallelism());
+        assertEquals("Creative", options.tone());
+        assertEquals(120, options.requestsPerMinute());
+        assertEquals("stub", options.provider());
+        assertEquals(200, options.stubLatencyMs());
+        assertThrows(IllegalArgumentException.class,
+                () -> BatchCli.parse(new String[] { "--resume", "a", "--jobs", "b", "--parallelism", "0" }));
+        assertThrows(IllegalArgumentException.class,
+                () -> BatchCli.parse(new String[] { "--resume", "a", "--jobs", "b", "--verbose", "yes" }));
+    }
+
+    @Test
+    void stats_percentilesAndThroughput() {
+        BatchCli.Stats stats = new BatchCli.Stats(5, 1, 4, 0, Duration.ofSeconds(30), List.of(400L, 100L, 300L, 200L));
+
+        assertEquals(200, stats.percentile(50));
+        assertEquals(400, stats.percentile(95));
+        assertEquals(100, stats.percentile(1));
+        assertEquals(8.0, stats.lettersPerMinute(), 0.001);
+        assertEquals(0, new BatchCli.Stats(0, 0, 0, 0, Duration.ZERO, List.of()).percentile(50));
+    }
+
+    @Test
+    void fileName_isBuiltFromIdCompanyAndTitle() {
+        assertEquals("7_Acme_Inc_Senior_Engineer.docx",
+                BatchCli.fileName(new BatchJob("7", "Acme, Inc.", "Senior Engineer", "x")));
+        assertEquals("job.docx", BatchCli.fileName(new BatchJob("!!", "", "", "x")));
+    }
+}
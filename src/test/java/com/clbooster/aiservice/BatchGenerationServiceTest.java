@@ -0,0 +1,251 @@
+package com.clbooster.aiservice;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class BatchGenerationServiceTest {
+
+    private CoverLetterGenerationService generationService;
+
+    @AfterEach
+    void tearDown() {
+        if (generationService != null) {
+            generationService.shutdown();
+        }
+    }
+
+    private static List<BatchJob> jobs(int count) {
+        List<BatchJob> jobs = new ArrayList<>();
+        for (int i = 1; i <= count; i++) {
+            jobs.add(new BatchJob(String.valueOf(i), "Company " + i, "Engineer", "Posting " + i));
+        }
+        return jobs;
+    }
+
+    @Test
+    void start_generatesEveryJobWithTheSameResume() throws Exception {
+        AIService aiService = mock(AIService.class);
+        when(aiService.generateCoverLetter(eq("resume"), anyString(), eq("Creative")))
+                .thenAnswer(inv -> "letter for " + inv.getArgument(1, String.class).lines().findFirst().orElseThrow());
+        generationService = new CoverLetterGenerationService(aiService, 2, 10, 3);
+        BatchGenerationService service = new BatchGenerationService(aiService, generationService);
+        List<BatchGenerationService.Result> delivered = Collections.synchronizedList(new ArrayList<>());
+
+        BatchGenerationService.Batch batch = service.start(1, "resume", "Creative", jobs(7), delivered::add);
+        List<BatchGenerationService.Result> results = batch.whenDone().get(5, TimeUnit.SECONDS);
+
+        assertEquals(7, results.size());
+        assertEquals(7, delivered.size());
+        assertEquals(7, batch.succeeded());
+        assertTrue(results.stream().allMatch(r -> r.status() == BatchGenerationService.Status.DONE
+                && r.letter().equals("letter for Job Title: Engineer")));
+    }
+
+    @Test
+    void start_keepsAtMostTheUsersQuotaInFlight() throws Exception {
+        AIService aiService = mock(AIService.class);
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        when(aiService.generateCoverLetter(anyString(), anyString(), anyString())).thenAnswer(inv -> {
+            peak.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            Thread.sleep(20);
+            inFlight.decrementAndGet();
+            return "letter";
+        });
+        generationService = new CoverLetterGenerationService(aiService, 8, 10, 3);
+        BatchGenerationService service = new BatchGenerationService(aiService, generationService);
+
+        BatchGenerationService.Batch batch = service.start(1, "resume", "Professional", jobs(10), r -> {
+        });
+
+        batch.whenDone().get(5, TimeUnit.SECONDS);
+        assertEquals(10, batch.succeeded());
+        assertTrue(peak.get() <= 3, "peak " + peak.get());
+    }
+
+    @Test
+    void start_whenTheUserHasOtherGenerationsPending_waitsForSlotsInsteadOfFailing() throws Exception {
+        AIService aiService = mock(AIService.class);
+        when(aiService.generateCoverLetter(anyString(), anyString(), anyString())).thenReturn("letter");
+        generationService = new CoverLetterGenerationService(aiService, 4, 50, 3);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<String> elsewhere = generationService.submit(1, () -> {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "single";
+        });
+        BatchGenerationService service = new BatchGenerationService(aiService, generationService);
+        Thread caller = Thread.currentThread();
+        List<Thread> listenerThreads = Collections.synchronizedList(new ArrayList<>());
+
+        BatchGenerationService.Batch batch = service.start(1, "resume", "Professional", jobs(20),
+                r -> listenerThreads.add(Thread.currentThread()));
+        assertEquals(0, batch.failed());
+        release.countDown();
+
+        batch.whenDone().get(5, TimeUnit.SECONDS);
+        assertEquals("single", elsewhere.get(5, TimeUnit.SECONDS));
+        assertEquals(20, batch.succeeded());
+        assertFalse(listenerThreads.contains(caller));
+    }
+
+    @Test
+    void serviceShutdown_failsJobsStillWaitingForASlot() throws Exception {
+        AIService aiService = mock(AIService.class);
+        CountDownLatch started = new CountDownLatch(1);
+        when(aiService.generateCoverLetter(anyString(), anyString(), anyString())).thenAnswer(inv -> {
+            started.countDown();
+            Thread.sleep(10_000);
+            return "letter";
+        });
+        generationService = new CoverLetterGenerationService(aiService, 1, 10, 1);
+        BatchGenerationService service = new BatchGenerationService(aiService, generationService);
+
+        BatchGenerationService.Batch batch = service.start(1, "resume", "Professional", jobs(3), r -> {
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        generationService.shutdown();
+
+        assertEquals(3, batch.whenDone().get(5, TimeUnit.SECONDS).size());
+        assertEquals(0, batch.succeeded());
+    }
+
+    @Test
+    void failedJob_isReportedWithoutStoppingTheBatch() throws Exception {
+        AIService aiService = mock(AIService.class);
+        when(aiService.generateCoverLetter(anyString(), anyString(), anyString())).thenReturn("letter");
+        when(aiService.generateCoverLetter(anyString(), contains("Posting 2"), anyString()))
+                .thenThrow(new LlmUnavailableException("Model unavailable", null));
+        generationService = new CoverLetterGenerationService(aiService, 2, 10, 2);
+        BatchGenerationService service = new BatchGenerationService(aiService, generationService);
+
+        BatchGenerationService.Batch batch = service.start(1, "resume", "Professional", jobs(3), r -> {
+        });
+        List<BatchGenerationService.Result> results = batch.whenDone().get(5, TimeUnit.SECONDS);
+
+        assertEquals(2, batch.succeeded());
+        assertEquals(1, batch.failed());
+        BatchGenerationService.Result failed = results.stream()
+                .filter(r -> r.status() == BatchGenerationService.Status.FAILED).findFirst().orElseThrow();
+        assertEquals("2", failed.job().id());
+        assertEquals("Model unavailable", failed.error());
+    }
+
+    @Test
+    void cancel_dropsWaitingJobsAndInterruptsRunningOnes() throws Exception {
+        AIService aiService = mock(AIService.class);
+        CountDownLatch started = new CountDownLatch(1);
+        when(aiService.generateCoverLetter(anyString(), anyString(), anyString())).thenAnswer(inv -> {
+            started.countDown();
+            Thread.sleep(10_000);
+            return "letter";
+        });
+        generationService = new CoverLetterGenerationService(aiService, 1, 10, 1);
+        BatchGenerationService service = new BatchGenerationService(aiService, generationService);
+
+        BatchGenerationService.Batch batch = service.start(1, "resume", "Professional", jobs(4), r -> {
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        batch.cancel();
+        List<BatchGenerationService.Result> results = batch.whenDone().get(5, TimeUnit.SECONDS);
+
+        assertTrue(batch.isCancelled());
+        assertEquals(4, results.size());
+        assertTrue(results.stream().allMatch(r -> r.status() == BatchGenerationService.Status.CANCELLED));
+        assertEquals(0, batch.succeeded());
+    }
+
+    @Test
+    void listenerFailure_doesNotBreakTheBatch() throws Exception {
+        AIService aiService = mock(AIService.class);
+        when(aiService.generateCoverLetter(anyString(), anyString(), anyString())).thenReturn("letter");
+        generationService = new CoverLetterGenerationService(aiService, 2, 10, 2);
+        BatchGenerationService service = new BatchGenerationService(aiService, generationService);
+
+        BatchGenerationService.Batch batch = service.start(1, "resume", "Professional", jobs(3), r -> {
+            throw new IllegalStateException("listener broke");
+        });
+
+        assertEquals(3, batch.whenDone().get(5, TimeUnit.SECONDS).size());
+    }
+
+    @Test
+    void whenDone_waitsForListenersStillRunningOnOtherThreads() throws Exception {
+        AIService aiService = mock(AIService.class);
+        CountDownLatch firstListenerEntered = new CountDownLatch(1);
+        CountDownLatch releaseFirstListener = new CountDownLatch(1);
+        when(aiService.generateCoverLetter(anyString(), contains("Posting 1"), anyString())).thenReturn("one");
+        when(aiService.generateCoverLetter(anyString(), contains("Posting 2"), anyString())).thenAnswer(inv -> {
+            firstListenerEntered.await(5, TimeUnit.SECONDS);
+            return "two";
+        });
+        generationService = new CoverLetterGenerationService(aiService, 2, 10, 2);
+        BatchGenerationService service = new BatchGenerationService(aiService, generationService);
+
+        BatchGenerationService.Batch batch = service.start(1, "resume", "Professional", jobs(2), r -> {
+            if (r.job().id().equals("1")) {
+                firstListenerEntered.countDown();
+                try {
+                    releaseFirstListener.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        });
+
+        // Job 2 has been delivered by now, but job 1's listener is still busy
+        assertTrue(firstListenerEntered.await(5, TimeUnit.SECONDS));
+        Thread.sleep(100);
+        assertFalse(batch.isDone());
+
+        releaseFirstListener.countDown();
+        assertEquals(2, batch.whenDone().get(5, TimeUnit.SECONDS).size());
+    }
+
+    @Test
+    void start_rejectsDuplicateIdsAndMissingResume() {
+        AIService aiService = mock(AIService.class);
+        generationService = new CoverLetterGenerationService(aiService, 2, 10, 2);
+        BatchGenerationService service = new BatchGenerationService(aiService, generationService);
+        List<BatchJob> duplicates = List.of(new BatchJob("1", "A", "B", "C"), new BatchJob("1", "D", "E", "F"));
+
+        assertThrows(IllegalArgumentException.class, () -> service.start(1, "resume", "Professional", duplicates, r -> {
+        }));
+        assertThrows(IllegalArgumentException.class, () -> service.start(1, " ", "Professional", jobs(1), r -> {
+        }));
+    }
+
+    @Test
+    void start_withoutJobs_isDoneImmediately() {
+        AIService aiService = mock(AIService.class);
+        generationService = new CoverLetterGenerationService(aiService, 2, 10, 2);
+        BatchGenerationService service = new BatchGenerationService(aiService, generationService);
+
+        BatchGenerationService.Batch batch = service.start(1, "resume", "Professional", List.of(), r -> {
+        });
+
+        assertTrue(batch.isDone());
+        assertEquals(0, batch.total());
+    }
+}
@@ -0,0 +1,30 @@
+package com.clbooster.aiservice;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class BatchJobTest {
+
+    @Test
+    void details_listsTitleCompanyAndDescription() {
+        BatchJob job = new BatchJob("1", " Acme ", "Engineer", "Build things");
+
+        assertEquals("Job Title: Engineer\nCompany: Acme\nJob Description: Build things\n", job.details());
+    }
+
+    @Test
+    void details_skipsMissingTitleAndCompany() {
+        BatchJob job = new BatchJob("1", null, "", "Build things");
+
+        assertEquals("Job Description: Build things\n", job.details());
+        assertEquals("", job.company());
+    }
+
+    @Test
+    void constructor_requiresIdAndDescription() {
+        assertThrows(IllegalArgumentException.class, () -> new BatchJob(" ", "Acme", "Engineer", "Build"));
+        assertThrows(IllegalArgumentException.class, () -> new BatchJob("1", "Acme", "Engineer", null));
+    }
+}
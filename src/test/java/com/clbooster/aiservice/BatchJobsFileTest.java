@@ -0,0 +1,93 @@
+package com.clbooster.aiservice;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BatchJobsFileTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void read_jsonLines() throws Exception {
+        Path file = Files.writeString(tempDir.resolve("jobs.jsonl"), """
+                {"id": "acme-1", "company": "Acme", "title": "Engineer", "description": "Build rockets"}
+
+                {"id": "globex-1", "company": "Globex", "jobTitle": "Analyst", "description": "Crunch numbers"}
+                """);
+
+        List<BatchJob> jobs = BatchJobsFile.read(file);
+
+        assertEquals(2, jobs.size());
+        assertEquals(new BatchJob("acme-1", "Acme", "Engineer", "Build rockets"), jobs.get(0));
+        assertEquals(new BatchJob("globex-1", "Globex", "Analyst", "Crunch numbers"), jobs.get(1));
+    }
+
+    @Test
+    void read_withoutIds_numbersPostingsByPosition() throws Exception {
+        Path file = Files.writeString(tempDir.resolve("jobs.jsonl"), """
+                {"company": "Acme", "description": "Build rockets"}
+                {"company": "Globex", "description": "Crunch numbers"}
+                """);
+
+        List<BatchJob> jobs = BatchJobsFile.read(file);
+
+        assertEquals(List.of("1", "2"), jobs.stream().map(BatchJob::id).toList());
+    }
+
+    @Test
+    void read_rejectsDuplicateAndMixedIds() throws Exception {
+        Path duplicate = Files.writeString(tempDir.resolve("jobs.csv"),
+                "id,description\n7,One\n8,\"Two\nlines\"\n7,Three\n");
+        // An auto-assigned "2" would collide with the explicit one
+        Path mixed = Files.writeString(tempDir.resolve("jobs.jsonl"), """
+                {"id": "2", "description": "Build rockets"}
+                {"description": "Crunch numbers"}
+                """);
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> BatchJobsFile.read(duplicate));
+        assertTrue(e.getMessage().contains("line 5"), e.getMessage());
+        assertTrue(e.getMessage().contains("line 2"), e.getMessage());
+        assertThrows(IllegalArgumentException.class, () -> BatchJobsFile.read(mixed));
+    }
+
+    @Test
+    void read_csvWithQuotedFields() throws Exception {
+        Path file = Files.writeString(tempDir.resolve("jobs.csv"),
+                "id,Company,title,description\r\n"
+                        + "1,\"Acme, Inc.\",Engineer,\"Line one\nLine \"\"two\"\"\"\r\n"
+                        + "2,Globex,,Plain\n");
+
+        List<BatchJob> jobs = BatchJobsFile.read(file);
+
+        assertEquals(2, jobs.size());
+        assertEquals("Acme, Inc.", jobs.get(0).company());
+        assertEquals("Line one\nLine \"two\"", jobs.get(0).description());
+        assertEquals(new BatchJob("2", "Globex", "", "Plain"), jobs.get(1));
+    }
+
+    @Test
+    void read_rejectsMissingDescriptionAndUnknownFormats() throws Exception {
+        Path noDescription = Files.writeString(tempDir.resolve("jobs.jsonl"), "{\"company\": \"Acme\"}\n");
+        Path noColumn = Files.writeString(tempDir.resolve("jobs.csv"), "company,title\nAcme,Engineer\n");
+        Path text = Files.writeString(tempDir.resolve("jobs.txt"), "Acme");
+
+        assertThrows(IllegalArgumentException.class, () -> BatchJobsFile.read(noDescription));
+        assertThrows(IllegalArgumentException.class, () -> BatchJobsFile.read(noColumn));
+        assertThrows(IllegalArgumentException.class, () -> BatchJobsFile.read(text));
+    }
+
+    @Test
+    void parseCsv_rejectsUnterminatedQuote() {
+        assertThrows(IllegalArgumentException.class, () -> BatchJobsFile.parseCsv("a,\"b\n"));
+    }
+}
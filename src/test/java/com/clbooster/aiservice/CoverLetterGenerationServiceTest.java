@@ -0,0 +1,196 @@
+package com.clbooster.aiservice;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class CoverLetterGenerationServiceTest {
+
+    private CoverLetterGenerationService service;
+
+    @AfterEach
+    void tearDown() {
+        if (service != null) {
+            service.shutdown();
+        }
+    }
+
+    @Test
+    void generate_delegatesToAiService() {
+        AIService aiService = mock(AIService.class);
+        when(aiService.generateCoverLetter("resume", "job", "Creative")).thenReturn("letter");
+        service = new CoverLetterGenerationService(aiService, 2, 10, 3);
+
+        assertEquals("letter", service.generate(1, "resume", "job", "Creative").join());
+    }
+
+    @Test
+    void submit_capsConcurrencyAndRejectsWhenQueueIsFull() throws Exception {
+        service = new CoverLetterGenerationService(mock(AIService.class), 1, 1, 5);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<String> first = service.submit(1, () -> {
+            started.countDown();
+            await(release);
+            return "first";
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        CompletableFuture<String> second = service.submit(2, () -> "second");
+        CompletableFuture<String> third = service.submit(3, () -> "third");
+
+        assertEquals(1, service.getRunningCount());
+        assertEquals(1, service.getQueuedCount());
+        CompletionException rejected = assertThrows(CompletionException.class, third::join);
+        assertInstanceOf(RejectedExecutionException.class, rejected.getCause());
+
+        release.countDown();
+        assertEquals("first", first.get(5, TimeUnit.SECONDS));
+        assertEquals("second", second.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void submit_fromCompletionCallback_isAdmittedOnceTheSlotIsFree() throws Exception {
+        service = new CoverLetterGenerationService(mock(AIService.class), 1, 10, 1);
+        CompletableFuture<String> followUp = new CompletableFuture<>();
+
+        service.submit(7, () -> "first")
+                .whenComplete((result, error) -> service.submit(7, () -> "second").whenComplete((r, e) -> {
+                    if (e != null) {
+                        followUp.completeExceptionally(e);
+                    } else {
+                        followUp.complete(r);
+                    }
+                }));
+
+        assertEquals("second", followUp.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void submit_rejectsWhenUserHasTooManyPending() throws Exception {
+        service = new CoverLetterGenerationService(mock(AIService.class), 1, 10, 1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<String> first = service.submit(7, () -> {
+            await(release);
+            return "first";
+        });
+        CompletableFuture<String> second = service.submit(7, () -> "second");
+        CompletableFuture<String> otherUser = service.submit(8, () -> "other");
+
+        CompletionException rejected = assertThrows(CompletionException.class, second::join);
+        assertInstanceOf(RejectedExecutionException.class, rejected.getCause());
+
+        release.countDown();
+        assertEquals("first", first.get(5, TimeUnit.SECONDS));
+        assertEquals("other", otherUser.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void trySubmit_whenFull_returnsNullAndWhenSlotFreeFiresOnRelease() throws Exception {
+        service = new CoverLetterGenerationService(mock(AIService.class), 1, 10, 1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<String> first = service.submit(1, () -> {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "first";
+        });
+
+        assertNull(service.trySubmit(1, () -> "second"));
+        CompletableFuture<Void> slot = service.whenSlotFree(1);
+        assertTrue(service.whenSlotFree(2).isDone());
+        assertFalse(slot.isDone());
+
+        release.countDown();
+        slot.get(5, TimeUnit.SECONDS);
+        assertEquals("first", first.join());
+        assertEquals("second", service.trySubmit(1, () -> "second").get(5, TimeUnit.SECONDS));
+
+        service.shutdown();
+        assertTrue(service.whenSlotFree(1).isCompletedExceptionally());
+    }
+
+    @Test
+    void submit_servesUsersRoundRobin() throws Exception {
+        service = new CoverLetterGenerationService(mock(AIService.class), 1, 10, 5);
+        List<String> order = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<String> a1 = service.submit(1, () -> {
+            started.countDown();
+            await(release);
+            order.add("a1");
+            return "a1";
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<String> a2 = service.submit(1, () -> record(order, "a2"));
+        CompletableFuture<String> a3 = service.submit(1, () -> record(order, "a3"));
+        CompletableFuture<String> b1 = service.submit(2, () -> record(order, "b1"));
+
+        release.countDown();
+        CompletableFuture.allOf(a1, a2, a3, b1).get(5, TimeUnit.SECONDS);
+
+        assertEquals(List.of("a1", "a2", "b1", "a3"), order);
+    }
+
+    @Test
+    void cancel_removesQueuedJobWithoutRunningIt() throws Exception {
+        service = new CoverLetterGenerationService(mock(AIService.class), 1, 10, 5);
+        CountDownLatch release = new CountDownLatch(1);
+        List<String> order = Collections.synchronizedList(new ArrayList<>());
+
+        CompletableFuture<String> first = service.submit(1, () -> {
+            await(release);
+            return record(order, "first");
+        });
+        CompletableFuture<String> queued = service.submit(2, () -> record(order, "queued"));
+
+        assertTrue(queued.cancel(true));
+        assertEquals(0, service.getQueuedCount());
+
+        release.countDown();
+        first.get(5, TimeUnit.SECONDS);
+        assertEquals(List.of("first"), order);
+    }
+
+    @Test
+    void constructor_rejectsInvalidLimits() {
+        AIService aiService = mock(AIService.class);
+        assertThrows(IllegalArgumentException.class, () -> new CoverLetterGenerationService(aiService, 0, 10, 1));
+    }
+
+    private static String record(List<String> order, String value) {
+        order.add(value);
+        return value;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
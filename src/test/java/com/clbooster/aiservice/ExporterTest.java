@@ -2,8 +2,18 @@ package com.clbooster.aiservice;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import org.apache.poi.xwpf.usermodel.XWPFDocument;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -53,4 +63,28 @@ class ExporterTest {
         File resultFile = new File(outputPath);
         assertTrue(resultFile.exists());
     }
+
+    @Test
+    void writeAllAsZip_writesOneDocumentPerLetter() throws Exception {
+        Map<String, String> letters = new LinkedHashMap<>();
+        letters.put("first.docx", "Dear A,\nFirst letter");
+        letters.put("second.docx", "Dear B,\nSecond letter");
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        exporter.writeAllAsZip(letters, out);
+
+        List<String> names = new ArrayList<>();
+        List<String> texts = new ArrayList<>();
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                names.add(entry.getName());
+                try (XWPFDocument document = new XWPFDocument(new ByteArrayInputStream(zip.readAllBytes()))) {
+                    texts.add(document.getParagraphs().get(1).getText());
+                }
+            }
+        }
+        assertEquals(List.of("first.docx", "second.docx"), names);
+        assertEquals(List.of("First letter", "Second letter"), texts);
+    }
 }
@@ -0,0 +1,32 @@
+package com.clbooster.aiservice;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class LlmProviderConfigTest {
+
+    private static LlmProvider provider(String name) {
+        return new LlmProviderConfig().llmProvider(name, "key", StubLlmProvider.Distribution.CONSTANT, 0, 0, 0, 10,
+                1);
+    }
+
+    @Test
+    void llmProvider_selectsByName() {
+        assertEquals("gemini", provider("gemini").name());
+        assertEquals("stub", provider(" STUB ").name());
+    }
+
+    @Test
+    void llmProvider_unknownName_throws() {
+        assertThrows(IllegalArgumentException.class, () -> provider("openai"));
+    }
+
+    @Test
+    void geminiProvider_withoutKey_failsOnFirstUse() {
+        IllegalStateException e = assertThrows(IllegalStateException.class,
+                () -> new GeminiProvider("").chatModel());
+        assertEquals(true, e.getMessage().contains("GEMINI_API_KEY"));
+    }
+}
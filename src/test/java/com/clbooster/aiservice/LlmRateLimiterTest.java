@@ -0,0 +1,136 @@
+package com.clbooster.aiservice;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LlmRateLimiterTest {
+
+    private final AtomicLong now = new AtomicLong();
+
+    private LlmRateLimiter limiter(int rpm, long tpm, int userRpm, long userTpm) {
+        return new LlmRateLimiter(new LlmRateLimiter.Limits(rpm, tpm, userRpm, userTpm, Duration.ZERO), now::get);
+    }
+
+    @Test
+    void acquire_withinBudget_admitsImmediately() {
+        LlmRateLimiter limiter = limiter(10, 1000, 10, 1000);
+
+        for (int i = 0; i < 10; i++) {
+            limiter.acquire(50);
+        }
+    }
+
+    @Test
+    void acquire_userOverBudget_doesNotBlockOtherUsers() {
+        LlmRateLimiter limiter = limiter(10, 10_000, 1, 10_000);
+
+        LlmRateLimiter.runAs("1", () -> limiter.acquire(10));
+        assertThrows(LlmUnavailableException.class, () -> LlmRateLimiter.runAs("1", () -> limiter.acquire(10)));
+
+        LlmRateLimiter.runAs("2", () -> limiter.acquire(10));
+    }
+
+    @Test
+    void acquire_globalBudget_isSharedByAllUsers() {
+        LlmRateLimiter limiter = limiter(2, 10_000, 5, 10_000);
+
+        LlmRateLimiter.runAs("1", () -> limiter.acquire(10));
+        LlmRateLimiter.runAs("2", () -> limiter.acquire(10));
+
+        assertThrows(LlmUnavailableException.class, () -> LlmRateLimiter.runAs("3", () -> limiter.acquire(10)));
+    }
+
+    @Test
+    void bucket_refillsOverTime() {
+        LlmRateLimiter limiter = limiter(60, 10_000, 60, 10_000);
+        for (int i = 0; i < 60; i++) {
+            limiter.acquire(1);
+        }
+        assertThrows(LlmUnavailableException.class, () -> limiter.acquire(1));
+
+        now.addAndGet(TimeUnit.SECONDS.toNanos(1));
+
+        limiter.acquire(1);
+    }
+
+    @Test
+    void complete_chargesUsageBeyondTheEstimate() {
+        LlmRateLimiter limiter = limiter(100, 1000, 100, 1000);
+
+        limiter.acquire(100).complete("DRAFT", 400, 500);
+
+        assertThrows(LlmUnavailableException.class, () -> limiter.acquire(200));
+        limiter.acquire(100);
+        assertEquals(400L, limiter.getTokenTotals().get("prompt"));
+        assertEquals(500L, limiter.getTokenTotals().get("completion"));
+    }
+
+    @Test
+    void complete_twice_recordsOnce() {
+        LlmRateLimiter limiter = limiter(100, 1000, 100, 1000);
+        LlmRateLimiter.Permit permit = limiter.acquire(10);
+
+        permit.complete("ANALYSIS", 5, 5);
+        permit.complete("ANALYSIS", 5, 5);
+
+        assertEquals(5L, limiter.getTokenTotals().get("prompt"));
+    }
+
+    @Test
+    void acquire_emptyBucket_waitsInsteadOfFailing() {
+        LlmRateLimiter limiter = new LlmRateLimiter(
+                new LlmRateLimiter.Limits(1000, 6000, 1000, 6000, Duration.ofSeconds(5)), System::nanoTime);
+        limiter.acquire(6000);
+        long start = System.nanoTime();
+
+        // 100 tokens per second: 50 tokens free up after about half a second
+        limiter.acquire(50);
+
+        long waitedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        assertTrue(waitedMs >= 300 && waitedMs < 3000, "waited " + waitedMs + " ms");
+    }
+
+    @Test
+    void runAs_restoresPreviousUser() {
+        assertEquals(LlmRateLimiter.DEFAULT_USER, LlmRateLimiter.currentUser());
+
+        String inner = LlmRateLimiter.runAs("outer",
+                () -> LlmRateLimiter.runAs("inner", LlmRateLimiter::currentUser) + "/" + LlmRateLimiter.currentUser());
+
+        assertEquals("inner/outer", inner);
+        assertEquals(LlmRateLimiter.DEFAULT_USER, LlmRateLimiter.currentUser());
+    }
+
+    @Test
+    void aiService_recordsReportedTokenUsage() {
+        LlmRateLimiter limiter = LlmRateLimiter.withDefaults();
+        AIService service = new AIService(new StubLlmProvider(StubLlmProvider.Options.instant()),
+                new AnalysisCache(10, 60), LlmResilience.withDefaults(), limiter);
+
+        service.generateCoverLetter("resume", "job", "Creative");
+
+        assertTrue(limiter.getTokenTotals().get("prompt") > 0);
+        assertTrue(limiter.getTokenTotals().get("completion") > 0);
+    }
+
+    @Test
+    void bindTo_exportsTokenCounters() {
+        LlmRateLimiter limiter = limiter(100, 1000, 100, 1000);
+        limiter.acquire(10).complete("DRAFT", 7, 3);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+        limiter.bindTo(registry);
+
+        assertEquals(7.0, registry.get("ai.tokens").tag("type", "prompt").functionCounter().count());
+        assertEquals(3.0, registry.get("ai.tokens").tag("type", "completion").functionCounter().count());
+        assertEquals(1.0, registry.get("ai.rate-limit.admitted").functionCounter().count());
+    }
+}
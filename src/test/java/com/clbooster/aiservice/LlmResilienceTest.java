@@ -0,0 +1,239 @@
+package com.clbooster.aiservice;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.io.UncheckedIOException;
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LlmResilienceTest {
+
+    private static final LlmResilience.Stage STAGE = LlmResilience.Stage.ANALYSIS;
+
+    private final SkewedClock clock = new SkewedClock();
+
+    private LlmResilience resilience(int maxAttempts, int minCalls, int maxConcurrent, Duration budget) {
+        return new LlmResilience(new LlmResilience.Policy(budget, budget, maxAttempts, Duration.ofMillis(1),
+                Duration.ofMillis(5), 4, minCalls, 0.5, Duration.ofSeconds(30), 1, maxConcurrent), clock);
+    }
+
+    private LlmResilience resilience() {
+        return resilience(3, 4, 4, Duration.ofSeconds(5));
+    }
+
+    private static RuntimeException transientError() {
+        return new IllegalStateException("HTTP 503 Service Unavailable");
+    }
+
+    @Test
+    void call_success_returnsResult() {
+        assertEquals("ok", resilience().call(STAGE, () -> "ok"));
+    }
+
+    @Test
+    void call_transientFailure_isRetried() {
+        AtomicInteger calls = new AtomicInteger();
+
+        String result = resilience().call(STAGE, () -> {
+            if (calls.incrementAndGet() < 3) {
+                throw transientError();
+            }
+            return "ok";
+        });
+
+        assertEquals("ok", result);
+        assertEquals(3, calls.get());
+    }
+
+    @Test
+    void call_retriesExhausted_rethrowsLastFailure() {
+        AtomicInteger calls = new AtomicInteger();
+        RuntimeException error = transientError();
+
+        RuntimeException thrown = assertThrows(RuntimeException.class, () -> resilience().call(STAGE, () -> {
+            calls.incrementAndGet();
+            throw error;
+        }));
+
+        assertSame(error, thrown);
+        assertEquals(3, calls.get());
+    }
+
+    @Test
+    void call_nonTransientFailure_isNotRetried() {
+        AtomicInteger calls = new AtomicInteger();
+
+        assertThrows(IllegalArgumentException.class, () -> resilience().call(STAGE, () -> {
+            calls.incrementAndGet();
+            throw new IllegalArgumentException("bad prompt");
+        }));
+
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void call_notRetrySafe_isNotRetried() {
+        AtomicInteger calls = new AtomicInteger();
+
+        assertThrows(IllegalStateException.class, () -> resilience().call(STAGE, () -> {
+            calls.incrementAndGet();
+            throw transientError();
+        }, () -> false));
+
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void call_exceedingBudget_failsWithoutWaitingForTheProvider() {
+        LlmResilience resilience = resilience(3, 4, 4, Duration.ofMillis(200));
+        long start = System.nanoTime();
+
+        LlmUnavailableException e = assertThrows(LlmUnavailableException.class, () -> resilience.call(STAGE, () -> {
+            try {
+                Thread.sleep(10_000);
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+            }
+            return "late";
+        }));
+
+        assertInstanceOf(TimeoutException.class, e.getCause());
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 5_000);
+    }
+
+    @Test
+    void circuit_opensAfterFailures_thenFailsFast_andRecoversHalfOpen() {
+        LlmResilience resilience = resilience(1, 4, 4, Duration.ofSeconds(5));
+        for (int i = 0; i < 4; i++) {
+            assertThrows(IllegalStateException.class, () -> resilience.call(STAGE, () -> {
+                throw transientError();
+            }));
+        }
+        assertEquals(LlmResilience.State.OPEN, resilience.getState());
+
+        AtomicInteger calls = new AtomicInteger();
+        assertThrows(LlmUnavailableException.class, () -> resilience.call(STAGE, calls::incrementAndGet));
+        assertEquals(0, calls.get());
+
+        clock.skew(Duration.ofSeconds(31));
+        assertEquals(1, resilience.call(STAGE, calls::incrementAndGet));
+        assertEquals(LlmResilience.State.CLOSED, resilience.getState());
+    }
+
+    @Test
+    void circuit_halfOpenFailure_reopens() {
+        LlmResilience resilience = resilience(1, 1, 4, Duration.ofSeconds(5));
+        assertThrows(IllegalStateException.class, () -> resilience.call(STAGE, () -> {
+            throw transientError();
+        }));
+        clock.skew(Duration.ofSeconds(31));
+
+        assertThrows(IllegalStateException.class, () -> resilience.call(STAGE, () -> {
+            throw transientError();
+        }));
+
+        assertEquals(LlmResilience.State.OPEN, resilience.getState());
+    }
+
+    @Test
+    void bulkhead_full_rejectsOnceBudgetIsSpent() throws Exception {
+        // The holder's draft budget outlives the test so its slot cannot free up early
+        LlmResilience resilience = new LlmResilience(new LlmResilience.Policy(Duration.ofMillis(300),
+                Duration.ofSeconds(10), 1, Duration.ofMillis(1), Duration.ofMillis(5), 4, 4, 0.5,
+                Duration.ofSeconds(30), 1, 1), clock);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread holder = Thread.ofVirtual().start(() -> resilience.call(LlmResilience.Stage.DRAFT, () -> {
+            started.countDown();
+            try {
+                release.await(2, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "held";
+        }));
+        started.await(2, TimeUnit.SECONDS);
+
+        try {
+            assertEquals(1, resilience.getActiveCalls());
+            assertThrows(LlmUnavailableException.class, () -> resilience.call(STAGE, () -> "second"));
+        } finally {
+            release.countDown();
+            holder.join();
+        }
+    }
+
+    @Test
+    void isTransient_classifiesProviderErrors() {
+        assertTrue(LlmResilience.isTransient(new RuntimeException("429 Too Many Requests")));
+        assertTrue(LlmResilience.isTransient(new RuntimeException("status: RESOURCE_EXHAUSTED")));
+        assertTrue(LlmResilience.isTransient(new RuntimeException(new UncheckedIOException(new IOException("reset")))));
+        assertTrue(LlmResilience.isTransient(new RuntimeException("Read timed out")));
+        assertFalse(LlmResilience.isTransient(new IllegalStateException("GEMINI_API_KEY environment variable is not set")));
+        assertFalse(LlmResilience.isTransient(new IllegalStateException("took 5000 ms")));
+    }
+
+    @Test
+    void backoff_isJitteredAndCapped() {
+        LlmResilience resilience = new LlmResilience(new LlmResilience.Policy(Duration.ofSeconds(5),
+                Duration.ofSeconds(5), 5, Duration.ofMillis(100), Duration.ofMillis(400), 4, 4, 0.5,
+                Duration.ofSeconds(30), 1, 4), clock);
+
+        for (int i = 0; i < 100; i++) {
+            assertTrue(resilience.backoff(1) <= 100);
+            assertTrue(resilience.backoff(5) <= 400);
+        }
+    }
+
+    @Test
+    void bindTo_exportsOutcomesAndState() {
+        LlmResilience resilience = resilience();
+        resilience.call(STAGE, () -> "ok");
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+        resilience.bindTo(registry);
+
+        assertEquals(1.0, registry.get("ai.resilience.calls").tag("outcome", "success").functionCounter().count());
+        assertEquals(0.0, registry.get("ai.resilience.circuit.state").gauge().value());
+        assertEquals(0.0, registry.get("ai.resilience.bulkhead.active").gauge().value());
+    }
+
+    private static final class SkewedClock extends Clock {
+        private volatile Duration skew = Duration.ZERO;
+
+        void skew(Duration by) {
+            skew = skew.plus(by);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.now().plus(skew);
+        }
+    }
+}
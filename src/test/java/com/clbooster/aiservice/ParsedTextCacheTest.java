@@ -0,0 +1,99 @@
+package com.clbooster.aiservice;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ParsedTextCacheTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void hash_dependsOnlyOnContent() throws Exception {
+        Path a = Files.writeString(tempDir.resolve("a.pdf"), "same bytes");
+        Path b = Files.writeString(tempDir.resolve("b.docx"), "same bytes");
+        Path c = Files.writeString(tempDir.resolve("c.pdf"), "other bytes");
+
+        assertEquals(ParsedTextCache.hash(a), ParsedTextCache.hash(b));
+        assertNotEquals(ParsedTextCache.hash(a), ParsedTextCache.hash(c));
+    }
+
+    @Test
+    void put_writesSidecarThatSurvivesANewInstance() {
+        Path dir = tempDir.resolve("cache");
+        new ParsedTextCache(dir, 4).put("abc", "parsed text");
+
+        assertTrue(Files.isRegularFile(dir.resolve("abc.txt")));
+        assertEquals("parsed text", new ParsedTextCache(dir, 4).get("abc"));
+    }
+
+    @Test
+    void get_returnsNullForUnknownHash() {
+        assertNull(new ParsedTextCache(tempDir, 4).get("missing"));
+    }
+
+    @Test
+    void memory_evictsLeastRecentlyUsedButSidecarStillServes() throws Exception {
+        ParsedTextCache cache = new ParsedTextCache(tempDir, 1);
+        cache.put("first", "one");
+        cache.put("second", "two");
+
+        // "first" left memory; removing its sidecar proves where a hit comes from
+        Files.delete(tempDir.resolve("first.txt"));
+        assertNull(cache.get("first"));
+        assertEquals("two", cache.get("second"));
+    }
+
+    @Test
+    void remove_dropsMemoryAndSidecar() {
+        ParsedTextCache cache = new ParsedTextCache(tempDir, 4);
+        cache.put("abc", "parsed text");
+
+        cache.remove("abc");
+
+        assertFalse(Files.exists(tempDir.resolve("abc.txt")));
+        assertNull(cache.get("abc"));
+    }
+
+    @Test
+    void prune_dropsStaleSidecarsAndKeepsTheMostRecentlyUsed() throws Exception {
+        ParsedTextCache cache = new ParsedTextCache(tempDir, 4, 2, Duration.ofDays(30));
+        Instant now = Instant.now();
+        for (String name : new String[] { "stale", "old", "recent", "newest" }) {
+            Files.writeString(tempDir.resolve(name + ".txt"), name);
+        }
+        Files.setLastModifiedTime(tempDir.resolve("stale.txt"), FileTime.from(now.minus(Duration.ofDays(31))));
+        Files.setLastModifiedTime(tempDir.resolve("old.txt"), FileTime.from(now.minus(Duration.ofDays(3))));
+        Files.setLastModifiedTime(tempDir.resolve("recent.txt"), FileTime.from(now.minus(Duration.ofDays(2))));
+        Files.setLastModifiedTime(tempDir.resolve("newest.txt"), FileTime.from(now.minus(Duration.ofDays(1))));
+
+        cache.prune();
+
+        assertFalse(Files.exists(tempDir.resolve("stale.txt")));
+        assertFalse(Files.exists(tempDir.resolve("old.txt")));
+        assertTrue(Files.exists(tempDir.resolve("recent.txt")));
+        assertTrue(Files.exists(tempDir.resolve("newest.txt")));
+    }
+
+    @Test
+    void put_keepsTheDirectoryWithinItsBound() {
+        ParsedTextCache cache = new ParsedTextCache(tempDir, 4, 3, Duration.ofDays(30));
+        for (int i = 0; i < 10; i++) {
+            cache.put("hash" + i, "text " + i);
+        }
+
+        assertTrue(tempDir.toFile().list().length <= 3);
+    }
+}
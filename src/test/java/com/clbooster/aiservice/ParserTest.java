@@ -4,9 +4,11 @@ import dev.langchain4j.data.document.Document;
 import dev.langchain4j.data.document.loader.FileSystemDocumentLoader;
 import dev.langchain4j.data.document.parser.apache.tika.ApacheTikaDocumentParser;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.MockedStatic;
 import org.mockito.Mockito;
 
+import java.nio.file.Files;
 import java.nio.file.Path;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -18,6 +20,9 @@ class ParserTest {
 
     private final Parser parser = new Parser();
 
+    @TempDir
+    Path tempDir;
+
     @Test
     void testParseFileToJson_Success() {
         String fakePath = "resume.pdf";
@@ -60,4 +65,30 @@ class ParserTest {
             assertEquals("File not found", exception.getCause().getMessage());
         }
     }
+
+    @Test
+    void testParseFileToJson_parsesEachContentVersionOnce() throws Exception {
+        Path resume = Files.writeString(tempDir.resolve("resume.pdf"), "version 1");
+        Parser cachingParser = new Parser(new ParsedTextCache(tempDir.resolve("cache"), 4));
+        Document first = mock(Document.class);
+        Mockito.when(first.text()).thenReturn("parsed v1");
+        Document second = mock(Document.class);
+        Mockito.when(second.text()).thenReturn("parsed v2");
+
+        try (MockedStatic<FileSystemDocumentLoader> loaderMock = Mockito.mockStatic(FileSystemDocumentLoader.class)) {
+            loaderMock.when(
+                    () -> FileSystemDocumentLoader.loadDocument(any(Path.class), any(ApacheTikaDocumentParser.class)))
+                    .thenReturn(first).thenReturn(second);
+
+            assertEquals("parsed v1", cachingParser.parseFileToJson(resume.toString()));
+            assertEquals("parsed v1", cachingParser.parseFileToJson(resume.toString()));
+
+            Files.writeString(resume, "version 2");
+            assertEquals("parsed v2", cachingParser.parseFileToJson(resume.toString()));
+
+            loaderMock.verify(
+                    () -> FileSystemDocumentLoader.loadDocument(any(Path.class), any(ApacheTikaDocumentParser.class)),
+                    Mockito.times(2));
+        }
+    }
 }
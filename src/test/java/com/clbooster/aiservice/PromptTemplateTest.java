@@ -0,0 +1,51 @@
+package com.clbooster.aiservice;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class PromptTemplateTest {
+
+    @Test
+    void render_fillsEveryPlaceholderInOrder() {
+        PromptTemplate template = PromptTemplate.compile("t-v1", "Hi {{NAME}}, about {{ JOB }}: {{NAME}}.");
+
+        assertEquals(List.of("NAME", "JOB", "NAME"), template.placeholders());
+        assertEquals("Hi Ada, about Engineer: Ada.", template.render(Map.of("NAME", "Ada", "JOB", "Engineer")));
+    }
+
+    @Test
+    void render_doesNotSubstituteInsideValues() {
+        PromptTemplate template = PromptTemplate.compile("t-v1", "{{RESUME}} / {{JOB}}");
+
+        assertEquals("see {{JOB}} / Dev", template.render(Map.of("RESUME", "see {{JOB}}", "JOB", "Dev")));
+    }
+
+    @Test
+    void render_withoutPlaceholders_returnsText() {
+        assertEquals("plain", PromptTemplate.compile("t-v1", "plain").render(Map.of()));
+    }
+
+    @Test
+    void render_missingValue_throws() {
+        PromptTemplate template = PromptTemplate.compile("t-v1", "{{A}}");
+
+        assertThrows(IllegalArgumentException.class, () -> template.render(Map.of()));
+    }
+
+    @Test
+    void compile_unclosedPlaceholder_throws() {
+        assertThrows(IllegalArgumentException.class, () -> PromptTemplate.compile("t-v1", "oops {{A"));
+    }
+
+    @Test
+    void appPrompts_declareExpectedPlaceholders() {
+        assertEquals("match-v1", AIService.MATCH_PROMPT.id());
+        assertEquals(List.of("RESUME", "JOBDETAILS"), AIService.MATCH_PROMPT.placeholders());
+        assertEquals(List.of("TONE_INSTRUCTION", "ANALYSIS", "JOB"), AIService.COVER_LETTER_PROMPT.placeholders());
+    }
+}
@@ -0,0 +1,125 @@
+package com.clbooster.aiservice;
+
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.model.StreamingResponseHandler;
+import dev.langchain4j.model.output.Response;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StubLlmProviderTest {
+
+    private static StubLlmProvider instant() {
+        return new StubLlmProvider(StubLlmProvider.Options.instant());
+    }
+
+    @Test
+    void chatModel_analysisPrompt_returnsCannedJson() {
+        String answer = instant().chatModel().generate("Please " + StubLlmProvider.ANALYSIS_MARKER + " now");
+
+        assertEquals(StubLlmProvider.ANALYSIS, answer);
+    }
+
+    @Test
+    void chatModel_letterIsDeterministicPerPromptAndSized() {
+        StubLlmProvider provider = instant();
+
+        String first = provider.chatModel().generate("write a letter for job A");
+        String again = provider.chatModel().generate("write a letter for job A");
+
+        assertEquals(first, again);
+        assertTrue(first.startsWith("Dear Hiring Manager"));
+        assertEquals(3 + 300 + 1, first.split("\\s+").length);
+    }
+
+    @Test
+    void chatModel_reportsTokenUsage() {
+        Response<AiMessage> response = instant().chatModel()
+                .generate(List.of(dev.langchain4j.data.message.UserMessage.from("x".repeat(400))));
+
+        assertEquals(100, response.tokenUsage().inputTokenCount());
+        assertTrue(response.tokenUsage().outputTokenCount() > 0);
+    }
+
+    @Test
+    void chatModel_errorRateOne_alwaysFails() {
+        StubLlmProvider provider = new StubLlmProvider(
+                new StubLlmProvider.Options(StubLlmProvider.Distribution.CONSTANT, 0, 0, 1.0, 10, 1));
+
+        assertThrows(IllegalStateException.class, () -> provider.chatModel().generate("prompt"));
+    }
+
+    @Test
+    void sampleLatency_followsDistribution() {
+        StubLlmProvider constant = new StubLlmProvider(
+                new StubLlmProvider.Options(StubLlmProvider.Distribution.CONSTANT, 200, 50, 0, 10, 1));
+        StubLlmProvider uniform = new StubLlmProvider(
+                new StubLlmProvider.Options(StubLlmProvider.Distribution.UNIFORM, 200, 50, 0, 10, 1));
+        StubLlmProvider logNormal = new StubLlmProvider(
+                new StubLlmProvider.Options(StubLlmProvider.Distribution.LOG_NORMAL, 200, 100, 0, 10, 1));
+
+        List<Long> samples = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(200, constant.sampleLatency());
+            long u = uniform.sampleLatency();
+            assertTrue(u >= 150 && u <= 250, "uniform sample " + u);
+            samples.add(logNormal.sampleLatency());
+        }
+        samples.sort(null);
+        long median = samples.get(500);
+        assertTrue(median > 170 && median < 230, "log-normal median " + median);
+        assertTrue(samples.get(990) > 300, "log-normal tail " + samples.get(990));
+    }
+
+    @Test
+    void options_rejectInvalidValues() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new StubLlmProvider.Options(StubLlmProvider.Distribution.CONSTANT, 0, 0, 1.5, 10, 1));
+        assertThrows(IllegalArgumentException.class,
+                () -> new StubLlmProvider.Options(StubLlmProvider.Distribution.CONSTANT, -1, 0, 0, 10, 1));
+    }
+
+    @Test
+    void streamingModel_deliversTokensThenCompletes() throws Exception {
+        StubLlmProvider provider = instant();
+        StringBuilder streamed = new StringBuilder();
+        CompletableFuture<String> done = new CompletableFuture<>();
+
+        provider.streamingModel().generate("write a letter", new StreamingResponseHandler<AiMessage>() {
+            @Override
+            public void onNext(String token) {
+                streamed.append(token);
+            }
+
+            @Override
+            public void onComplete(Response<AiMessage> response) {
+                done.complete(response.content().text());
+            }
+
+            @Override
+            public void onError(Throwable error) {
+                done.completeExceptionally(error);
+            }
+        });
+
+        String full = done.get(5, TimeUnit.SECONDS);
+        assertEquals(full, streamed.toString());
+        assertEquals(provider.chatModel().generate("write a letter"), full);
+    }
+
+    @Test
+    void aiService_generatesOfflineWithStub() {
+        AIService service = new AIService(instant(), new AnalysisCache(10, 60));
+
+        String letter = service.generateCoverLetter("resume", "job", "Creative");
+
+        assertTrue(letter.startsWith("Dear Hiring Manager"));
+    }
+}
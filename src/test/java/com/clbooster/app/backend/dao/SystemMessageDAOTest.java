@@ -0,0 +1,81 @@
+package com.clbooster.app.backend.dao;
+
+import com.clbooster.app.backend.service.database.DatabaseConnection;
+import org.junit.jupiter.api.Test;
+import org.mockito.MockedStatic;
+
+import java.sql.*;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class SystemMessageDAOTest {
+
+    private MockedStatic<DatabaseConnection> mockDB(Connection conn) {
+        MockedStatic<DatabaseConnection> db = mockStatic(DatabaseConnection.class);
+        db.when(DatabaseConnection::getConnection).thenReturn(conn);
+        return db;
+    }
+
+    @Test
+    void currentVersion_readsLatestUpdateRowCountAndChecksum() throws Exception {
+        Connection conn = mock(Connection.class);
+        PreparedStatement stmt = mock(PreparedStatement.class);
+        ResultSet rs = mock(ResultSet.class);
+        Timestamp updated = Timestamp.valueOf("2026-01-02 03:04:05");
+
+        when(conn.prepareStatement(anyString())).thenReturn(stmt);
+        when(stmt.executeQuery()).thenReturn(rs);
+        when(rs.next()).thenReturn(true);
+        when(rs.getTimestamp(1)).thenReturn(updated);
+        when(rs.getInt(2)).thenReturn(7);
+        when(rs.getLong(3)).thenReturn(123456789L);
+
+        try (MockedStatic<DatabaseConnection> db = mockDB(conn)) {
+            assertEquals(new SystemMessageDAO.Version(updated, 7, 123456789L), new SystemMessageDAO().currentVersion());
+        }
+        verify(conn).prepareStatement(contains("CRC32("));
+    }
+
+    @Test
+    void currentVersion_sqlException_returnsNull() throws Exception {
+        Connection conn = mock(Connection.class);
+        when(conn.prepareStatement(anyString())).thenThrow(new SQLException("down"));
+
+        try (MockedStatic<DatabaseConnection> db = mockDB(conn)) {
+            assertNull(new SystemMessageDAO().currentVersion());
+        }
+    }
+
+    @Test
+    void loadAll_groupsByLocaleCode() throws Exception {
+        Connection conn = mock(Connection.class);
+        PreparedStatement stmt = mock(PreparedStatement.class);
+        ResultSet rs = mock(ResultSet.class);
+
+        when(conn.prepareStatement(anyString())).thenReturn(stmt);
+        when(stmt.executeQuery()).thenReturn(rs);
+        when(rs.next()).thenReturn(true, true, true, false);
+        when(rs.getString("locale_code")).thenReturn("en_US", "fi_FI", "en_US");
+        when(rs.getString("message_key")).thenReturn("a", "a", "b");
+        when(rs.getString("message_content")).thenReturn("A", "Ä", "B");
+
+        try (MockedStatic<DatabaseConnection> db = mockDB(conn)) {
+            Map<String, Map<String, String>> messages = new SystemMessageDAO().loadAll();
+
+            assertEquals(Map.of("a", "A", "b", "B"), messages.get("en_US"));
+            assertEquals(Map.of("a", "Ä"), messages.get("fi_FI"));
+        }
+    }
+
+    @Test
+    void loadAll_sqlException_returnsNull() throws Exception {
+        Connection conn = mock(Connection.class);
+        when(conn.prepareStatement(anyString())).thenThrow(new SQLException("down"));
+
+        try (MockedStatic<DatabaseConnection> db = mockDB(conn)) {
+            assertNull(new SystemMessageDAO().loadAll());
+        }
+    }
+}
@@ -223,6 +223,7 @@ class AuthenticationServiceTest {
             prod.setCurrentUser(user);
 
             verify(vaadinSession).setAttribute("currentUser", user);
+            verify(vaadinSession).setAttribute(eq(UserContext.SESSION_ATTRIBUTE), any(UserContext.class));
             verify(httpSession).setAttribute(eq(HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY),
                     any());
             assertNotNull(SecurityContextHolder.getContext().getAuthentication());
@@ -302,6 +303,7 @@ class AuthenticationServiceTest {
             prod.logout();
 
             verify(vaadinSession).setAttribute("currentUser", null);
+            verify(vaadinSession).setAttribute(UserContext.SESSION_ATTRIBUTE, null);
             verify(httpSession).removeAttribute(HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY);
             assertNull(SecurityContextHolder.getContext().getAuthentication());
         }
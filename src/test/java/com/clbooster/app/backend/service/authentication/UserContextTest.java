@@ -0,0 +1,88 @@
+package com.clbooster.app.backend.service.authentication;
+
+import com.clbooster.app.backend.service.profile.Profile;
+import com.clbooster.app.backend.service.profile.User;
+import com.clbooster.app.backend.service.settings.Settings;
+import com.vaadin.flow.server.VaadinSession;
+import org.junit.jupiter.api.Test;
+import org.mockito.MockedStatic;
+
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class UserContextTest {
+
+    private static User user(int pin) {
+        User user = new User("test@mail.com", "user", "StrongPass1!", "John", "Doe");
+        user.setPin(pin);
+        return user;
+    }
+
+    @Test
+    void current_withoutSession_returnsNull() {
+        try (MockedStatic<VaadinSession> sessionStatic = mockStatic(VaadinSession.class)) {
+            sessionStatic.when(VaadinSession::getCurrent).thenReturn(null);
+
+            assertNull(UserContext.current());
+            assertNull(UserContext.forPin(1));
+        }
+    }
+
+    @Test
+    void forPin_onlyMatchesTheLoggedInUser() {
+        VaadinSession session = mock(VaadinSession.class);
+        UserContext context = new UserContext(user(7));
+        when(session.getAttribute(UserContext.SESSION_ATTRIBUTE)).thenReturn(context);
+
+        try (MockedStatic<VaadinSession> sessionStatic = mockStatic(VaadinSession.class)) {
+            sessionStatic.when(VaadinSession::getCurrent).thenReturn(session);
+
+            assertSame(context, UserContext.current());
+            assertSame(context, UserContext.forPin(7));
+            assertNull(UserContext.forPin(8));
+        }
+    }
+
+    @Test
+    void openAndClose_replaceSessionAttribute() {
+        VaadinSession session = mock(VaadinSession.class);
+
+        try (MockedStatic<VaadinSession> sessionStatic = mockStatic(VaadinSession.class)) {
+            sessionStatic.when(VaadinSession::getCurrent).thenReturn(session);
+
+            UserContext.open(user(3));
+            verify(session).setAttribute(eq(UserContext.SESSION_ATTRIBUTE),
+                    argThat(value -> value instanceof UserContext c && c.getUser().getPin() == 3));
+
+            UserContext.close();
+            verify(session).setAttribute(UserContext.SESSION_ATTRIBUTE, null);
+        }
+    }
+
+    @Test
+    void settings_cachedUntilInvalidated() {
+        UserContext context = new UserContext(user(1));
+        Settings settings = new Settings(1);
+
+        context.setSettings(settings);
+        assertSame(settings, context.getSettings());
+
+        context.invalidateSettings();
+        assertNull(context.getSettings());
+    }
+
+    @Test
+    void profile_cachedPerLocaleUntilInvalidated() {
+        UserContext context = new UserContext(user(1));
+        Profile profile = new Profile();
+
+        context.setProfile(profile, Locale.ENGLISH);
+        assertSame(profile, context.getProfile(Locale.ENGLISH));
+        assertNull(context.getProfile(Locale.CHINESE));
+
+        context.invalidateProfile();
+        assertNull(context.getProfile(Locale.ENGLISH));
+    }
+}
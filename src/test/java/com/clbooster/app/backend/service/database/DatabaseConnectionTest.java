@@ -0,0 +1,97 @@
+package com.clbooster.app.backend.service.database;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class DatabaseConnectionTest {
+
+    @AfterEach
+    void resetDataSource() {
+        DatabaseConnection.setDataSource(null);
+    }
+
+    @Test
+    void getConnection_borrowsFromRegisteredDataSource() throws SQLException {
+        DataSource dataSource = mock(DataSource.class);
+        Connection connection = mock(Connection.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+
+        DatabaseConnection.setDataSource(dataSource);
+
+        assertSame(connection, DatabaseConnection.getConnection());
+        assertSame(connection, DatabaseConnection.getConnection());
+        verify(dataSource, times(2)).getConnection();
+    }
+
+    @Test
+    void getConnection_propagatesPoolFailure() throws SQLException {
+        DataSource dataSource = mock(DataSource.class);
+        when(dataSource.getConnection()).thenThrow(new SQLException("pool exhausted"));
+
+        DatabaseConnection.setDataSource(dataSource);
+
+        assertThrows(SQLException.class, DatabaseConnection::getConnection);
+    }
+
+    @Test
+    void databaseConfig_registersSpringDataSource() {
+        DataSource dataSource = mock(DataSource.class);
+
+        new DatabaseConfig(dataSource, true, 30);
+
+        assertSame(dataSource, DatabaseConnection.getDataSource());
+    }
+
+    @Test
+    void databaseConfig_skipsMigrationWhenDisabled() throws SQLException {
+        DataSource dataSource = mock(DataSource.class);
+
+        new DatabaseConfig(dataSource, false, 30).migrateSchema();
+
+        verify(dataSource, never()).getConnection();
+    }
+
+    @Test
+    void databaseConfig_retriesFailedMigrationUntilItSucceeds() throws Exception {
+        AtomicInteger attempts = new AtomicInteger();
+        DatabaseConfig config = new DatabaseConfig(mock(DataSource.class), true, Duration.ofMillis(20),
+                () -> attempts.incrementAndGet() >= 3);
+
+        config.migrateSchema();
+
+        long deadline = System.currentTimeMillis() + 5000;
+        while (config.isRetrying() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertFalse(config.isRetrying());
+        assertEquals(3, attempts.get());
+    }
+
+    @Test
+    void databaseConfig_successfulMigration_doesNotRetry() {
+        AtomicInteger attempts = new AtomicInteger();
+        DatabaseConfig config = new DatabaseConfig(mock(DataSource.class), true, Duration.ofMillis(20),
+                () -> attempts.incrementAndGet() > 0);
+
+        config.migrateSchema();
+
+        assertFalse(config.isRetrying());
+        assertEquals(1, attempts.get());
+    }
+}
@@ -1,37 +1,179 @@
 package com.clbooster.app.backend.service.database;
 
+import com.clbooster.app.backend.service.profile.CoverLetterService;
 import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.mockito.MockedConstruction;
 import org.mockito.MockedStatic;
 import org.mockito.Mockito;
 
 import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
 import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 class DatabaseMigrationTest {
 
-    @Test
-    void runMigration_executesStatementsWhenConnectionAvailable() throws SQLException {
-        Connection connection = mock(Connection.class);
-        Statement statement = mock(Statement.class);
+    private static final DatabaseMigration.Migration V1 = new DatabaseMigration.Migration(1, "First",
+            List.of("CREATE TABLE IF NOT EXISTS a (id INT)"));
+    private static final DatabaseMigration.Migration V2 = new DatabaseMigration.Migration(2, "Second",
+            List.of("CREATE TABLE IF NOT EXISTS b (id INT)", "INSERT IGNORE INTO b VALUES (1)"));
+
+    private Connection connection;
+    private Statement statement;
+    private PreparedStatement insert;
+    private ResultSet installed;
+    private PreparedStatement lock;
+    private ResultSet lockResult;
+
+    private void mockDatabase() throws SQLException {
+        connection = mock(Connection.class);
+        statement = mock(Statement.class);
+        insert = mock(PreparedStatement.class);
+        installed = mock(ResultSet.class);
+        lock = mock(PreparedStatement.class);
+        lockResult = mock(ResultSet.class);
 
         when(connection.createStatement()).thenReturn(statement);
+        when(connection.prepareStatement(anyString())).thenReturn(insert);
+        when(connection.prepareStatement(contains("_LOCK("))).thenReturn(lock);
+        when(statement.executeQuery(anyString())).thenReturn(installed);
+        when(lock.executeQuery()).thenReturn(lockResult);
+        when(lockResult.next()).thenReturn(true);
+        when(lockResult.getInt(1)).thenReturn(1);
+    }
 
-        try (MockedStatic<DatabaseConnection> dbConnMock = Mockito.mockStatic(DatabaseConnection.class)) {
+    @Test
+    void runMigration_executesStatementsWhenConnectionAvailable() throws Exception {
+        mockDatabase();
+
+        try (MockedStatic<DatabaseConnection> dbConnMock = Mockito.mockStatic(DatabaseConnection.class);
+                MockedConstruction<CoverLetterService> letters = Mockito.mockConstruction(CoverLetterService.class)) {
             dbConnMock.when(DatabaseConnection::getConnection).thenReturn(connection);
 
-            assertDoesNotThrow(DatabaseMigration::runMigration);
+            assertTrue(DatabaseMigration.runMigration());
+
+            verify(letters.constructed().get(0)).importLegacyFiles(DatabaseMigration.LEGACY_LETTER_DIR);
         }
 
-        verify(connection, atLeast(6)).createStatement();
+        verify(statement).execute(contains("CREATE TABLE IF NOT EXISTS schema_version"));
+        verify(statement).execute(contains("CREATE TABLE IF NOT EXISTS user_settings"));
         verify(statement, atLeast(6)).execute(anyString());
+        verify(insert, times(DatabaseMigration.MIGRATIONS.size())).executeUpdate();
+    }
+
+    @Test
+    void migrate_freshDatabase_appliesAndRecordsEveryVersion() throws SQLException {
+        mockDatabase();
+
+        assertEquals(2, DatabaseMigration.migrate(connection, List.of(V1, V2)));
+
+        verify(statement).execute("CREATE TABLE IF NOT EXISTS a (id INT)");
+        verify(statement).execute("INSERT IGNORE INTO b VALUES (1)");
+        verify(insert).setInt(1, 1);
+        verify(insert).setInt(1, 2);
+        verify(insert).setString(3, V2.checksum());
+        verify(insert, times(2)).executeUpdate();
+    }
+
+    @Test
+    void migrate_readsInstalledVersionsOnlyWhileHoldingTheLock() throws SQLException {
+        mockDatabase();
+
+        DatabaseMigration.migrate(connection, List.of(V1));
+
+        InOrder order = inOrder(connection, statement, insert);
+        order.verify(connection).prepareStatement("SELECT GET_LOCK(?, ?)");
+        order.verify(statement).executeQuery(contains("FROM schema_version"));
+        order.verify(insert).executeUpdate();
+        order.verify(connection).prepareStatement("SELECT RELEASE_LOCK(?)");
+    }
+
+    @Test
+    void migrate_lockNotGranted_appliesNothing() throws SQLException {
+        mockDatabase();
+        when(lockResult.getInt(1)).thenReturn(0);
+
+        assertThrows(SQLException.class, () -> DatabaseMigration.migrate(connection, List.of(V1)));
+
+        verify(statement, never()).execute("CREATE TABLE IF NOT EXISTS a (id INT)");
+        verify(insert, never()).executeUpdate();
+    }
+
+    @Test
+    void migrate_failingStep_leavesTheVersionUnrecorded() throws SQLException {
+        mockDatabase();
+        DatabaseMigration.Migration failing = new DatabaseMigration.Migration(1, "Import", List.of(), conn -> {
+            throw new SQLException("import failed");
+        });
+
+        assertThrows(SQLException.class, () -> DatabaseMigration.migrate(connection, List.of(failing)));
+
+        verify(insert, never()).executeUpdate();
+    }
+
+    @Test
+    void migrate_skipsVersionsAlreadyRecorded() throws SQLException {
+        mockDatabase();
+        when(installed.next()).thenReturn(true, false);
+        when(installed.getInt("version")).thenReturn(1);
+        when(installed.getString("checksum")).thenReturn(V1.checksum());
+
+        assertEquals(1, DatabaseMigration.migrate(connection, List.of(V1, V2)));
+
+        verify(statement, never()).execute("CREATE TABLE IF NOT EXISTS a (id INT)");
+        verify(statement).execute("CREATE TABLE IF NOT EXISTS b (id INT)");
+        verify(insert, never()).setInt(1, 1);
+    }
+
+    @Test
+    void migrate_checksumMismatch_doesNotReapply() throws SQLException {
+        mockDatabase();
+        when(installed.next()).thenReturn(true, false);
+        when(installed.getInt("version")).thenReturn(1);
+        when(installed.getString("checksum")).thenReturn("0".repeat(64));
+
+        assertEquals(0, DatabaseMigration.migrate(connection, List.of(V1)));
+
+        verify(statement, never()).execute("CREATE TABLE IF NOT EXISTS a (id INT)");
+        verify(insert, never()).executeUpdate();
+    }
+
+    @Test
+    void checksum_changesWhenStatementsChange() {
+        DatabaseMigration.Migration edited = new DatabaseMigration.Migration(1, "First",
+                List.of("CREATE TABLE IF NOT EXISTS a (id BIGINT)"));
+
+        assertEquals(64, V1.checksum().length());
+        assertEquals(V1.checksum(), new DatabaseMigration.Migration(1, "Renamed", V1.statements()).checksum());
+        assertNotEquals(V1.checksum(), edited.checksum());
+    }
+
+    @Test
+    void migrations_haveIncreasingVersions() {
+        int previous = 0;
+        for (DatabaseMigration.Migration migration : DatabaseMigration.MIGRATIONS) {
+            assertEquals(previous + 1, migration.version());
+            previous = migration.version();
+        }
     }
 
     @Test
@@ -39,7 +181,7 @@ class DatabaseMigrationTest {
         try (MockedStatic<DatabaseConnection> dbConnMock = Mockito.mockStatic(DatabaseConnection.class)) {
             dbConnMock.when(DatabaseConnection::getConnection).thenThrow(new SQLException("db unavailable"));
 
-            assertDoesNotThrow(DatabaseMigration::runMigration);
+            assertFalse(DatabaseMigration.runMigration());
         }
     }
 
@@ -0,0 +1,78 @@
+package com.clbooster.app.backend.service.database;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.mockito.MockedStatic;
+import org.mockito.Mockito;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class UnitOfWorkTest {
+
+    @Test
+    void run_commitsAndRestoresAutoCommit() throws SQLException {
+        Connection connection = mock(Connection.class);
+        when(connection.getAutoCommit()).thenReturn(true);
+
+        try (MockedStatic<DatabaseConnection> db = Mockito.mockStatic(DatabaseConnection.class)) {
+            db.when(DatabaseConnection::getConnection).thenReturn(connection);
+
+            assertEquals("done", UnitOfWork.run(conn -> {
+                assertSame(connection, conn);
+                return "done";
+            }));
+        }
+
+        InOrder order = inOrder(connection);
+        order.verify(connection).setAutoCommit(false);
+        order.verify(connection).commit();
+        order.verify(connection).setAutoCommit(true);
+        order.verify(connection).close();
+        verify(connection, never()).rollback();
+    }
+
+    @Test
+    void run_rollsBackAndRethrowsOnSqlException() throws SQLException {
+        Connection connection = mock(Connection.class);
+        SQLException failure = new SQLException("constraint violated");
+
+        try (MockedStatic<DatabaseConnection> db = Mockito.mockStatic(DatabaseConnection.class)) {
+            db.when(DatabaseConnection::getConnection).thenReturn(connection);
+
+            SQLException thrown = assertThrows(SQLException.class, () -> UnitOfWork.run(conn -> {
+                throw failure;
+            }));
+            assertSame(failure, thrown);
+        }
+
+        verify(connection).rollback();
+        verify(connection, never()).commit();
+        verify(connection).close();
+    }
+
+    @Test
+    void run_rollsBackOnRuntimeException() throws SQLException {
+        Connection connection = mock(Connection.class);
+
+        try (MockedStatic<DatabaseConnection> db = Mockito.mockStatic(DatabaseConnection.class)) {
+            db.when(DatabaseConnection::getConnection).thenReturn(connection);
+
+            assertThrows(IllegalArgumentException.class, () -> UnitOfWork.run(conn -> {
+                throw new IllegalArgumentException("bad input");
+            }));
+        }
+
+        verify(connection).rollback();
+        verify(connection, never()).commit();
+    }
+}
@@ -1,5 +1,7 @@
 package com.clbooster.app.backend.service.document;
 
+import com.clbooster.aiservice.Exporter;
+import com.clbooster.aiservice.ParsedTextCache;
 import com.clbooster.app.backend.service.ResumeData;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -76,6 +78,20 @@ class DocumentServiceTest {
         assertEquals(new String(originalContent), new String(retrieved));
     }
 
+    @Test
+    @DisplayName("Should resolve stored resume to a file without reading it")
+    void testResolveResumeFile() throws IOException {
+        MultipartFile file = new MockMultipartFile("file", "resume.txt", "text/plain",
+                "Streamed resume".getBytes(StandardCharsets.UTF_8));
+
+        String storagePath = documentService.storeResumeFile(file, "user123");
+        Path resolved = documentService.resolveResumeFile(storagePath);
+
+        assertEquals(Paths.get(storagePath).toAbsolutePath().normalize(), resolved);
+        assertThrows(IOException.class, () -> documentService.resolveResumeFile("/etc/passwd"));
+        assertThrows(IOException.class, () -> documentService.resolveResumeFile("uploads/resumes/missing.txt"));
+    }
+
     @Test
     @DisplayName("Should export resume as document")
     void testExportResumeAsDocument() throws IOException {
@@ -135,6 +151,23 @@ class DocumentServiceTest {
         assertFalse(Files.exists(Paths.get(storagePath)));
     }
 
+    @Test
+    @DisplayName("Should drop the cached parsed text of a deleted resume")
+    void testDeleteResumeFile_RemovesParsedText() throws IOException {
+        ParsedTextCache cache = new ParsedTextCache(testOutputDir, 4);
+        DocumentService service = new DocumentService(new Exporter(), cache);
+        MultipartFile file = new MockMultipartFile("file", "resume.txt", "text/plain",
+                "Private resume".getBytes(StandardCharsets.UTF_8));
+        String storagePath = service.storeResumeFile(file, "user123");
+        String contentHash = ParsedTextCache.hash(Paths.get(storagePath));
+        cache.put(contentHash, "Private resume");
+
+        assertTrue(service.deleteResumeFile(storagePath));
+
+        assertFalse(Files.exists(testOutputDir.resolve(contentHash + ".txt")));
+        assertNull(cache.get(contentHash));
+    }
+
     @Test
     @DisplayName("Should reject empty file upload")
     void testStoreResumeFile_EmptyFile() {
@@ -0,0 +1,71 @@
+package com.clbooster.app.backend.service.profile;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class CoverLetterArchiveTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void exportableFiles_skipsMissingFilesAndDuplicateNames() throws Exception {
+        Path first = Files.writeString(tempDir.resolve("acme.docx"), "one");
+        Path sub = Files.createDirectory(tempDir.resolve("older"));
+        Files.writeString(sub.resolve("acme.docx"), "two");
+
+        List<Path> files = CoverLetterArchive.exportableFiles(List.of(letter(first.toString()),
+                letter(tempDir.resolve("gone.docx").toString()), letter(sub.resolve("acme.docx").toString()),
+                letter(null)));
+
+        assertEquals(List.of(first), files);
+    }
+
+    @Test
+    void writeZip_streamsEveryFileIntoItsOwnEntry() throws Exception {
+        Path a = Files.writeString(tempDir.resolve("a.txt"), "alpha");
+        Path b = Files.writeString(tempDir.resolve("b.txt"), "beta");
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        CoverLetterArchive.writeZip(List.of(a, b), out);
+
+        assertEquals(List.of("a.txt=alpha", "b.txt=beta"), entries(out.toByteArray()));
+    }
+
+    @Test
+    void writeZip_toPath_writesCompleteArchive() throws Exception {
+        Path a = Files.writeString(tempDir.resolve("a.txt"), "alpha");
+        Path zip = tempDir.resolve("export.zip");
+
+        CoverLetterArchive.writeZip(List.of(a), zip);
+
+        assertEquals(List.of("a.txt=alpha"), entries(Files.readAllBytes(zip)));
+    }
+
+    private static CoverLetter letter(String path) {
+        return new CoverLetter(1, 1, null, path);
+    }
+
+    private static List<String> entries(byte[] zip) throws Exception {
+        List<String> entries = new ArrayList<>();
+        try (ZipInputStream in = new ZipInputStream(new ByteArrayInputStream(zip))) {
+            ZipEntry entry;
+            while ((entry = in.getNextEntry()) != null) {
+                entries.add(entry.getName() + "=" + new String(in.readAllBytes(), StandardCharsets.UTF_8));
+            }
+        }
+        return entries;
+    }
+}
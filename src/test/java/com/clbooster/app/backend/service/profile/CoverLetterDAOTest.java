@@ -62,6 +62,40 @@ class CoverLetterDAOTest {
         }
     }
 
+    @Test
+    void addCoverLetter_withMetadata_bindsAllColumns() throws Exception {
+        CoverLetterDAO dao = new CoverLetterDAO();
+
+        Connection conn = mock(Connection.class);
+        PreparedStatement stmt = mock(PreparedStatement.class);
+        ResultSet rs = mock(ResultSet.class);
+
+        when(conn.prepareStatement(anyString(), eq(Statement.RETURN_GENERATED_KEYS))).thenReturn(stmt);
+        when(stmt.getGeneratedKeys()).thenReturn(rs);
+        when(rs.next()).thenReturn(true);
+        when(rs.getInt(1)).thenReturn(7);
+
+        CoverLetter cl = new CoverLetter(123, "/file.docx");
+        cl.setCompany("Acme");
+        cl.setJobTitle("Engineer");
+        cl.setTone("professional");
+        cl.setFileSize(2048);
+
+        try (MockedStatic<DatabaseConnection> db = mockDB(conn)) {
+
+            assertEquals(7, dao.addCoverLetter(cl));
+
+            verify(stmt).setInt(1, 123);
+            verify(stmt).setString(2, "/file.docx");
+            verify(stmt).setString(3, "Acme");
+            verify(stmt).setString(4, "Engineer");
+            verify(stmt).setString(5, "professional");
+            verify(stmt).setLong(6, 2048);
+            verify(stmt).setTimestamp(7, null);
+            verify(stmt).setBoolean(8, false);
+        }
+    }
+
     // ---------------- getCoverLetterById ----------------
 
     @Test
@@ -154,6 +188,225 @@ class CoverLetterDAOTest {
         }
     }
 
+    // ---------------- getRecentCoverLettersByPin ----------------
+
+    @Test
+    void getRecentCoverLettersByPin_bindsLimitAndMapsMetadata() throws Exception {
+        CoverLetterDAO dao = new CoverLetterDAO();
+
+        Connection conn = mock(Connection.class);
+        PreparedStatement stmt = mock(PreparedStatement.class);
+        ResultSet rs = mock(ResultSet.class);
+
+        when(conn.prepareStatement(anyString())).thenReturn(stmt);
+        when(stmt.executeQuery()).thenReturn(rs);
+        when(rs.next()).thenReturn(true, false);
+        when(rs.getInt("Pin")).thenReturn(123);
+        when(rs.getString("Company")).thenReturn("Acme");
+        when(rs.getString("Job_Title")).thenReturn("Engineer");
+        when(rs.getLong("File_Size")).thenReturn(512L);
+
+        try (MockedStatic<DatabaseConnection> db = mockDB(conn)) {
+
+            List<CoverLetter> list = dao.getRecentCoverLettersByPin(123, 6);
+
+            assertEquals(1, list.size());
+            assertEquals("Acme", list.get(0).getCompany());
+            assertEquals("Engineer", list.get(0).getJobTitle());
+            assertEquals(512L, list.get(0).getFileSize());
+            verify(stmt).setInt(1, 123);
+            verify(stmt).setInt(2, 6);
+        }
+    }
+
+    // ---------------- existsByFilePath / counts ----------------
+
+    @Test
+    void existsByFilePath_returnsWhetherRowFound() throws Exception {
+        CoverLetterDAO dao = new CoverLetterDAO();
+
+        Connection conn = mock(Connection.class);
+        PreparedStatement stmt = mock(PreparedStatement.class);
+        ResultSet rs = mock(ResultSet.class);
+
+        when(conn.prepareStatement(anyString())).thenReturn(stmt);
+        when(stmt.executeQuery()).thenReturn(rs);
+        when(rs.next()).thenReturn(true, false);
+
+        try (MockedStatic<DatabaseConnection> db = mockDB(conn)) {
+            assertTrue(dao.existsByFilePath("/a.docx"));
+            assertFalse(dao.existsByFilePath("/b.docx"));
+        }
+    }
+
+    @Test
+    void countByPinSince_bindsPinAndTimestamp() throws Exception {
+        CoverLetterDAO dao = new CoverLetterDAO();
+
+        Connection conn = mock(Connection.class);
+        PreparedStatement stmt = mock(PreparedStatement.class);
+        ResultSet rs = mock(ResultSet.class);
+        Timestamp since = new Timestamp(0);
+
+        when(conn.prepareStatement(anyString())).thenReturn(stmt);
+        when(stmt.executeQuery()).thenReturn(rs);
+        when(rs.next()).thenReturn(true);
+        when(rs.getInt(1)).thenReturn(3);
+
+        try (MockedStatic<DatabaseConnection> db = mockDB(conn)) {
+
+            assertEquals(3, dao.countByPinSince(5, since));
+
+            verify(stmt).setInt(1, 5);
+            verify(stmt).setTimestamp(2, since);
+        }
+    }
+
+    @Test
+    void countByPin_sqlException_returnsZero() throws Exception {
+        CoverLetterDAO dao = new CoverLetterDAO();
+
+        Connection conn = mock(Connection.class);
+
+        when(conn.prepareStatement(anyString())).thenThrow(new SQLException());
+
+        try (MockedStatic<DatabaseConnection> db = mockDB(conn)) {
+            assertEquals(0, dao.countByPin(5));
+        }
+    }
+
+    // ---------------- getCoverLetterPage / countByFilter ----------------
+
+    @Test
+    void getCoverLetterPage_firstPage_filtersAndLimitsInSql() throws Exception {
+        CoverLetterDAO dao = new CoverLetterDAO();
+
+        Connection conn = mock(Connection.class);
+        PreparedStatement stmt = mock(PreparedStatement.class);
+        ResultSet rs = mock(ResultSet.class);
+
+        when(conn.prepareStatement(anyString())).thenReturn(stmt);
+        when(stmt.executeQuery()).thenReturn(rs);
+        when(rs.next()).thenReturn(true, false);
+        when(rs.getInt("id")).thenReturn(9);
+
+        CoverLetterFilter filter = new CoverLetterFilter(123, "50%_off", java.time.LocalDate.of(2026, 1, 1),
+                java.time.LocalDate.of(2026, 1, 31), CoverLetterFilter.STATUS_ALL);
+
+        try (MockedStatic<DatabaseConnection> db = mockDB(conn)) {
+
+            List<CoverLetter> page = dao.getCoverLetterPage(filter, null, 12);
+
+            assertEquals(1, page.size());
+            verify(conn).prepareStatement(argThat((String sql) -> sql.contains("Company LIKE ?")
+                    && sql.contains("ORDER BY Timestamp_edited DESC, id DESC LIMIT ?")
+                    && !sql.contains("id < ?") && !sql.contains("OFFSET")));
+            verify(stmt).setObject(1, 123);
+            verify(stmt).setObject(2, "50\\%\\_off%");
+            verify(stmt).setObject(3, "50\\%\\_off%");
+            verify(stmt).setObject(4, Timestamp.valueOf("2026-01-01 00:00:00"));
+            verify(stmt).setObject(5, Timestamp.valueOf("2026-02-01 00:00:00"));
+            verify(stmt).setObject(6, 12);
+        }
+    }
+
+    @Test
+    void getCoverLetterPage_afterCursor_seeksOnTimestampAndId() throws Exception {
+        CoverLetterDAO dao = new CoverLetterDAO();
+
+        Connection conn = mock(Connection.class);
+        PreparedStatement stmt = mock(PreparedStatement.class);
+        ResultSet rs = mock(ResultSet.class);
+
+        when(conn.prepareStatement(anyString())).thenReturn(stmt);
+        when(stmt.executeQuery()).thenReturn(rs);
+        when(rs.next()).thenReturn(false);
+
+        Timestamp ts = Timestamp.valueOf("2026-04-12 10:00:00");
+        CoverLetter after = new CoverLetter(40, 123, ts, "/a.docx");
+
+        try (MockedStatic<DatabaseConnection> db = mockDB(conn)) {
+
+            assertTrue(dao.getCoverLetterPage(new CoverLetterFilter(123), after, 12).isEmpty());
+
+            verify(conn).prepareStatement(
+                    argThat((String sql) -> sql.contains("(Timestamp_edited < ? OR (Timestamp_edited = ? AND id < ?))")));
+            verify(stmt).setObject(2, ts);
+            verify(stmt).setObject(3, ts);
+            verify(stmt).setObject(4, 40);
+            verify(stmt).setObject(5, 12);
+        }
+    }
+
+    @Test
+    void countByFilter_statusBecomesTimestampBound() throws Exception {
+        CoverLetterDAO dao = new CoverLetterDAO();
+
+        Connection conn = mock(Connection.class);
+        PreparedStatement stmt = mock(PreparedStatement.class);
+        ResultSet rs = mock(ResultSet.class);
+
+        when(conn.prepareStatement(anyString())).thenReturn(stmt);
+        when(stmt.executeQuery()).thenReturn(rs);
+        when(rs.next()).thenReturn(true);
+        when(rs.getInt(1)).thenReturn(4);
+
+        CoverLetterFilter archived = new CoverLetterFilter(123, null, null, null, CoverLetterFilter.STATUS_ARCHIVED);
+
+        try (MockedStatic<DatabaseConnection> db = mockDB(conn)) {
+
+            assertEquals(4, dao.countByFilter(archived));
+
+            verify(conn).prepareStatement(argThat((String sql) -> sql.startsWith("SELECT COUNT(*)")
+                    && sql.contains("Timestamp_edited <= ?")));
+            verify(stmt).setObject(eq(2), any(Timestamp.class));
+        }
+    }
+
+    @Test
+    void searchByContent_joinsIndexAndRanksByRelevance() throws Exception {
+        CoverLetterDAO dao = new CoverLetterDAO();
+
+        Connection conn = mock(Connection.class);
+        PreparedStatement stmt = mock(PreparedStatement.class);
+        ResultSet rs = mock(ResultSet.class);
+
+        when(conn.prepareStatement(anyString())).thenReturn(stmt);
+        when(stmt.executeQuery()).thenReturn(rs);
+        when(rs.next()).thenReturn(true, false);
+        when(rs.getInt("id")).thenReturn(4);
+
+        try (MockedStatic<DatabaseConnection> db = mockDB(conn)) {
+
+            List<CoverLetter> hits = dao.searchByContent(new CoverLetterFilter(123), "kubernetes", 24, 12);
+
+            assertEquals(1, hits.size());
+            verify(conn).prepareStatement(argThat((String sql) -> sql.contains("JOIN document_text ON Doc_Path = FilePath")
+                    && sql.contains("Doc_Type = 'COVER_LETTER'")
+                    && sql.contains("ORDER BY MATCH(Content) AGAINST (? IN NATURAL LANGUAGE MODE) DESC")
+                    && sql.endsWith("LIMIT ? OFFSET ?")));
+            verify(stmt).setObject(1, 123);
+            verify(stmt).setObject(2, "kubernetes");
+            verify(stmt).setObject(3, "kubernetes");
+            verify(stmt).setObject(4, 12);
+            verify(stmt).setObject(5, 24);
+        }
+    }
+
+    @Test
+    void getCoverLetterPage_sqlException_returnsEmptyList() throws Exception {
+        CoverLetterDAO dao = new CoverLetterDAO();
+
+        Connection conn = mock(Connection.class);
+
+        when(conn.prepareStatement(anyString())).thenThrow(new SQLException());
+
+        try (MockedStatic<DatabaseConnection> db = mockDB(conn)) {
+            assertTrue(dao.getCoverLetterPage(new CoverLetterFilter(1), null, 12).isEmpty());
+            assertEquals(0, dao.countByFilter(new CoverLetterFilter(1)));
+        }
+    }
+
     // ---------------- updateFilePath ----------------
 
     @Test
@@ -0,0 +1,35 @@
+package com.clbooster.app.backend.service.profile;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class CoverLetterFilterTest {
+
+    @Test
+    void constructor_normalizesBlankSearchAndMissingStatus() {
+        CoverLetterFilter filter = new CoverLetterFilter(7, "   ", null, null, null);
+
+        assertNull(filter.getSearch());
+        assertEquals(CoverLetterFilter.STATUS_ALL, filter.getStatus());
+        assertEquals(new CoverLetterFilter(7), filter);
+        assertEquals("acme", new CoverLetterFilter(7, " acme ", null, null, null).getSearch());
+    }
+
+    @Test
+    void equals_comparesAllCriteria() {
+        LocalDate day = LocalDate.of(2026, 4, 12);
+        CoverLetterFilter filter = new CoverLetterFilter(7, "acme", day, day, CoverLetterFilter.STATUS_FINALIZED);
+
+        assertEquals(filter, new CoverLetterFilter(7, "acme", day, day, CoverLetterFilter.STATUS_FINALIZED));
+        assertEquals(filter.hashCode(),
+                new CoverLetterFilter(7, "acme", day, day, CoverLetterFilter.STATUS_FINALIZED).hashCode());
+        assertNotEquals(filter, new CoverLetterFilter(8, "acme", day, day, CoverLetterFilter.STATUS_FINALIZED));
+        assertNotEquals(filter, new CoverLetterFilter(7, "acme", day, null, CoverLetterFilter.STATUS_FINALIZED));
+        assertNotEquals(filter, new CoverLetterFilter(7, "acme", day, day, CoverLetterFilter.STATUS_ARCHIVED));
+    }
+}
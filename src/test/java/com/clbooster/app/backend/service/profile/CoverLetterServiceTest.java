@@ -1,5 +1,7 @@
 package com.clbooster.app.backend.service.profile;
 
+import com.clbooster.app.backend.service.search.DocumentIndexService;
+import com.clbooster.app.backend.service.search.DocumentType;
 import org.junit.jupiter.api.*;
 import org.junit.jupiter.api.io.TempDir;
 
@@ -17,6 +19,7 @@ class CoverLetterServiceTest {
 
     private CoverLetterService service;
     private CoverLetterDAO dao;
+    private DocumentIndexService index;
 
     @BeforeEach
     void setup() throws Exception {
@@ -27,6 +30,11 @@ class CoverLetterServiceTest {
         daoField.setAccessible(true);
         daoField.set(service, dao);
 
+        index = mock(DocumentIndexService.class);
+        Field indexField = CoverLetterService.class.getDeclaredField("documentIndexService");
+        indexField.setAccessible(true);
+        indexField.set(service, index);
+
         Field basePathField = CoverLetterService.class.getDeclaredField("BASE_PATH");
         basePathField.setAccessible(true);
         basePathField.set(null, tempDir.toString() + "/");
@@ -178,4 +186,116 @@ class CoverLetterServiceTest {
         assertNotNull(result);
         verify(dao).getCoverLettersByPin(123);
     }
-}
\ No newline at end of file
+
+    // ---------------- recordGeneratedLetter ----------------
+
+    @Test
+    void recordGeneratedLetter_storesMetadataAndFileSize() throws Exception {
+        Path file = tempDir.resolve("letter.docx");
+        Files.write(file, new byte[10]);
+        when(dao.addCoverLetter(any(CoverLetter.class))).thenReturn(5);
+
+        assertEquals(5, service.recordGeneratedLetter(123, file, "Acme", "Engineer", "creative", "Dear team"));
+
+        verify(dao).addCoverLetter(argThat((CoverLetter cl) -> cl.getPin() == 123 && "Acme".equals(cl.getCompany())
+                && "Engineer".equals(cl.getJobTitle()) && "creative".equals(cl.getTone()) && cl.getFileSize() == 10));
+        verify(index).indexText(123, DocumentType.COVER_LETTER, file, "Dear team");
+    }
+
+    @Test
+    void recordGeneratedLetter_dbFailure_skipsIndexing() throws Exception {
+        Path file = tempDir.resolve("letter.docx");
+        Files.write(file, new byte[10]);
+        when(dao.addCoverLetter(any(CoverLetter.class))).thenReturn(-1);
+
+        assertEquals(-1, service.recordGeneratedLetter(123, file, "Acme", "Engineer", "creative", "Dear team"));
+
+        verifyNoInteractions(index);
+    }
+
+    // ---------------- importLegacyFiles ----------------
+
+    @Test
+    void parseLegacyFileName_recoversPinAndTimeAndMarksTheRestApproximate() throws Exception {
+        Path file = tempDir.resolve("12345_20260412_113000_Acme_Senior_Engineer.docx");
+        Files.writeString(file, "x");
+
+        CoverLetter cl = CoverLetterService.parseLegacyFileName(file);
+
+        assertNotNull(cl);
+        assertEquals(12345, cl.getPin());
+        // Where the company ends cannot be told, so nothing is split off as one
+        assertNull(cl.getCompany());
+        assertEquals("Acme Senior Engineer", cl.getJobTitle());
+        assertTrue(cl.isMetadataApproximate());
+        assertEquals(java.sql.Timestamp.valueOf("2026-04-12 11:30:00"), cl.getTimestampEdited());
+        assertNull(CoverLetterService.parseLegacyFileName(tempDir.resolve("notes.docx")));
+    }
+
+    @Test
+    void importLegacyFiles_skipsAlreadyIndexedAndUnrecognisedFiles() throws Exception {
+        Path known = tempDir.resolve("1_20260101_000000_Old_Role.docx");
+        Path fresh = tempDir.resolve("1_20260102_000000_New_Role.docx");
+        Files.writeString(known, "a");
+        Files.writeString(fresh, "b");
+        Files.writeString(tempDir.resolve("readme.txt"), "c");
+        when(dao.existsByFilePath(known.toAbsolutePath().toString())).thenReturn(true);
+        when(dao.addCoverLetter(any(CoverLetter.class))).thenReturn(1);
+
+        assertEquals(1, service.importLegacyFiles(tempDir));
+        verify(index).indexFile(1, DocumentType.COVER_LETTER, fresh);
+        assertEquals(0, service.importLegacyFiles(tempDir.resolve("missing")));
+
+        verify(dao).addCoverLetter(argThat((CoverLetter cl) -> cl.getFilePath().equals(fresh.toAbsolutePath().toString())));
+    }
+
+    @Test
+    void importLegacyFiles_skipsRowsThatFailAndImportsTheRest() throws Exception {
+        Path failing = tempDir.resolve("1_20260101_000000_Old_Role.docx");
+        Path fresh = tempDir.resolve("1_20260102_000000_New_Role.docx");
+        Files.writeString(failing, "a");
+        Files.writeString(fresh, "b");
+        when(dao.addCoverLetter(any(CoverLetter.class))).thenReturn(1);
+        when(dao.addCoverLetter(argThat((CoverLetter cl) -> cl.getFilePath().endsWith("Old_Role.docx"))))
+                .thenReturn(-1);
+
+        assertEquals(1, service.importLegacyFiles(tempDir));
+        verify(index).indexFile(1, DocumentType.COVER_LETTER, fresh);
+        verify(index, never()).indexFile(1, DocumentType.COVER_LETTER, failing);
+    }
+
+    // ---------------- paging ----------------
+
+    @Test
+    void getCoverLetterPage_andCount_delegateWithFilter() {
+        CoverLetterFilter filter = new CoverLetterFilter(123);
+        CoverLetter after = new CoverLetter(5, 123, null, "/a.docx");
+        when(dao.getCoverLetterPage(filter, after, 12)).thenReturn(List.of());
+        when(dao.countByFilter(filter)).thenReturn(30);
+
+        assertTrue(service.getCoverLetterPage(filter, after, 12).isEmpty());
+        assertEquals(30, service.countCoverLetters(filter));
+    }
+
+    @Test
+    void deleteRecord_removesRowAndSearchEntryOnly() {
+        when(dao.deleteCoverLetter(5)).thenReturn(true);
+
+        assertTrue(service.deleteRecord(5, "/tmp/a.docx"));
+
+        verify(dao, never()).getCoverLetterById(anyInt());
+        verify(index).remove(Paths.get("/tmp/a.docx"));
+    }
+
+    // ---------------- searchCoverLetters ----------------
+
+    @Test
+    void searchCoverLetters_trimsQueryAndSkipsBlank() {
+        CoverLetterFilter filter = new CoverLetterFilter(123);
+        when(dao.searchByContent(filter, "kubernetes", 0, 12)).thenReturn(List.of(new CoverLetter(123, "/a.docx")));
+
+        assertEquals(1, service.searchCoverLetters(filter, "  kubernetes ", 0, 12).size());
+        assertTrue(service.searchCoverLetters(filter, " ", 0, 12).isEmpty());
+        verify(dao, times(1)).searchByContent(any(), anyString(), anyInt(), anyInt());
+    }
+}
@@ -36,6 +36,23 @@ class CoverLetterTest {
         assertEquals("/tmp/new.docx", empty.getFilePath());
     }
 
+    @Test
+    void metadataAccessors_workAsExpected() {
+        Timestamp created = Timestamp.valueOf("2026-04-12 10:15:30");
+        CoverLetter letter = new CoverLetter(42, "/tmp/letter.docx");
+        letter.setCompany("Acme");
+        letter.setJobTitle("Engineer");
+        letter.setTone("professional");
+        letter.setCreatedAt(created);
+        letter.setFileSize(1024);
+
+        assertEquals("Acme", letter.getCompany());
+        assertEquals("Engineer", letter.getJobTitle());
+        assertEquals("professional", letter.getTone());
+        assertEquals(created, letter.getCreatedAt());
+        assertEquals(1024, letter.getFileSize());
+    }
+
     @Test
     void toString_containsAllMainFields() {
         Timestamp ts = Timestamp.valueOf("2026-04-12 10:15:30");
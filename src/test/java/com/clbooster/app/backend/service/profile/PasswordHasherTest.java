@@ -0,0 +1,66 @@
+package com.clbooster.app.backend.service.profile;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PasswordHasherTest {
+
+    // SHA-256("password"), as stored before bcrypt
+    private static final String LEGACY_HASH = "5e884898da28047151d0e56f8dc6292773603d0d6aabbdd62a11ef721d1542d8";
+
+    private final PasswordHasher hasher = new PasswordHasher(4, 2, 8, 16);
+
+    @Test
+    void hash_isSaltedBcrypt() {
+        String first = hasher.hash("password");
+        String second = hasher.hash("password");
+
+        assertTrue(first.startsWith("$2a$04$"));
+        assertNotEquals(first, second);
+        assertTrue(hasher.verify("password", first));
+        assertTrue(hasher.verify("password", second));
+        assertFalse(hasher.verify("Password", first));
+    }
+
+    @Test
+    void verify_acceptsLegacyDigestAndFlagsItForRehash() {
+        assertTrue(hasher.verify("password", LEGACY_HASH));
+        assertFalse(hasher.verify("wrong", LEGACY_HASH));
+        assertTrue(hasher.needsRehash(LEGACY_HASH));
+    }
+
+    @Test
+    void verify_rejectsUnknownFormatsAndNulls() {
+        assertFalse(hasher.verify("password", "WRONG_HASH"));
+        assertFalse(hasher.verify(null, LEGACY_HASH));
+        assertFalse(hasher.verify("password", null));
+        assertFalse(hasher.needsRehash(null));
+        assertFalse(hasher.needsRehash("WRONG_HASH"));
+    }
+
+    @Test
+    void needsRehash_onlyWhenCostIsBelowConfigured() {
+        String weaker = new BCryptPasswordEncoder(4).encode("password");
+        PasswordHasher stronger = new PasswordHasher(5, 1, 4, 4);
+
+        assertFalse(hasher.needsRehash(weaker));
+        assertTrue(stronger.needsRehash(weaker));
+    }
+
+    @Test
+    void verify_cachesOnlySuccessfulChecks() {
+        String hash = hasher.hash("password");
+
+        assertFalse(hasher.verify("nope", hash));
+        assertEquals(0, hasher.cachedVerifications());
+
+        assertTrue(hasher.verify("password", hash));
+        assertTrue(hasher.verify("password", hash));
+        assertEquals(1, hasher.cachedVerifications());
+    }
+}
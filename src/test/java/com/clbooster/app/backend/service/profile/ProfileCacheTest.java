@@ -0,0 +1,50 @@
+package com.clbooster.app.backend.service.profile;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class ProfileCacheTest {
+
+    @Test
+    void get_returnsCopyOfCachedProfile() {
+        ProfileCache cache = new ProfileCache(4);
+        Profile profile = new Profile(1, "Senior", "Git", "Java", "link", "a@b.com");
+
+        cache.put(1, "en_US", profile);
+        profile.setSkills("changed after put");
+
+        Profile hit = cache.get(1, "en_US");
+        assertEquals("Java", hit.getSkills());
+        assertNotSame(hit, cache.get(1, "en_US"));
+        assertNull(cache.get(1, "fi_FI,en_US"));
+    }
+
+    @Test
+    void evict_dropsEveryLocaleOfThatPinOnly() {
+        ProfileCache cache = new ProfileCache(4);
+        cache.put(1, "en_US", new Profile());
+        cache.put(1, "fi_FI,en_US", new Profile());
+        cache.put(2, "en_US", new Profile());
+
+        cache.evict(1);
+
+        assertNull(cache.get(1, "en_US"));
+        assertNull(cache.get(1, "fi_FI,en_US"));
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void put_beyondCapacity_dropsLeastRecentlyUsed() {
+        ProfileCache cache = new ProfileCache(2);
+        cache.put(1, "en_US", new Profile());
+        cache.put(2, "en_US", new Profile());
+        cache.get(1, "en_US");
+        cache.put(3, "en_US", new Profile());
+
+        assertNull(cache.get(2, "en_US"));
+        assertEquals(2, cache.size());
+    }
+}
@@ -2,6 +2,7 @@ package com.clbooster.app.backend.service.profile;
 
 import com.clbooster.app.backend.service.database.DatabaseConnection;
 import com.clbooster.app.backend.util.LocaleFallbackResolver;
+import com.clbooster.app.backend.util.LocaleMapper;
 import com.clbooster.app.backend.util.Utf8Validator;
 import org.junit.jupiter.api.Test;
 import org.mockito.MockedStatic;
@@ -9,6 +10,7 @@ import org.mockito.MockedStatic;
 import java.sql.*;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -231,19 +233,28 @@ class ProfileDAOTest {
         }
     }
 
-    // ---------------- getById ----------------
+    // ---------------- getById / getByIdWithFallback ----------------
 
-    @Test
-    void getById_baseNull_returnsNull() {
-        ProfileDAO dao = spy(new ProfileDAO());
-        doReturn(null).when(dao).getProfileByPin(10);
-
-        assertNull(dao.getById(10, Locale.US));
+    private static ResultSet profileRow(PreparedStatement stmt, String localeCode) throws SQLException {
+        ResultSet rs = mock(ResultSet.class);
+        when(stmt.executeQuery()).thenReturn(rs);
+        when(rs.next()).thenReturn(true);
+        when(rs.getInt("Pin")).thenReturn(12);
+        when(rs.getString("Link")).thenReturn("link");
+        when(rs.getString("Profile_Email")).thenReturn("mail@test.com");
+        when(rs.getString("Experience_Level")).thenReturn("BaseExp");
+        when(rs.getString("Tools")).thenReturn("BaseTools");
+        when(rs.getString("Skills")).thenReturn("BaseSkills");
+        when(rs.getString("locale_code")).thenReturn(localeCode);
+        when(rs.getString("experience_level")).thenReturn("LocalizedExp");
+        when(rs.getString("tools")).thenReturn("LocalizedTools");
+        when(rs.getString("skills")).thenReturn("LocalizedSkills");
+        return rs;
     }
 
     @Test
     void getById_nullLocale_returnsBaseWithoutTranslationLookup() {
-        ProfileDAO dao = spy(new ProfileDAO());
+        ProfileDAO dao = spy(new ProfileDAO(new ProfileCache(8)));
         Profile base = new Profile();
         base.setPin(11);
         doReturn(base).when(dao).getProfileByPin(11);
@@ -255,23 +266,11 @@ class ProfileDAOTest {
 
     @Test
     void getById_translationFound_overridesLocalizedFields() throws Exception {
-        ProfileDAO dao = spy(new ProfileDAO());
-        Profile base = new Profile();
-        base.setPin(12);
-        base.setExperienceLevel("BaseExp");
-        base.setTools("BaseTools");
-        base.setSkills("BaseSkills");
-        doReturn(base).when(dao).getProfileByPin(12);
+        ProfileDAO dao = new ProfileDAO(new ProfileCache(8));
 
         PreparedStatement stmt = mock(PreparedStatement.class);
-        ResultSet rs = mock(ResultSet.class);
         Connection conn = mockConnection(stmt);
-
-        when(stmt.executeQuery()).thenReturn(rs);
-        when(rs.next()).thenReturn(true);
-        when(rs.getString("experience_level")).thenReturn("LocalizedExp");
-        when(rs.getString("tools")).thenReturn("LocalizedTools");
-        when(rs.getString("skills")).thenReturn("LocalizedSkills");
+        profileRow(stmt, "en_US");
 
         try (MockedStatic<DatabaseConnection> db = mockDB(conn)) {
             Profile result = dao.getById(12, Locale.US);
@@ -279,25 +278,17 @@ class ProfileDAOTest {
             assertEquals("LocalizedExp", result.getExperienceLevel());
             assertEquals("LocalizedTools", result.getTools());
             assertEquals("LocalizedSkills", result.getSkills());
+            assertEquals("link", result.getLink());
         }
     }
 
     @Test
     void getById_translationMissing_keepsBaseFields() throws Exception {
-        ProfileDAO dao = spy(new ProfileDAO());
-        Profile base = new Profile();
-        base.setPin(13);
-        base.setExperienceLevel("BaseExp");
-        base.setTools("BaseTools");
-        base.setSkills("BaseSkills");
-        doReturn(base).when(dao).getProfileByPin(13);
+        ProfileDAO dao = new ProfileDAO(new ProfileCache(8));
 
         PreparedStatement stmt = mock(PreparedStatement.class);
-        ResultSet rs = mock(ResultSet.class);
         Connection conn = mockConnection(stmt);
-
-        when(stmt.executeQuery()).thenReturn(rs);
-        when(rs.next()).thenReturn(false);
+        profileRow(stmt, null);
 
         try (MockedStatic<DatabaseConnection> db = mockDB(conn)) {
             Profile result = dao.getById(13, Locale.US);
@@ -309,62 +300,92 @@ class ProfileDAOTest {
     }
 
     @Test
-    void getById_sqlException_returnsBaseProfile() throws Exception {
-        ProfileDAO dao = spy(new ProfileDAO());
-        Profile base = new Profile();
-        base.setPin(14);
-        doReturn(base).when(dao).getProfileByPin(14);
+    void getById_noProfileRow_returnsNull() throws Exception {
+        ProfileDAO dao = new ProfileDAO(new ProfileCache(8));
 
         PreparedStatement stmt = mock(PreparedStatement.class);
+        ResultSet rs = mock(ResultSet.class);
         Connection conn = mockConnection(stmt);
-        when(stmt.executeQuery()).thenThrow(new SQLException("translation query failed"));
+        when(stmt.executeQuery()).thenReturn(rs);
+        when(rs.next()).thenReturn(false);
 
         try (MockedStatic<DatabaseConnection> db = mockDB(conn)) {
-            Profile result = dao.getById(14, Locale.US);
-            assertSame(base, result);
+            assertNull(dao.getById(10, Locale.US));
         }
     }
 
-    // ---------------- getByIdWithFallback ----------------
+    @Test
+    void getById_sqlException_returnsNull() throws Exception {
+        ProfileDAO dao = new ProfileDAO(new ProfileCache(8));
+
+        PreparedStatement stmt = mock(PreparedStatement.class);
+        Connection conn = mockConnection(stmt);
+        when(stmt.executeQuery()).thenThrow(new SQLException("translation query failed"));
+
+        try (MockedStatic<DatabaseConnection> db = mockDB(conn)) {
+            assertNull(dao.getById(14, Locale.US));
+        }
+    }
 
     @Test
-    void getByIdWithFallback_usesFirstMatchingLocale() {
-        ProfileDAO dao = spy(new ProfileDAO());
-        Profile translated = new Profile();
-        translated.setPin(15);
+    void getByIdWithFallback_resolvesWholeChainInOneQuery() throws Exception {
+        ProfileDAO dao = new ProfileDAO(new ProfileCache(8));
 
-        doReturn(true).when(dao).hasTranslation(15, Locale.US);
-        doReturn(translated).when(dao).getById(15, Locale.US);
+        PreparedStatement stmt = mock(PreparedStatement.class);
+        Connection conn = mockConnection(stmt);
+        profileRow(stmt, "fi_FI");
 
-        Profile result = dao.getByIdWithFallback(15, Locale.US, Locale.US);
-        assertSame(translated, result);
+        try (MockedStatic<DatabaseConnection> db = mockDB(conn)) {
+            Profile result = dao.getByIdWithFallback(15, Locale.forLanguageTag("fi-FI"), Locale.US);
+
+            assertEquals("LocalizedSkills", result.getSkills());
+            db.verify(DatabaseConnection::getConnection, times(1));
+            verify(conn).prepareStatement(contains("LEFT JOIN profile_translation"));
+            // fi_FI and fi collapse to one code, then the en_US default
+            verify(stmt).setString(1, "fi_FI");
+            verify(stmt).setString(2, "en_US");
+            verify(stmt).setInt(3, 15);
+            verify(stmt).setString(4, "fi_FI");
+            verify(stmt).setString(5, "en_US");
+        }
     }
 
     @Test
-    void getByIdWithFallback_noTranslations_returnsBaseProfile() {
-        ProfileDAO dao = spy(new ProfileDAO());
-        Profile base = new Profile();
-        base.setPin(16);
+    void getByIdWithFallback_nullPreferred_usesDefaultChain() throws Exception {
+        ProfileDAO dao = new ProfileDAO(new ProfileCache(8));
 
-        doReturn(false).when(dao).hasTranslation(eq(16), any(Locale.class));
-        doReturn(base).when(dao).getProfileByPin(16);
+        PreparedStatement stmt = mock(PreparedStatement.class);
+        Connection conn = mockConnection(stmt);
+        profileRow(stmt, "en_US");
 
-        Profile result = dao.getByIdWithFallback(16, Locale.US, Locale.US);
-        assertSame(base, result);
+        try (MockedStatic<DatabaseConnection> db = mockDB(conn)) {
+            assertEquals("LocalizedExp", dao.getByIdWithFallback(17, null, Locale.US).getExperienceLevel());
+            verify(stmt).setString(1, LocaleMapper.getDbCode(LocaleFallbackResolver.getDefault()));
+            verify(stmt).setInt(2, 17);
+        }
     }
 
     @Test
-    void getByIdWithFallback_nullPreferred_usesDefaultChain() {
-        ProfileDAO dao = spy(new ProfileDAO());
-        Profile translated = new Profile();
-        translated.setPin(17);
+    void getByIdWithFallback_servedFromCacheUntilProfileIsWritten() throws Exception {
+        ProfileDAO dao = new ProfileDAO(new ProfileCache(8));
+
+        PreparedStatement stmt = mock(PreparedStatement.class);
+        Connection conn = mockConnection(stmt);
+        profileRow(stmt, "en_US");
+        when(stmt.executeUpdate()).thenReturn(1);
 
-        Locale defaultLocale = LocaleFallbackResolver.getDefault();
-        doReturn(true).when(dao).hasTranslation(17, defaultLocale);
-        doReturn(translated).when(dao).getById(17, defaultLocale);
+        try (MockedStatic<DatabaseConnection> db = mockDB(conn)) {
+            Profile first = dao.getByIdWithFallback(12, Locale.US, Locale.US);
+            first.setSkills("changed by caller");
+            Profile second = dao.getByIdWithFallback(12, Locale.US, Locale.US);
+
+            assertEquals("LocalizedSkills", second.getSkills());
+            verify(stmt, times(1)).executeQuery();
 
-        Profile result = dao.getByIdWithFallback(17, null, Locale.US);
-        assertSame(translated, result);
+            dao.updateCVTimestamp(12);
+            dao.getByIdWithFallback(12, Locale.US, Locale.US);
+            verify(stmt, times(2)).executeQuery();
+        }
     }
 
     // ---------------- saveTranslation ----------------
@@ -383,24 +404,45 @@ class ProfileDAOTest {
 
     @Test
     void saveTranslation_success_updatesBaseProfileToo() throws Exception {
-        ProfileDAO dao = spy(new ProfileDAO());
+        ProfileDAO dao = new ProfileDAO();
         Profile profile = new Profile(18, "Senior", "Java", "Testing", "link", "mail@test.com");
 
-        doReturn(true).when(dao).updateProfile(any(Profile.class));
-
-        PreparedStatement stmt = mock(PreparedStatement.class);
-        Connection conn = mockConnection(stmt);
-        when(stmt.executeUpdate()).thenReturn(1);
+        Connection conn = mock(Connection.class);
+        PreparedStatement translation = mock(PreparedStatement.class);
+        PreparedStatement base = mock(PreparedStatement.class);
+        when(conn.prepareStatement(contains("profile_translation"))).thenReturn(translation);
+        when(conn.prepareStatement(startsWith("UPDATE profile"))).thenReturn(base);
+        when(conn.getAutoCommit()).thenReturn(true);
 
         try (MockedStatic<DatabaseConnection> db = mockDB(conn)) {
             dao.saveTranslation(profile, Locale.US);
 
-            verify(stmt).setInt(1, 18);
-            verify(stmt).executeUpdate();
-            verify(dao).updateProfile(profile);
+            verify(translation).setInt(1, 18);
+            verify(translation).executeUpdate();
+            verify(base).setString(4, "link");
+            verify(base).setInt(6, 18);
+            verify(base).executeUpdate();
+            verify(conn).setAutoCommit(false);
+            verify(conn).commit();
+            db.verify(DatabaseConnection::getConnection, times(1));
         }
     }
 
+    @Test
+    void saveTranslation_onCallerConnection_doesNotCommit() throws Exception {
+        ProfileDAO dao = new ProfileDAO();
+        Profile profile = new Profile(18, "Senior", "Java", "Testing", "link", "mail@test.com");
+
+        PreparedStatement stmt = mock(PreparedStatement.class);
+        Connection conn = mockConnection(stmt);
+
+        dao.saveTranslation(conn, profile, Locale.US);
+
+        verify(stmt, times(2)).executeUpdate();
+        verify(conn, never()).commit();
+        verify(conn, never()).close();
+    }
+
     @Test
     void saveTranslation_sqlException_doesNotThrow() throws Exception {
         ProfileDAO dao = new ProfileDAO();
@@ -412,6 +454,97 @@ class ProfileDAOTest {
 
         try (MockedStatic<DatabaseConnection> db = mockDB(conn)) {
             assertDoesNotThrow(() -> dao.saveTranslation(profile, Locale.US));
+            verify(conn).rollback();
+        }
+    }
+
+    // ---------------- bulk translations ----------------
+
+    @Test
+    void getTranslations_loadsAllPinsAndLocalesInOneQuery() throws Exception {
+        ProfileDAO dao = new ProfileDAO(new ProfileCache(8));
+
+        PreparedStatement stmt = mock(PreparedStatement.class);
+        ResultSet rs = mock(ResultSet.class);
+        Connection conn = mockConnection(stmt);
+        when(stmt.executeQuery()).thenReturn(rs);
+        when(rs.next()).thenReturn(true, true, false);
+        when(rs.getInt("Pin")).thenReturn(1, 2);
+        when(rs.getString("locale_code")).thenReturn("fi_FI", "en_US");
+        when(rs.getString("skills")).thenReturn("Taidot", "Skills");
+
+        Locale finnish = Locale.forLanguageTag("fi-FI");
+        try (MockedStatic<DatabaseConnection> db = mockDB(conn)) {
+            Map<Integer, Map<Locale, Profile>> result = dao.getTranslations(List.of(1, 2, 2),
+                    List.of(finnish, Locale.US));
+
+            assertEquals("Taidot", result.get(1).get(finnish).getSkills());
+            assertEquals("Skills", result.get(2).get(Locale.US).getSkills());
+            assertNull(result.get(1).get(Locale.US));
+            db.verify(DatabaseConnection::getConnection, times(1));
+            verify(conn, times(1)).prepareStatement(contains("p.Pin IN (?, ?) AND t.locale_code IN (?, ?)"));
+        }
+    }
+
+    @Test
+    void getTranslations_emptyInput_skipsDatabase() {
+        ProfileDAO dao = new ProfileDAO(new ProfileCache(8));
+
+        try (MockedStatic<DatabaseConnection> db = mockStatic(DatabaseConnection.class)) {
+            assertTrue(dao.getTranslations(List.of(), List.of(Locale.US)).isEmpty());
+            assertTrue(dao.getTranslations(List.of(1), List.of()).isEmpty());
+            db.verifyNoInteractions();
+        }
+    }
+
+    @Test
+    void saveTranslations_batchesUpsertsInOneTransaction() throws Exception {
+        ProfileDAO dao = new ProfileDAO(new ProfileCache(8));
+        List<Profile> profiles = new java.util.ArrayList<>();
+        for (int pin = 1; pin <= ProfileDAO.BATCH_SIZE + 1; pin++) {
+            profiles.add(new Profile(pin, "Senior", "Git", "Java", "link", "a@b.com"));
+        }
+
+        PreparedStatement stmt = mock(PreparedStatement.class);
+        Connection conn = mockConnection(stmt);
+
+        try (MockedStatic<DatabaseConnection> db = mockDB(conn)) {
+            assertEquals(profiles.size(), dao.saveTranslations(profiles, Locale.US));
+
+            verify(conn, times(1)).prepareStatement(contains("ON DUPLICATE KEY UPDATE"));
+            verify(stmt, times(profiles.size())).addBatch();
+            verify(stmt, times(2)).executeBatch();
+            verify(stmt, never()).executeUpdate();
+            verify(conn).commit();
+            db.verify(DatabaseConnection::getConnection, times(1));
+        }
+    }
+
+    @Test
+    void saveTranslations_failure_rollsBackAndReturnsZero() throws Exception {
+        ProfileDAO dao = new ProfileDAO(new ProfileCache(8));
+
+        PreparedStatement stmt = mock(PreparedStatement.class);
+        Connection conn = mockConnection(stmt);
+        when(stmt.executeBatch()).thenThrow(new SQLException("batch failed"));
+
+        try (MockedStatic<DatabaseConnection> db = mockDB(conn)) {
+            assertEquals(0, dao.saveTranslations(List.of(new Profile(1, "a", "b", "c", "d", "e")), Locale.US));
+            verify(conn).rollback();
+        }
+    }
+
+    @Test
+    void saveTranslations_invalidUtf8_rejectedBeforeDatabase() {
+        ProfileDAO dao = new ProfileDAO(new ProfileCache(8));
+        Profile profile = new Profile(1, "exp", "tools", "skills", "link", "mail@test.com");
+
+        try (MockedStatic<Utf8Validator> utf8 = mockStatic(Utf8Validator.class);
+                MockedStatic<DatabaseConnection> db = mockStatic(DatabaseConnection.class)) {
+            utf8.when(() -> Utf8Validator.isValidUtf8(anyString())).thenReturn(false);
+
+            assertThrows(IllegalArgumentException.class, () -> dao.saveTranslations(List.of(profile), Locale.US));
+            db.verifyNoInteractions();
         }
     }
 
@@ -1,12 +1,17 @@
 package com.clbooster.app.backend.service.profile;
 
+import com.clbooster.app.backend.service.authentication.UserContext;
+import com.clbooster.app.backend.service.database.DatabaseConnection;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.MockedStatic;
 
 import java.io.ByteArrayOutputStream;
 import java.io.PrintStream;
 import java.lang.reflect.Field;
+import java.sql.Connection;
+import java.sql.SQLException;
 import java.util.Locale;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -19,6 +24,8 @@ class ProfileServiceTest {
     private UserDAO userDAOMock;
     private final PrintStream originalOut = System.out;
     private ByteArrayOutputStream outContent;
+    private Connection connection;
+    private MockedStatic<DatabaseConnection> db;
 
     @BeforeEach
     void setUp() throws Exception {
@@ -36,10 +43,15 @@ class ProfileServiceTest {
 
         outContent = new ByteArrayOutputStream();
         System.setOut(new PrintStream(outContent));
+
+        connection = mock(Connection.class);
+        db = mockStatic(DatabaseConnection.class);
+        db.when(DatabaseConnection::getConnection).thenReturn(connection);
     }
 
     @AfterEach
     void tearDown() {
+        db.close();
         System.setOut(originalOut);
     }
 
@@ -69,13 +81,15 @@ class ProfileServiceTest {
     }
 
     @Test
-    void updateProfile_success_validEmail() {
+    void updateProfile_success_validEmail() throws Exception {
         boolean result = service.updateProfile(1, "", "", "Senior", "Java", "Backend", "link", "test@mail.com",
                 Locale.getDefault());
 
         assertTrue(result);
-        verify(userDAOMock).updateUser(1, "", "", "test@mail.com");
-        verify(profileDAOMock).saveTranslation(any(Profile.class), eq(Locale.getDefault()));
+        verify(userDAOMock).updateUser(connection, 1, "", "", "test@mail.com");
+        verify(profileDAOMock).saveTranslation(eq(connection), any(Profile.class), eq(Locale.getDefault()));
+        verify(connection).commit();
+        db.verify(DatabaseConnection::getConnection, times(1));
     }
 
     @Test
@@ -88,23 +102,27 @@ class ProfileServiceTest {
     }
 
     @Test
-    void updateProfile_emptyEmail_allowed() {
+    void updateProfile_emptyEmail_allowed() throws Exception {
         boolean result = service.updateProfile(1, "", "", "Senior", "Java", "Backend", "link", "", Locale.getDefault());
 
         assertTrue(result);
-        verify(userDAOMock).updateUser(1, "", "", "");
-        verify(profileDAOMock).saveTranslation(any(Profile.class), eq(Locale.getDefault()));
+        verify(userDAOMock).updateUser(connection, 1, "", "", "");
+        verify(profileDAOMock).saveTranslation(eq(connection), any(Profile.class), eq(Locale.getDefault()));
     }
 
     @Test
-    void updateProfile_daoFailure() {
-        doThrow(new RuntimeException("DB failure")).when(profileDAOMock).saveTranslation(any(Profile.class),
-                any(Locale.class));
+    void updateProfile_daoFailure() throws Exception {
+        doThrow(new SQLException("DB failure")).when(profileDAOMock).saveTranslation(any(Connection.class),
+                any(Profile.class), any(Locale.class));
 
         boolean result = service.updateProfile(1, "", "", "Senior", "Java", "Backend", "link", "test@mail.com",
                 Locale.getDefault());
 
         assertFalse(result);
+        // The identity update made earlier in the same unit of work is undone
+        verify(userDAOMock).updateUser(connection, 1, "", "", "test@mail.com");
+        verify(connection).rollback();
+        verify(connection, never()).commit();
     }
 
     @Test
@@ -160,4 +178,27 @@ class ProfileServiceTest {
         String output = outContent.toString();
         assertTrue(output.contains("(Not set)"));
     }
+
+    @Test
+    void getProfile_isCachedInUserContextUntilUpdated() {
+        Profile profile = new Profile();
+        profile.setPin(1);
+        when(profileDAOMock.getByIdWithFallback(1, Locale.ENGLISH, Locale.US)).thenReturn(profile);
+
+        try (MockedStatic<UserContext> contextStatic = mockStatic(UserContext.class)) {
+            UserContext context = mock(UserContext.class);
+            contextStatic.when(() -> UserContext.forPin(1)).thenReturn(context);
+
+            assertSame(profile, service.getProfile(1, Locale.ENGLISH));
+            verify(context).setProfile(profile, Locale.ENGLISH);
+
+            when(context.getProfile(Locale.ENGLISH)).thenReturn(profile);
+            assertSame(profile, service.getProfile(1, Locale.ENGLISH));
+            verify(profileDAOMock, times(1)).getByIdWithFallback(1, Locale.ENGLISH, Locale.US);
+
+            service.updateProfile(1, "A", "B", "Junior", "Git", "Java", "link", "a@b.com", Locale.ENGLISH);
+            service.updateCVTimestamp(1);
+            verify(context, times(2)).invalidateProfile();
+        }
+    }
 }
@@ -57,6 +57,8 @@ class UserDAOTest {
 
             verify(insertUser).setString(eq(2), eq("john"));
             verify(insertUser).setString(eq(1), eq("john@test.com"));
+            // Stored as bcrypt, never as the plain password
+            verify(insertUser).setString(eq(3), argThat(hash -> hash.startsWith("$2a$")));
         }
     }
 
@@ -161,6 +163,77 @@ class UserDAOTest {
         }
     }
 
+    @Test
+    void loginUser_legacyHash_isUpgradedToBcrypt() throws Exception {
+        UserDAO dao = new UserDAO(new PasswordHasher(4, 1, 4, 4));
+
+        Connection conn = mock(Connection.class);
+        PreparedStatement select = mock(PreparedStatement.class);
+        PreparedStatement update = mock(PreparedStatement.class);
+        ResultSet rs = mock(ResultSet.class);
+        String legacy = "5e884898da28047151d0e56f8dc6292773603d0d6aabbdd62a11ef721d1542d8";
+
+        when(conn.prepareStatement(startsWith("SELECT"))).thenReturn(select);
+        when(conn.prepareStatement(startsWith("UPDATE"))).thenReturn(update);
+        when(select.executeQuery()).thenReturn(rs);
+        when(rs.next()).thenReturn(true);
+        when(rs.getString("Password")).thenReturn(legacy);
+        when(rs.getInt("Pin")).thenReturn(7);
+        when(update.executeUpdate()).thenReturn(1);
+
+        try (MockedStatic<DatabaseConnection> db = mockDB(conn)) {
+            assertNotNull(dao.loginUser("john", "password"));
+
+            verify(conn).prepareStatement("UPDATE identification SET Password = ? WHERE Pin = ? AND Password = ?");
+            verify(update).setString(eq(1), argThat(hash -> hash.startsWith("$2a$04$")));
+            verify(update).setInt(2, 7);
+            verify(update).setString(3, legacy);
+        }
+    }
+
+    @Test
+    void loginUser_failedHashUpgrade_stillLogsIn() throws Exception {
+        PasswordHasher hasher = spy(new PasswordHasher(4, 1, 4, 4));
+        doThrow(new java.util.concurrent.RejectedExecutionException("queue full")).when(hasher).hash(anyString());
+        UserDAO dao = new UserDAO(hasher);
+
+        Connection conn = mock(Connection.class);
+        PreparedStatement stmt = mock(PreparedStatement.class);
+        ResultSet rs = mock(ResultSet.class);
+
+        when(conn.prepareStatement(anyString())).thenReturn(stmt);
+        when(stmt.executeQuery()).thenReturn(rs);
+        when(rs.next()).thenReturn(true);
+        when(rs.getString("Password")).thenReturn("5e884898da28047151d0e56f8dc6292773603d0d6aabbdd62a11ef721d1542d8");
+        when(rs.getInt("Pin")).thenReturn(7);
+
+        try (MockedStatic<DatabaseConnection> db = mockDB(conn)) {
+            assertNotNull(dao.loginUser("john", "password"));
+            verify(conn, never()).prepareStatement(startsWith("UPDATE"));
+        }
+    }
+
+    @Test
+    void loginUser_currentBcryptHash_isNotRewritten() throws Exception {
+        PasswordHasher hasher = new PasswordHasher(4, 1, 4, 4);
+        UserDAO dao = new UserDAO(hasher);
+
+        Connection conn = mock(Connection.class);
+        PreparedStatement stmt = mock(PreparedStatement.class);
+        ResultSet rs = mock(ResultSet.class);
+
+        when(conn.prepareStatement(anyString())).thenReturn(stmt);
+        when(stmt.executeQuery()).thenReturn(rs);
+        when(rs.next()).thenReturn(true);
+        when(rs.getString("Password")).thenReturn(hasher.hash("password"));
+
+        try (MockedStatic<DatabaseConnection> db = mockDB(conn)) {
+            assertNotNull(dao.loginUser("john", "password"));
+            assertNull(dao.loginUser("john", "other"));
+            verify(conn, never()).prepareStatement(startsWith("UPDATE"));
+        }
+    }
+
     @Test
     void loginUser_wrongPassword_returnsNull() throws Exception {
         UserDAO dao = new UserDAO();
@@ -502,4 +575,15 @@ class UserDAOTest {
             assertFalse(dao.updateUser(1, "John", "Doe", "john@test.com"));
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    void updateUser_onCallerConnection_propagatesFailureAndLeavesConnectionOpen() throws Exception {
+        UserDAO dao = new UserDAO();
+
+        Connection conn = mock(Connection.class);
+        when(conn.prepareStatement(anyString())).thenThrow(new SQLException("db fail"));
+
+        assertThrows(SQLException.class, () -> dao.updateUser(conn, 1, "John", "Doe", "john@test.com"));
+        verify(conn, never()).close();
+    }
+}
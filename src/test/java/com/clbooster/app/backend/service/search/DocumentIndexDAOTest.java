@@ -0,0 +1,89 @@
+package com.clbooster.app.backend.service.search;
+
+import com.clbooster.app.backend.service.database.DatabaseConnection;
+import org.junit.jupiter.api.Test;
+import org.mockito.MockedStatic;
+
+import java.sql.*;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class DocumentIndexDAOTest {
+
+    private MockedStatic<DatabaseConnection> mockDB(Connection conn) {
+        MockedStatic<DatabaseConnection> db = mockStatic(DatabaseConnection.class);
+        db.when(DatabaseConnection::getConnection).thenReturn(conn);
+        return db;
+    }
+
+    @Test
+    void upsert_replacesTextForSamePath() throws Exception {
+        DocumentIndexDAO dao = new DocumentIndexDAO();
+
+        Connection conn = mock(Connection.class);
+        PreparedStatement stmt = mock(PreparedStatement.class);
+
+        when(conn.prepareStatement(anyString())).thenReturn(stmt);
+        when(stmt.executeUpdate()).thenReturn(1);
+
+        try (MockedStatic<DatabaseConnection> db = mockDB(conn)) {
+
+            assertTrue(dao.upsert(7, DocumentType.RESUME, "/r.pdf", "Kubernetes operator"));
+
+            verify(conn).prepareStatement(argThat((String sql) -> sql.contains("ON DUPLICATE KEY UPDATE")));
+            verify(stmt).setString(1, "/r.pdf");
+            verify(stmt).setInt(2, 7);
+            verify(stmt).setString(3, "RESUME");
+            verify(stmt).setString(4, "Kubernetes operator");
+        }
+    }
+
+    @Test
+    void search_returnsRankedHitsForOwnerAndType() throws Exception {
+        DocumentIndexDAO dao = new DocumentIndexDAO();
+
+        Connection conn = mock(Connection.class);
+        PreparedStatement stmt = mock(PreparedStatement.class);
+        ResultSet rs = mock(ResultSet.class);
+
+        when(conn.prepareStatement(anyString())).thenReturn(stmt);
+        when(stmt.executeQuery()).thenReturn(rs);
+        when(rs.next()).thenReturn(true, true, false);
+        when(rs.getString("Doc_Path")).thenReturn("/a.docx", "/b.docx");
+        when(rs.getDouble("Score")).thenReturn(2.5, 1.0);
+
+        try (MockedStatic<DatabaseConnection> db = mockDB(conn)) {
+
+            List<SearchHit> hits = dao.search(7, DocumentType.COVER_LETTER, "kubernetes", 10, 5);
+
+            assertEquals(2, hits.size());
+            assertEquals("/a.docx", hits.get(0).getFilePath());
+            assertEquals(2.5, hits.get(0).getScore());
+            assertEquals(DocumentType.COVER_LETTER, hits.get(1).getType());
+            verify(conn).prepareStatement(argThat((String sql) -> sql.contains("ORDER BY Score DESC")));
+            verify(stmt).setString(1, "kubernetes");
+            verify(stmt).setInt(2, 7);
+            verify(stmt).setString(3, "COVER_LETTER");
+            verify(stmt).setString(4, "kubernetes");
+            verify(stmt).setInt(5, 5);
+            verify(stmt).setInt(6, 10);
+        }
+    }
+
+    @Test
+    void sqlException_isLoggedAndSwallowed() throws Exception {
+        DocumentIndexDAO dao = new DocumentIndexDAO();
+
+        Connection conn = mock(Connection.class);
+
+        when(conn.prepareStatement(anyString())).thenThrow(new SQLException());
+
+        try (MockedStatic<DatabaseConnection> db = mockDB(conn)) {
+            assertFalse(dao.upsert(1, DocumentType.RESUME, "/r.pdf", "text"));
+            assertFalse(dao.delete("/r.pdf"));
+            assertTrue(dao.search(1, DocumentType.RESUME, "text", 0, 10).isEmpty());
+        }
+    }
+}
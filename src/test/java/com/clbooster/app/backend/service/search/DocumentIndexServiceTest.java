@@ -0,0 +1,70 @@
+package com.clbooster.app.backend.service.search;
+
+import com.clbooster.aiservice.Parser;
+import org.junit.jupiter.api.Test;
+import org.mockito.MockedConstruction;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class DocumentIndexServiceTest {
+
+    private final DocumentIndexDAO dao = mock(DocumentIndexDAO.class);
+    private final DocumentIndexService service = new DocumentIndexService(dao);
+
+    @Test
+    void indexText_storesUnderAbsolutePathAndSkipsBlankText() {
+        Path file = Paths.get("uploads", "coverletters", "a.docx");
+        when(dao.upsert(anyInt(), any(), anyString(), anyString())).thenReturn(true);
+
+        assertTrue(service.indexText(3, DocumentType.COVER_LETTER, file, "Dear team"));
+        assertFalse(service.indexText(3, DocumentType.COVER_LETTER, file, "  "));
+
+        verify(dao, times(1)).upsert(3, DocumentType.COVER_LETTER, file.toAbsolutePath().toString(), "Dear team");
+    }
+
+    @Test
+    void indexFile_extractsTextWithParser() {
+        Path file = Paths.get("/tmp/resume.pdf");
+        when(dao.upsert(anyInt(), any(), anyString(), anyString())).thenReturn(true);
+
+        try (MockedConstruction<Parser> parser = mockConstruction(Parser.class,
+                (mock, context) -> when(mock.parseFileToJson(file.toString())).thenReturn("Kubernetes"))) {
+
+            assertTrue(service.indexFile(3, DocumentType.RESUME, file));
+        }
+        verify(dao).upsert(3, DocumentType.RESUME, "/tmp/resume.pdf", "Kubernetes");
+    }
+
+    @Test
+    void indexFile_parserFailure_returnsFalse() {
+        try (MockedConstruction<Parser> parser = mockConstruction(Parser.class,
+                (mock, context) -> when(mock.parseFileToJson(anyString())).thenThrow(new RuntimeException("bad")))) {
+
+            assertFalse(service.indexFile(3, DocumentType.RESUME, Paths.get("/tmp/broken.pdf")));
+        }
+        verifyNoInteractions(dao);
+    }
+
+    @Test
+    void search_ignoresBlankQueries() {
+        when(dao.search(3, DocumentType.RESUME, "kubernetes", 0, 10))
+                .thenReturn(List.of(new SearchHit("/r.pdf", DocumentType.RESUME, 1.0)));
+
+        assertEquals(1, service.search(3, DocumentType.RESUME, " kubernetes ", 0, 10).size());
+        assertTrue(service.search(3, DocumentType.RESUME, "", 0, 10).isEmpty());
+        assertTrue(service.search(3, DocumentType.RESUME, null, 0, 10).isEmpty());
+    }
+
+    @Test
+    void remove_deletesByAbsolutePath() {
+        service.remove(Paths.get("/tmp/../tmp/r.pdf"));
+
+        verify(dao).delete("/tmp/r.pdf");
+    }
+}
@@ -17,6 +17,15 @@ class SettingsDAOTest {
         return db;
     }
 
+    @Test
+    void constructor_issuesNoDdl() {
+        try (MockedStatic<DatabaseConnection> db = mockStatic(DatabaseConnection.class)) {
+            new SettingsDAO();
+
+            db.verifyNoInteractions();
+        }
+    }
+
     // ---------------- getSettings ----------------
 
     @Test
@@ -66,83 +75,60 @@ class SettingsDAOTest {
         }
     }
 
-    // ---------------- saveSettings INSERT branch ----------------
+    // ---------------- saveSettings ----------------
 
     @Test
-    void saveSettings_insertBranch() throws Exception {
+    void saveSettings_singleUpsertStatement() throws Exception {
         SettingsDAO dao = new SettingsDAO();
 
         Connection conn = mock(Connection.class);
-        PreparedStatement existsStmt = mock(PreparedStatement.class);
-        PreparedStatement insertStmt = mock(PreparedStatement.class);
-        ResultSet rs = mock(ResultSet.class);
-
-        when(conn.prepareStatement(contains("SELECT 1"))).thenReturn(existsStmt);
-        when(conn.prepareStatement(contains("INSERT"))).thenReturn(insertStmt);
-
-        when(existsStmt.executeQuery()).thenReturn(rs);
-        when(rs.next()).thenReturn(false); // forces INSERT branch
+        PreparedStatement stmt = mock(PreparedStatement.class);
 
-        when(insertStmt.executeUpdate()).thenReturn(1);
+        when(conn.prepareStatement(anyString())).thenReturn(stmt);
+        when(stmt.executeUpdate()).thenReturn(2);
 
         try (MockedStatic<DatabaseConnection> db = mockDB(conn)) {
 
             Settings s = new Settings(1);
             s.setTheme("dark");
 
-            boolean result = dao.saveSettings(s);
+            assertTrue(dao.saveSettings(s));
 
-            assertTrue(result);
-            verify(insertStmt).setInt(eq(1), eq(1));
+            verify(conn).prepareStatement(contains("ON DUPLICATE KEY UPDATE"));
+            verify(conn, times(1)).prepareStatement(anyString());
+            verify(stmt).setInt(1, 1);
+            verify(stmt).setString(2, "dark");
+            db.verify(DatabaseConnection::getConnection, times(1));
         }
     }
 
-    // ---------------- saveSettings UPDATE branch ----------------
-
     @Test
-    void saveSettings_updateBranch() throws Exception {
+    void saveSettings_unchangedRow_stillSucceeds() throws Exception {
         SettingsDAO dao = new SettingsDAO();
 
         Connection conn = mock(Connection.class);
-        PreparedStatement existsStmt = mock(PreparedStatement.class);
-        PreparedStatement updateStmt = mock(PreparedStatement.class);
-        ResultSet rs = mock(ResultSet.class);
-
-        when(conn.prepareStatement(contains("SELECT 1"))).thenReturn(existsStmt);
-        when(conn.prepareStatement(contains("UPDATE"))).thenReturn(updateStmt);
-
-        when(existsStmt.executeQuery()).thenReturn(rs);
-        when(rs.next()).thenReturn(true); // forces UPDATE branch
+        PreparedStatement stmt = mock(PreparedStatement.class);
 
-        when(updateStmt.executeUpdate()).thenReturn(1);
+        when(conn.prepareStatement(anyString())).thenReturn(stmt);
+        when(stmt.executeUpdate()).thenReturn(0);
 
         try (MockedStatic<DatabaseConnection> db = mockDB(conn)) {
-
-            Settings s = new Settings(1);
-            s.setTheme("light");
-
-            boolean result = dao.saveSettings(s);
-
-            assertTrue(result);
-            verify(updateStmt).setInt(eq(10), eq(1));
+            assertTrue(dao.saveSettings(new Settings(1)));
         }
     }
 
-    // ---------------- settingsExist failure ----------------
-
     @Test
-    void settingsExist_sqlFailure_returnsFalse() throws Exception {
+    void saveSettings_sqlFailure_returnsFalse() throws Exception {
         SettingsDAO dao = new SettingsDAO();
 
         Connection conn = mock(Connection.class);
         PreparedStatement stmt = mock(PreparedStatement.class);
 
         when(conn.prepareStatement(anyString())).thenReturn(stmt);
-        when(stmt.executeQuery()).thenThrow(new SQLException());
+        when(stmt.executeUpdate()).thenThrow(new SQLException());
 
         try (MockedStatic<DatabaseConnection> db = mockDB(conn)) {
-            Settings s = new Settings(1);
-            assertFalse(dao.saveSettings(s)); // falls into INSERT path but still safe
+            assertFalse(dao.saveSettings(new Settings(1)));
         }
     }
 
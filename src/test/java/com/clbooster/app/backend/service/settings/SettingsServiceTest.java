@@ -1,7 +1,9 @@
 package com.clbooster.app.backend.service.settings;
 
+import com.clbooster.app.backend.service.authentication.UserContext;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.MockedStatic;
 
 import java.lang.reflect.Field;
 
@@ -56,4 +58,40 @@ class SettingsServiceTest {
         assertTrue(result);
         verify(dao).deleteSettings(1);
     }
-}
\ No newline at end of file
+
+    @Test
+    void getSettings_isCachedInUserContextUntilSaved() {
+        Settings settings = new Settings(1);
+        when(dao.getSettings(1)).thenReturn(settings);
+        when(dao.saveSettings(settings)).thenReturn(true);
+
+        try (MockedStatic<UserContext> contextStatic = mockStatic(UserContext.class)) {
+            UserContext context = mock(UserContext.class);
+            contextStatic.when(() -> UserContext.forPin(1)).thenReturn(context);
+
+            assertSame(settings, service.getSettings(1));
+            verify(context).setSettings(settings);
+
+            when(context.getSettings()).thenReturn(settings);
+            assertSame(settings, service.getSettings(1));
+            verify(dao, times(1)).getSettings(1);
+
+            service.saveSettings(settings);
+            verify(context).invalidateSettings();
+        }
+    }
+
+    @Test
+    void saveSettings_invalidatesCacheEvenWhenSaveFails() {
+        Settings settings = new Settings(1);
+        when(dao.saveSettings(settings)).thenReturn(false);
+
+        try (MockedStatic<UserContext> contextStatic = mockStatic(UserContext.class)) {
+            UserContext context = mock(UserContext.class);
+            contextStatic.when(() -> UserContext.forPin(1)).thenReturn(context);
+
+            assertFalse(service.saveSettings(settings));
+            verify(context).invalidateSettings();
+        }
+    }
+}
@@ -24,4 +24,26 @@ class LocaleMapperTest {
     void getDbCode_returnsDefaultForUnknownLocale() {
         assertEquals("en_US", LocaleMapper.getDbCode(new Locale("de")));
     }
+
+    @Test
+    void fromLanguageName_mapsSettingsValuesNativeNamesAndCodes() {
+        assertEquals(new Locale("fi"), LocaleMapper.fromLanguageName("Finnish (Suomi)"));
+        assertEquals(new Locale("fi"), LocaleMapper.fromLanguageName("Suomi"));
+        assertEquals(new Locale("pt"), LocaleMapper.fromLanguageName("Portuguese (Português)"));
+        assertEquals(new Locale("fa"), LocaleMapper.fromLanguageName("farsi"));
+        assertEquals(new Locale("zh"), LocaleMapper.fromLanguageName("中文"));
+        assertEquals(new Locale("ur"), LocaleMapper.fromLanguageName("ur"));
+        assertEquals(new Locale("fi"), LocaleMapper.fromLanguageName("fi_FI"));
+    }
+
+    @Test
+    void fromLanguageName_unknownOrNull_isEnglish() {
+        assertEquals(new Locale("en"), LocaleMapper.fromLanguageName("Klingon"));
+        assertEquals(new Locale("en"), LocaleMapper.fromLanguageName(null));
+    }
+
+    @Test
+    void fromLanguageName_agreesWithDbCode() {
+        assertEquals("ur_PK", LocaleMapper.getDbCode(LocaleMapper.fromLanguageName("Urdu (اردو)")));
+    }
 }
@@ -0,0 +1,67 @@
+package com.clbooster.app.i18n;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class MessageCatalogTest {
+
+    private static final MessageCatalog CATALOG = MessageCatalog.load("messages",
+            List.of(new Locale("en"), new Locale("fi"), new Locale("ur")));
+
+    @Test
+    void get_usesLanguageOfRequestedLocale() {
+        assertEquals("Ansioluetteloiden historia", CATALOG.get("history.title", new Locale("fi", "FI")));
+        assertEquals("Cover Letter History", CATALOG.get("history.title", Locale.ENGLISH));
+    }
+
+    @Test
+    void get_keyMissingFromLanguage_fallsBackToBaseBundle() {
+        assertEquals(CATALOG.get("generator.error.companyNameRequired", Locale.ENGLISH),
+                CATALOG.get("generator.error.companyNameRequired", new Locale("ur")));
+    }
+
+    @Test
+    void get_unknownLocaleOrNull_usesBaseBundle() {
+        assertEquals("Cover Letter History", CATALOG.get("history.title", new Locale("xx")));
+        assertEquals("Cover Letter History", CATALOG.get("history.title", null));
+    }
+
+    @Test
+    void get_unknownKey_returnsNull() {
+        assertNull(CATALOG.get("no.such.key", Locale.ENGLISH));
+    }
+
+    @Test
+    void get_formatsParamsAndLeavesUnparameterizedTextAlone() {
+        assertEquals("Welcome back, Ada", CATALOG.get("dashboard.welcome", Locale.ENGLISH, "Ada"));
+        assertEquals("Welcome back, {0}", CATALOG.get("dashboard.welcome", Locale.ENGLISH));
+        assertEquals("Don't have an account?", CATALOG.get("login.noAccount", Locale.ENGLISH, "ignored"));
+    }
+
+    @Test
+    void get_sharedTemplateIsSafeAcrossThreads() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int i = 0; i < 2000; i++) {
+                String name = "user" + i;
+                results.add(pool.submit(
+                        () -> ("Welcome back, " + name).equals(CATALOG.get("dashboard.welcome", Locale.ENGLISH, name))));
+            }
+            for (Future<Boolean> result : results) {
+                assertEquals(Boolean.TRUE, result.get());
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
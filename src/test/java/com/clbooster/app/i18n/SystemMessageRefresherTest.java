@@ -0,0 +1,52 @@
+package com.clbooster.app.i18n;
+
+import com.clbooster.app.backend.dao.SystemMessageDAO;
+import org.junit.jupiter.api.Test;
+
+import static org.mockito.Mockito.*;
+
+class SystemMessageRefresherTest {
+
+    @Test
+    void start_refreshesInBackground() {
+        SystemMessageDAO dao = mock(SystemMessageDAO.class);
+        SystemMessageRefresher refresher = new SystemMessageRefresher(new SystemMessages(dao), 60);
+
+        refresher.start();
+        try {
+            verify(dao, timeout(2000)).currentVersion();
+        } finally {
+            refresher.stop();
+        }
+    }
+
+    @Test
+    void start_pollingDisabled_refreshesOnce() {
+        SystemMessageDAO dao = mock(SystemMessageDAO.class);
+        SystemMessageRefresher refresher = new SystemMessageRefresher(new SystemMessages(dao), 0);
+
+        refresher.start();
+        try {
+            verify(dao, timeout(2000)).currentVersion();
+            verify(dao, after(200).times(1)).currentVersion();
+        } finally {
+            refresher.stop();
+        }
+    }
+
+    @Test
+    void refresh_exceptionDoesNotBreakRefresher() {
+        SystemMessageDAO dao = mock(SystemMessageDAO.class);
+        when(dao.currentVersion()).thenThrow(new IllegalStateException("boom")).thenReturn(null);
+        SystemMessageRefresher refresher = new SystemMessageRefresher(new SystemMessages(dao), 0);
+
+        refresher.start();
+        try {
+            verify(dao, timeout(2000)).currentVersion();
+            refresher.refreshNow();
+            verify(dao, times(2)).currentVersion();
+        } finally {
+            refresher.stop();
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.clbooster.app.i18n;
+
+import com.clbooster.app.backend.dao.SystemMessageDAO;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Timestamp;
+import java.util.Locale;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class SystemMessagesTest {
+
+    private static final SystemMessageDAO.Version V1 = new SystemMessageDAO.Version(
+            Timestamp.valueOf("2026-01-01 00:00:00"), 2, 11);
+    private static final SystemMessageDAO.Version V2 = new SystemMessageDAO.Version(
+            Timestamp.valueOf("2026-01-02 00:00:00"), 2, 12);
+
+    @Test
+    void catalog_beforeRefresh_isEmpty() {
+        SystemMessages messages = new SystemMessages(mock(SystemMessageDAO.class));
+
+        assertNull(messages.catalog().get("greeting", Locale.ENGLISH));
+    }
+
+    @Test
+    void refresh_loadsSnapshotByLanguage() {
+        SystemMessageDAO dao = mock(SystemMessageDAO.class);
+        when(dao.currentVersion()).thenReturn(V1);
+        when(dao.loadAll()).thenReturn(Map.of("en_US", Map.of("greeting", "Hello {0}"), "fi_FI",
+                Map.of("greeting", "Hei {0}")));
+        SystemMessages messages = new SystemMessages(dao);
+
+        assertTrue(messages.refresh());
+
+        assertEquals("Hei Anna", messages.catalog().get("greeting", new Locale("fi", "FI"), "Anna"));
+        assertEquals("Hello Anna", messages.catalog().get("greeting", Locale.ENGLISH, "Anna"));
+        assertNull(messages.catalog().get("greeting", new Locale("ja")));
+    }
+
+    @Test
+    void refresh_sameVersion_doesNotReload() {
+        SystemMessageDAO dao = mock(SystemMessageDAO.class);
+        when(dao.currentVersion()).thenReturn(V1);
+        when(dao.loadAll()).thenReturn(Map.of());
+        SystemMessages messages = new SystemMessages(dao);
+
+        assertTrue(messages.refresh());
+        assertFalse(messages.refresh());
+
+        verify(dao, times(1)).loadAll();
+    }
+
+    @Test
+    void refresh_changedVersion_swapsSnapshot() {
+        SystemMessageDAO dao = mock(SystemMessageDAO.class);
+        when(dao.currentVersion()).thenReturn(V1, V2);
+        when(dao.loadAll()).thenReturn(Map.of("en_US", Map.of("greeting", "Hello")),
+                Map.of("en_US", Map.of("greeting", "Hi")));
+        SystemMessages messages = new SystemMessages(dao);
+
+        messages.refresh();
+        MessageCatalog first = messages.catalog();
+        assertTrue(messages.refresh());
+
+        assertEquals("Hello", first.get("greeting", Locale.ENGLISH));
+        assertEquals("Hi", messages.catalog().get("greeting", Locale.ENGLISH));
+    }
+
+    @Test
+    void refresh_editInTheSameSecond_stillReloads() {
+        // Same second and row count as V1: only the content checksum differs
+        SystemMessageDAO.Version edited = new SystemMessageDAO.Version(V1.lastUpdated(), V1.rows(), 99);
+        SystemMessageDAO dao = mock(SystemMessageDAO.class);
+        when(dao.currentVersion()).thenReturn(V1, edited);
+        when(dao.loadAll()).thenReturn(Map.of("en_US", Map.of("greeting", "Hello")),
+                Map.of("en_US", Map.of("greeting", "Hi")));
+        SystemMessages messages = new SystemMessages(dao);
+
+        messages.refresh();
+        assertTrue(messages.refresh());
+
+        assertEquals("Hi", messages.catalog().get("greeting", Locale.ENGLISH));
+    }
+
+    @Test
+    void refresh_databaseUnavailable_keepsPreviousSnapshot() {
+        SystemMessageDAO dao = mock(SystemMessageDAO.class);
+        when(dao.currentVersion()).thenReturn(V1, null, V2);
+        when(dao.loadAll()).thenReturn(Map.of("en_US", Map.of("greeting", "Hello")), (Map<String, Map<String, String>>) null);
+        SystemMessages messages = new SystemMessages(dao);
+
+        messages.refresh();
+        assertFalse(messages.refresh());
+        assertFalse(messages.refresh());
+
+        assertEquals("Hello", messages.catalog().get("greeting", Locale.ENGLISH));
+    }
+}
@@ -1,7 +1,8 @@
 package com.clbooster.app.i18n;
 
-import com.clbooster.app.backend.service.authentication.AuthenticationService;
-import com.clbooster.app.backend.service.profile.User;
+import com.clbooster.app.backend.dao.SystemMessageDAO;
+import com.clbooster.app.backend.service.authentication.UserContext;
+import com.clbooster.app.backend.service.database.DatabaseConnection;
 import com.clbooster.app.backend.service.settings.Settings;
 import com.clbooster.app.backend.service.settings.SettingsService;
 import com.vaadin.flow.component.UI;
@@ -14,6 +15,7 @@ import org.mockito.Mockito;
 
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
@@ -38,6 +40,23 @@ class TranslationServiceTest {
         assertEquals("non.existent.translation.key", missing);
     }
 
+    @Test
+    void getTranslation_databaseMessageOverridesBundle() {
+        SystemMessageDAO dao = mock(SystemMessageDAO.class);
+        when(dao.currentVersion()).thenReturn(new SystemMessageDAO.Version(null, 1, 1));
+        when(dao.loadAll()).thenReturn(Map.of("fi_FI", Map.of("history.title", "Historia {0}")));
+        SystemMessages messages = new SystemMessages(dao);
+        messages.refresh();
+
+        try (MockedStatic<SystemMessages> shared = Mockito.mockStatic(SystemMessages.class)) {
+            shared.when(SystemMessages::shared).thenReturn(messages);
+            TranslationService service = new TranslationService();
+
+            assertEquals("Historia 2026", service.getTranslation("history.title", new Locale("fi"), "2026"));
+            assertEquals("Cover Letter History", service.getTranslation("history.title", Locale.ENGLISH));
+        }
+    }
+
     @Test
     void getCurrentLocale_prefersSessionLocale() {
         VaadinSession session = mock(VaadinSession.class);
@@ -54,39 +73,54 @@ class TranslationServiceTest {
     }
 
     @Test
-    void getCurrentLocale_usesUserSettingsAndCachesInSession() {
+    void getCurrentLocale_usesCachedUserSettingsAndCachesInSession() {
         VaadinSession session = mock(VaadinSession.class);
         when(session.getAttribute("locale")).thenReturn(null);
 
-        User currentUser = new User("mail@test.com", "tester", "Password1!x", "Test", "User");
-        currentUser.setPin(1234);
-
         Settings settings = new Settings(1234);
         settings.setLanguage("Finnish (Suomi)");
+        UserContext context = mock(UserContext.class);
+        when(context.getSettings()).thenReturn(settings);
 
         try (MockedStatic<VaadinSession> sessionMock = Mockito.mockStatic(VaadinSession.class);
-                MockedConstruction<SettingsService> settingsMocked = Mockito.mockConstruction(SettingsService.class);
-                MockedConstruction<AuthenticationService> authMocked = Mockito
-                        .mockConstruction(AuthenticationService.class)) {
+                MockedStatic<UserContext> contextMock = Mockito.mockStatic(UserContext.class);
+                MockedConstruction<SettingsService> settingsMocked = Mockito.mockConstruction(SettingsService.class)) {
 
             sessionMock.when(VaadinSession::getCurrent).thenReturn(session);
+            contextMock.when(UserContext::current).thenReturn(context);
 
-            TranslationService service = new TranslationService();
+            Locale locale = new TranslationService().getCurrentLocale();
 
-            AuthenticationService auth = authMocked.constructed().get(0);
-            when(auth.getCurrentUser()).thenReturn(currentUser);
-            when(auth.getCurrentUserPin()).thenReturn(1234);
+            assertEquals("fi", locale.getLanguage());
+            verify(session).setAttribute(eq("locale"), eq(new Locale("fi")));
+            assertTrue(settingsMocked.constructed().isEmpty());
+        }
+    }
 
-            SettingsService settingsService = settingsMocked.constructed().get(0);
-            when(settingsService.getSettings(1234)).thenReturn(settings);
+    @Test
+    void getCurrentLocale_settingsNotLoaded_defaultsWithoutDatabase() {
+        VaadinSession session = mock(VaadinSession.class);
 
-            Locale locale = service.getCurrentLocale();
+        try (MockedStatic<VaadinSession> sessionMock = Mockito.mockStatic(VaadinSession.class);
+                MockedStatic<UserContext> contextMock = Mockito.mockStatic(UserContext.class);
+                MockedStatic<DatabaseConnection> db = Mockito.mockStatic(DatabaseConnection.class)) {
 
-            assertEquals("fi", locale.getLanguage());
-            verify(session).setAttribute(eq("locale"), eq(new Locale("fi")));
+            sessionMock.when(VaadinSession::getCurrent).thenReturn(session);
+            contextMock.when(UserContext::current).thenReturn(mock(UserContext.class));
+
+            TranslationService service = new TranslationService();
+
+            assertEquals(Locale.ENGLISH.getLanguage(), service.getCurrentLocale().getLanguage());
+            assertEquals("Cover Letter History", service.translate("history.title"));
+            db.verifyNoInteractions();
         }
     }
 
+    @Test
+    void getCurrentLocale_noSession_isEnglish() {
+        assertEquals("en", new TranslationService().getCurrentLocale().getLanguage());
+    }
+
     @Test
     void setCurrentLocale_andSetLanguage_updateUiAndDirection() {
         VaadinSession session = mock(VaadinSession.class);
@@ -137,29 +171,21 @@ class TranslationServiceTest {
         VaadinSession session = mock(VaadinSession.class);
         when(session.getAttribute("locale")).thenReturn(null);
 
-        User currentUser = new User("mail@test.com", "tester", "Password1!x", "Test", "User");
-        currentUser.setPin(5678);
-
         Settings settings = new Settings(5678);
         settings.setLanguage(null);
+        UserContext context = mock(UserContext.class);
+        when(context.getSettings()).thenReturn(settings);
 
         try (MockedStatic<VaadinSession> sessionMock = Mockito.mockStatic(VaadinSession.class);
-                MockedConstruction<SettingsService> settingsMocked = Mockito.mockConstruction(SettingsService.class);
-                MockedConstruction<AuthenticationService> authMocked = Mockito
-                        .mockConstruction(AuthenticationService.class)) {
+                MockedStatic<UserContext> contextMock = Mockito.mockStatic(UserContext.class)) {
 
             sessionMock.when(VaadinSession::getCurrent).thenReturn(session);
             TranslationService service = new TranslationService();
 
-            AuthenticationService auth = authMocked.constructed().get(0);
-            SettingsService settingsService = settingsMocked.constructed().get(0);
-
-            when(auth.getCurrentUser()).thenReturn(null);
+            contextMock.when(UserContext::current).thenReturn(null);
             assertEquals("en", service.getCurrentLocale().getLanguage());
 
-            when(auth.getCurrentUser()).thenReturn(currentUser);
-            when(auth.getCurrentUserPin()).thenReturn(5678);
-            when(settingsService.getSettings(5678)).thenReturn(settings);
+            contextMock.when(UserContext::current).thenReturn(context);
             assertEquals("en", service.getCurrentLocale().getLanguage());
 
             service.setLanguage("Português");
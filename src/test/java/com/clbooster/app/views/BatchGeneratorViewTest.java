@@ -0,0 +1,166 @@
+package com.clbooster.app.views;
+
+import com.clbooster.aiservice.BatchGenerationService;
+import com.clbooster.aiservice.BatchJob;
+import com.clbooster.aiservice.Parser;
+import com.clbooster.app.backend.service.authentication.AuthenticationService;
+import com.clbooster.app.backend.service.profile.CoverLetterService;
+import com.clbooster.app.backend.service.profile.User;
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.component.notification.Notification;
+import com.vaadin.flow.component.orderedlayout.VerticalLayout;
+import com.vaadin.flow.component.select.Select;
+import com.vaadin.flow.component.textfield.TextArea;
+import com.vaadin.flow.component.textfield.TextField;
+import com.vaadin.flow.server.Command;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.MockedConstruction;
+import org.mockito.MockedStatic;
+import org.mockito.Mockito;
+
+import java.io.File;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class BatchGeneratorViewTest extends BaseVaadinViewTest {
+
+    @AfterAll
+    static void cleanup() {
+        vaadinServletMock.close();
+        vaadinSessionMock.close();
+        vaadinServiceMock.close();
+    }
+
+    private BatchGeneratorView createView(BatchGenerationService batchService) {
+        User user = new User("test@test.com", "testuser", "testpass", "Test", "User");
+        user.setPin(42);
+        try (MockedConstruction<AuthenticationService> auth = Mockito.mockConstruction(AuthenticationService.class,
+                (mock, context) -> when(mock.getCurrentUser()).thenReturn(user));
+                MockedConstruction<CoverLetterService> letters = Mockito.mockConstruction(CoverLetterService.class)) {
+            return new BatchGeneratorView(batchService);
+        }
+    }
+
+    @Test
+    void addJob_requiresDescription() throws Exception {
+        BatchGeneratorView view = createView(mock(BatchGenerationService.class));
+
+        invokeNoArgs(view, "addJob");
+
+        assertTrue(getField(view, "descriptionField", TextArea.class).isInvalid());
+        assertTrue(getField(view, "jobs", List.class).isEmpty());
+    }
+
+    @Test
+    void addJob_queuesJobAndClearsTheForm() throws Exception {
+        BatchGeneratorView view = createView(mock(BatchGenerationService.class));
+        getField(view, "jobTitleField", TextField.class).setValue("Engineer");
+        getField(view, "companyField", TextField.class).setValue("Acme");
+        getField(view, "descriptionField", TextArea.class).setValue("Build things");
+
+        invokeNoArgs(view, "addJob");
+
+        List<?> jobs = getField(view, "jobs", List.class);
+        assertEquals(1, jobs.size());
+        assertEquals("Acme", ((BatchJob) jobs.get(0)).company());
+        assertEquals(1, getField(view, "jobList", VerticalLayout.class).getComponentCount());
+        assertEquals("", getField(view, "descriptionField", TextArea.class).getValue());
+    }
+
+    @Test
+    void startBatch_withoutJobs_doesNotStart() throws Exception {
+        BatchGenerationService batchService = mock(BatchGenerationService.class);
+        BatchGeneratorView view = createView(batchService);
+
+        try (MockedStatic<Notification> notificationMock = Mockito.mockStatic(Notification.class)) {
+            invokeNoArgs(view, "startBatch");
+        }
+
+        verify(batchService, never()).start(anyInt(), anyString(), anyString(), anyList(), any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void startBatch_parsesResumeOnceAndStartsAllJobs(@TempDir Path tempDir) throws Exception {
+        BatchGenerationService batchService = mock(BatchGenerationService.class);
+        BatchGenerationService.Batch batch = mock(BatchGenerationService.Batch.class);
+        when(batch.whenDone()).thenReturn(new CompletableFuture<>());
+        when(batchService.start(anyInt(), anyString(), anyString(), anyList(), any())).thenReturn(batch);
+        BatchGeneratorView view = createView(batchService);
+        File resume = Files.writeString(tempDir.resolve("42_resume.txt"), "resume").toFile();
+        Select<File> resumeSelect = getField(view, "resumeSelect", Select.class);
+        resumeSelect.setItems(resume);
+        resumeSelect.setValue(resume);
+        for (String company : List.of("Acme", "Globex")) {
+            getField(view, "companyField", TextField.class).setValue(company);
+            getField(view, "descriptionField", TextArea.class).setValue("Posting at " + company);
+            invokeNoArgs(view, "addJob");
+        }
+
+        // The resume is parsed on a worker thread; its result comes back through ui.access
+        Thread uiThread = Thread.currentThread();
+        List<Thread> parseThreads = Collections.synchronizedList(new ArrayList<>());
+        UI ui = mock(UI.class);
+        when(ui.access(any())).thenAnswer(inv -> {
+            inv.getArgument(0, Command.class).execute();
+            return null;
+        });
+        UI.setCurrent(ui);
+        try (MockedConstruction<Parser> parser = Mockito.mockConstruction(Parser.class,
+                (mock, context) -> when(mock.parseFileToJson(anyString())).thenAnswer(inv -> {
+                    parseThreads.add(Thread.currentThread());
+                    return "parsed resume";
+                }))) {
+            invokeNoArgs(view, "startBatch");
+            assertEquals(1, parser.constructed().size());
+        } finally {
+            UI.setCurrent(null);
+        }
+
+        ArgumentCaptor<List<BatchJob>> jobs = ArgumentCaptor.forClass(List.class);
+        verify(batchService, timeout(5000)).start(eq(42), eq("parsed resume"), eq("Professional"), jobs.capture(),
+                any());
+        assertEquals(2, jobs.getValue().size());
+        assertEquals(1, parseThreads.size());
+        assertNotEquals(uiThread, parseThreads.get(0));
+
+        invokeNoArgs(view, "cancelBatch");
+        verify(batch).cancel();
+    }
+
+    private void invokeNoArgs(Object target, String methodName) throws Exception {
+        Method method = target.getClass().getDeclaredMethod(methodName);
+        method.setAccessible(true);
+        method.invoke(target);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T getField(Object target, String fieldName, Class<T> type) throws Exception {
+        Field field = target.getClass().getDeclaredField(fieldName);
+        field.setAccessible(true);
+        return (T) field.get(target);
+    }
+}
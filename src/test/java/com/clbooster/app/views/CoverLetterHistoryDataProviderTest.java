@@ -0,0 +1,88 @@
+package com.clbooster.app.views;
+
+import com.clbooster.app.backend.service.profile.CoverLetter;
+import com.clbooster.app.backend.service.profile.CoverLetterFilter;
+import com.clbooster.app.backend.service.profile.CoverLetterService;
+import com.vaadin.flow.data.provider.Query;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CoverLetterHistoryDataProviderTest {
+
+    private final CoverLetterFilter filter = new CoverLetterFilter(1);
+
+    @Test
+    void fetch_nextPageSeeksFromLastServedRow() {
+        CoverLetterService service = mock(CoverLetterService.class);
+        List<CoverLetter> first = letters(100, 3);
+        List<CoverLetter> second = letters(97, 2);
+        when(service.getCoverLetterPage(filter, null, 3)).thenReturn(first);
+        when(service.getCoverLetterPage(filter, first.get(2), 3)).thenReturn(second);
+        CoverLetterHistoryDataProvider provider = new CoverLetterHistoryDataProvider(service);
+
+        assertEquals(first, provider.fetch(query(0, 3, filter)).toList());
+        assertEquals(second, provider.fetch(query(3, 3, filter)).toList());
+    }
+
+    @Test
+    void fetch_unknownOffsetSkipsFromNearestCursor() {
+        CoverLetterService service = mock(CoverLetterService.class);
+        List<CoverLetter> rows = letters(100, 5);
+        when(service.getCoverLetterPage(filter, null, 5)).thenReturn(rows);
+        CoverLetterHistoryDataProvider provider = new CoverLetterHistoryDataProvider(service);
+
+        assertEquals(rows.subList(2, 5), provider.fetch(query(2, 3, filter)).toList());
+    }
+
+    @Test
+    void fetch_newFilterOrRefreshDropsCursors() {
+        CoverLetterService service = mock(CoverLetterService.class);
+        when(service.getCoverLetterPage(any(), any(), anyInt())).thenReturn(letters(100, 3));
+        CoverLetterHistoryDataProvider provider = new CoverLetterHistoryDataProvider(service);
+        CoverLetterFilter other = new CoverLetterFilter(1, "acme", null, null, null);
+
+        provider.fetch(query(0, 3, filter)).toList();
+        provider.fetch(query(3, 3, other)).toList();
+        verify(service).getCoverLetterPage(other, null, 6);
+
+        provider.fetch(query(0, 3, filter)).toList();
+        provider.refreshAll();
+        provider.fetch(query(3, 3, filter)).toList();
+        verify(service).getCoverLetterPage(filter, null, 6);
+    }
+
+    @Test
+    void fetchAndSize_withoutFilterReturnNothing() {
+        CoverLetterService service = mock(CoverLetterService.class);
+        when(service.countCoverLetters(filter)).thenReturn(42);
+        CoverLetterHistoryDataProvider provider = new CoverLetterHistoryDataProvider(service);
+
+        assertEquals(0, provider.fetch(query(0, 3, null)).count());
+        assertEquals(0, provider.size(query(0, 3, null)));
+        assertEquals(42, provider.size(query(0, 3, filter)));
+        verify(service, org.mockito.Mockito.never()).getCoverLetterPage(isNull(), any(), anyInt());
+    }
+
+    private static Query<CoverLetter, CoverLetterFilter> query(int offset, int limit, CoverLetterFilter filter) {
+        return new Query<>(offset, limit, Collections.emptyList(), null, filter);
+    }
+
+    private static List<CoverLetter> letters(int firstId, int count) {
+        List<CoverLetter> list = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            list.add(new CoverLetter(firstId - i, 1, null, "/tmp/" + (firstId - i)));
+        }
+        return list;
+    }
+}
@@ -1,6 +1,8 @@
 package com.clbooster.app.views;
 
 import com.clbooster.app.backend.service.authentication.AuthenticationService;
+import com.clbooster.app.backend.service.profile.CoverLetter;
+import com.clbooster.app.backend.service.profile.CoverLetterService;
 import com.clbooster.app.backend.service.profile.User;
 import com.vaadin.flow.component.html.Div;
 import com.vaadin.flow.component.html.Span;
@@ -13,8 +15,7 @@ import org.mockito.Mockito;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
-import java.nio.file.Files;
-import java.nio.file.Path;
+import java.sql.Timestamp;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -24,8 +25,6 @@ import static org.mockito.Mockito.when;
 
 class DashboardViewTest extends BaseVaadinViewTest {
 
-    private static final Path LETTERS_DIR = Path.of("uploads", "coverletters");
-
     @AfterAll
     static void cleanup() {
         vaadinServletMock.close();
@@ -57,22 +56,22 @@ class DashboardViewTest extends BaseVaadinViewTest {
     }
 
     @Test
-    void loadLetterData_filtersByCurrentUser() throws Exception {
-        Files.createDirectories(LETTERS_DIR);
-
+    void loadLetterData_readsRecentLettersForCurrentUser() throws Exception {
         User user = new User("mail@test.com", "user", "Pass123!pass", "Test", "User");
         user.setPin(987654);
 
-        Path own = LETTERS_DIR.resolve("987654_20260412_120000_apple_product-designer.docx");
-        Path ownSecond = LETTERS_DIR.resolve("987654_20260412_120001_meta_react-engineer.docx");
-        Path foreign = LETTERS_DIR.resolve("111111_20260412_120002_other_company.docx");
-
-        Files.writeString(own, "a");
-        Files.writeString(ownSecond, "b");
-        Files.writeString(foreign, "c");
+        CoverLetter first = new CoverLetter(2, 987654, new Timestamp(System.currentTimeMillis()), "/tmp/a.docx");
+        first.setCompany("apple");
+        first.setJobTitle("product designer");
+        CoverLetter second = new CoverLetter(1, 987654, new Timestamp(System.currentTimeMillis()), "/tmp/b.docx");
+        second.setCompany("meta");
+        second.setJobTitle("react engineer");
 
         try (MockedConstruction<AuthenticationService> ignored = Mockito.mockConstruction(AuthenticationService.class,
-                (mock, context) -> when(mock.getCurrentUser()).thenReturn(user))) {
+                (mock, context) -> when(mock.getCurrentUser()).thenReturn(user));
+                MockedConstruction<CoverLetterService> service = Mockito.mockConstruction(CoverLetterService.class,
+                        (mock, context) -> when(mock.getRecentCoverLetters(987654, 6))
+                                .thenReturn(List.of(first, second)))) {
             DashboardView view = new DashboardView();
             Method method = DashboardView.class.getDeclaredMethod("loadLetterData");
             method.setAccessible(true);
@@ -81,20 +80,8 @@ class DashboardViewTest extends BaseVaadinViewTest {
             List<Object> letters = (List<Object>) method.invoke(view);
 
             assertEquals(2, letters.size());
-            assertTrue(getField(letters.get(0), "company", String.class).length() > 0);
-            assertTrue(getField(letters.get(1), "title", String.class).length() > 0);
-        } finally {
-            Files.deleteIfExists(own);
-            Files.deleteIfExists(ownSecond);
-            Files.deleteIfExists(foreign);
-
-            try {
-                if (Files.exists(LETTERS_DIR) && Files.list(LETTERS_DIR).findAny().isEmpty()) {
-                    Files.delete(LETTERS_DIR);
-                }
-            } catch (Exception ignoredCleanup) {
-                // No-op: folder may contain project files.
-            }
+            assertEquals("Apple", getField(letters.get(0), "company", String.class));
+            assertEquals("React Engineer", getField(letters.get(1), "title", String.class));
         }
     }
 
@@ -122,9 +109,6 @@ class DashboardViewTest extends BaseVaadinViewTest {
         User user = new User("mail@test.com", "user", "Pass123!pass", "Test", "User");
         user.setPin(424242);
 
-        Path own = LETTERS_DIR.resolve("424242_20260412_120000_temp-company_temp-role.docx");
-        Files.deleteIfExists(own);
-
         try (MockedConstruction<AuthenticationService> ignored = Mockito.mockConstruction(AuthenticationService.class,
                 (mock, context) -> when(mock.getCurrentUser()).thenReturn(user))) {
             DashboardView view = new DashboardView();
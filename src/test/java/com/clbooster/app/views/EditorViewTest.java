@@ -1,6 +1,7 @@
 package com.clbooster.app.views;
 
 import com.clbooster.aiservice.AIService;
+import com.clbooster.aiservice.CoverLetterGenerationService;
 import com.clbooster.aiservice.Exporter;
 import com.clbooster.app.backend.service.authentication.AuthenticationService;
 import com.clbooster.app.backend.service.document.DocumentService;
@@ -22,6 +23,7 @@ import org.mockito.Mockito;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.util.Set;
+import java.util.function.Consumer;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
@@ -31,6 +33,7 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -58,7 +61,8 @@ class EditorViewTest extends BaseVaadinViewTest {
         try (MockedConstruction<AuthenticationService> authMock = Mockito.mockConstruction(AuthenticationService.class,
                 (mock, context) -> when(mock.getCurrentUser()).thenReturn(user))) {
 
-            EditorView view = new EditorView(documentService, aiService);
+            EditorView view = new EditorView(documentService, aiService,
+                    new CoverLetterGenerationService(aiService, 2, 10, 3));
 
             assertNotNull(view);
             assertEquals("Backend Developer", getField(view, "jobTitle", String.class));
@@ -81,7 +85,7 @@ class EditorViewTest extends BaseVaadinViewTest {
         try (MockedStatic<Notification> notificationMock = Mockito.mockStatic(Notification.class)) {
             notificationMock.when(() -> Notification.show(anyString(), Mockito.anyInt(), any()))
                     .thenReturn(Mockito.mock(Notification.class));
-            view = new EditorView(documentService, aiService);
+            view = new EditorView(documentService, aiService, new CoverLetterGenerationService(aiService, 2, 10, 3));
         }
 
         assertEquals("Cover Letter", getField(view, "jobTitle", String.class));
@@ -126,13 +130,21 @@ class EditorViewTest extends BaseVaadinViewTest {
         EditorView view = createViewWithDefaults();
         AIService aiService = getField(view, "aiService", AIService.class);
 
-        when(aiService.generateCoverLetter(anyString(), anyString(), anyString())).thenReturn("Generated body");
-        String generated = invoke(view, "generateCoverLetter", String.class);
+        Consumer<String> onToken = token -> {
+        };
+        when(aiService.generateCoverLetterStreaming(anyString(), anyString(), anyString(), any()))
+                .thenReturn("Generated body");
+        String generated = invoke(view, "generateCoverLetter", String.class, new Class<?>[] { Consumer.class },
+                new Object[] { onToken });
         assertEquals("Generated body", generated);
+        // Tone goes in its own argument so the cached analysis is shared across tones
+        verify(aiService).generateCoverLetterStreaming(anyString(), argThat(details -> !details.contains("Tone")),
+                anyString(), eq(onToken));
 
-        when(aiService.generateCoverLetter(anyString(), anyString(), anyString()))
+        when(aiService.generateCoverLetterStreaming(anyString(), anyString(), anyString(), any()))
                 .thenThrow(new RuntimeException("ai down"));
-        String fallback = invoke(view, "generateCoverLetter", String.class);
+        String fallback = invoke(view, "generateCoverLetter", String.class, new Class<?>[] { Consumer.class },
+                new Object[] { onToken });
         assertTrue(fallback.contains("Dear Hiring Manager"));
     }
 
@@ -333,7 +345,7 @@ class EditorViewTest extends BaseVaadinViewTest {
         try (MockedStatic<Notification> notificationMock = Mockito.mockStatic(Notification.class)) {
             notificationMock.when(() -> Notification.show(anyString(), Mockito.anyInt(), any()))
                     .thenReturn(Mockito.mock(Notification.class));
-            return new EditorView(documentService, aiService);
+            return new EditorView(documentService, aiService, new CoverLetterGenerationService(aiService, 2, 10, 3));
         }
     }
 
@@ -349,7 +361,8 @@ class EditorViewTest extends BaseVaadinViewTest {
 
         try (MockedConstruction<AuthenticationService> ignored = Mockito.mockConstruction(AuthenticationService.class,
                 (mock, context) -> when(mock.getCurrentUser()).thenReturn(user))) {
-            EditorView view = new EditorView(documentService, aiService);
+            EditorView view = new EditorView(documentService, aiService,
+                    new CoverLetterGenerationService(aiService, 2, 10, 3));
             setField(view, "selectedSkills", Set.of("Java", "Spring"));
             return view;
         } catch (Exception e) {
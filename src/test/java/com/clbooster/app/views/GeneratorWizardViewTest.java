@@ -1,6 +1,7 @@
 package com.clbooster.app.views;
 
 import com.clbooster.aiservice.AIService;
+import com.clbooster.aiservice.CoverLetterGenerationService;
 import com.clbooster.aiservice.Exporter;
 import com.clbooster.aiservice.Parser;
 import com.clbooster.app.backend.service.authentication.AuthenticationService;
@@ -34,6 +35,7 @@ import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
+import java.util.function.Consumer;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
@@ -58,7 +60,8 @@ class GeneratorWizardViewTest extends BaseVaadinViewTest {
     @Test
     void constructor_initializesAndStartsAtStep1() throws Exception {
         AIService aiService = Mockito.mock(AIService.class);
-        GeneratorWizardView view = new GeneratorWizardView(aiService);
+        GeneratorWizardView view = new GeneratorWizardView(aiService,
+                new CoverLetterGenerationService(aiService, 2, 10, 3));
 
         assertNotNull(view);
         assertEquals(1, getIntField(view, "currentStep"));
@@ -72,7 +75,8 @@ class GeneratorWizardViewTest extends BaseVaadinViewTest {
     @Test
     void stepRenderers_andNavigationState_workAcrossSteps() throws Exception {
         AIService aiService = Mockito.mock(AIService.class);
-        GeneratorWizardView view = new GeneratorWizardView(aiService);
+        GeneratorWizardView view = new GeneratorWizardView(aiService,
+                new CoverLetterGenerationService(aiService, 2, 10, 3));
 
         VerticalLayout step2 = invoke(view, "createStep2Qualifications", VerticalLayout.class);
         VerticalLayout step3 = invoke(view, "createStep3AICustomization", VerticalLayout.class);
@@ -100,7 +104,8 @@ class GeneratorWizardViewTest extends BaseVaadinViewTest {
     @Test
     void validateStep1Fields_andHandleNext_enforceRequiredDataAndTone() throws Exception {
         AIService aiService = Mockito.mock(AIService.class);
-        GeneratorWizardView view = new GeneratorWizardView(aiService);
+        GeneratorWizardView view = new GeneratorWizardView(aiService,
+                new CoverLetterGenerationService(aiService, 2, 10, 3));
 
         TextField job = getField(view, "step1JobTitleField", TextField.class);
         TextField company = getField(view, "step1CompanyField", TextField.class);
@@ -142,7 +147,8 @@ class GeneratorWizardViewTest extends BaseVaadinViewTest {
     @Test
     void skillsExtraction_selectionAndLoadResumeSkills_work() throws Exception {
         AIService aiService = Mockito.mock(AIService.class);
-        GeneratorWizardView view = new GeneratorWizardView(aiService);
+        GeneratorWizardView view = new GeneratorWizardView(aiService,
+                new CoverLetterGenerationService(aiService, 2, 10, 3));
 
         @SuppressWarnings("unchecked")
         Set<String> skills = invoke(view, "extractSkillsFromText", Set.class, new Class<?>[] { String.class },
@@ -181,10 +187,11 @@ class GeneratorWizardViewTest extends BaseVaadinViewTest {
     @Test
     void generationUtilities_fallbackWrapSanitizeAndPdf() throws Exception {
         AIService aiService = Mockito.mock(AIService.class);
-        when(aiService.generateCoverLetter(anyString(), anyString(), anyString()))
+        when(aiService.generateCoverLetterStreaming(anyString(), anyString(), anyString(), any()))
                 .thenThrow(new RuntimeException("AI unavailable"));
 
-        GeneratorWizardView view = new GeneratorWizardView(aiService);
+        GeneratorWizardView view = new GeneratorWizardView(aiService,
+                new CoverLetterGenerationService(aiService, 2, 10, 3));
         setStringField(view, "jobTitle", "Developer");
         setStringField(view, "companyName", "Acme");
         setStringField(view, "jobDescription", "Build web apps");
@@ -192,7 +199,10 @@ class GeneratorWizardViewTest extends BaseVaadinViewTest {
         setIntField(view, "capturedUserPin", -1);
         setStringField(view, "capturedUserName", "Test User");
 
-        String generated = invoke(view, "generateCoverLetterText", String.class);
+        Consumer<String> onToken = token -> {
+        };
+        String generated = invoke(view, "generateCoverLetterText", String.class, new Class<?>[] { Consumer.class },
+                new Object[] { onToken });
         assertTrue(generated.contains("Dear Hiring Manager"));
 
         TextArea editor = new TextArea();
@@ -221,7 +231,8 @@ class GeneratorWizardViewTest extends BaseVaadinViewTest {
     @Test
     void saveGeneratedCoverLetter_usesCurrentUserAndExporter() throws Exception {
         AIService aiService = Mockito.mock(AIService.class);
-        GeneratorWizardView view = new GeneratorWizardView(aiService);
+        GeneratorWizardView view = new GeneratorWizardView(aiService,
+                new CoverLetterGenerationService(aiService, 2, 10, 3));
 
         User user = new User("a@b.com", "tester", "Password1!x", "T", "U");
         user.setPin(7777);
@@ -245,7 +256,8 @@ class GeneratorWizardViewTest extends BaseVaadinViewTest {
     @Test
     void loadUserResumeText_returnsNullWhenNoFilesForPin() throws Exception {
         AIService aiService = Mockito.mock(AIService.class);
-        GeneratorWizardView view = new GeneratorWizardView(aiService);
+        GeneratorWizardView view = new GeneratorWizardView(aiService,
+                new CoverLetterGenerationService(aiService, 2, 10, 3));
 
         String resume = invoke(view, "loadUserResumeText", String.class, new Class<?>[] { int.class },
                 new Object[] { 999999 });
@@ -271,7 +283,8 @@ class GeneratorWizardViewTest extends BaseVaadinViewTest {
         singleUser.setPin(9001);
         try (MockedConstruction<AuthenticationService> authMock = Mockito.mockConstruction(AuthenticationService.class,
                 (mock, context) -> Mockito.when(mock.getCurrentUser()).thenReturn(singleUser))) {
-            GeneratorWizardView view = new GeneratorWizardView(aiService);
+            GeneratorWizardView view = new GeneratorWizardView(aiService,
+                    new CoverLetterGenerationService(aiService, 2, 10, 3));
             VerticalLayout step2 = invoke(view, "createStep2Qualifications", VerticalLayout.class);
             assertNotNull(step2);
             assertTrue(findComponents(step2, Select.class).isEmpty());
@@ -282,7 +295,8 @@ class GeneratorWizardViewTest extends BaseVaadinViewTest {
         multiUser.setPin(9002);
         try (MockedConstruction<AuthenticationService> authMock = Mockito.mockConstruction(AuthenticationService.class,
                 (mock, context) -> Mockito.when(mock.getCurrentUser()).thenReturn(multiUser))) {
-            GeneratorWizardView view = new GeneratorWizardView(aiService);
+            GeneratorWizardView view = new GeneratorWizardView(aiService,
+                    new CoverLetterGenerationService(aiService, 2, 10, 3));
             VerticalLayout step2 = invoke(view, "createStep2Qualifications", VerticalLayout.class);
             assertNotNull(step2);
             assertFalse(findComponents(step2, Select.class).isEmpty());
@@ -297,9 +311,11 @@ class GeneratorWizardViewTest extends BaseVaadinViewTest {
     @Test
     void createStep5Editor_coversGenerationAndToolbarActions() throws Exception {
         AIService aiService = Mockito.mock(AIService.class);
-        Mockito.when(aiService.generateCoverLetter(anyString(), anyString(), anyString())).thenReturn("Generated body");
+        Mockito.when(aiService.generateCoverLetterStreaming(anyString(), anyString(), anyString(), any()))
+                .thenReturn("Generated body");
 
-        GeneratorWizardView view = new GeneratorWizardView(aiService);
+        GeneratorWizardView view = new GeneratorWizardView(aiService,
+                new CoverLetterGenerationService(aiService, 2, 10, 3));
         setStringField(view, "jobTitle", "Engineer");
         setStringField(view, "companyName", "Acme");
         setStringField(view, "jobDescription", "Build APIs");
@@ -345,7 +361,8 @@ class GeneratorWizardViewTest extends BaseVaadinViewTest {
     @Test
     void buildCandidateContext_returnsFallbackSummaryWhenUserNotCaptured() throws Exception {
         AIService aiService = Mockito.mock(AIService.class);
-        GeneratorWizardView view = new GeneratorWizardView(aiService);
+        GeneratorWizardView view = new GeneratorWizardView(aiService,
+                new CoverLetterGenerationService(aiService, 2, 10, 3));
 
         setIntField(view, "capturedUserPin", -1);
         setStringField(view, "jobTitle", "Backend Engineer");
@@ -373,8 +390,10 @@ class GeneratorWizardViewTest extends BaseVaadinViewTest {
         profile.setProfileEmail("jane@example.com");
 
         try (MockedConstruction<ProfileDAO> profileDaoMock = Mockito.mockConstruction(ProfileDAO.class,
-                (mock, context) -> Mockito.when(mock.getProfileByPin(777)).thenReturn(profile))) {
-            GeneratorWizardView view = new GeneratorWizardView(aiService);
+                (mock, context) -> Mockito.when(mock.getByIdWithFallback(Mockito.eq(777), Mockito.any(), Mockito.any()))
+                        .thenReturn(profile))) {
+            GeneratorWizardView view = new GeneratorWizardView(aiService,
+                    new CoverLetterGenerationService(aiService, 2, 10, 3));
             setIntField(view, "capturedUserPin", 777);
             setStringField(view, "capturedUserName", "Jane Doe");
             setField(view, "selectedSkills", new java.util.HashSet<>(Set.of("Java", "Spring")));
@@ -394,7 +413,8 @@ class GeneratorWizardViewTest extends BaseVaadinViewTest {
     @Test
     void loadResumeSkills_coversNoSkillsAndExceptionBranches() throws Exception {
         AIService aiService = Mockito.mock(AIService.class);
-        GeneratorWizardView view = new GeneratorWizardView(aiService);
+        GeneratorWizardView view = new GeneratorWizardView(aiService,
+                new CoverLetterGenerationService(aiService, 2, 10, 3));
 
         try (MockedStatic<Notification> notificationMock = Mockito.mockStatic(Notification.class);
                 MockedConstruction<Parser> parserNoSkills = Mockito.mockConstruction(Parser.class,
@@ -429,7 +449,8 @@ class GeneratorWizardViewTest extends BaseVaadinViewTest {
     @Test
     void editorDownloadMethods_coverNullBlankAndDocxFailureBranches() throws Exception {
         AIService aiService = Mockito.mock(AIService.class);
-        GeneratorWizardView view = new GeneratorWizardView(aiService);
+        GeneratorWizardView view = new GeneratorWizardView(aiService,
+                new CoverLetterGenerationService(aiService, 2, 10, 3));
 
         // Null editor branch: methods should return immediately.
         setField(view, "editorTextArea", null);
@@ -94,9 +94,9 @@ class HistoryViewAdditionalTest extends BaseVaadinViewTest {
     private Object newHistoryItem(String title, String company, String date, String status, int pin,
             LocalDateTime timestamp, String filePath) throws Exception {
         Class<?> clazz = Class.forName("com.clbooster.app.views.HistoryView$HistoryItem");
-        Constructor<?> c = clazz.getDeclaredConstructor(String.class, String.class, String.class, String.class,
-                int.class, LocalDateTime.class, String.class);
+        Constructor<?> c = clazz.getDeclaredConstructor(int.class, String.class, String.class, String.class,
+                String.class, int.class, LocalDateTime.class, String.class);
         c.setAccessible(true);
-        return c.newInstance(title, company, date, status, pin, timestamp, filePath);
+        return c.newInstance(0, title, company, date, status, pin, timestamp, filePath);
     }
 }
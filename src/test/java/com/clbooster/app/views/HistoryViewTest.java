@@ -1,44 +1,71 @@
 package com.clbooster.app.views;
 
 import com.clbooster.app.backend.service.authentication.AuthenticationService;
+import com.clbooster.app.backend.service.profile.CoverLetter;
+import com.clbooster.app.backend.service.profile.CoverLetterFilter;
+import com.clbooster.app.backend.service.profile.CoverLetterService;
 import com.clbooster.app.backend.service.profile.User;
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.component.UIDetachedException;
 import com.vaadin.flow.component.button.Button;
+import com.vaadin.flow.component.checkbox.Checkbox;
 import com.vaadin.flow.component.html.Div;
 import com.vaadin.flow.component.html.Span;
 import com.vaadin.flow.component.icon.VaadinIcon;
 import com.vaadin.flow.component.notification.Notification;
 import com.vaadin.flow.component.textfield.TextField;
+import com.vaadin.flow.server.AbstractStreamResource;
+import com.vaadin.flow.server.Command;
+import com.vaadin.flow.server.StreamResourceRegistry;
+import com.vaadin.flow.server.VaadinRequest;
+import com.vaadin.flow.server.VaadinResponse;
+import com.vaadin.flow.server.VaadinSession;
+import com.vaadin.flow.server.streams.DownloadEvent;
+import com.vaadin.flow.server.streams.DownloadHandler;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.MockedConstruction;
 import org.mockito.MockedStatic;
 import org.mockito.Mockito;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
+import java.net.URI;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.time.Instant;
+import java.sql.Timestamp;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.ZoneId;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.ZipInputStream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
-import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 class HistoryViewTest extends BaseVaadinViewTest {
 
+    private static final Path TEMP_DIR = Path.of(System.getProperty("java.io.tmpdir"));
+
     @AfterAll
     static void cleanup() {
         vaadinServletMock.close();
@@ -56,59 +83,43 @@ class HistoryViewTest extends BaseVaadinViewTest {
     }
 
     @Test
-    void parseFilename_validPattern_returnsHistoryItem() throws Exception {
+    void toHistoryItem_usesStoredMetadata() throws Exception {
         try (MockedConstruction<AuthenticationService> ignored = Mockito.mockConstruction(AuthenticationService.class,
                 (mock, context) -> when(mock.getCurrentUser()).thenReturn(null))) {
             HistoryView view = new HistoryView();
-            Method method = HistoryView.class.getDeclaredMethod("parseFilename", String.class, String.class,
-                    long.class);
+            Method method = HistoryView.class.getDeclaredMethod("toHistoryItem", CoverLetter.class);
             method.setAccessible(true);
 
-            Object item = method.invoke(view, "12345_20260412_113000_Acme_Senior_Engineer.docx", "path",
-                    System.currentTimeMillis());
-
-            assertNotNull(item);
-            assertEquals(12345, readField(item, "pin", Integer.class));
-            assertNotNull(readField(item, "title", String.class));
-            assertNotNull(readField(item, "timestamp", LocalDateTime.class));
-        }
-    }
+            CoverLetter letter = new CoverLetter(1, 12345, Timestamp.valueOf(LocalDateTime.now()), "/tmp/a.docx");
+            letter.setCompany("Acme");
+            letter.setJobTitle("Senior Engineer");
 
-    @Test
-    void parseFilename_invalidPattern_returnsNull() throws Exception {
-        try (MockedConstruction<AuthenticationService> ignored = Mockito.mockConstruction(AuthenticationService.class,
-                (mock, context) -> when(mock.getCurrentUser()).thenReturn(null))) {
-            HistoryView view = new HistoryView();
-            Method method = HistoryView.class.getDeclaredMethod("parseFilename", String.class, String.class,
-                    long.class);
-            method.setAccessible(true);
+            Object item = method.invoke(view, letter);
 
-            Object item = method.invoke(view, "invalidname.docx", "path", System.currentTimeMillis());
-            assertNull(item);
+            assertEquals(12345, readField(item, "pin", Integer.class));
+            assertEquals("Acme", readField(item, "company", String.class));
+            assertEquals("Senior Engineer", readField(item, "title", String.class));
+            assertEquals("FINALIZED", readField(item, "status", String.class));
+            assertEquals("/tmp/a.docx", readField(item, "filePath", String.class));
         }
     }
 
     @Test
-    void parseFilename_epochAndFallbackTimestamp_branchesCovered() throws Exception {
+    void toHistoryItem_missingMetadata_usesDefaultsAndArchivedStatus() throws Exception {
         try (MockedConstruction<AuthenticationService> ignored = Mockito.mockConstruction(AuthenticationService.class,
                 (mock, context) -> when(mock.getCurrentUser()).thenReturn(null))) {
             HistoryView view = new HistoryView();
-            Method method = HistoryView.class.getDeclaredMethod("parseFilename", String.class, String.class,
-                    long.class);
+            Method method = HistoryView.class.getDeclaredMethod("toHistoryItem", CoverLetter.class);
             method.setAccessible(true);
 
-            Object epochItem = method.invoke(view, "12345_1700000000000_Acme_Engineer.docx", "path", 1700000000000L);
-            assertNotNull(epochItem);
-            assertEquals(12345, readField(epochItem, "pin", Integer.class));
+            CoverLetter letter = new CoverLetter(1, 12345,
+                    Timestamp.valueOf(LocalDateTime.now().minusDays(90)), "/tmp/f.docx");
 
-            long lastModified = 1704067200000L;
-            Object fallbackItem = method.invoke(view, "12345_bad_Acme_Engineer.docx", "path", lastModified);
-            assertNotNull(fallbackItem);
+            Object item = method.invoke(view, letter);
 
-            LocalDateTime expected = LocalDateTime.ofInstant(Instant.ofEpochMilli(lastModified),
-                    ZoneId.systemDefault());
-            LocalDateTime actual = readField(fallbackItem, "timestamp", LocalDateTime.class);
-            assertEquals(expected, actual);
+            assertEquals("Unknown Company", readField(item, "company", String.class));
+            assertEquals("Cover Letter", readField(item, "title", String.class));
+            assertEquals("ARCHIVED", readField(item, "status", String.class));
         }
     }
 
@@ -177,72 +188,114 @@ class HistoryViewTest extends BaseVaadinViewTest {
     }
 
     @Test
-    void loadCoverLetterHistory_filtersByUserPin() throws Exception {
-        Path uploadsDir = Path.of("uploads", "coverletters");
-        Files.createDirectories(uploadsDir);
-
-        Path own = uploadsDir.resolve("998877_20260412_120000_Acme_Engineer.docx");
-        Path foreign = uploadsDir.resolve("111111_20260412_120001_Other_Analyst.docx");
-        Files.writeString(own, "own", StandardCharsets.UTF_8);
-        Files.writeString(foreign, "foreign", StandardCharsets.UTF_8);
-
+    void constructor_loadsFirstPageForCurrentUser() throws Exception {
         User user = new User("u@test.com", "u", "Pass123!pass", "U", "Test");
         user.setPin(998877);
 
+        CoverLetter own = new CoverLetter(1, 998877, Timestamp.valueOf(LocalDateTime.now()), "/tmp/own.docx");
+        own.setCompany("Acme");
+        own.setJobTitle("Engineer");
+
         try (MockedConstruction<AuthenticationService> ignored = Mockito.mockConstruction(AuthenticationService.class,
-                (mock, context) -> when(mock.getCurrentUser()).thenReturn(user))) {
+                (mock, context) -> when(mock.getCurrentUser()).thenReturn(user));
+                MockedConstruction<CoverLetterService> letters = Mockito.mockConstruction(CoverLetterService.class,
+                        (mock, context) -> when(mock.getCoverLetterPage(any(), any(), anyInt()))
+                                .thenReturn(List.of(own)))) {
             HistoryView view = new HistoryView();
-            Method method = HistoryView.class.getDeclaredMethod("loadCoverLetterHistory");
-            method.setAccessible(true);
 
             @SuppressWarnings("unchecked")
-            List<Object> items = (List<Object>) method.invoke(view);
-
-            assertTrue(items.stream().allMatch(i -> {
-                try {
-                    return (int) readField(i, "pin", Integer.class) == 998877;
-                } catch (Exception e) {
-                    return false;
-                }
-            }));
-            assertTrue(items.size() >= 1);
-        } finally {
-            Files.deleteIfExists(own);
-            Files.deleteIfExists(foreign);
+            List<Object> items = getField(view, "loadedItems", List.class);
+
+            assertEquals(1, items.size());
+            assertEquals(998877, readField(items.get(0), "pin", Integer.class));
+            assertEquals("Acme", readField(items.get(0), "company", String.class));
+            verify(letters.constructed().get(0)).getCoverLetterPage(new CoverLetterFilter(998877), null, 12);
+            // Fewer rows than a page: nothing more to load
+            assertTrue(!getField(view, "loadMoreButton", Button.class).isVisible());
         }
     }
 
     @Test
-    void applyFilters_searchStatusAndDate_filtersItems() throws Exception {
+    void loadMore_seeksFromLastLoadedLetter() throws Exception {
+        User user = new User("u@test.com", "u", "Pass123!pass", "U", "Test");
+        user.setPin(998877);
+
+        List<CoverLetter> firstPage = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            firstPage.add(new CoverLetter(100 - i, 998877, Timestamp.valueOf(LocalDateTime.now()), "/tmp/" + i));
+        }
+        CoverLetter older = new CoverLetter(50, 998877, Timestamp.valueOf(LocalDateTime.now()), "/tmp/older");
+
         try (MockedConstruction<AuthenticationService> ignored = Mockito.mockConstruction(AuthenticationService.class,
-                (mock, context) -> when(mock.getCurrentUser()).thenReturn(null))) {
+                (mock, context) -> when(mock.getCurrentUser()).thenReturn(user));
+                MockedConstruction<CoverLetterService> letters = Mockito.mockConstruction(CoverLetterService.class,
+                        (mock, context) -> {
+                            when(mock.getCoverLetterPage(any(), isNull(), anyInt())).thenReturn(firstPage);
+                            when(mock.getCoverLetterPage(any(), eq(firstPage.get(11)), anyInt()))
+                                    .thenReturn(List.of(older));
+                        })) {
             HistoryView view = new HistoryView();
+            Button loadMore = getField(view, "loadMoreButton", Button.class);
+            assertTrue(loadMore.isVisible());
 
-            List<Object> items = new ArrayList<>();
-            items.add(newHistoryItem("Backend Engineer", "Acme", "Apr 12, 2026", "FINALIZED", 1,
-                    LocalDateTime.of(2026, 4, 12, 12, 0), "/tmp/a.docx"));
-            items.add(newHistoryItem("Analyst", "OtherCorp", "Mar 10, 2025", "ARCHIVED", 1,
-                    LocalDateTime.of(2025, 3, 10, 9, 0), "/tmp/b.docx"));
+            loadMore.click();
 
-            setField(view, "allItems", items);
-            setField(view, "cardsGrid", new Div());
+            assertEquals(13, getField(view, "loadedItems", List.class).size());
+            verify(letters.constructed().get(0)).getCoverLetterPage(new CoverLetterFilter(998877), firstPage.get(11),
+                    12);
+            assertTrue(!loadMore.isVisible());
+        }
+    }
 
-            TextField search = new TextField();
-            search.setValue("acme");
-            setField(view, "searchField", search);
+    @Test
+    void applyFilters_searchStatusAndDate_queriesWithFilter() throws Exception {
+        User user = new User("u@test.com", "u", "Pass123!pass", "U", "Test");
+        user.setPin(1);
+
+        try (MockedConstruction<AuthenticationService> ignored = Mockito.mockConstruction(AuthenticationService.class,
+                (mock, context) -> when(mock.getCurrentUser()).thenReturn(user));
+                MockedConstruction<CoverLetterService> letters = Mockito.mockConstruction(CoverLetterService.class,
+                        (mock, context) -> when(mock.getCoverLetterPage(any(), any(), anyInt())).thenReturn(List
+                                .of(new CoverLetter(1, 1, Timestamp.valueOf(LocalDateTime.now()), "/tmp/a.docx"))))) {
+            HistoryView view = new HistoryView();
+
+            TextField search = getField(view, "searchField", TextField.class);
             setField(view, "currentStatusFilter", "FINALIZED");
             setField(view, "dateFrom", LocalDate.of(2026, 1, 1));
             setField(view, "dateTo", LocalDate.of(2026, 12, 31));
+            search.setValue("acme");
 
-            Method applyFilters = HistoryView.class.getDeclaredMethod("applyFilters");
-            applyFilters.setAccessible(true);
-            applyFilters.invoke(view);
+            CoverLetterFilter expected = new CoverLetterFilter(1, "acme", LocalDate.of(2026, 1, 1),
+                    LocalDate.of(2026, 12, 31), "FINALIZED");
+            verify(letters.constructed().get(0)).getCoverLetterPage(expected, null, 12);
 
             Div cardsGrid = getField(view, "cardsGrid", Div.class);
             assertEquals(1, cardsGrid.getComponentCount());
         }
     }
 
+    @Test
+    void applyFilters_contentSearch_queriesFullTextIndex() throws Exception {
+        User user = new User("u@test.com", "u", "Pass123!pass", "U", "Test");
+        user.setPin(1);
+
+        try (MockedConstruction<AuthenticationService> ignored = Mockito.mockConstruction(AuthenticationService.class,
+                (mock, context) -> when(mock.getCurrentUser()).thenReturn(user));
+                MockedConstruction<CoverLetterService> letters = Mockito.mockConstruction(CoverLetterService.class,
+                        (mock, context) -> when(mock.searchCoverLetters(any(), eq("kubernetes"), anyInt(), anyInt()))
+                                .thenReturn(List.of(
+                                        new CoverLetter(3, 1, Timestamp.valueOf(LocalDateTime.now()), "/tmp/k.docx"))))) {
+            HistoryView view = new HistoryView();
+
+            getField(view, "contentSearchToggle", Checkbox.class).setValue(true);
+            getField(view, "searchField", TextField.class).setValue(" kubernetes ");
+
+            // The search text goes to the index, not to the company/title prefix filter
+            verify(letters.constructed().get(0)).searchCoverLetters(new CoverLetterFilter(1), "kubernetes", 0, 12);
+            assertEquals(1, getField(view, "loadedItems", List.class).size());
+        }
+    }
+
     @Test
     void statusBadgeAndUiHelpers_coverRemainingBranches() throws Exception {
         try (MockedConstruction<AuthenticationService> ignored = Mockito.mockConstruction(AuthenticationService.class,
@@ -286,25 +339,6 @@ class HistoryViewTest extends BaseVaadinViewTest {
         }
     }
 
-    @Test
-    void parseFilename_minimalParts_usesDefaultsAndArchivedStatus() throws Exception {
-        try (MockedConstruction<AuthenticationService> ignored = Mockito.mockConstruction(AuthenticationService.class,
-                (mock, context) -> when(mock.getCurrentUser()).thenReturn(null))) {
-            HistoryView view = new HistoryView();
-            Method method = HistoryView.class.getDeclaredMethod("parseFilename", String.class, String.class,
-                    long.class);
-            method.setAccessible(true);
-
-            long old = Instant.now().minus(90, java.time.temporal.ChronoUnit.DAYS).toEpochMilli();
-            Object item = method.invoke(view, "12345_1700000000000.docx", "/tmp/f.docx", old);
-
-            assertNotNull(item);
-            assertEquals("Unknown Company", readField(item, "company", String.class));
-            assertEquals("Cover Letter", readField(item, "title", String.class));
-            assertEquals("ARCHIVED", readField(item, "status", String.class));
-        }
-    }
-
     @Test
     void isPrintable_falseForControlChars() throws Exception {
         try (MockedConstruction<AuthenticationService> ignored = Mockito.mockConstruction(AuthenticationService.class,
@@ -331,7 +365,6 @@ class HistoryViewTest extends BaseVaadinViewTest {
                     .thenReturn(Mockito.mock(Notification.class));
 
             HistoryView view = new HistoryView();
-            setField(view, "allItems", new ArrayList<>());
 
             Method export = HistoryView.class.getDeclaredMethod("exportAllFiles");
             export.setAccessible(true);
@@ -409,27 +442,48 @@ class HistoryViewTest extends BaseVaadinViewTest {
 
     @Test
     void exportAllFiles_successWithExistingFiles() throws Exception {
+        User user = new User("u@test.com", "u", "Pass123!pass", "U", "Test");
+        user.setPin(1);
+        Path file = Files.createTempFile("history-export-", ".txt");
+        Files.writeString(file, "export", StandardCharsets.UTF_8);
+
         try (MockedConstruction<AuthenticationService> ignored = Mockito.mockConstruction(AuthenticationService.class,
-                (mock, context) -> when(mock.getCurrentUser()).thenReturn(null));
+                (mock, context) -> when(mock.getCurrentUser()).thenReturn(user));
+                MockedConstruction<CoverLetterService> letters = Mockito.mockConstruction(CoverLetterService.class,
+                        (mock, context) -> when(mock.getCoverLetters(1))
+                                .thenReturn(List.of(new CoverLetter(1, 1, null, file.toString()))));
                 MockedStatic<Notification> notificationMock = Mockito.mockStatic(Notification.class)) {
 
             notificationMock.when(() -> Notification.show(anyString(), anyInt(), any()))
                     .thenReturn(Mockito.mock(Notification.class));
 
-            HistoryView view = new HistoryView();
-
-            Path file = Files.createTempFile("history-export-", ".txt");
-            Files.writeString(file, "export", StandardCharsets.UTF_8);
+            StreamResourceRegistry registry = Mockito.mock(StreamResourceRegistry.class);
+            when(VaadinSession.getCurrent().getResourceRegistry()).thenReturn(registry);
+            when(registry.getTargetURI(any())).thenReturn(URI.create("VAADIN/dynamic/export"));
 
-            List<Object> items = new ArrayList<>();
-            items.add(newHistoryItem("Title", "Comp", "Date", "FINALIZED", 1, LocalDateTime.now(), file.toString()));
-            setField(view, "allItems", items);
+            HistoryView view = new HistoryView();
 
             Method export = HistoryView.class.getDeclaredMethod("exportAllFiles");
             export.setAccessible(true);
             export.invoke(view);
 
             notificationMock.verify(() -> Notification.show(anyString(), anyInt(), any()), Mockito.atLeastOnce());
+
+            // The zip is only produced when the browser fetches it, straight into the response
+            ArgumentCaptor<AbstractStreamResource> resource = ArgumentCaptor.forClass(AbstractStreamResource.class);
+            verify(registry).getTargetURI(resource.capture());
+            DownloadHandler handler = (DownloadHandler) ((StreamResourceRegistry.ElementStreamResource) resource
+                    .getValue()).getElementRequestHandler();
+            ByteArrayOutputStream body = new ByteArrayOutputStream();
+            VaadinResponse response = Mockito.mock(VaadinResponse.class);
+            when(response.getOutputStream()).thenReturn(body);
+            handler.handleDownloadRequest(new DownloadEvent(Mockito.mock(VaadinRequest.class), response, null, null));
+
+            try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(body.toByteArray()))) {
+                assertEquals(file.getFileName().toString(), zip.getNextEntry().getName());
+                assertEquals("export", new String(zip.readAllBytes(), StandardCharsets.UTF_8));
+            }
+        } finally {
             Files.deleteIfExists(file);
         }
     }
@@ -437,10 +491,10 @@ class HistoryViewTest extends BaseVaadinViewTest {
     private Object newHistoryItem(String title, String company, String date, String status, int pin,
             LocalDateTime timestamp, String filePath) throws Exception {
         Class<?> clazz = Class.forName("com.clbooster.app.views.HistoryView$HistoryItem");
-        Constructor<?> c = clazz.getDeclaredConstructor(String.class, String.class, String.class, String.class,
-                int.class, LocalDateTime.class, String.class);
+        Constructor<?> c = clazz.getDeclaredConstructor(int.class, String.class, String.class, String.class,
+                String.class, int.class, LocalDateTime.class, String.class);
         c.setAccessible(true);
-        return c.newInstance(title, company, date, status, pin, timestamp, filePath);
+        return c.newInstance(0, title, company, date, status, pin, timestamp, filePath);
     }
 
     @SuppressWarnings("unchecked")
@@ -462,4 +516,63 @@ class HistoryViewTest extends BaseVaadinViewTest {
         f.setAccessible(true);
         return (T) f.get(target);
     }
+
+    private static Set<Path> exportArchives() throws Exception {
+        try (Stream<Path> files = Files.list(TEMP_DIR)) {
+            return files.filter(f -> f.getFileName().toString().startsWith("cover_letters_export_"))
+                    .collect(Collectors.toSet());
+        }
+    }
+
+    // Runs a background export whose completion reaches a view that is no longer attached
+    private void exportAfterDetach(boolean uiGone) throws Exception {
+        Path file = Files.createTempFile("history-export-", ".txt");
+        Set<Path> before = exportArchives();
+        CountDownLatch delivered = new CountDownLatch(1);
+        UI ui = Mockito.mock(UI.class);
+        when(ui.access(any())).thenAnswer(inv -> {
+            try {
+                if (uiGone) {
+                    throw new UIDetachedException();
+                }
+                inv.getArgument(0, Command.class).execute();
+                return null;
+            } finally {
+                delivered.countDown();
+            }
+        });
+
+        try (MockedConstruction<AuthenticationService> ignored = Mockito.mockConstruction(AuthenticationService.class,
+                (mock, context) -> when(mock.getCurrentUser()).thenReturn(null));
+                MockedStatic<Notification> notificationMock = Mockito.mockStatic(Notification.class)) {
+            notificationMock.when(() -> Notification.show(anyString(), anyInt(), any()))
+                    .thenReturn(Mockito.mock(Notification.class));
+            HistoryView view = new HistoryView();
+
+            Method export = HistoryView.class.getDeclaredMethod("exportInBackground", UI.class, List.class,
+                    String.class);
+            export.setAccessible(true);
+            export.invoke(view, ui, List.of(file), "export.zip");
+
+            assertTrue(delivered.await(5, TimeUnit.SECONDS));
+            // The temp zip is deleted right after the failed delivery
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (!before.containsAll(exportArchives()) && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            assertTrue(before.containsAll(exportArchives()), "export archive left behind");
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    void exportInBackground_deletesArchiveWhenViewWasDetached() throws Exception {
+        exportAfterDetach(false);
+    }
+
+    @Test
+    void exportInBackground_deletesArchiveWhenUiIsGone() throws Exception {
+        exportAfterDetach(true);
+    }
 }
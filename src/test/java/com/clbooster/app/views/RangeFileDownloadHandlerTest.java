@@ -0,0 +1,168 @@
+package com.clbooster.app.views;
+
+import com.vaadin.flow.server.VaadinRequest;
+import com.vaadin.flow.server.VaadinResponse;
+import com.vaadin.flow.server.streams.DownloadEvent;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mockito;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RangeFileDownloadHandlerTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void parseRange_handlesExplicitOpenAndSuffixRanges() {
+        assertArrayEquals(new long[] { 0, 9 }, RangeFileDownloadHandler.parseRange("bytes=0-9", 100));
+        assertArrayEquals(new long[] { 40, 99 }, RangeFileDownloadHandler.parseRange("bytes=40-", 100));
+        assertArrayEquals(new long[] { 90, 99 }, RangeFileDownloadHandler.parseRange("bytes=90-500", 100));
+        assertArrayEquals(new long[] { 75, 99 }, RangeFileDownloadHandler.parseRange("bytes=-25", 100));
+        assertArrayEquals(new long[] { 0, 99 }, RangeFileDownloadHandler.parseRange("bytes=-500", 100));
+    }
+
+    @Test
+    void parseRange_ignoresMalformedAndMultiRangeHeaders() {
+        assertNull(RangeFileDownloadHandler.parseRange(null, 100));
+        assertNull(RangeFileDownloadHandler.parseRange("items=0-9", 100));
+        assertNull(RangeFileDownloadHandler.parseRange("bytes=0-9,20-29", 100));
+        assertNull(RangeFileDownloadHandler.parseRange("bytes=9-0", 100));
+        assertNull(RangeFileDownloadHandler.parseRange("bytes=abc", 100));
+        assertNull(RangeFileDownloadHandler.parseRange("bytes=x-1", 100));
+    }
+
+    @Test
+    void handleDownloadRequest_withoutRange_sendsWholeFile() throws Exception {
+        Path file = Files.writeString(tempDir.resolve("export.zip"), "0123456789");
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        VaadinResponse response = response(body);
+
+        new RangeFileDownloadHandler(file, "export.zip", "application/zip").handleDownloadRequest(event(null, response));
+
+        assertEquals("0123456789", body.toString(StandardCharsets.UTF_8));
+        verify(response).setContentLengthLong(10);
+        verify(response).setHeader("Accept-Ranges", "bytes");
+        verify(response, never()).setStatus(206);
+    }
+
+    @Test
+    void handleDownloadRequest_withRange_resumesFromOffset() throws Exception {
+        Path file = Files.writeString(tempDir.resolve("export.zip"), "0123456789");
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        VaadinResponse response = response(body);
+
+        new RangeFileDownloadHandler(file, "export.zip", "application/zip")
+                .handleDownloadRequest(event("bytes=4-", response));
+
+        assertEquals("456789", body.toString(StandardCharsets.UTF_8));
+        verify(response).setStatus(206);
+        verify(response).setHeader("Content-Range", "bytes 4-9/10");
+        verify(response).setContentLengthLong(6);
+    }
+
+    @Test
+    void handleDownloadRequest_rangePastEnd_isUnsatisfiable() throws Exception {
+        Path file = Files.writeString(tempDir.resolve("export.zip"), "0123456789");
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        VaadinResponse response = response(body);
+
+        new RangeFileDownloadHandler(file, "export.zip", "application/zip")
+                .handleDownloadRequest(event("bytes=10-", response));
+
+        assertEquals(0, body.size());
+        verify(response).setStatus(416);
+        verify(response).setHeader("Content-Range", "bytes */10");
+    }
+
+    @Test
+    void handleDownloadRequest_sendsValidatorsAndAnswersRevalidationWith304() throws Exception {
+        Path file = Files.writeString(tempDir.resolve("letter.docx"), "0123456789");
+        long modified = Files.getLastModifiedTime(file).toMillis();
+        String etag = RangeFileDownloadHandler.etag(10, modified);
+        RangeFileDownloadHandler handler = new RangeFileDownloadHandler(file, "letter.docx", "application/pdf");
+
+        VaadinResponse first = response(new ByteArrayOutputStream());
+        handler.handleDownloadRequest(event(null, first));
+        verify(first).setHeader("ETag", etag);
+        verify(first).setDateHeader("Last-Modified", modified);
+
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        VaadinResponse again = response(body);
+        VaadinRequest request = request(null);
+        when(request.getHeader("If-None-Match")).thenReturn("\"other\", " + etag);
+        handler.handleDownloadRequest(new DownloadEvent(request, again, null, null));
+
+        verify(again).setStatus(304);
+        assertEquals(0, body.size());
+
+        VaadinResponse byDate = response(new ByteArrayOutputStream());
+        VaadinRequest dated = request(null);
+        when(dated.getDateHeader("If-Modified-Since")).thenReturn(modified);
+        handler.handleDownloadRequest(new DownloadEvent(dated, byDate, null, null));
+        verify(byDate).setStatus(304);
+    }
+
+    @Test
+    void handleDownloadRequest_staleIfRange_sendsWholeFile() throws Exception {
+        Path file = Files.writeString(tempDir.resolve("export.zip"), "0123456789");
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        VaadinResponse response = response(body);
+        VaadinRequest request = request("bytes=4-");
+        when(request.getHeader("If-Range")).thenReturn("\"older-version\"");
+
+        new RangeFileDownloadHandler(file, "export.zip", "application/zip")
+                .handleDownloadRequest(new DownloadEvent(request, response, null, null));
+
+        assertEquals("0123456789", body.toString(StandardCharsets.UTF_8));
+        verify(response, never()).setStatus(206);
+    }
+
+    @Test
+    void handleDownloadRequest_withSendfile_handsRangeToContainer() throws Exception {
+        Path file = Files.writeString(tempDir.resolve("resume.pdf"), "0123456789");
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        VaadinResponse response = response(body);
+        VaadinRequest request = request("bytes=2-5");
+        when(request.getAttribute(RangeFileDownloadHandler.SENDFILE_SUPPORTED)).thenReturn(Boolean.TRUE);
+
+        new RangeFileDownloadHandler(file, "resume.pdf", "application/pdf", true)
+                .handleDownloadRequest(new DownloadEvent(request, response, null, null));
+
+        assertEquals(0, body.size());
+        verify(request).setAttribute(RangeFileDownloadHandler.SENDFILE_FILENAME,
+                file.toAbsolutePath().normalize().toString());
+        verify(request).setAttribute(RangeFileDownloadHandler.SENDFILE_START, 2L);
+        verify(request).setAttribute(RangeFileDownloadHandler.SENDFILE_END, 6L);
+        verify(response).setContentLengthLong(4);
+        verify(response).setHeader("Content-Disposition", "inline");
+    }
+
+    private static VaadinResponse response(ByteArrayOutputStream body) throws Exception {
+        VaadinResponse response = Mockito.mock(VaadinResponse.class);
+        when(response.getOutputStream()).thenReturn(body);
+        return response;
+    }
+
+    private static DownloadEvent event(String range, VaadinResponse response) {
+        return new DownloadEvent(request(range), response, null, null);
+    }
+
+    private static VaadinRequest request(String range) {
+        VaadinRequest request = Mockito.mock(VaadinRequest.class);
+        when(request.getHeader("Range")).thenReturn(range);
+        when(request.getDateHeader(Mockito.anyString())).thenReturn(-1L);
+        return request;
+    }
+}
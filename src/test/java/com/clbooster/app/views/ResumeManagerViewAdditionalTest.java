@@ -64,7 +64,7 @@ class ResumeManagerViewAdditionalTest extends BaseVaadinViewTest {
     @Test
     void downloadAndViewResume_coverErrorBranches() throws Exception {
         DocumentService docService = Mockito.mock(DocumentService.class);
-        when(docService.retrieveResumeFile("/tmp/resume-error.docx")).thenThrow(new IOException("boom"));
+        when(docService.resolveResumeFile("/tmp/resume-error.docx")).thenThrow(new IOException("boom"));
 
         ResumeManagerView view = createView(docService);
         Method download = ResumeManagerView.class.getDeclaredMethod("downloadResume",
@@ -84,7 +84,7 @@ class ResumeManagerViewAdditionalTest extends BaseVaadinViewTest {
             download.invoke(view, failing);
             viewResume.invoke(view, failing);
 
-            verify(docService, Mockito.atLeastOnce()).retrieveResumeFile("/tmp/resume-error.docx");
+            verify(docService, Mockito.times(2)).resolveResumeFile("/tmp/resume-error.docx");
             notificationMock.verify(() -> Notification.show(anyString(), anyInt(), any()), Mockito.atLeastOnce());
         }
     }
@@ -3,6 +3,8 @@ package com.clbooster.app.views;
 import com.clbooster.app.backend.service.authentication.AuthenticationService;
 import com.clbooster.app.backend.service.document.DocumentService;
 import com.clbooster.app.backend.service.profile.User;
+import com.clbooster.app.backend.service.search.DocumentType;
+import com.clbooster.app.backend.service.search.SearchHit;
 import com.vaadin.flow.component.html.Div;
 import com.vaadin.flow.component.html.Span;
 import com.vaadin.flow.component.notification.Notification;
@@ -241,6 +243,30 @@ class ResumeManagerViewTest extends BaseVaadinViewTest {
         }
     }
 
+    @Test
+    void searchResumes_showsOnlyRankedHitsAndClearsOnBlankQuery() throws Exception {
+        DocumentService docService = Mockito.mock(DocumentService.class);
+        when(docService.searchResumes(Mockito.anyInt(), Mockito.eq("kubernetes"), Mockito.eq(0), Mockito.eq(10)))
+                .thenReturn(List.of(new SearchHit("/tmp/ops.pdf", DocumentType.RESUME, 2.5)));
+
+        ResumeManagerView view = createViewWithDocService(docService);
+        List<Object> resumes = new ArrayList<>();
+        resumes.add(newResumeData("Dev.pdf", "PDF", "1.0 KB", "Today", "/tmp/dev.pdf", LocalDateTime.now(), false));
+        resumes.add(newResumeData("Ops.pdf", "PDF", "1.0 KB", "Today", "/tmp/ops.pdf", LocalDateTime.now(), false));
+        setField(view, "resumes", resumes);
+
+        invokeVoid(view, "searchResumes", new Class<?>[] { String.class }, new Object[] { "  kubernetes " });
+
+        @SuppressWarnings("unchecked")
+        List<Object> results = (List<Object>) getRawField(view, "searchResults");
+        assertEquals(1, results.size());
+        assertEquals("/tmp/ops.pdf", readField(results.get(0), "filePath", String.class));
+
+        invokeVoid(view, "searchResumes", new Class<?>[] { String.class }, new Object[] { " " });
+        assertTrue(results.isEmpty());
+        assertNull(getRawField(view, "resumeQuery"));
+    }
+
     @Test
     void getCurrentUserPin_returnsAuthenticatedUsersPin() throws Exception {
         DocumentService docService = Mockito.mock(DocumentService.class);
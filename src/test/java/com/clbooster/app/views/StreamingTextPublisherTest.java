@@ -0,0 +1,50 @@
+package com.clbooster.app.views;
+
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.server.Command;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.doAnswer;
+
+class StreamingTextPublisherTest {
+
+    @Test
+    void accept_pushesFirstTokenImmediatelyAndThrottlesTheRest() {
+        UI ui = runningUi();
+        List<String> pushed = new ArrayList<>();
+        StreamingTextPublisher publisher = new StreamingTextPublisher(ui, pushed::add, 60_000);
+
+        publisher.accept("Dear ");
+        publisher.accept("Hiring ");
+        publisher.accept("Manager");
+
+        assertEquals(List.of("Dear "), pushed);
+    }
+
+    @Test
+    void accept_pushesAccumulatedTextOncePerInterval() {
+        UI ui = runningUi();
+        List<String> pushed = new ArrayList<>();
+        StreamingTextPublisher publisher = new StreamingTextPublisher(ui, pushed::add, 0);
+
+        publisher.accept("Dear ");
+        publisher.accept("Hiring ");
+
+        assertEquals(List.of("Dear ", "Dear Hiring "), pushed);
+    }
+
+    private static UI runningUi() {
+        UI ui = Mockito.mock(UI.class);
+        doAnswer(invocation -> {
+            Command command = invocation.getArgument(0);
+            command.execute();
+            return null;
+        }).when(ui).access(Mockito.any(Command.class));
+        return ui;
+    }
+}